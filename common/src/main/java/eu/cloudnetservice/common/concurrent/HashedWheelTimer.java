@@ -0,0 +1,340 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.common.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import lombok.NonNull;
+
+/**
+ * A timer which is optimized for a large amount of timeouts that are usually cancelled before they expire (for example
+ * timeouts of network requests). Scheduling and cancelling a timeout is O(1), the timeouts are stored in a wheel of
+ * buckets which is advanced by a single worker thread once per tick. Due to this the timeouts are not executed at the
+ * exact requested time, but at most one tick duration later.
+ * <p>
+ * The tasks of expired timeouts are executed on the worker thread of the timer, therefore they should be short-lived
+ * and hand off long-running work to another executor.
+ *
+ * @since 4.0
+ */
+public final class HashedWheelTimer {
+
+  private static final int STATE_WAITING = 0;
+  private static final int STATE_CANCELLED = 1;
+  private static final int STATE_EXPIRED = 2;
+
+  private final String name;
+  private final long startNanos;
+  private final long tickNanos;
+  private final int wheelMask;
+  private final Bucket[] wheel;
+
+  private final AtomicBoolean started = new AtomicBoolean();
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+
+  /**
+   * Constructs a new hashed wheel timer. The worker thread of the timer is started lazily when the first timeout gets
+   * scheduled.
+   *
+   * @param name          the name of the worker thread of this timer.
+   * @param tickDuration  the duration of one tick, this is the maximum deviation of the timeout expiration.
+   * @param ticksPerWheel the amount of buckets in the wheel, rounded to the next power of two.
+   * @throws NullPointerException     if the given name or tick duration is null.
+   * @throws IllegalArgumentException if the tick duration or ticks per wheel is not positive.
+   */
+  public HashedWheelTimer(@NonNull String name, @NonNull Duration tickDuration, int ticksPerWheel) {
+    if (tickDuration.isNegative() || tickDuration.isZero()) {
+      throw new IllegalArgumentException("tick duration must be positive");
+    }
+    if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+      throw new IllegalArgumentException("ticks per wheel must be in range of 1 and 2^30");
+    }
+
+    var wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+    if (wheelSize == 0) {
+      wheelSize = 1;
+    }
+
+    this.name = name;
+    this.startNanos = System.nanoTime();
+    this.tickNanos = tickDuration.toNanos();
+    this.wheelMask = wheelSize - 1;
+    this.wheel = new Bucket[wheelSize];
+    for (var i = 0; i < wheelSize; i++) {
+      this.wheel[i] = new Bucket();
+    }
+  }
+
+  /**
+   * Schedules the given task to run after the given delay, unless the returned timeout gets cancelled before.
+   *
+   * @param task  the task to execute when the timeout expires.
+   * @param delay the delay after which the timeout expires.
+   * @param unit  the unit of the given delay.
+   * @return a handle to the scheduled timeout which can be used to cancel it.
+   * @throws NullPointerException if the given task or unit is null.
+   */
+  public @NonNull Timeout schedule(@NonNull Runnable task, long delay, @NonNull TimeUnit unit) {
+    this.startWorkerIfNeeded();
+
+    // the deadline is relative to the construction time of the timer, so we can use it as a tick counter later on
+    var delayNanos = Math.max(0, unit.toNanos(delay));
+    var deadline = System.nanoTime() - this.startNanos + delayNanos;
+    var timeout = new Timeout(this, task, deadline < 0 ? Long.MAX_VALUE : deadline);
+    this.pendingTimeouts.add(timeout);
+    return timeout;
+  }
+
+  /**
+   * Starts the worker thread of this timer if it wasn't started yet.
+   */
+  private void startWorkerIfNeeded() {
+    if (this.started.compareAndSet(false, true)) {
+      Thread.ofPlatform().name(this.name).daemon().start(this::runWorker);
+    }
+  }
+
+  /**
+   * The main loop of the worker thread. Waits until the next tick is reached, then transfers all pending timeouts into
+   * the wheel, removes all cancelled timeouts and expires the timeouts of the current bucket.
+   */
+  private void runWorker() {
+    // start at the current tick, there can't be any timeouts that are located in an earlier tick
+    var tick = (System.nanoTime() - this.startNanos) / this.tickNanos;
+    while (true) {
+      var tickDeadline = this.tickNanos * (tick + 1);
+      var sleepNanos = tickDeadline - (System.nanoTime() - this.startNanos);
+      if (sleepNanos > 0) {
+        LockSupport.parkNanos(this, sleepNanos);
+        continue;
+      }
+
+      this.removeCancelledTimeouts();
+      this.transferPendingTimeouts(tick);
+      this.wheel[(int) (tick & this.wheelMask)].expireTimeouts();
+      tick++;
+    }
+  }
+
+  /**
+   * Moves all pending timeouts into their target bucket based on their deadline.
+   *
+   * @param currentTick the current tick of the wheel.
+   */
+  private void transferPendingTimeouts(long currentTick) {
+    // limit the transfer to prevent starvation of the wheel when a lot of timeouts are scheduled
+    for (var i = 0; i < 100_000; i++) {
+      var timeout = this.pendingTimeouts.poll();
+      if (timeout == null) {
+        break;
+      }
+
+      if (timeout.state == STATE_CANCELLED) {
+        continue;
+      }
+
+      var calculatedTick = timeout.deadline / this.tickNanos;
+      timeout.remainingRounds = (calculatedTick - currentTick) / this.wheel.length;
+
+      // ensure that timeouts which are already expired are executed in the current tick
+      var targetTick = Math.max(calculatedTick, currentTick);
+      this.wheel[(int) (targetTick & this.wheelMask)].add(timeout);
+    }
+  }
+
+  /**
+   * Removes all timeouts from their buckets which were cancelled since the last tick.
+   */
+  private void removeCancelledTimeouts() {
+    Timeout timeout;
+    while ((timeout = this.cancelledTimeouts.poll()) != null) {
+      if (timeout.bucket != null) {
+        timeout.bucket.remove(timeout);
+      }
+    }
+  }
+
+  /**
+   * A handle to a timeout which was scheduled in a timer.
+   *
+   * @since 4.0
+   */
+  public static final class Timeout {
+
+    private static final VarHandle STATE_HANDLE;
+
+    static {
+      try {
+        STATE_HANDLE = MethodHandles.lookup().findVarHandle(Timeout.class, "state", int.class);
+      } catch (ReflectiveOperationException exception) {
+        throw new ExceptionInInitializerError(exception);
+      }
+    }
+
+    private final HashedWheelTimer timer;
+    private final Runnable task;
+    private final long deadline;
+
+    private volatile int state = STATE_WAITING;
+
+    // only accessed by the worker thread
+    private long remainingRounds;
+    private Bucket bucket;
+    private Timeout next;
+    private Timeout prev;
+
+    /**
+     * Constructs a new timeout instance.
+     *
+     * @param timer    the timer that created this timeout.
+     * @param task     the task to run when the timeout expires.
+     * @param deadline the deadline of the timeout, relative to the start of the timer.
+     * @throws NullPointerException if the given timer or task is null.
+     */
+    private Timeout(@NonNull HashedWheelTimer timer, @NonNull Runnable task, long deadline) {
+      this.timer = timer;
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels this timeout, preventing the associated task from being executed. This method has no effect if the
+     * timeout already expired or was cancelled before.
+     *
+     * @return true if this timeout was cancelled by this call, false otherwise.
+     */
+    public boolean cancel() {
+      if (STATE_HANDLE.compareAndSet(this, STATE_WAITING, STATE_CANCELLED)) {
+        this.timer.cancelledTimeouts.add(this);
+        return true;
+      }
+      return false;
+    }
+
+    /**
+     * Get if this timeout was cancelled.
+     *
+     * @return true if this timeout was cancelled, false otherwise.
+     */
+    public boolean cancelled() {
+      return this.state == STATE_CANCELLED;
+    }
+
+    /**
+     * Get if this timeout expired and the associated task was executed.
+     *
+     * @return true if this timeout expired, false otherwise.
+     */
+    public boolean expired() {
+      return this.state == STATE_EXPIRED;
+    }
+
+    /**
+     * Expires this timeout and executes the associated task if the timeout was not cancelled before.
+     */
+    private void expire() {
+      if (STATE_HANDLE.compareAndSet(this, STATE_WAITING, STATE_EXPIRED)) {
+        try {
+          this.task.run();
+        } catch (Throwable throwable) {
+          Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), throwable);
+        }
+      }
+    }
+  }
+
+  /**
+   * A bucket in the wheel, holding a doubly linked list of timeouts. Only accessed by the worker thread.
+   *
+   * @since 4.0
+   */
+  private static final class Bucket {
+
+    private Timeout head;
+    private Timeout tail;
+
+    /**
+     * Adds the given timeout to the tail of this bucket.
+     *
+     * @param timeout the timeout to add.
+     */
+    private void add(@NonNull Timeout timeout) {
+      timeout.bucket = this;
+      if (this.head == null) {
+        this.head = this.tail = timeout;
+      } else {
+        this.tail.next = timeout;
+        timeout.prev = this.tail;
+        this.tail = timeout;
+      }
+    }
+
+    /**
+     * Removes the given timeout from this bucket and returns the timeout that followed it.
+     *
+     * @param timeout the timeout to remove.
+     * @return the timeout following the removed one, null if the removed timeout was the last one.
+     */
+    private Timeout remove(@NonNull Timeout timeout) {
+      var next = timeout.next;
+      if (timeout.prev != null) {
+        timeout.prev.next = next;
+      }
+      if (timeout.next != null) {
+        timeout.next.prev = timeout.prev;
+      }
+
+      if (timeout == this.head) {
+        this.head = next;
+      }
+      if (timeout == this.tail) {
+        this.tail = timeout.prev;
+      }
+
+      timeout.prev = null;
+      timeout.next = null;
+      timeout.bucket = null;
+      return next;
+    }
+
+    /**
+     * Expires all timeouts in this bucket that reached their deadline and decrements the remaining rounds of all others.
+     */
+    private void expireTimeouts() {
+      var timeout = this.head;
+      while (timeout != null) {
+        if (timeout.remainingRounds <= 0) {
+          var next = this.remove(timeout);
+          timeout.expire();
+          timeout = next;
+        } else if (timeout.cancelled()) {
+          timeout = this.remove(timeout);
+        } else {
+          timeout.remainingRounds--;
+          timeout = timeout.next;
+        }
+      }
+    }
+  }
+}
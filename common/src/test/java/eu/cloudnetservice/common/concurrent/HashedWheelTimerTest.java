@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.common.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HashedWheelTimerTest {
+
+  @Test
+  void testTimeoutExpires() throws InterruptedException {
+    var timer = new HashedWheelTimer("Test Timer", Duration.ofMillis(10), 8);
+    var latch = new CountDownLatch(3);
+
+    // the last timeout needs multiple rounds of the wheel before expiring
+    var first = timer.schedule(latch::countDown, 0, TimeUnit.MILLISECONDS);
+    var second = timer.schedule(latch::countDown, 50, TimeUnit.MILLISECONDS);
+    var third = timer.schedule(latch::countDown, 250, TimeUnit.MILLISECONDS);
+
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assertions.assertTrue(first.expired());
+    Assertions.assertTrue(second.expired());
+    Assertions.assertTrue(third.expired());
+  }
+
+  @Test
+  void testCancelledTimeoutDoesNotExpire() throws InterruptedException {
+    var timer = new HashedWheelTimer("Test Timer", Duration.ofMillis(10), 8);
+    var executions = new AtomicInteger();
+    var latch = new CountDownLatch(1);
+
+    var cancelled = timer.schedule(executions::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+    Assertions.assertTrue(cancelled.cancel());
+    Assertions.assertFalse(cancelled.cancel());
+    Assertions.assertTrue(cancelled.cancelled());
+
+    // schedule a later timeout to ensure that the wheel passed the cancelled timeout
+    timer.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assertions.assertEquals(0, executions.get());
+    Assertions.assertFalse(cancelled.expired());
+  }
+}
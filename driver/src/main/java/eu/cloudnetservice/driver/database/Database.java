@@ -83,6 +83,29 @@ public interface Database extends Named, AutoCloseable {
    */
   boolean delete(@NonNull String key);
 
+  /**
+   * Associates each key of the given map with the mapped document in the database. Existing keys will get overridden.
+   * In contrast to calling {@link #insert(String, Document)} for each entry, the implementation writes all entries
+   * using a single operation against the underlying database (for example a single transaction or batch), which makes
+   * this method much faster when writing a lot of documents at once.
+   *
+   * @param entries the key-document pairs to insert into the database.
+   * @return true if all documents were associated with their keys successfully, false otherwise.
+   * @throws NullPointerException if the given entries map is null.
+   */
+  boolean insertAll(@NonNull Map<String, Document> entries);
+
+  /**
+   * Removes all given keys and the associated documents from the database. In contrast to calling
+   * {@link #delete(String)} for each key, the implementation removes all keys using a single operation against the
+   * underlying database (for example a single transaction or batch).
+   *
+   * @param keys the keys to remove.
+   * @return true if the removal of the keys was executed successfully, false otherwise.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  boolean deleteAll(@NonNull Collection<String> keys);
+
   /**
    * Gets the associated document with the given key from the database. If the returned document is null than there is
    * no document associated with the given key.
@@ -214,6 +237,41 @@ public interface Database extends Named, AutoCloseable {
     return TaskUtil.supplyAsync(() -> this.delete(key));
   }
 
+  /**
+   * Associates each key of the given map with the mapped document in the database. Existing keys will get overridden.
+   * In contrast to calling {@link #insert(String, Document)} for each entry, the implementation writes all entries
+   * using a single operation against the underlying database (for example a single transaction or batch), which makes
+   * this method much faster when writing a lot of documents at once.
+   * <p>
+   * The returned future, if completed successfully, completes with true to indicate that all documents were written
+   * into the database successfully. Will be completed with false if the data wasn't written without specifying a
+   * reason.
+   *
+   * @param entries the key-document pairs to insert into the database.
+   * @return a future completed with the write operation status.
+   * @throws NullPointerException if the given entries map is null.
+   */
+  default @NonNull CompletableFuture<Boolean> insertAllAsync(@NonNull Map<String, Document> entries) {
+    return TaskUtil.supplyAsync(() -> this.insertAll(entries));
+  }
+
+  /**
+   * Removes all given keys and the associated documents from the database. In contrast to calling
+   * {@link #delete(String)} for each key, the implementation removes all keys using a single operation against the
+   * underlying database (for example a single transaction or batch).
+   * <p>
+   * The returned future, if completed successfully, completes with true to indicate that the database no longer
+   * contains a mapping for the given keys and with false to indicate that there was an issue removing the keys from the
+   * database without specifying a reason.
+   *
+   * @param keys the keys to remove.
+   * @return a future completed with the removal status of the given keys.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  default @NonNull CompletableFuture<Boolean> deleteAllAsync(@NonNull Collection<String> keys) {
+    return TaskUtil.supplyAsync(() -> this.deleteAll(keys));
+  }
+
   /**
    * Gets the associated document with the given key from the database. If the returned document is null than there is
    * no document associated with the given key.
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.event;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * The bounded queue of an async event listener. Events are processed in the order they were added to the queue by at
+ * most one thread at a time, which ensures that the listener is never invoked concurrently. No thread is bound to the
+ * queue while it is empty, a drain task is submitted to a shared virtual thread executor when the first event gets
+ * added to an empty queue.
+ *
+ * @since 4.0
+ */
+final class AsyncEventQueue {
+
+  private static final ExecutorService DRAIN_EXECUTOR = Executors.newThreadPerTaskExecutor(
+    Thread.ofVirtual().name("CloudNet Async Event Listener ", 0).factory());
+
+  private final Consumer<Event> eventHandler;
+  private final AsyncOverflowPolicy overflowPolicy;
+  private final BlockingQueue<Event> queue;
+
+  private final LongAdder droppedEvents = new LongAdder();
+  private final AtomicBoolean draining = new AtomicBoolean();
+
+  /**
+   * Constructs a new async event queue.
+   *
+   * @param eventHandler   the handler to pass the queued events to.
+   * @param overflowPolicy the policy to apply when an event is added while the queue is full.
+   * @param capacity       the maximum amount of events that can be queued.
+   * @throws NullPointerException     if the given handler or overflow policy is null.
+   * @throws IllegalArgumentException if the given capacity is not positive.
+   */
+  AsyncEventQueue(@NonNull Consumer<Event> eventHandler, @NonNull AsyncOverflowPolicy overflowPolicy, int capacity) {
+    this.eventHandler = eventHandler;
+    this.overflowPolicy = overflowPolicy;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+  }
+
+  /**
+   * Adds the given event to this queue, applying the overflow policy if the queue is full.
+   *
+   * @param event the event to add to the queue.
+   * @return true if the event was added to the queue, false if it was dropped.
+   * @throws NullPointerException if the given event is null.
+   */
+  boolean enqueue(@NonNull Event event) {
+    var added = switch (this.overflowPolicy) {
+      case DROP -> this.queue.offer(event);
+      case BLOCK -> {
+        try {
+          this.queue.put(event);
+          yield true;
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+          yield false;
+        }
+      }
+    };
+
+    if (added) {
+      this.scheduleDrain();
+    } else {
+      this.droppedEvents.increment();
+    }
+
+    return added;
+  }
+
+  /**
+   * Get the amount of events that are waiting to be processed.
+   *
+   * @return the amount of events that are waiting to be processed.
+   */
+  int pendingEvents() {
+    return this.queue.size();
+  }
+
+  /**
+   * Get the amount of events that were not added to this queue because it was full.
+   *
+   * @return the amount of events that were dropped.
+   */
+  long droppedEvents() {
+    return this.droppedEvents.sum();
+  }
+
+  /**
+   * Submits a task to drain this queue, unless a drain task is already running.
+   */
+  private void scheduleDrain() {
+    if (this.draining.compareAndSet(false, true)) {
+      DRAIN_EXECUTOR.execute(this::drain);
+    }
+  }
+
+  /**
+   * Passes all queued events to the event handler, until the queue is empty.
+   */
+  private void drain() {
+    do {
+      Event event;
+      while ((event = this.queue.poll()) != null) {
+        this.eventHandler.accept(event);
+      }
+
+      // release the drain flag, then re-check the queue to not miss events added while we were releasing it
+      this.draining.set(false);
+    } while (!this.queue.isEmpty() && this.draining.compareAndSet(false, true));
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.event;
+
+/**
+ * The policy to apply when an event is called but the queue of an asynchronous event listener is full.
+ *
+ * @see EventListener#async()
+ * @since 4.0
+ */
+public enum AsyncOverflowPolicy {
+
+  /**
+   * The thread calling the event is blocked until the listener processed enough events to free up space in its queue.
+   * This policy ensures that all events are delivered to the listener, but might stall the caller.
+   */
+  BLOCK,
+  /**
+   * The event is not delivered to the listener if its queue is full. The amount of dropped events is reported in the
+   * statistics of the listener.
+   */
+  DROP
+}
@@ -21,6 +21,7 @@
 import jakarta.inject.Singleton;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -43,6 +44,8 @@ public class DefaultEventManager implements EventManager {
   protected final Lock bakeLock = new ReentrantLock(true);
   protected final Map<Class<?>, List<RegisteredEventListener>> listeners = new HashMap<>();
 
+  private volatile EventDispatchTable dispatchTable = EventDispatchTable.EMPTY;
+
   /**
    * {@inheritDoc}
    */
@@ -64,30 +67,23 @@ public class DefaultEventManager implements EventManager {
     return this;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Collection<RegisteredEventListener> registeredListeners() {
+    return this.dispatchTable.registeredListeners();
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public <T extends Event> @NonNull T callEvent(@NonNull String channel, @NonNull T event) {
-    // get all registered listeners of the event
-    var listeners = this.listeners.get(event.getClass());
-    if (listeners != null && !listeners.isEmpty()) {
-      // check if there is only one listener
-      if (listeners.size() == 1) {
-        var listener = listeners.get(0);
-        // check if the event gets called on the same channel as the listener is listening to
-        if (listener.channel().equals(channel)) {
-          listener.fireEvent(event);
-        }
-      } else {
-        // post the event to the listeners
-        for (var listener : listeners) {
-          // check if the event gets called on the same channel as the listener is listening to
-          if (listener.channel().equals(channel)) {
-            listener.fireEvent(event);
-          }
-        }
-      }
+    // get all listeners of the event type (and its supertypes) which are listening to the given channel
+    var listeners = this.dispatchTable.listeners(event.getClass(), channel);
+    for (var listener : listeners) {
+      listener.fireEvent(event);
     }
     // for chaining
     return event;
@@ -153,6 +149,7 @@ public class DefaultEventManager implements EventManager {
           listeners.add(eventListener);
           // sort now - we don't need to sort lather then
           Collections.sort(listeners);
+          this.rebuildDispatchTable();
         } finally {
           this.bakeLock.unlock();
         }
@@ -162,6 +159,14 @@ public class DefaultEventManager implements EventManager {
     return this;
   }
 
+  /**
+   * Replaces the current dispatch table with a new table based on the currently registered listeners. This method must
+   * only be called while holding the bake lock.
+   */
+  private void rebuildDispatchTable() {
+    this.dispatchTable = new EventDispatchTable(this.listeners.values());
+  }
+
   /**
    * Safely removes the all registered event listeners which are matching the given predicate.
    *
@@ -181,6 +186,8 @@ protected void safeRemove(@NonNull Predicate<RegisteredEventListener> predicate)
           iterator.remove();
         }
       }
+
+      this.rebuildDispatchTable();
     } finally {
       this.bakeLock.unlock();
     }
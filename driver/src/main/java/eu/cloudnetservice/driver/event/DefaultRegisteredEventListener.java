@@ -17,23 +17,42 @@
 package eu.cloudnetservice.driver.event;
 
 import dev.derklaro.aerogel.Element;
-import dev.derklaro.reflexion.MethodAccessor;
-import dev.derklaro.reflexion.Reflexion;
 import eu.cloudnetservice.driver.inject.InjectUtil;
 import eu.cloudnetservice.driver.inject.InjectionLayer;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * The default implementation of a registered event listener.
+ * The default implementation of a registered event listener. The invocation of the listener method is compiled once,
+ * when the listener is called for the first time. Listener methods that only take the event are compiled into a lambda
+ * using the {@link LambdaMetafactory} if the listener class is accessible with full privileges, all other listener
+ * methods are invoked through a method handle which has the instance and the injected parameters bound.
+ * <p>
+ * Async listeners get their events through a bounded queue, see {@link AsyncEventQueue}. The time spent in each
+ * invocation is recorded in the statistics of the listener, invocations taking longer than the configured threshold are
+ * logged.
  *
  * @since 4.0
  */
 final class DefaultRegisteredEventListener implements RegisteredEventListener {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultRegisteredEventListener.class);
+  private static final MethodType EVENT_INVOKER_TYPE = MethodType.methodType(void.class, Event.class);
+
+  private static final long SLOW_INVOCATION_WARNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+  private static final long SLOW_INVOCATION_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(
+    Long.getLong("cloudnet.events.slow-listener-threshold-ms", 250));
 
   private final Object instance;
   private final Class<?> eventClass;
@@ -41,9 +60,18 @@ final class DefaultRegisteredEventListener implements RegisteredEventListener {
 
   private final String methodName;
   private final Element[] methodArguments;
-  private final MethodAccessor<?> methodAccessor;
+  private final MethodHandle methodHandle;
+  private final MethodHandles.Lookup lookup;
 
   private final InjectionLayer<?> injectionLayer;
+  private final AsyncEventQueue asyncEventQueue;
+
+  private final LongAdder invocations = new LongAdder();
+  private final LongAdder totalInvocationNanos = new LongAdder();
+  private final LongAccumulator maxInvocationNanos = new LongAccumulator(Math::max, 0);
+
+  private volatile EventInvoker eventInvoker;
+  private volatile long lastSlowInvocationWarning = System.nanoTime() - SLOW_INVOCATION_WARNING_INTERVAL_NANOS;
 
   /**
    * Constructs a new default registered event listener instance.
@@ -52,7 +80,9 @@ final class DefaultRegisteredEventListener implements RegisteredEventListener {
    * @param targetMethod   the method of the event listener.
    * @param eventListener  the annotation used to identify the target method.
    * @param injectionLayer the injection layer to use when additional parameters are present on the target method.
-   * @throws NullPointerException if one of the given arguments is null.
+   * @throws NullPointerException     if one of the given arguments is null.
+   * @throws IllegalArgumentException if the given target method is not accessible or the async queue capacity is
+   *                                  not positive.
    */
   DefaultRegisteredEventListener(
     @NonNull Object instance,
@@ -70,11 +100,46 @@ final class DefaultRegisteredEventListener implements RegisteredEventListener {
     this.eventClass = targetMethod.getParameterTypes()[0];
 
     // method access
-    var reflexion = Reflexion.onBound(instance);
-    this.methodAccessor = reflexion.unreflect(targetMethod);
+    this.lookup = lookupFor(targetMethod);
+    try {
+      this.methodHandle = this.lookup.unreflect(targetMethod);
+    } catch (IllegalAccessException exception) {
+      throw new IllegalArgumentException(String.format(
+        "Unable to access event listener %s in class %s",
+        this.methodName,
+        instance.getClass().getName()
+      ), exception);
+    }
 
     // injection stuff, ignore the first element (the event itself)
     this.methodArguments = InjectUtil.buildElementsForParameters(targetMethod.getParameters(), 1);
+
+    // async listeners get their own queue which is drained in order
+    if (eventListener.async()) {
+      this.asyncEventQueue = new AsyncEventQueue(
+        this::invokeAsync,
+        eventListener.overflowPolicy(),
+        eventListener.queueCapacity());
+    } else {
+      this.asyncEventQueue = null;
+    }
+  }
+
+  /**
+   * Get a lookup which has private access to the class declaring the given method. If the package of the declaring
+   * class is not opened to this module, the method is made accessible and a lookup of this class is returned instead.
+   *
+   * @param method the method to get the lookup for.
+   * @return a lookup that can be used to unreflect the given method.
+   * @throws NullPointerException if the given method is null.
+   */
+  private static @NonNull MethodHandles.Lookup lookupFor(@NonNull Method method) {
+    try {
+      return MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+    } catch (IllegalAccessException exception) {
+      method.setAccessible(true);
+      return MethodHandles.lookup();
+    }
   }
 
   /**
@@ -82,23 +147,140 @@ final class DefaultRegisteredEventListener implements RegisteredEventListener {
    */
   @Override
   public void fireEvent(@NonNull Event event) {
-    LOGGER.debug(
-      "Calling event {} on listener {}",
-      event.getClass().getName(),
-      this.instance().getClass().getName());
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Calling event {} on listener {}", event.getClass().getName(), this.instance.getClass().getName());
+    }
 
-    // find the parameter instances, set the first argument to the event instance
-    var instances = InjectUtil.findAllInstances(this.injectionLayer, this.methodArguments, 1);
-    instances[0] = event;
+    // async listeners only get the event queued, the caller is not blocked by the listener invocation
+    if (this.asyncEventQueue != null) {
+      if (!this.asyncEventQueue.enqueue(event)) {
+        LOGGER.debug("Dropped event {} for async listener {}", event.getClass().getName(), this.methodName);
+      }
+      return;
+    }
 
     // invoke the event listener & rethrow any thrown exceptions wrapped
-    var result = this.methodAccessor.invokeWithArgs(instances);
-    if (result.wasExceptional()) {
+    try {
+      this.invoke(event);
+    } catch (Throwable throwable) {
       throw new EventListenerException(String.format(
         "Error while invoking event listener %s in class %s",
         this.methodName,
         this.instance.getClass().getName()
-      ), result.getException());
+      ), throwable);
+    }
+  }
+
+  /**
+   * Invokes the listener method with the given event from the async event queue. Exceptions thrown by the listener are
+   * logged, as there is no caller to rethrow them to.
+   *
+   * @param event the event to invoke the listener method with.
+   * @throws NullPointerException if the given event is null.
+   */
+  private void invokeAsync(@NonNull Event event) {
+    try {
+      this.invoke(event);
+    } catch (Throwable throwable) {
+      LOGGER.error(
+        "Error while invoking async event listener {} in class {}",
+        this.methodName,
+        this.instance.getClass().getName(),
+        throwable);
+    }
+  }
+
+  /**
+   * Invokes the listener method with the given event and records the time spent in the invocation.
+   *
+   * @param event the event to invoke the listener method with.
+   * @throws NullPointerException if the given event is null.
+   * @throws Throwable            if the listener method threw an exception.
+   */
+  private void invoke(@NonNull Event event) throws Throwable {
+    // compile the invoker on first use, concurrent compilations are harmless as the results are equivalent
+    var invoker = this.eventInvoker;
+    if (invoker == null) {
+      invoker = this.eventInvoker = this.compileEventInvoker();
+    }
+
+    var startTime = System.nanoTime();
+    try {
+      invoker.invoke(event);
+    } finally {
+      this.recordInvocation(event, System.nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * Records an invocation of the listener which took the given amount of nanoseconds. A warning is logged if the
+   * invocation took longer than the configured threshold, at most once in 30 seconds per listener.
+   *
+   * @param event           the event the listener was invoked with.
+   * @param invocationNanos the time the invocation took, in nanoseconds.
+   * @throws NullPointerException if the given event is null.
+   */
+  private void recordInvocation(@NonNull Event event, long invocationNanos) {
+    this.invocations.increment();
+    this.totalInvocationNanos.add(invocationNanos);
+    this.maxInvocationNanos.accumulate(invocationNanos);
+
+    if (invocationNanos >= SLOW_INVOCATION_THRESHOLD_NANOS) {
+      var now = System.nanoTime();
+      if (now - this.lastSlowInvocationWarning >= SLOW_INVOCATION_WARNING_INTERVAL_NANOS) {
+        this.lastSlowInvocationWarning = now;
+        LOGGER.warn(
+          "Event listener {} in class {} took {}ms to process {}",
+          this.methodName,
+          this.instance.getClass().getName(),
+          TimeUnit.NANOSECONDS.toMillis(invocationNanos),
+          event.getClass().getName());
+      }
+    }
+  }
+
+  /**
+   * Compiles the invoker for the underlying listener method. The parameters which need to be injected are resolved
+   * once during the compilation, rather than on each invocation.
+   *
+   * @return the compiled invoker for the listener method.
+   * @throws EventListenerException if the listener method cannot be compiled.
+   */
+  private @NonNull EventInvoker compileEventInvoker() {
+    try {
+      // try to spin a lambda for the listener method, only possible if there are no parameters to inject
+      var lookupClass = this.lookup.lookupClass();
+      if (this.methodArguments.length == 0
+        && this.lookup.hasFullPrivilegeAccess()
+        && lookupClass == this.instance.getClass()) {
+        var callSite = LambdaMetafactory.metafactory(
+          this.lookup,
+          "accept",
+          MethodType.methodType(Consumer.class, lookupClass),
+          MethodType.methodType(void.class, Object.class),
+          this.methodHandle,
+          MethodType.methodType(void.class, this.eventClass));
+
+        @SuppressWarnings("unchecked")
+        var consumer = (Consumer<Event>) callSite.getTarget().invoke(this.instance);
+        return consumer::accept;
+      }
+
+      // bind the instance and all injected parameters to the method handle
+      var handle = this.methodHandle.bindTo(this.instance);
+      if (this.methodArguments.length != 0) {
+        var injectedInstances = InjectUtil.findAllInstances(this.injectionLayer, this.methodArguments);
+        handle = MethodHandles.insertArguments(handle, 1, injectedInstances);
+      }
+
+      var invokerHandle = handle.asType(EVENT_INVOKER_TYPE);
+      return event -> invokerHandle.invokeExact(event);
+    } catch (Throwable throwable) {
+      throw new EventListenerException(String.format(
+        "Unable to compile event listener %s in class %s",
+        this.methodName,
+        this.instance.getClass().getName()
+      ), throwable);
     }
   }
 
@@ -141,4 +323,34 @@ public void fireEvent(@NonNull Event event) {
   public @NonNull EventListener eventListener() {
     return this.eventListener;
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull EventListenerStatistics statistics() {
+    return new EventListenerStatistics(
+      this.invocations.sum(),
+      this.asyncEventQueue == null ? 0 : this.asyncEventQueue.droppedEvents(),
+      this.asyncEventQueue == null ? 0 : this.asyncEventQueue.pendingEvents(),
+      Duration.ofNanos(this.totalInvocationNanos.sum()),
+      Duration.ofNanos(this.maxInvocationNanos.get()));
+  }
+
+  /**
+   * A compiled invoker of an event listener method.
+   *
+   * @since 4.0
+   */
+  @FunctionalInterface
+  private interface EventInvoker {
+
+    /**
+     * Invokes the underlying event listener method with the given event.
+     *
+     * @param event the event to pass to the listener method.
+     * @throws Throwable if the listener method threw an exception.
+     */
+    void invoke(@NonNull Event event) throws Throwable;
+  }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.event;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+
+/**
+ * An immutable snapshot of the registered event listeners which lazily computes the listeners to call for an event type
+ * and channel. The listeners of an event type include all listeners that are listening to a supertype of the event,
+ * sorted by their invocation order. A new table is created by the event manager each time a listener gets registered
+ * or unregistered, which means that the computed entries never need to be invalidated.
+ *
+ * @since 4.0
+ */
+final class EventDispatchTable {
+
+  static final EventDispatchTable EMPTY = new EventDispatchTable(List.of());
+
+  private static final RegisteredEventListener[] NO_LISTENERS = new RegisteredEventListener[0];
+
+  private final List<RegisteredEventListener> registeredListeners;
+  private final Map<Class<?>, Map<String, RegisteredEventListener[]>> dispatchCache = new ConcurrentHashMap<>();
+
+  /**
+   * Constructs a new dispatch table from the given registered listeners.
+   *
+   * @param registeredListeners the registered listeners, grouped by the event type they are listening to.
+   * @throws NullPointerException if the given listener collection is null.
+   */
+  EventDispatchTable(@NonNull Collection<? extends Collection<RegisteredEventListener>> registeredListeners) {
+    List<RegisteredEventListener> listeners = new ArrayList<>();
+    registeredListeners.forEach(listeners::addAll);
+
+    // the sort is stable, listeners with the same order are kept in the order they were registered in
+    listeners.sort(null);
+    this.registeredListeners = List.copyOf(listeners);
+  }
+
+  /**
+   * Get all listeners in this table, sorted by their invocation order.
+   *
+   * @return all listeners in this table.
+   */
+  @NonNull List<RegisteredEventListener> registeredListeners() {
+    return this.registeredListeners;
+  }
+
+  /**
+   * Get the listeners which should be called when an event of the given type is called on the given channel, sorted by
+   * their invocation order.
+   *
+   * @param eventClass the type of the event that gets called.
+   * @param channel    the channel the event gets called on.
+   * @return the listeners to call for the event, must not be modified.
+   * @throws NullPointerException if the given event class or channel is null.
+   */
+  @NonNull RegisteredEventListener[] listeners(@NonNull Class<?> eventClass, @NonNull String channel) {
+    var channelListeners = this.dispatchCache.get(eventClass);
+    if (channelListeners == null) {
+      channelListeners = this.dispatchCache.computeIfAbsent(eventClass, this::computeChannelListeners);
+    }
+
+    return channelListeners.getOrDefault(channel, NO_LISTENERS);
+  }
+
+  /**
+   * Computes the listeners of the given event type, grouped by the channel they are listening to.
+   *
+   * @param eventClass the type of the event to compute the listeners for.
+   * @return the listeners of the given event type, grouped by channel.
+   * @throws NullPointerException if the given event class is null.
+   */
+  private @NonNull Map<String, RegisteredEventListener[]> computeChannelListeners(@NonNull Class<?> eventClass) {
+    Map<String, List<RegisteredEventListener>> listenersByChannel = new HashMap<>();
+    for (var listener : this.registeredListeners) {
+      if (listener.eventClass().isAssignableFrom(eventClass)) {
+        listenersByChannel.computeIfAbsent(listener.channel(), _ -> new ArrayList<>()).add(listener);
+      }
+    }
+
+    Map<String, RegisteredEventListener[]> channelListeners = new HashMap<>(listenersByChannel.size());
+    listenersByChannel.forEach((channel, listeners) -> channelListeners.put(
+      channel,
+      listeners.toArray(RegisteredEventListener[]::new)));
+    return Map.copyOf(channelListeners);
+  }
+}
@@ -25,9 +25,9 @@
 
 /**
  * An annotation to mark a method in a class as a method listening for an event. An event method must not be static and
- * take the event the method is listening to as it's first argument. More specific filtering can be done by providing a
- * specific channel this event listener listens to. The event channel can be specified by when calling the event being
- * listened to.
+ * take the event the method is listening to as it's first argument. A listener also receives all events which are a
+ * subtype of the event it is listening to. More specific filtering can be done by providing a specific channel this
+ * event listener listens to. The event channel can be specified by when calling the event being listened to.
  * <p>
  * If an event listener is taking more than one argument, all other arguments except the event one will be requested
  * from the parent injection layer. The layer can be given to the specified {@code EventManager#registerListener}
@@ -69,4 +69,32 @@
    * @return the priority of the listener.
    */
   InvocationOrder order() default InvocationOrder.NORMAL;
+
+  /**
+   * Sets if the listener should be invoked asynchronously. Called events are put into a queue for the listener, which
+   * is processed in order by a separate thread, therefore the events are delivered to the listener in the same order
+   * they were called in. The listener is never invoked concurrently.
+   * <p>
+   * Note that the event is processed by async listeners after the event call returned. Async listeners must therefore
+   * not modify the event, changes (for example cancelling the event) will not be seen by the caller.
+   *
+   * @return true if the listener should be invoked asynchronously, false otherwise.
+   */
+  boolean async() default false;
+
+  /**
+   * Get the maximum amount of events that can be queued for an async listener. This option has no effect if the
+   * listener is not async.
+   *
+   * @return the capacity of the queue of an async listener.
+   */
+  int queueCapacity() default 1024;
+
+  /**
+   * Get the policy to apply when an event is called while the queue of an async listener is full. This option has no
+   * effect if the listener is not async.
+   *
+   * @return the policy to apply when the queue of an async listener is full.
+   */
+  AsyncOverflowPolicy overflowPolicy() default AsyncOverflowPolicy.BLOCK;
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.event;
+
+import java.time.Duration;
+import lombok.NonNull;
+
+/**
+ * A snapshot of the invocation statistics of a registered event listener, which can be used to identify listeners that
+ * slow down the event processing.
+ *
+ * @param invocations   the amount of times the listener was invoked.
+ * @param droppedEvents the amount of events that were dropped because the queue of an async listener was full.
+ * @param pendingEvents the amount of events that are waiting to be processed by an async listener.
+ * @param totalTime     the total time spent in the listener.
+ * @param maxTime       the longest time a single invocation of the listener took.
+ * @since 4.0
+ */
+public record EventListenerStatistics(
+  long invocations,
+  long droppedEvents,
+  int pendingEvents,
+  @NonNull Duration totalTime,
+  @NonNull Duration maxTime
+) {
+
+  /**
+   * Get the average time a single invocation of the listener took.
+   *
+   * @return the average time of an invocation of the listener.
+   */
+  public @NonNull Duration averageTime() {
+    return this.invocations == 0 ? Duration.ZERO : this.totalTime.dividedBy(this.invocations);
+  }
+}
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.event;
 
+import java.util.Collection;
 import lombok.NonNull;
 
 /**
@@ -31,8 +32,9 @@
  *   <li>Pass the listener class instance to {@link #registerListener(Object)}.
  * </ol>
  * <p>
- * Note: event execution is always a blocking operation, <strong>NEVER</strong> should an event listener receive event
- * notifications simultaneously. By default, no event listener will be called when any event publish is ongoing. Other
+ * Note: event execution is always a blocking operation, unless a listener explicitly opts into asynchronous delivery
+ * (see {@link EventListener#async()}). <strong>NEVER</strong> should an event listener receive event notifications
+ * simultaneously. By default, no event listener will be called when any event publish is ongoing. Other
  * implementations are free to change this behaviour as long as there are no calls to the same event listener
  * simultaneously.
  *
@@ -60,6 +62,13 @@ public interface EventManager {
    */
   @NonNull EventManager unregisterListener(Object @NonNull ... listeners);
 
+  /**
+   * Get all listeners which are currently registered in this event manager, sorted by their invocation order.
+   *
+   * @return all listeners which are currently registered in this event manager.
+   */
+  @NonNull Collection<RegisteredEventListener> registeredListeners();
+
   /**
    * Calls the given event to the * channel, triggering all event listeners which are listening to it.
    * <p>
@@ -73,6 +73,13 @@ public interface RegisteredEventListener extends Comparable<RegisteredEventListe
    */
   @NonNull Class<?> eventClass();
 
+  /**
+   * Get a snapshot of the invocation statistics of this listener.
+   *
+   * @return a snapshot of the invocation statistics of this listener.
+   */
+  @NonNull EventListenerStatistics statistics();
+
   /**
    * {@inheritDoc}
    */
@@ -18,15 +18,40 @@
 
 import eu.cloudnetservice.common.io.FileUtil;
 import eu.cloudnetservice.ext.updater.util.ChecksumUtil;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import kong.unirest.core.Unirest;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Represents the default implementation of the module dependency loader.
+ * Represents the default implementation of the module dependency loader. This loader is thread safe, the amount of
+ * dependencies that are downloaded at the same time is limited by the download parallelism given to the loader.
+ * <p>
+ * The checksum of each verified dependency file is recorded in a stamp file together with the size and modification
+ * time of the file. As long as the size and modification time of a file didn't change, the recorded checksum is trusted
+ * and the file is re-hashed in the background instead of during the dependency load. A file that turns out to be
+ * corrupted loses its stamp and is re-downloaded on the next load.
  *
  * @since 4.0
  */
@@ -40,8 +65,28 @@ public class DefaultModuleDependencyLoader implements ModuleDependencyLoader {
    * Represents a maven dependency download url in the format: repo-urlgroup/name/version/name-version.jar.
    */
   protected static final String REMOTE_DEPENDENCY_URL_FORMAT = "%s%s/%s/%s/%s-%s.jar";
+  /**
+   * The name of the file in the base directory which holds the checksums of the verified dependency files.
+   */
+  protected static final String CHECKSUM_STAMP_FILE_NAME = "checksums.stamp";
+  /**
+   * The default amount of dependencies that can be downloaded at the same time.
+   */
+  protected static final int DEFAULT_DOWNLOAD_PARALLELISM = Integer.getInteger(
+    "cloudnet.modules.dependency-download-parallelism",
+    8);
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DefaultModuleDependencyLoader.class);
+  // the trusted checksums are verified one after another, to not compete with the startup for io and cpu time
+  private static final ExecutorService LAZY_VERIFICATION_EXECUTOR = Executors.newSingleThreadExecutor(
+    Thread.ofVirtual().name("module-dependency-verifier").factory());
 
   protected final Path baseDirectory;
+  protected final Semaphore downloadPermits;
+  protected final Executor verificationExecutor;
+
+  private final Lock checksumStampLock = new ReentrantLock();
+  private volatile Map<String, ChecksumStamp> checksumStamps;
 
   /**
    * Constructs a new instance of this class.
@@ -50,7 +95,42 @@ public class DefaultModuleDependencyLoader implements ModuleDependencyLoader {
    * @throws NullPointerException if the given base directory is null.
    */
   public DefaultModuleDependencyLoader(@NonNull Path baseDirectory) {
+    this(baseDirectory, DEFAULT_DOWNLOAD_PARALLELISM);
+  }
+
+  /**
+   * Constructs a new instance of this class.
+   *
+   * @param baseDirectory       the base directory in which the dependencies should be stored.
+   * @param downloadParallelism the amount of dependencies that can be downloaded at the same time.
+   * @throws NullPointerException     if the given base directory is null.
+   * @throws IllegalArgumentException if the given download parallelism is not positive.
+   */
+  public DefaultModuleDependencyLoader(@NonNull Path baseDirectory, int downloadParallelism) {
+    this(baseDirectory, downloadParallelism, LAZY_VERIFICATION_EXECUTOR);
+  }
+
+  /**
+   * Constructs a new instance of this class.
+   *
+   * @param baseDirectory        the base directory in which the dependencies should be stored.
+   * @param downloadParallelism  the amount of dependencies that can be downloaded at the same time.
+   * @param verificationExecutor the executor which re-hashes the files that were trusted based on their checksum stamp.
+   * @throws NullPointerException     if the given base directory or verification executor is null.
+   * @throws IllegalArgumentException if the given download parallelism is not positive.
+   */
+  public DefaultModuleDependencyLoader(
+    @NonNull Path baseDirectory,
+    int downloadParallelism,
+    @NonNull Executor verificationExecutor
+  ) {
+    if (downloadParallelism <= 0) {
+      throw new IllegalArgumentException("download parallelism must be positive");
+    }
+
     this.baseDirectory = baseDirectory;
+    this.downloadPermits = new Semaphore(downloadParallelism);
+    this.verificationExecutor = verificationExecutor;
   }
 
   /**
@@ -88,7 +168,7 @@ public DefaultModuleDependencyLoader(@NonNull Path baseDirectory) {
 
   /**
    * Loads and stores a dependency on the local file system. This method will not override existing versions of the
-   * file.
+   * file, unless the checksum of the existing file doesn't match the checksum of the dependency.
    *
    * @param dependency the dependency which gets loaded.
    * @param url        the url from where the dependency should be loaded.
@@ -104,32 +184,248 @@ public DefaultModuleDependencyLoader(@NonNull Path baseDirectory) {
     FileUtil.ensureChild(this.baseDirectory, destFile);
 
     // pre-validate the checksum of the file (if present)
-    if (dependency.checksum() != null && Files.exists(destFile)) {
-      var checksum = ChecksumUtil.fileShaSum(destFile);
-      if (!checksum.equals(dependency.checksum())) {
-        // remove the file, re-download below
-        FileUtil.delete(destFile);
-      }
+    var expectedChecksum = dependency.checksum();
+    if (expectedChecksum != null && Files.exists(destFile) && !this.verifyChecksum(destFile, expectedChecksum)) {
+      // remove the file, re-download below
+      FileUtil.delete(destFile);
     }
 
     if (Files.notExists(destFile)) {
-      Files.createDirectories(destFile.getParent());
-      Unirest.get(url.toExternalForm()).asFile(destFile.toString());
+      this.downloadDependency(url, destFile);
 
       // validate the checksum before continuing (if given)
-      if (dependency.checksum() != null) {
+      if (expectedChecksum != null) {
         var checksum = ChecksumUtil.fileShaSum(destFile);
-        if (!checksum.equals(dependency.checksum())) {
+        if (!checksum.equals(expectedChecksum)) {
           // remove the file, and hard fail
           FileUtil.delete(destFile);
           throw new IllegalStateException("Unable to verify checksum of downloaded dependency " + dependency);
         }
+
+        this.storeChecksumStamp(destFile, checksum);
       }
     }
 
     return destFile.toUri().toURL();
   }
 
+  /**
+   * Downloads the file from the given url into the given target file. The download is written into a temporary file
+   * first, so that an interrupted download never leaves a partial dependency file behind. This method blocks if the
+   * maximum amount of parallel downloads is reached.
+   *
+   * @param url      the url to download the file from.
+   * @param destFile the file to store the downloaded content in.
+   * @throws Exception            if any exception occurs during the download.
+   * @throws NullPointerException if the given url or target file is null.
+   */
+  protected void downloadDependency(@NonNull URL url, @NonNull Path destFile) throws Exception {
+    Files.createDirectories(destFile.getParent());
+    var tempFile = destFile.resolveSibling(destFile.getFileName() + "." + UUID.randomUUID() + ".tmp");
+
+    this.downloadPermits.acquire();
+    try {
+      var response = Unirest.get(url.toExternalForm()).asFile(tempFile.toString(), StandardCopyOption.REPLACE_EXISTING);
+      if (!response.isSuccess()) {
+        throw new IllegalStateException(String.format(
+          "Unable to download dependency from %s: server responded with status %d",
+          url,
+          response.getStatus()));
+      }
+
+      try {
+        Files.move(tempFile, destFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(tempFile, destFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      this.downloadPermits.release();
+      FileUtil.delete(tempFile);
+    }
+  }
+
+  /**
+   * Verifies that the checksum of the given file matches the given expected checksum. If the file has a checksum
+   * stamp which still matches the size and modification time of the file, the recorded checksum is used and the file
+   * is re-hashed in the background.
+   *
+   * @param file             the file to verify the checksum of.
+   * @param expectedChecksum the expected checksum of the file.
+   * @return true if the checksum of the file matches the expected checksum, false otherwise.
+   * @throws IOException          if an I/O error occurs while reading the attributes of the file.
+   * @throws NullPointerException if the given file or expected checksum is null.
+   */
+  protected boolean verifyChecksum(@NonNull Path file, @NonNull String expectedChecksum) throws IOException {
+    var stampKey = this.checksumStampKey(file);
+    var stamp = this.checksumStamps().get(stampKey);
+    var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    if (stamp != null && stamp.checksum().equals(expectedChecksum) && stamp.matches(attributes)) {
+      this.verificationExecutor.execute(() -> this.verifyChecksumStamp(file, stampKey, stamp));
+      return true;
+    }
+
+    var checksum = ChecksumUtil.fileShaSum(file);
+    if (!checksum.equals(expectedChecksum)) {
+      this.removeChecksumStamp(stampKey);
+      return false;
+    }
+
+    this.storeChecksumStamp(file, checksum);
+    return true;
+  }
+
+  /**
+   * Re-hashes the given file and removes the checksum stamp of the file if the content doesn't match the recorded
+   * checksum, causing the file to be re-downloaded on the next load.
+   *
+   * @param file     the file to verify.
+   * @param stampKey the key of the checksum stamp of the file.
+   * @param stamp    the checksum stamp that was used to verify the file.
+   * @throws NullPointerException if the given file, stamp key or stamp is null.
+   */
+  private void verifyChecksumStamp(@NonNull Path file, @NonNull String stampKey, @NonNull ChecksumStamp stamp) {
+    try {
+      if (!ChecksumUtil.fileShaSum(file).equals(stamp.checksum())) {
+        LOGGER.warn("Module dependency {} is corrupted and will be downloaded again on the next start", file);
+        this.removeChecksumStamp(stampKey);
+      }
+    } catch (IllegalStateException exception) {
+      LOGGER.debug("Unable to verify checksum of module dependency {}", file, exception);
+      this.removeChecksumStamp(stampKey);
+    }
+  }
+
+  /**
+   * Records the given checksum for the current state of the given file and persists the stamp file.
+   *
+   * @param file     the file to record the checksum for.
+   * @param checksum the verified checksum of the file.
+   * @throws IOException          if an I/O error occurs while reading the file attributes.
+   * @throws NullPointerException if the given file or checksum is null.
+   */
+  private void storeChecksumStamp(@NonNull Path file, @NonNull String checksum) throws IOException {
+    var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    var stamp = new ChecksumStamp(attributes.size(), attributes.lastModifiedTime().toMillis(), checksum);
+    this.updateChecksumStamps(this.checksumStampKey(file), stamp);
+  }
+
+  /**
+   * Removes the checksum stamp with the given key and persists the stamp file, if a stamp with the key exists.
+   *
+   * @param stampKey the key of the stamp to remove.
+   * @throws NullPointerException if the given stamp key is null.
+   */
+  private void removeChecksumStamp(@NonNull String stampKey) {
+    if (this.checksumStamps().containsKey(stampKey)) {
+      this.updateChecksumStamps(stampKey, null);
+    }
+  }
+
+  /**
+   * Sets or removes the checksum stamp with the given key and writes all stamps into the stamp file.
+   *
+   * @param stampKey the key of the stamp to update.
+   * @param stamp    the new stamp, null to remove the stamp.
+   * @throws NullPointerException if the given stamp key is null.
+   */
+  private void updateChecksumStamps(@NonNull String stampKey, @Nullable ChecksumStamp stamp) {
+    this.checksumStampLock.lock();
+    try {
+      var stamps = this.checksumStamps();
+      if (stamp == null) {
+        stamps.remove(stampKey);
+      } else {
+        stamps.put(stampKey, stamp);
+      }
+
+      List<String> lines = new ArrayList<>(stamps.size());
+      stamps.forEach((key, value) -> lines.add(String.join(
+        "\t",
+        key,
+        Long.toString(value.size()),
+        Long.toString(value.lastModified()),
+        value.checksum())));
+
+      // write the stamps into a temporary file first, a broken stamp file would cause all files to be re-hashed
+      var stampFile = this.baseDirectory.resolve(CHECKSUM_STAMP_FILE_NAME);
+      var tempFile = stampFile.resolveSibling(CHECKSUM_STAMP_FILE_NAME + ".tmp");
+      Files.createDirectories(this.baseDirectory);
+      Files.write(tempFile, lines, StandardCharsets.UTF_8);
+      try {
+        Files.move(tempFile, stampFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(tempFile, stampFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to write module dependency checksum stamps to {}", this.baseDirectory, exception);
+    } finally {
+      this.checksumStampLock.unlock();
+    }
+  }
+
+  /**
+   * Get the checksum stamps of this loader, reading them from the stamp file on first access.
+   *
+   * @return the checksum stamps of this loader.
+   */
+  private @NonNull Map<String, ChecksumStamp> checksumStamps() {
+    var stamps = this.checksumStamps;
+    if (stamps != null) {
+      return stamps;
+    }
+
+    this.checksumStampLock.lock();
+    try {
+      if (this.checksumStamps == null) {
+        this.checksumStamps = this.readChecksumStamps();
+      }
+      return this.checksumStamps;
+    } finally {
+      this.checksumStampLock.unlock();
+    }
+  }
+
+  /**
+   * Reads the checksum stamps from the stamp file in the base directory. Malformed lines are ignored.
+   *
+   * @return the checksum stamps read from the stamp file.
+   */
+  private @NonNull Map<String, ChecksumStamp> readChecksumStamps() {
+    Map<String, ChecksumStamp> stamps = new ConcurrentHashMap<>();
+    var stampFile = this.baseDirectory.resolve(CHECKSUM_STAMP_FILE_NAME);
+    if (Files.notExists(stampFile)) {
+      return stamps;
+    }
+
+    try {
+      for (var line : Files.readAllLines(stampFile, StandardCharsets.UTF_8)) {
+        var parts = line.split("\t");
+        if (parts.length == 4) {
+          try {
+            stamps.put(parts[0], new ChecksumStamp(Long.parseLong(parts[1]), Long.parseLong(parts[2]), parts[3]));
+          } catch (NumberFormatException _) {
+            // ignore the malformed line, the file gets re-hashed
+          }
+        }
+      }
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to read module dependency checksum stamps from {}", stampFile, exception);
+    }
+    return stamps;
+  }
+
+  /**
+   * Get the key of the checksum stamp of the given file, which is the path of the file relative to the base directory.
+   *
+   * @param file the file to get the stamp key of.
+   * @return the key of the checksum stamp of the given file.
+   * @throws NullPointerException if the given file is null.
+   */
+  private @NonNull String checksumStampKey(@NonNull Path file) {
+    // ensures that we get a key which is equivalent on all operating systems
+    return this.baseDirectory.relativize(file).toString().replace('\\', '/');
+  }
+
   /**
    * Get the base directory in which the dependencies should be stored.
    *
@@ -139,4 +435,26 @@ public DefaultModuleDependencyLoader(@NonNull Path baseDirectory) {
   public @NonNull Path baseDirectory() {
     return this.baseDirectory;
   }
+
+  /**
+   * The recorded checksum of a dependency file, together with the state of the file when it was verified.
+   *
+   * @param size         the size of the file when the checksum was verified.
+   * @param lastModified the modification time of the file (in millis) when the checksum was verified.
+   * @param checksum     the verified checksum of the file.
+   * @since 4.0
+   */
+  private record ChecksumStamp(long size, long lastModified, @NonNull String checksum) {
+
+    /**
+     * Checks if the given attributes still describe the same file state that was recorded in this stamp.
+     *
+     * @param attributes the current attributes of the file.
+     * @return true if the size and modification time of the file didn't change, false otherwise.
+     * @throws NullPointerException if the given attributes are null.
+     */
+    public boolean matches(@NonNull BasicFileAttributes attributes) {
+      return attributes.size() == this.size && attributes.lastModifiedTime().toMillis() == this.lastModified;
+    }
+  }
 }
@@ -34,15 +34,19 @@
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.jar.JarEntry;
 import java.util.jar.JarInputStream;
 import lombok.NonNull;
@@ -449,7 +453,7 @@ public void notifyPostModuleLifecycleChange(@NonNull ModuleWrapper wrapper, @Non
     @NonNull Map<String, String> repos,
     @NonNull ModuleConfiguration configuration
   ) {
-    Set<URL> loadedDependencies = new HashSet<>();
+    List<Callable<URL>> dependencyLoaders = new ArrayList<>();
     Set<ModuleDependency> pendingModuleDependencies = new HashSet<>();
     if (configuration.dependencies() != null) {
       // yep for later posting of events to this thing
@@ -463,7 +467,7 @@ public void notifyPostModuleLifecycleChange(@NonNull ModuleWrapper wrapper, @Non
         dependency.assertDefaultPropertiesSet();
         // decide which way to go (by url or repository). In this case we start with the developer defined url if there's one
         if (dependency.url() != null) {
-          loadedDependencies.add(this.doLoadDependency(dependency, configuration, handler,
+          dependencyLoaders.add(() -> this.doLoadDependency(dependency, configuration, handler,
             () -> this.moduleDependencyLoader.loadModuleDependencyByUrl(configuration, dependency)));
           continue;
         }
@@ -473,7 +477,7 @@ public void notifyPostModuleLifecycleChange(@NonNull ModuleWrapper wrapper, @Non
             repos.get(dependency.repo()),
             "Dependency %s declared unknown repository %s as it's source",
             dependency.toString(), dependency.repo());
-          loadedDependencies.add(this.doLoadDependency(dependency, configuration, handler,
+          dependencyLoaders.add(() -> this.doLoadDependency(dependency, configuration, handler,
             () -> this.moduleDependencyLoader.loadModuleDependencyByRepository(configuration, dependency, repoUrl)));
           continue;
         }
@@ -481,10 +485,44 @@ public void notifyPostModuleLifecycleChange(@NonNull ModuleWrapper wrapper, @Non
         pendingModuleDependencies.add(dependency);
       }
     }
-    // combine and return the result of the load
+    // load the remote dependencies concurrently, combine and return the result of the load
+    Set<URL> loadedDependencies = new HashSet<>(this.loadDependenciesConcurrently(dependencyLoaders));
     return new Tuple2<>(loadedDependencies, pendingModuleDependencies);
   }
 
+  /**
+   * Runs all given dependency loaders concurrently and waits for all of them to complete. The amount of downloads that
+   * are running at the same time is limited by the module dependency loader. This method is fail-fast.
+   *
+   * @param dependencyLoaders the loaders of the dependencies to load.
+   * @return the locations of the loaded dependencies in url form.
+   * @throws AssertionError       if one dependency can't be loaded.
+   * @throws NullPointerException if the given dependency loaders collection is null.
+   */
+  protected @NonNull Collection<URL> loadDependenciesConcurrently(
+    @NonNull Collection<Callable<URL>> dependencyLoaders
+  ) {
+    try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      var loadTasks = dependencyLoaders.stream().map(executor::submit).toList();
+      List<URL> loadedDependencies = new ArrayList<>(loadTasks.size());
+      for (var loadTask : loadTasks) {
+        try {
+          loadedDependencies.add(loadTask.get());
+        } catch (ExecutionException exception) {
+          // the loaders are wrapped by doLoadDependency and therefore throw an assertion error on failure
+          if (exception.getCause() instanceof AssertionError assertionError) {
+            throw assertionError;
+          }
+          throw new AssertionError("Failed to load module dependency", exception.getCause());
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+          throw new AssertionError("Interrupted while loading module dependencies", exception);
+        }
+      }
+      return loadedDependencies;
+    }
+  }
+
   /**
    * Tries to load a module dependency. This method is fail-fast.
    *
@@ -25,6 +25,8 @@
  * <p>
  * Note: The module dependency loader is not loading any of the downloaded dependencies, they are just downloaded and
  * stored in the libs' directory.
+ * <p>
+ * Note: The dependencies of a module are loaded concurrently, implementations of this loader must be thread safe.
  *
  * @see DefaultModuleProvider#DEFAULT_LIB_DIR
  * @see ModuleDependency
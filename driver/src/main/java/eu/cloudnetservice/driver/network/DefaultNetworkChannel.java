@@ -21,9 +21,11 @@
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
 import eu.cloudnetservice.driver.network.protocol.defaults.DefaultPacketListenerRegistry;
 import eu.cloudnetservice.driver.network.protocol.defaults.DefaultQueryPacketManager;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * The default abstract implementation of a network channel.
@@ -78,6 +80,14 @@ public DefaultNetworkChannel(
     return this.queryPacketManager.sendQueryPacket(packet);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull CompletableFuture<Packet> sendQueryAsync(@NonNull Packet packet, @Nullable Duration timeout) {
+    return this.queryPacketManager.sendQueryPacket(packet, timeout);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -20,8 +20,10 @@
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import eu.cloudnetservice.driver.network.protocol.PacketSender;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * A network channel represents an open connection from/to server.
@@ -95,6 +97,19 @@ public interface NetworkChannel extends PacketSender {
   @NonNull
   CompletableFuture<Packet> sendQueryAsync(@NonNull Packet packet);
 
+  /**
+   * Converts and sends the given packet as a query into this channel, returning a future either completed with the
+   * response to the query or an exception if no response to the packet was received within the given timeout. If the
+   * given timeout is null, the default query timeout is applied.
+   *
+   * @param packet  the packet to send as a query.
+   * @param timeout the maximum time to wait for a response, null to apply the default query timeout.
+   * @return a future completed with the result of the query or an exception in case of a timeout.
+   * @throws NullPointerException if the given packet is null.
+   */
+  @NonNull
+  CompletableFuture<Packet> sendQueryAsync(@NonNull Packet packet, @Nullable Duration timeout);
+
   /**
    * Get if the underlying channel is currently writeable and will perform writes to the channel immediately.
    *
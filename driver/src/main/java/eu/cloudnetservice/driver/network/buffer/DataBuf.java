@@ -96,6 +96,16 @@ public interface DataBuf extends AutoCloseable {
    */
   int readInt();
 
+  /**
+   * Reads a variable length encoded 32-bit integer from this buffer at the current reader index. Between one and five
+   * bytes are read from the buffer, depending on the size of the encoded value.
+   *
+   * @return the next var int in the buffer at the current reader index.
+   * @throws IndexOutOfBoundsException if there are not enough bytes to read the var int.
+   * @throws IllegalStateException     if this buffer was released or no valid var int is at the reader index.
+   */
+  int readVarInt();
+
   /**
    * Reads a 16-bit short from this buffer at the current reader index. Exactly two bytes are read from the buffer.
    *
@@ -365,6 +375,17 @@ interface Mutable extends DataBuf {
     @NonNull
     DataBuf.Mutable writeInt(int integer);
 
+    /**
+     * Writes the given integer as a variable length encoded integer at the current writer index, increasing the index
+     * by one to five, depending on the size of the given value. Small positive values use less bytes than writing them
+     * using {@link #writeInt(int)}, negative values always use five bytes.
+     *
+     * @param integer the integer to write into the buffer.
+     * @return the same buffer used to call the method, for chaining.
+     */
+    @NonNull
+    DataBuf.Mutable writeVarInt(int integer);
+
     /**
      * Writes the given byte at the current writer index, increasing the index by one.
      *
@@ -30,6 +30,7 @@
 public final class NetworkConstants {
 
   // reserved internal packet ids
+  public static final int QUERY_RESPONSE_CHANNEL = -1;
   public static final int INTERNAL_RPC_COM_CHANNEL = 0;
   public static final int CHANNEL_MESSAGING_CHANNEL = 1;
   public static final int CHUNKED_PACKET_COM_CHANNEL = 2;
@@ -17,7 +17,9 @@
 package eu.cloudnetservice.driver.network.netty;
 
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.channel.SimpleChannelInboundHandler;
 import java.io.IOException;
@@ -93,9 +95,10 @@ protected void messageReceived(@NonNull ChannelHandlerContext ctx, @NonNull Base
    */
   protected void doHandlePacket(@NonNull BasePacket packet) {
     try {
-      var uuid = packet.uniqueId();
-      if (uuid != null) {
-        var task = this.channel.queryPacketManager().waitingHandler(uuid);
+      // only packets sent to the response channel can be a response to a query sent by this component. query ids are
+      // assigned by each side of the connection individually, therefore a query request could share the id of a query
+      if (packet.channel() == NetworkConstants.QUERY_RESPONSE_CHANNEL && packet.queryId() != Packet.NO_QUERY_ID) {
+        var task = this.channel.queryPacketManager().waitingHandler(packet.queryId());
         if (task != null) {
           // complete the waiting task
           task.complete(packet);
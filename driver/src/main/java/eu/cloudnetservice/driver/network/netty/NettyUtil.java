@@ -259,6 +259,69 @@ public static int varIntBytes(int value) {
     }
   }
 
+  /**
+   * Writes the given long value as a var long into the buffer.
+   *
+   * @param buffer the buffer to write to.
+   * @param value  the value to write into the buffer.
+   * @return the buffer used to call the method, for chaining.
+   * @throws NullPointerException if the given byte buf is null.
+   */
+  public static @NonNull Buffer writeVarLong(@NonNull Buffer buffer, long value) {
+    while (true) {
+      if ((value & ~0x7FL) == 0) {
+        buffer.writeByte((byte) value);
+        return buffer;
+      } else {
+        buffer.writeByte((byte) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+    }
+  }
+
+  /**
+   * Reads a var long from the given buffer.
+   *
+   * @param buffer the buffer to read from.
+   * @return the var long read from the buffer.
+   * @throws DecoderException     if the buf current position has no var long.
+   * @throws NullPointerException if the given buffer to read from is null.
+   */
+  public static long readVarLong(@NonNull Buffer buffer) {
+    long result = 0;
+    var maxRead = Math.min(10, buffer.readableBytes());
+    for (var j = 0; j < maxRead; j++) {
+      var nextByte = buffer.readByte();
+      result |= (long) (nextByte & 0x7F) << j * 7;
+      if ((nextByte & 0x80) != 128) {
+        return result;
+      }
+    }
+
+    // unable to decode a var long at the current position
+    var bufferDump = BufferUtil.hexDump(buffer, 0, buffer.readableBytes());
+    throw new DecoderException(String.format(
+      "Unable to decode VarLong at current buffer position (%d): %s",
+      buffer.readerOffset(),
+      bufferDump));
+  }
+
+  /**
+   * Gets the number of bytes that writing the given long as a var long will take in the underlying buffer.
+   *
+   * @param value the number to get the amount of bytes for.
+   * @return the number of bytes writing the given number as a var long will take.
+   */
+  public static int varLongBytes(long value) {
+    if (value < 0) {
+      return 10;
+    }
+
+    // each byte holds 7 bits of the value, at least one byte is always written
+    var usedBits = Long.SIZE - Long.numberOfLeadingZeros(value);
+    return Math.max(1, (usedBits + 6) / 7);
+  }
+
   /**
    * Get the selected netty transport which will be used for client/server channel and event loop group construction.
    *
@@ -78,6 +78,20 @@ public int readInt() {
     return this.hotRead(Buffer::readInt);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int readVarInt() {
+    return this.hotRead(buf -> {
+      var varInt = NettyUtil.readVarIntOrNull(buf);
+      if (varInt == null) {
+        throw new IllegalStateException("no var int at the current buffer position");
+      }
+      return varInt;
+    });
+  }
+
   /**
    * {@inheritDoc}
    */
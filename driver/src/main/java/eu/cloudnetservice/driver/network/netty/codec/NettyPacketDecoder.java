@@ -22,7 +22,6 @@
 import io.netty5.buffer.Buffer;
 import io.netty5.channel.ChannelHandlerContext;
 import io.netty5.handler.codec.ByteToMessageDecoder;
-import java.util.UUID;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.slf4j.Logger;
@@ -36,7 +35,7 @@
  * A packet always contains the following data:
  * <ol>
  *   <li>The numeric id of the channel being sent to, by default a var int.
- *   <li>An optional query unique id if the packet is a query.
+ *   <li>The query id of the packet as a var long, 0 if the packet is not a query.
  *   <li>The data transferred to this component, might be empty.
  * </ol>
  *
@@ -62,7 +61,7 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
       // read the required base data from the buffer
       var channel = NettyUtil.readVarInt(in);
       var prioritized = in.readBoolean();
-      var queryUniqueId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+      var queryId = NettyUtil.readVarLong(in);
 
       // extract the body
       var bodyLength = NettyUtil.readVarInt(in);
@@ -71,7 +70,7 @@ protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
 
       // construct the packet
       var packet = new BasePacket(channel, prioritized, body);
-      packet.uniqueId(queryUniqueId);
+      packet.queryId(queryId);
 
       // register the packet for further downstream handling
       ctx.fireChannelRead(packet);
@@ -31,9 +31,12 @@
  * A packet always contains the following data:
  * <ol>
  *   <li>The numeric id of the channel being sent to, by default a var int.
- *   <li>An optional query unique id if the packet is a query.
+ *   <li>The query id of the packet as a var long, 0 if the packet is not a query.
  *   <li>The data transferred to this component, might be empty.
  * </ol>
+ * <p>
+ * Note that this format is not compatible with the format of versions which encoded the query id as a flag followed by
+ * a unique id. All components in a cluster must therefore be updated at the same time.
  *
  * @since 4.0
  */
@@ -47,16 +50,12 @@ public final class NettyPacketEncoder extends MessageToByteEncoder<Packet> {
    */
   @Override
   protected Buffer allocateBuffer(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg) {
-    // we allocate 2 booleans (prioritized and isQuery) + content length + channel in advance
-    var bufferLength = 2
+    // we allocate 1 boolean (prioritized) + query id + content length + channel in advance
+    var bufferLength = 1
       + msg.content().readableBytes()
       + NettyUtil.varIntBytes(msg.channel())
+      + NettyUtil.varLongBytes(msg.queryId())
       + NettyUtil.varIntBytes(msg.content().readableBytes());
-    // if the given packet has a query unique id we need two longs for that unique id as well
-    if (msg.uniqueId() != null) {
-      bufferLength += 16;
-    }
-
     return ctx.bufferAllocator().allocate(bufferLength);
   }
 
@@ -68,13 +67,7 @@ protected void encode(@NonNull ChannelHandlerContext ctx, @NonNull Packet msg, @
     NettyUtil.writeVarInt(out, msg.channel());
     out.writeBoolean(msg.prioritized());
 
-    var queryUniqueId = msg.uniqueId();
-    out.writeBoolean(queryUniqueId != null);
-    if (queryUniqueId != null) {
-      out
-        .writeLong(queryUniqueId.getMostSignificantBits())
-        .writeLong(queryUniqueId.getLeastSignificantBits());
-    }
+    NettyUtil.writeVarLong(out, msg.queryId());
 
     // copy over the packet body into the output buffer
     var content = ((NettyImmutableDataBuf) msg.content()).buffer();
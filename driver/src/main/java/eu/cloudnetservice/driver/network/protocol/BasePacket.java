@@ -17,12 +17,11 @@
 package eu.cloudnetservice.driver.network.protocol;
 
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import java.time.Instant;
-import java.util.UUID;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.ToString;
-import org.jetbrains.annotations.Nullable;
 
 /**
  * The default implementation of a packet. Each subclass of a packet might implement the packet interface themselves,
@@ -39,7 +38,7 @@ public class BasePacket implements Packet {
   protected final boolean prioritized;
   protected final Instant creationStamp;
 
-  protected UUID uniqueId;
+  protected long queryId = NO_QUERY_ID;
 
   /**
    * Constructs a new base packet instance.
@@ -72,8 +71,8 @@ public BasePacket(int channel, boolean prioritized, @NonNull DataBuf dataBuf) {
    */
   @Override
   public @NonNull Packet constructResponse(@NonNull DataBuf content) {
-    var packet = new BasePacket(-1, content);
-    packet.uniqueId(this.uniqueId());
+    var packet = new BasePacket(NetworkConstants.QUERY_RESPONSE_CHANNEL, content);
+    packet.queryId(this.queryId);
     return packet;
   }
 
@@ -81,16 +80,16 @@ public BasePacket(int channel, boolean prioritized, @NonNull DataBuf dataBuf) {
    * {@inheritDoc}
    */
   @Override
-  public @Nullable UUID uniqueId() {
-    return this.uniqueId;
+  public long queryId() {
+    return this.queryId;
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void uniqueId(@Nullable UUID uniqueId) {
-    this.uniqueId = uniqueId;
+  public void queryId(long queryId) {
+    this.queryId = queryId;
   }
 
   /**
@@ -18,10 +18,8 @@
 
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import java.time.Instant;
-import java.util.UUID;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
-import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents the main communication entrypoint for the CloudNet network. Every data which is sent over the network must
@@ -45,6 +43,11 @@
  */
 public interface Packet {
 
+  /**
+   * The query id of a packet that is not a query packet and therefore doesn't expect a response.
+   */
+  long NO_QUERY_ID = 0;
+
   /**
    * Get a jvm static implementation of a packet which holds no content and is designed to catch read/write activity on
    * those packets by throwing an exception. Normally used by the query manager to complete futures which timed out.
@@ -60,7 +63,7 @@ public interface Packet {
    * query is very common. The resulting packet will
    * <ol>
    *   <li>have a packet id set to -1 for query identification.
-   *   <li>have the same query unique id as this packet has.
+   *   <li>have the same query id as this packet has.
    *   <li>have the given content buffer as the content set.
    * </ol>
    *
@@ -72,23 +75,23 @@ public interface Packet {
   Packet constructResponse(@NonNull DataBuf content);
 
   /**
-   * Get the unique id of this packet. The unique id of the packet is only set when this packet is a query packet and
+   * Get the query id of this packet. The query id of the packet is only set when this packet is a query packet and
    * expects a response. In this case the response to this packet should have the packet id set to -1 and the same query
-   * unique id as this packet has. Normally a response is constructed by {@link #constructResponse(DataBuf)}.
+   * id as this packet has. Normally a response is constructed by {@link #constructResponse(DataBuf)}.
    *
-   * @return the unique id of this packet, or null if this packet is not a query packet.
+   * @return the query id of this packet, or {@link #NO_QUERY_ID} if this packet is not a query packet.
    */
-  @Nullable UUID uniqueId();
+  long queryId();
 
   /**
-   * Sets the unique id of this packet. If the unique id is set and the packet is sent the packet will be handled as a
-   * query packet. This method should not be used directly to set or change the unique id of a packet. The unique id
+   * Sets the query id of this packet. If the query id is set and the packet is sent the packet will be handled as a
+   * query packet. This method should not be used directly to set or change the query id of a packet. The query id
    * handling is made by the query manager used to send the packet as a query.
    *
-   * @param uniqueId the new unique id of this packet or null if this packet is not a query packet.
+   * @param queryId the new query id of this packet or {@link #NO_QUERY_ID} if this packet is not a query packet.
    */
   @ApiStatus.Internal
-  void uniqueId(@Nullable UUID uniqueId);
+  void queryId(long queryId);
 
   /**
    * Get the channel id to which this packet was sent. Listeners can be registered to that channel and will be notified
@@ -17,7 +17,7 @@
 package eu.cloudnetservice.driver.network.protocol;
 
 import eu.cloudnetservice.driver.network.NetworkChannel;
-import java.util.UUID;
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -47,33 +47,45 @@ public interface QueryPacketManager {
   long waitingHandlerCount();
 
   /**
-   * Checks if a waiting handler is registered (and therefore still waiting for a result) for the given unique id.
+   * Checks if a waiting handler is registered (and therefore still waiting for a result) for the given query id.
    *
-   * @param queryUniqueId the unique id of the query to check for.
+   * @param queryId the id of the query to check for.
    * @return true if the handler is still registered, false otherwise.
-   * @throws NullPointerException if the given unique id is null.
    */
-  boolean hasWaitingHandler(@NonNull UUID queryUniqueId);
+  boolean hasWaitingHandler(long queryId);
 
   /**
-   * Gets and removes the waiting handler for the given query unique id.
+   * Gets and removes the waiting handler for the given query id.
    *
-   * @param queryUniqueId the unique id of the handler to get.
-   * @return the waiting handler associated with the given unique id, null if no handler with that id is waiting.
-   * @throws NullPointerException if the given unique id is null.
+   * @param queryId the id of the query to get the handler of.
+   * @return the waiting handler associated with the given query id, null if no handler with that id is waiting.
    */
   @Nullable
-  CompletableFuture<Packet> waitingHandler(@NonNull UUID queryUniqueId);
+  CompletableFuture<Packet> waitingHandler(long queryId);
 
   /**
    * Sends a query packet to the associated network channel, automatically selecting a query id for the packet and
-   * setting it. Equivalent to {@code manager.sendQueryPacket(packet, UUID.randomUUID()}. An existing query unique id in
-   * the packet will get overridden.
+   * setting it, if the packet has no query id yet. The returned future is completed exceptionally with a timeout
+   * exception if no response is received within the default query timeout.
    *
    * @param packet the packet to convert to a query packet and send to the channel.
-   * @return a future completed with either the response to the packet or an empty packet if the waiting time expires.
+   * @return a future completed with the response to the packet or exceptionally if the waiting time expires.
    * @throws NullPointerException if the given packet is null.
    */
   @NonNull
   CompletableFuture<Packet> sendQueryPacket(@NonNull Packet packet);
+
+  /**
+   * Sends a query packet to the associated network channel, automatically selecting a query id for the packet and
+   * setting it, if the packet has no query id yet. The returned future is completed exceptionally with a timeout
+   * exception if no response is received within the given timeout. If the given timeout is null, the default query
+   * timeout is applied.
+   *
+   * @param packet  the packet to convert to a query packet and send to the channel.
+   * @param timeout the maximum time to wait for a response to the query, null to use the default query timeout.
+   * @return a future completed with the response to the packet or exceptionally if the waiting time expires.
+   * @throws NullPointerException if the given packet is null.
+   */
+  @NonNull
+  CompletableFuture<Packet> sendQueryPacket(@NonNull Packet packet, @Nullable Duration timeout);
 }
@@ -16,43 +16,56 @@
 
 package eu.cloudnetservice.driver.network.protocol.defaults;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
-import com.github.benmanes.caffeine.cache.RemovalCause;
-import com.github.benmanes.caffeine.cache.RemovalListener;
+import eu.cloudnetservice.common.concurrent.HashedWheelTimer;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
 import java.time.Duration;
-import java.util.Objects;
-import java.util.UUID;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
- * The default implementation of the query manager.
+ * The default implementation of the query manager. Query ids are assigned from a monotonic counter per manager, the
+ * timeouts of the waiting handlers are tracked in a timer wheel which is shared between all managers.
  *
  * @since 4.0
  */
 public class DefaultQueryPacketManager implements QueryPacketManager {
 
+  /**
+   * The timeout that is applied to queries that were sent without an explicit timeout.
+   */
+  public static final Duration DEFAULT_QUERY_TIMEOUT = Duration.ofHours(8);
+
+  protected static final HashedWheelTimer QUERY_TIMEOUT_TIMER = new HashedWheelTimer(
+    "CloudNet Query Timeout Timer",
+    Duration.ofMillis(100),
+    512);
+  // the timer is shared between all managers, the expired tasks are completed on a virtual thread to prevent that the
+  // continuations of the tasks are executed on (and block) the timer thread
+  protected static final Executor QUERY_TIMEOUT_EXECUTOR = Executors.newThreadPerTaskExecutor(
+    Thread.ofVirtual().name("query-timeout-", 0).factory());
+
   protected final NetworkChannel networkChannel;
-  protected final Cache<UUID, CompletableFuture<Packet>> waitingHandlers;
+  protected final AtomicLong queryIdCounter = new AtomicLong();
+  protected final Map<Long, WaitingHandler> waitingHandlers = new ConcurrentHashMap<>();
 
   /**
-   * Constructs a new query manager for the given network with the provided query timeout.
+   * Constructs a new query manager for the given network channel.
    *
    * @param networkChannel the network channel associated with this manager.
    * @throws NullPointerException if the given network channel is null.
    */
   public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel) {
     this.networkChannel = networkChannel;
-    this.waitingHandlers = Caffeine.newBuilder()
-      .expireAfterWrite(Duration.ofHours(8))
-      .removalListener(this.newRemovalListener())
-      .build();
   }
 
   /**
@@ -68,27 +81,28 @@ public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel) {
    */
   @Override
   public long waitingHandlerCount() {
-    return this.waitingHandlers.estimatedSize();
+    return this.waitingHandlers.size();
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
-    return this.waitingHandlers.getIfPresent(queryUniqueId) != null;
+  public boolean hasWaitingHandler(long queryId) {
+    return this.waitingHandlers.containsKey(queryId);
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public @Nullable CompletableFuture<Packet> waitingHandler(@NonNull UUID queryUniqueId) {
-    var task = this.waitingHandlers.getIfPresent(queryUniqueId);
-    if (task != null) {
-      this.waitingHandlers.invalidate(queryUniqueId);
+  public @Nullable CompletableFuture<Packet> waitingHandler(long queryId) {
+    var handler = this.waitingHandlers.remove(queryId);
+    if (handler != null) {
+      handler.timeout().cancel();
+      return handler.responseTask();
     }
-    return task;
+    return null;
   }
 
   /**
@@ -96,29 +110,81 @@ public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
    */
   @Override
   public @NonNull CompletableFuture<Packet> sendQueryPacket(@NonNull Packet packet) {
-    // constructs and register a task for the given query unique id. note that if a replacement by key is
-    // happening in the cache, the eviction listener is called and the previous future is automatically
-    // cancelled, therefore there is no need to explicitly check for that here.
+    return this.sendQueryPacket(packet, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull CompletableFuture<Packet> sendQueryPacket(@NonNull Packet packet, @Nullable Duration timeout) {
+    // use the query id of the packet if already set, else assign the next free one
+    var queryId = packet.queryId() == Packet.NO_QUERY_ID ? this.nextQueryId() : packet.queryId();
+    packet.queryId(queryId);
+
+    // schedule the timeout of the query, no need to check for a result here as the task
+    // will only remove the handler that was registered in this method call
     var responseTask = new CompletableFuture<Packet>();
-    var queryUniqueId = Objects.requireNonNullElseGet(packet.uniqueId(), UUID::randomUUID);
-    this.waitingHandlers.put(queryUniqueId, responseTask);
+    var timeoutMillis = Math.max(1, (timeout == null ? DEFAULT_QUERY_TIMEOUT : timeout).toMillis());
+    var handler = new WaitingHandler(responseTask, QUERY_TIMEOUT_TIMER.schedule(
+      () -> this.expireWaitingHandler(queryId, responseTask),
+      timeoutMillis,
+      TimeUnit.MILLISECONDS));
+
+    // register the task for the query id. if another task was registered with the same id
+    // it will never receive a response, so we can just complete it with a timeout exception
+    var previousHandler = this.waitingHandlers.put(queryId, handler);
+    if (previousHandler != null) {
+      previousHandler.timeout().cancel();
+      previousHandler.responseTask().completeExceptionally(new TimeoutException());
+    }
+
+    // the timeout might have expired before the handler was registered, ensure it gets removed in that case
+    if (handler.timeout().expired()) {
+      this.expireWaitingHandler(queryId, responseTask);
+    }
 
-    packet.uniqueId(queryUniqueId);
     this.networkChannel.sendPacketSync(packet);
     return responseTask;
   }
 
   /**
-   * Constructs a new removal listener for the cache, completing the future of a query packet with a timeout exception
-   * when evicted from the cache.
+   * Get the next query id to use for a query sent by this manager. Query ids are never {@link Packet#NO_QUERY_ID}.
    *
-   * @return a new removal listeners for unanswered packet future completion.
+   * @return the next query id to use.
    */
-  protected @NonNull RemovalListener<UUID, CompletableFuture<Packet>> newRemovalListener() {
-    return (_, value, cause) -> {
-      if (cause != RemovalCause.EXPLICIT && value != null) {
-        value.completeExceptionally(new TimeoutException());
-      }
-    };
+  protected long nextQueryId() {
+    var queryId = this.queryIdCounter.incrementAndGet();
+    return queryId == Packet.NO_QUERY_ID ? this.queryIdCounter.incrementAndGet() : queryId;
+  }
+
+  /**
+   * Removes the waiting handler for the given query id if it is still associated with the given task and completes
+   * the task exceptionally with a timeout exception. The task is completed asynchronously, as this method is called by
+   * the timer thread which is shared between all query managers.
+   *
+   * @param queryId      the id of the query that timed out.
+   * @param responseTask the task that is waiting for the response to the query.
+   * @throws NullPointerException if the given response task is null.
+   */
+  protected void expireWaitingHandler(long queryId, @NonNull CompletableFuture<Packet> responseTask) {
+    var handler = this.waitingHandlers.get(queryId);
+    if (handler != null && handler.responseTask() == responseTask && this.waitingHandlers.remove(queryId, handler)) {
+      QUERY_TIMEOUT_EXECUTOR.execute(() -> responseTask.completeExceptionally(new TimeoutException()));
+    }
+  }
+
+  /**
+   * A handler that is waiting for the response to a query.
+   *
+   * @param responseTask the task to complete with the response to the query.
+   * @param timeout      the timeout which completes the task if no response was received in time.
+   * @since 4.0
+   */
+  protected record WaitingHandler(
+    @NonNull CompletableFuture<Packet> responseTask,
+    @NonNull HashedWheelTimer.Timeout timeout
+  ) {
+
   }
 }
@@ -20,6 +20,7 @@
 import java.lang.reflect.Type;
 import java.time.Duration;
 import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -134,4 +135,16 @@ public interface RPC extends RPCProvider, RPCExecutable, ChainableRPC {
    * @return true if the result of this RPC gets discarded, false otherwise.
    */
   boolean resultDropped();
+
+  /**
+   * Creates a new batch of independent rpc calls containing this rpc as the first and the given rpc as the second call.
+   * All calls in the batch are sent to the target network component using a single request, see {@link RPCBatch}.
+   *
+   * @param rpc the rpc to add to the batch after this rpc.
+   * @return a new rpc batch containing this and the given rpc.
+   * @throws NullPointerException if the given rpc is null.
+   */
+  @NonNull
+  @Contract("_ -> new")
+  RPCBatch batch(@NonNull RPC rpc);
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.NonNull;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NonBlocking;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Represents a batch of independent rpc calls which are sent to the target network component using a single request.
+ * In contrast to a {@link RPCChain}, the calls in a batch do not depend on each other and are executed concurrently on
+ * the receiver side. The result of each call is reported individually, an exception in one call does not affect the
+ * execution or result of the other calls in the batch.
+ * <p>
+ * Each call in the batch behaves as described in {@link RPC}, except that the timeout of the batch is the longest
+ * timeout of all calls in it (or no timeout if one of the calls has no timeout) and that calls with a dropped result
+ * are still executed but their result is not waited for.
+ * <p>
+ * RPC batches are completely safe to re-use, every call added to a batch will result in a new batch instance.
+ *
+ * @since 4.0
+ */
+public interface RPCBatch extends RPCProvider {
+
+  /**
+   * Adds the given rpc to this batch. This method always returns a new rpc batch with the given rpc as the last call,
+   * this batch is not modified.
+   *
+   * @param rpc the rpc to add to the batch.
+   * @return a new rpc batch instance with the given rpc as the last call.
+   * @throws NullPointerException if the given rpc is null.
+   */
+  @NonNull
+  @Contract("_ -> new")
+  RPCBatch add(@NonNull RPC rpc);
+
+  /**
+   * Get all calls of this batch in the order in which they were added. The results returned by the fire methods are in
+   * the same order.
+   *
+   * @return all calls of this batch in the order in which they were added.
+   */
+  @NonNull
+  @UnmodifiableView
+  List<RPC> calls();
+
+  /**
+   * Fires all calls of this batch into the first channel of the associated network component and doesn't wait for the
+   * results of the calls to become available. This method will not suspend the current thread.
+   *
+   * @throws NullPointerException if the associated network component has no channels available.
+   */
+  @NonBlocking
+  void fireAndForget();
+
+  /**
+   * Fires all calls of this batch into the given network channel and doesn't wait for the results of the calls to
+   * become available. This method will not suspend the current thread.
+   *
+   * @param component the network channel to which the batch should be sent.
+   * @throws NullPointerException if the given network channel is null.
+   */
+  @NonBlocking
+  void fireAndForget(@NonNull NetworkChannel component);
+
+  /**
+   * Fires all calls of this batch into the first channel of the associated network component and returns one future
+   * per call, in the order of the calls in this batch. Each future is completed with the return value of the associated
+   * method execution or exceptionally if the call failed. Note: if the target method returns a task, the associated
+   * future is completed with the return value of the task directly.
+   *
+   * @return the futures completed with the results of the calls, in the order of the calls in this batch.
+   * @throws NullPointerException if the associated network component has no channels available.
+   */
+  @NonNull
+  @NonBlocking
+  List<CompletableFuture<Object>> fire();
+
+  /**
+   * Fires all calls of this batch into the given network channel and returns one future per call, in the order of the
+   * calls in this batch. Each future is completed with the return value of the associated method execution or
+   * exceptionally if the call failed. Note: if the target method returns a task, the associated future is completed
+   * with the return value of the task directly.
+   *
+   * @param component the network channel to which the batch should be sent.
+   * @return the futures completed with the results of the calls, in the order of the calls in this batch.
+   * @throws NullPointerException if the given network channel is null.
+   */
+  @NonNull
+  @NonBlocking
+  List<CompletableFuture<Object>> fire(@NonNull NetworkChannel component);
+}
@@ -112,16 +112,13 @@ final class DefaultRPCHandler extends DefaultRPCProvider implements RPCHandler {
       return TaskUtil.finishedFuture(new RPCInvocationResult.ServerError("no instance to invoke the method on", this));
     }
 
-    // parse the method type to validate it
-    var targetMethodType = parseMethodDescriptor(context.methodDescriptor());
-    if (targetMethodType == null) {
-      return TaskUtil.finishedFuture(new RPCInvocationResult.BadRequest("invalid target method descriptor", this));
-    }
-
-    // find the associated method meta in the target class
-    var targetMethod = this.targetClassMeta.findMethod(context.methodName(), targetMethodType);
+    // find the associated method meta in the target class. the descriptor is only parsed if the method wasn't found, as
+    // the lookup by the raw descriptor will never yield a result for an invalid descriptor
+    var targetMethod = this.targetClassMeta.findMethod(context.methodName(), context.methodDescriptor());
     if (targetMethod == null) {
-      return TaskUtil.finishedFuture(new RPCInvocationResult.BadRequest("target method not found", this));
+      var targetMethodType = parseMethodDescriptor(context.methodDescriptor());
+      var msg = targetMethodType == null ? "invalid target method descriptor" : "target method not found";
+      return TaskUtil.finishedFuture(new RPCInvocationResult.BadRequest(msg, this));
     }
 
     // deserialize the provided method arguments, returns null in case the arguments buffer
@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
 import eu.cloudnetservice.driver.network.rpc.RPC;
+import eu.cloudnetservice.driver.network.rpc.RPCBatch;
 import eu.cloudnetservice.driver.network.rpc.RPCChain;
 import eu.cloudnetservice.driver.network.rpc.RPCSender;
 import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCProvider;
@@ -31,11 +32,12 @@
 import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
 import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -101,6 +103,14 @@ public DefaultRPC(
     return DefaultRPCChain.of(this, rpc, this.channelSupplier);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull RPCBatch batch(@NonNull RPC rpc) {
+    return DefaultRPCBatch.of(this, rpc, this.channelSupplier);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -265,11 +275,10 @@ public void fireAndForget(@NonNull NetworkChannel component) {
   @Override
   public @NonNull <T> CompletableFuture<T> fire(@NonNull NetworkChannel component) {
     // write the information about the RPC into a buffer
-    var dataBuf = this.dataBufFactory.createEmpty()
-      .writeInt(1) // single RPC
-      .writeString(this.className())
-      .writeString(this.methodName())
-      .writeString(this.methodDescriptor());
+    List<RPCTargetIdentifierCache.TargetIdentifier> pendingDefinitions = new ArrayList<>(1);
+    var identifierCache = RPCTargetIdentifierCache.forChannel(component);
+    var dataBuf = this.dataBufFactory.createEmpty().writeInt(1); // single RPC
+    RPCTargetIdentifierCache.writeTarget(identifierCache, dataBuf, this, pendingDefinitions);
     for (var argument : this.arguments) {
       this.objectMapper.writeObject(dataBuf, argument);
     }
@@ -280,17 +289,14 @@ public void fireAndForget(@NonNull NetworkChannel component) {
       return TaskUtil.finishedFuture(null);
     } else {
       // result is expected: send a query to the target network component and return the future so that
-      // the caller can decide how to wait for the result
-      CompletableFuture<T> queryFuture = component
-        .sendQueryAsync(new RPCRequestPacket(dataBuf))
-        .thenApply(new RPCResultMapper<>(this.expectedResultType(), this.objectMapper));
-      if (this.executionTimeout != null) {
-        // apply the requested timeout
-        var timeoutMillis = this.executionTimeout.toMillis();
-        queryFuture = queryFuture.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+      // the caller can decide how to wait for the result. the query manager applies the requested timeout
+      var responseFuture = component.sendQueryAsync(new RPCRequestPacket(dataBuf), this.executionTimeout);
+      if (!pendingDefinitions.isEmpty()) {
+        // the receiver registers the target definition before responding to the request
+        responseFuture.thenRun(() -> RPCTargetIdentifierCache.acknowledgeDefinitions(pendingDefinitions));
       }
 
-      return queryFuture;
+      return responseFuture.thenApply(new RPCResultMapper<>(this.expectedResultType(), this.objectMapper));
     }
   }
 }
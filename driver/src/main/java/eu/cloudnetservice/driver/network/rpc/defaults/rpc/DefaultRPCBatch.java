@@ -0,0 +1,304 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.rpc;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.rpc.RPC;
+import eu.cloudnetservice.driver.network.rpc.RPCBatch;
+import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCProvider;
+import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
+import eu.cloudnetservice.driver.network.rpc.handler.RPCInvocationResult;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Represents the default implementation of a rpc batch.
+ * <p>
+ * A batch request is encoded using the {@link RPCRequestPacket#BATCH_MARKER} instead of the chain length, followed by
+ * the amount of calls in the batch, the targets of all calls and a nested buffer with the arguments of each call. The
+ * receiver responds with the status ok, the amount of results and a nested buffer with the result of each call.
+ *
+ * @since 4.0
+ */
+public final class DefaultRPCBatch extends DefaultRPCProvider implements RPCBatch {
+
+  private final List<RPC> calls;
+  private final Supplier<NetworkChannel> channelSupplier;
+
+  /**
+   * Constructs a new rpc batch instance.
+   *
+   * @param calls           the calls of the batch, in order.
+   * @param channelSupplier the target channel supplier to use for method invocation if no channel is provided.
+   * @throws NullPointerException if one of the given parameters is null.
+   */
+  // trusted constructor as changes to the calls list will reflect into this instance - do not expose
+  private DefaultRPCBatch(@NonNull List<RPC> calls, @NonNull Supplier<NetworkChannel> channelSupplier) {
+    super(
+      calls.getFirst().targetClass(),
+      calls.getFirst().sourceFactory(),
+      calls.getFirst().objectMapper(),
+      calls.getFirst().dataBufFactory());
+
+    this.calls = Collections.unmodifiableList(calls);
+    this.channelSupplier = channelSupplier;
+  }
+
+  /**
+   * Constructs a new rpc batch containing the given two calls.
+   *
+   * @param first           the first call of the batch.
+   * @param second          the second call of the batch.
+   * @param channelSupplier the target channel supplier to use for method invocation if no channel is provided.
+   * @return the constructed rpc batch.
+   * @throws NullPointerException if the given first rpc, second rpc or channel supplier is null.
+   */
+  public static @NonNull DefaultRPCBatch of(
+    @NonNull RPC first,
+    @NonNull RPC second,
+    @NonNull Supplier<NetworkChannel> channelSupplier
+  ) {
+    List<RPC> calls = new ArrayList<>(2);
+    calls.add(first);
+    calls.add(second);
+    return new DefaultRPCBatch(calls, channelSupplier);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull RPCBatch add(@NonNull RPC rpc) {
+    List<RPC> newCalls = new ArrayList<>(this.calls.size() + 1);
+    newCalls.addAll(this.calls);
+    newCalls.add(rpc);
+    return new DefaultRPCBatch(newCalls, this.channelSupplier);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull List<RPC> calls() {
+    return this.calls;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void fireAndForget() {
+    var targetNetworkChannel = this.channelSupplier.get();
+    Objects.requireNonNull(targetNetworkChannel, "unable to get target network channel");
+    this.fireAndForget(targetNetworkChannel);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void fireAndForget(@NonNull NetworkChannel component) {
+    var buffer = this.encodeBatch(component, new ArrayList<>());
+    component.sendPacket(new RPCRequestPacket(buffer));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull List<CompletableFuture<Object>> fire() {
+    var targetNetworkChannel = this.channelSupplier.get();
+    Objects.requireNonNull(targetNetworkChannel, "unable to get target network channel");
+    return this.fire(targetNetworkChannel);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull List<CompletableFuture<Object>> fire(@NonNull NetworkChannel component) {
+    // calls with a dropped result are completed directly, the same way as a single rpc would do it
+    var resultExpected = false;
+    List<CompletableFuture<Object>> resultFutures = new ArrayList<>(this.calls.size());
+    for (var call : this.calls) {
+      resultExpected |= !call.resultDropped();
+      resultFutures.add(call.resultDropped() ? CompletableFuture.completedFuture(null) : new CompletableFuture<>());
+    }
+
+    List<RPCTargetIdentifierCache.TargetIdentifier> pendingDefinitions = new ArrayList<>(this.calls.size());
+    var buffer = this.encodeBatch(component, pendingDefinitions);
+    if (!resultExpected) {
+      // no result expected: send the RPC request (not a query)
+      component.sendPacket(new RPCRequestPacket(buffer));
+      return Collections.unmodifiableList(resultFutures);
+    }
+
+    // result is expected: send a single query for all calls and complete the result futures once the response arrives
+    var responseFuture = component.sendQueryAsync(new RPCRequestPacket(buffer), this.batchTimeout());
+    responseFuture.whenComplete((response, exception) -> {
+      if (exception != null) {
+        // the query failed as a whole (for example due to a timeout)
+        for (var resultFuture : resultFutures) {
+          resultFuture.completeExceptionally(exception);
+        }
+      } else {
+        // the receiver registers the target definitions before responding to the request
+        RPCTargetIdentifierCache.acknowledgeDefinitions(pendingDefinitions);
+        this.completeResults(response, resultFutures);
+      }
+    });
+    return Collections.unmodifiableList(resultFutures);
+  }
+
+  /**
+   * Encodes all calls of this batch into a new buffer that can be sent to the given network channel.
+   *
+   * @param component          the network channel to which the batch will be sent.
+   * @param pendingDefinitions the collection to add the target identifiers to that must be acknowledged.
+   * @return the encoded batch request.
+   * @throws NullPointerException if the given channel or pending definitions collection is null.
+   */
+  private @NonNull DataBuf encodeBatch(
+    @NonNull NetworkChannel component,
+    @NonNull List<RPCTargetIdentifierCache.TargetIdentifier> pendingDefinitions
+  ) {
+    var identifierCache = RPCTargetIdentifierCache.forChannel(component);
+    var buffer = this.dataBufFactory.createEmpty()
+      .writeInt(RPCRequestPacket.BATCH_MARKER)
+      .writeVarInt(this.calls.size());
+    for (var call : this.calls) {
+      RPCTargetIdentifierCache.writeTarget(identifierCache, buffer, call, pendingDefinitions);
+    }
+
+    // the arguments of each call are written into a separate buffer, this allows the receiver to execute all calls
+    // concurrently as each call can read its arguments independently of the other calls
+    for (var call : this.calls) {
+      var argumentBuffer = this.dataBufFactory.createEmpty();
+      for (var argument : call.arguments()) {
+        call.objectMapper().writeObject(argumentBuffer, argument);
+      }
+      buffer.writeDataBuf(argumentBuffer);
+    }
+
+    return buffer;
+  }
+
+  /**
+   * Completes the given result futures based on the given batch response.
+   *
+   * @param response      the response to the batch request.
+   * @param resultFutures the result futures of the calls, in order.
+   * @throws NullPointerException if the given response or result futures are null.
+   */
+  private void completeResults(@NonNull Packet response, @NonNull List<CompletableFuture<Object>> resultFutures) {
+    var responseData = response.content();
+    try {
+      var status = responseData.readByte();
+      if (status != RPCInvocationResult.STATUS_OK) {
+        // the batch was rejected as a whole, let the result mapper construct the associated exception
+        var exception = this.rejectionException(status, responseData);
+        for (var resultFuture : resultFutures) {
+          resultFuture.completeExceptionally(exception);
+        }
+        return;
+      }
+
+      var resultCount = responseData.readVarInt();
+      if (resultCount != this.calls.size()) {
+        var exception = new RPCExecutionException(String.format(
+          "Server responded with %d results to a batch of %d calls",
+          resultCount, this.calls.size()));
+        for (var resultFuture : resultFutures) {
+          resultFuture.completeExceptionally(exception);
+        }
+        return;
+      }
+
+      for (var index = 0; index < resultCount; index++) {
+        var call = this.calls.get(index);
+        var resultData = responseData.readDataBuf();
+        try {
+          var resultMapper = new RPCResultMapper<>(call.expectedResultType(), call.objectMapper());
+          resultFutures.get(index).complete(resultMapper.mapResult(resultData));
+        } catch (Exception exception) {
+          resultFutures.get(index).completeExceptionally(exception);
+        } finally {
+          resultData.forceRelease();
+        }
+      }
+    } catch (Exception exception) {
+      // completes all futures that weren't completed yet due to the decoding issue
+      for (var resultFuture : resultFutures) {
+        resultFuture.completeExceptionally(exception);
+      }
+    } finally {
+      responseData.forceRelease();
+    }
+  }
+
+  /**
+   * Constructs the exception that describes why the batch was rejected by the receiver.
+   *
+   * @param status       the status of the response.
+   * @param responseData the remaining data of the response.
+   * @return the exception describing the rejection reason.
+   * @throws NullPointerException if the given response data is null.
+   */
+  private @NonNull Exception rejectionException(byte status, @NonNull DataBuf responseData) {
+    try {
+      new RPCResultMapper<>(Object.class, this.objectMapper).mapResult(status, responseData);
+      return new RPCExecutionException("Server rejected the batch without providing a reason");
+    } catch (Exception exception) {
+      return exception;
+    }
+  }
+
+  /**
+   * Get the timeout to apply to the batch request, which is the longest timeout of all calls that expect a result.
+   *
+   * @return the timeout to apply to the batch request, null if one of the calls has no timeout.
+   */
+  private @Nullable Duration batchTimeout() {
+    Duration longestTimeout = null;
+    for (var call : this.calls) {
+      if (call.resultDropped()) {
+        continue;
+      }
+
+      var callTimeout = call.timeout();
+      if (callTimeout == null) {
+        return null;
+      }
+
+      if (longestTimeout == null || callTimeout.compareTo(longestTimeout) > 0) {
+        longestTimeout = callTimeout;
+      }
+    }
+
+    return longestTimeout;
+  }
+}
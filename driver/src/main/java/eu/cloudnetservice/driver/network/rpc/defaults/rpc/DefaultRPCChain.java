@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.network.rpc.exception.RPCException;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
 import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -31,7 +32,6 @@
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import lombok.NonNull;
 import org.jetbrains.annotations.UnknownNullability;
@@ -192,13 +192,15 @@ public void fireAndForget(@NonNull NetworkChannel component) {
    */
   @Override
   public @NonNull <T> CompletableFuture<T> fire(@NonNull NetworkChannel component) {
-    // write the chained RPC information
+    // write the targets of all chained RPCs first, followed by the arguments of each RPC. this allows the
+    // receiver to register all target definitions before starting to execute the chain
+    List<RPCTargetIdentifierCache.TargetIdentifier> pendingDefinitions = new ArrayList<>(this.fullChain.size());
+    var identifierCache = RPCTargetIdentifierCache.forChannel(component);
     var buffer = this.dataBufFactory.createEmpty().writeInt(this.fullChain.size());
     for (var chainEntry : this.fullChain) {
-      buffer
-        .writeString(chainEntry.className())
-        .writeString(chainEntry.methodName())
-        .writeString(chainEntry.methodDescriptor());
+      RPCTargetIdentifierCache.writeTarget(identifierCache, buffer, chainEntry, pendingDefinitions);
+    }
+    for (var chainEntry : this.fullChain) {
       for (var argument : chainEntry.arguments()) {
         this.objectMapper.writeObject(buffer, argument);
       }
@@ -210,19 +212,14 @@ public void fireAndForget(@NonNull NetworkChannel component) {
       return TaskUtil.finishedFuture(null);
     } else {
       // result is expected: send a query to the target network component and return the future so that
-      // the caller can decide how to wait for the result
-      CompletableFuture<T> queryFuture = component
-        .sendQueryAsync(new RPCRequestPacket(buffer))
-        .thenApply(new RPCResultMapper<>(this.chainTail.expectedResultType(), this.objectMapper));
-
-      var timeout = this.chainTail.timeout();
-      if (timeout != null) {
-        // apply the requested timeout
-        var timeoutMillis = timeout.toMillis();
-        queryFuture = queryFuture.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+      // the caller can decide how to wait for the result. the query manager applies the requested timeout
+      var responseFuture = component.sendQueryAsync(new RPCRequestPacket(buffer), this.chainTail.timeout());
+      if (!pendingDefinitions.isEmpty()) {
+        // the receiver registers the target definitions before responding to the request
+        responseFuture.thenRun(() -> RPCTargetIdentifierCache.acknowledgeDefinitions(pendingDefinitions));
       }
 
-      return queryFuture;
+      return responseFuture.thenApply(new RPCResultMapper<>(this.chainTail.expectedResultType(), this.objectMapper));
     }
   }
 }
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.network.rpc.defaults.rpc;
 
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.rpc.defaults.handler.util.RPCExceptionUtil;
 import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
@@ -27,8 +28,8 @@
 import org.jetbrains.annotations.UnknownNullability;
 
 /**
- * The shared mapping function between the rpc chain and default rpc handling the result of a remote code execution and
- * mapping the result in a convenient way.
+ * The shared mapping function between the rpc chain, rpc batch and default rpc handling the result of a remote code
+ * execution and mapping the result in a convenient way.
  *
  * @param <T> the generic expected result type of the rpc.
  * @since 4.0
@@ -43,8 +44,31 @@
    */
   @Override
   public @UnknownNullability T apply(@UnknownNullability Packet response) {
-    var responseData = response.content();
-    var status = responseData.readByte();
+    return this.mapResult(response.content());
+  }
+
+  /**
+   * Maps the given response data, starting with the status byte of the rpc handling, to the expected result type.
+   *
+   * @param responseData the response data to map.
+   * @return the mapped result of the remote code execution.
+   * @throws NullPointerException  if the given response data is null.
+   * @throws RPCExecutionException if the response data indicates that the remote code execution failed.
+   */
+  public @UnknownNullability T mapResult(@NonNull DataBuf responseData) {
+    return this.mapResult(responseData.readByte(), responseData);
+  }
+
+  /**
+   * Maps the given response data to the expected result type, based on the given, already read, handling status.
+   *
+   * @param status       the status of the rpc handling.
+   * @param responseData the response data to map, following the status byte.
+   * @return the mapped result of the remote code execution.
+   * @throws NullPointerException  if the given response data is null.
+   * @throws RPCExecutionException if the given status indicates that the remote code execution failed.
+   */
+  public @UnknownNullability T mapResult(byte status, @NonNull DataBuf responseData) {
     return switch (status) {
       case RPCInvocationResult.STATUS_OK -> this.objectMapper.readObject(responseData, this.expectedResultType);
       case RPCInvocationResult.STATUS_ERROR -> {
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.rpc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.rpc.RPC;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The sender side of the rpc target interning. Each target (class name, method name and method descriptor) that is
+ * called through a network channel gets a numeric id assigned on first use. Until the receiver acknowledged the
+ * definition of a target (by responding to a query that contained the definition), the full target information is sent
+ * together with the assigned id. After that, only the id is sent as a var int.
+ * <p>
+ * Each target is encoded using a var int header followed by the optional target information:
+ * <ol>
+ *   <li>{@code 0}: the target is not interned, the class name, method name and descriptor follow.
+ *   <li>{@code (id << 1) | 1}: definition of the target id, the class name, method name and descriptor follow.
+ *   <li>{@code id << 1}: reference to a target id that was defined previously, no further data follows.
+ * </ol>
+ * <p>
+ * Interning is only applied to active channels, queued channels might replay their packets into another connection
+ * which does not know about the target ids.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class RPCTargetIdentifierCache {
+
+  public static final int MAX_TARGET_ID = 0xFFFF;
+  public static final int HEADER_NOT_INTERNED = 0;
+
+  private static final Cache<NetworkChannel, RPCTargetIdentifierCache> CHANNEL_CACHES = Caffeine.newBuilder()
+    .weakKeys()
+    .build();
+
+  private final AtomicInteger targetIdCounter = new AtomicInteger();
+  private final Map<RPCTarget, TargetIdentifier> targetIdentifiers = new ConcurrentHashMap<>();
+
+  /**
+   * Sealed constructor, obtain an instance using {@link #forChannel(NetworkChannel)}.
+   */
+  private RPCTargetIdentifierCache() {
+  }
+
+  /**
+   * Get the identifier cache for the given network channel, null if target interning is not supported by the channel.
+   *
+   * @param channel the channel to get the identifier cache for.
+   * @return the identifier cache for the given channel, null if the channel doesn't support interning.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public static @Nullable RPCTargetIdentifierCache forChannel(@NonNull NetworkChannel channel) {
+    if (!channel.active()) {
+      return null;
+    }
+
+    return CHANNEL_CACHES.get(channel, _ -> new RPCTargetIdentifierCache());
+  }
+
+  /**
+   * Writes the target of the given rpc into the given buffer. If the target needs to be defined on the receiver side,
+   * the target identifier is added to the given collection and must be acknowledged once the receiver responded to the
+   * request.
+   *
+   * @param cache              the identifier cache to use, null if the target should not be interned.
+   * @param buffer             the buffer to write the target to.
+   * @param rpc                the rpc to write the target of.
+   * @param pendingDefinitions the collection to add the identifier to if the receiver needs to acknowledge it.
+   * @throws NullPointerException if the given buffer, rpc or pending definitions collection is null.
+   */
+  public static void writeTarget(
+    @Nullable RPCTargetIdentifierCache cache,
+    @NonNull DataBuf.Mutable buffer,
+    @NonNull RPC rpc,
+    @NonNull Collection<TargetIdentifier> pendingDefinitions
+  ) {
+    var identifier = cache == null ? null : cache.targetIdentifier(rpc);
+    if (identifier == null) {
+      // target is not interned, write the full information
+      buffer
+        .writeVarInt(HEADER_NOT_INTERNED)
+        .writeString(rpc.className())
+        .writeString(rpc.methodName())
+        .writeString(rpc.methodDescriptor());
+    } else if (identifier.acknowledged) {
+      // the receiver knows the target, just reference it
+      buffer.writeVarInt(identifier.id << 1);
+    } else {
+      // define the target on the receiver side
+      pendingDefinitions.add(identifier);
+      buffer
+        .writeVarInt((identifier.id << 1) | 1)
+        .writeString(rpc.className())
+        .writeString(rpc.methodName())
+        .writeString(rpc.methodDescriptor());
+    }
+  }
+
+  /**
+   * Marks all given target identifiers as acknowledged by the receiver.
+   *
+   * @param definitions the definitions that were acknowledged.
+   * @throws NullPointerException if the given collection is null.
+   */
+  public static void acknowledgeDefinitions(@NonNull Collection<TargetIdentifier> definitions) {
+    for (var definition : definitions) {
+      definition.acknowledged = true;
+    }
+  }
+
+  /**
+   * Gets or assigns the identifier of the target of the given rpc, returns null if no more ids can be assigned.
+   *
+   * @param rpc the rpc to get the target identifier of.
+   * @return the identifier of the target of the given rpc, null if the target cannot be interned.
+   * @throws NullPointerException if the given rpc is null.
+   */
+  private @Nullable TargetIdentifier targetIdentifier(@NonNull RPC rpc) {
+    var target = new RPCTarget(rpc.className(), rpc.methodName(), rpc.methodDescriptor());
+    var identifier = this.targetIdentifiers.get(target);
+    if (identifier != null) {
+      return identifier;
+    }
+
+    return this.targetIdentifiers.computeIfAbsent(target, _ -> {
+      var id = this.targetIdCounter.incrementAndGet();
+      return id > MAX_TARGET_ID ? null : new TargetIdentifier(id);
+    });
+  }
+
+  /**
+   * The target of a rpc, identified by the class name, method name and method descriptor.
+   *
+   * @param className        the name of the class in which the target method is located.
+   * @param methodName       the name of the target method.
+   * @param methodDescriptor the descriptor of the target method.
+   * @since 4.0
+   */
+  private record RPCTarget(
+    @NonNull String className,
+    @NonNull String methodName,
+    @NonNull String methodDescriptor
+  ) {
+
+  }
+
+  /**
+   * An id assigned to a rpc target, including the information if the receiver knows about the target id.
+   *
+   * @since 4.0
+   */
+  public static final class TargetIdentifier {
+
+    private final int id;
+    private volatile boolean acknowledged;
+
+    /**
+     * Constructs a new target identifier.
+     *
+     * @param id the id assigned to the target.
+     */
+    private TargetIdentifier(int id) {
+      this.id = id;
+    }
+  }
+}
@@ -314,4 +314,16 @@ public void unregisterMethod(@NonNull String name, @NonNull TypeDescriptor typeD
   public @Nullable RPCMethodMetadata findMethod(@NonNull String name, @NonNull TypeDescriptor typeDescriptor) {
     return this.methods.get(name, typeDescriptor.descriptorString());
   }
+
+  /**
+   * Returns the method that matches the given name and type descriptor string, or null if no such method exists.
+   *
+   * @param name       the name of the method metadata to get.
+   * @param descriptor the type descriptor string of the method metadata to get.
+   * @return the meta of the method with the given name and descriptor, of null if no such method exists.
+   * @throws NullPointerException if the given name or descriptor is null.
+   */
+  public @Nullable RPCMethodMetadata findMethod(@NonNull String name, @NonNull String descriptor) {
+    return this.methods.get(name, descriptor);
+  }
 }
@@ -16,6 +16,9 @@
 
 package eu.cloudnetservice.driver.network.rpc.listener;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.cloudnetservice.common.concurrent.TaskUtil;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
@@ -25,12 +28,16 @@
 import eu.cloudnetservice.driver.network.rpc.handler.RPCHandlerRegistry;
 import eu.cloudnetservice.driver.network.rpc.handler.RPCInvocationContext;
 import eu.cloudnetservice.driver.network.rpc.handler.RPCInvocationResult;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCTargetIdentifierTable.RPCTarget;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A network packet listener designed to handle all rpc messages using an underlying handler registry to post method
@@ -41,7 +48,12 @@
 @Singleton
 public final class RPCPacketListener implements PacketListener {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(RPCPacketListener.class);
+
   private final RPCHandlerRegistry rpcHandlerRegistry;
+  private final Cache<NetworkChannel, RPCTargetIdentifierTable> identifierTables = Caffeine.newBuilder()
+    .weakKeys()
+    .build();
 
   /**
    * Constructs a new rpc packet listener instance.
@@ -60,10 +72,16 @@ public RPCPacketListener(@NonNull RPCHandlerRegistry rpcHandlerRegistry) {
   @Override
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) throws Exception {
     var content = packet.content();
-    var resultExpected = packet.uniqueId() != null;
+    var resultExpected = packet.queryId() != Packet.NO_QUERY_ID;
 
     try {
       var rpcDepth = content.readInt();
+      if (rpcDepth == RPCRequestPacket.BATCH_MARKER) {
+        // batch of independent calls
+        this.handleBatch(channel, packet, content, resultExpected);
+        return;
+      }
+
       if (rpcDepth <= 0) {
         // depth must be at least one (single call) or more (chained call)
         if (resultExpected) {
@@ -76,14 +94,27 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
         return;
       }
 
+      // read the targets of all rpcs first, this registers all target definitions of the request
+      var targets = this.readTargets(channel, content, rpcDepth);
+      if (targets == null) {
+        if (resultExpected) {
+          var resultContent = DataBufFactory.defaultFactory()
+            .createWithExpectedSize(1)
+            .writeByte(RPCInvocationResult.STATUS_BAD_REQUEST)
+            .writeString("unknown rpc target id");
+          this.sendResponseData(channel, packet, resultContent);
+        }
+        return;
+      }
+
       if (rpcDepth > 1) {
         // RPC chain, start executing the first step
-        this.executeRPCChainStep(rpcDepth, 1, resultExpected, content, packet, channel, null);
+        this.executeRPCChainStep(targets, 1, resultExpected, content, packet, channel, null);
       } else {
         // single method rpc, execute & respond if requested
-        var targetClassName = content.readString();
-        var invocationContext = this.buildContext(content, null);
-        var handlingTask = this.postRPCRequestToHandler(targetClassName, invocationContext);
+        var target = targets[0];
+        var invocationContext = this.buildContext(target, content, null);
+        var handlingTask = this.postRPCRequestToHandler(target.className(), invocationContext);
         if (resultExpected) {
           this.waitForInvocationCompletion(handlingTask, result -> {
             var resultContent = this.serializeHandlingResult(result);
@@ -98,6 +129,98 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
     }
   }
 
+  /**
+   * Handles a batch of independent rpc calls. All calls of the batch are executed concurrently, the response (if
+   * expected) contains the results of all calls in the order in which they were requested.
+   *
+   * @param channel        the network channel from which the request came.
+   * @param request        the request packet.
+   * @param content        the data content of the request, positioned after the batch marker.
+   * @param resultExpected if the batch invocation expects a result to be sent back.
+   * @throws NullPointerException if the given channel, request or content is null.
+   */
+  private void handleBatch(
+    @NonNull NetworkChannel channel,
+    @NonNull Packet request,
+    @NonNull DataBuf content,
+    boolean resultExpected
+  ) {
+    var callCount = content.readVarInt();
+    if (callCount <= 0) {
+      if (resultExpected) {
+        var resultContent = DataBufFactory.defaultFactory()
+          .createWithExpectedSize(1)
+          .writeByte(RPCInvocationResult.STATUS_BAD_REQUEST)
+          .writeString("invalid batch size");
+        this.sendResponseData(channel, request, resultContent);
+      }
+      return;
+    }
+
+    var targets = this.readTargets(channel, content, callCount);
+    if (targets == null) {
+      if (resultExpected) {
+        var resultContent = DataBufFactory.defaultFactory()
+          .createWithExpectedSize(1)
+          .writeByte(RPCInvocationResult.STATUS_BAD_REQUEST)
+          .writeString("unknown rpc target id");
+        this.sendResponseData(channel, request, resultContent);
+      }
+      return;
+    }
+
+    // copy out the arguments of each call before starting the execution, the request content is released after
+    // this method returns. each call can then read its arguments without interfering with the other calls
+    var argumentBuffers = new DataBuf[callCount];
+    for (var index = 0; index < callCount; index++) {
+      argumentBuffers[index] = content.readDataBuf();
+    }
+
+    @SuppressWarnings("unchecked")
+    CompletableFuture<RPCInvocationResult>[] invocationTasks = new CompletableFuture[callCount];
+    for (var index = 0; index < callCount; index++) {
+      var target = targets[index];
+      var argumentBuffer = argumentBuffers[index];
+      var invocationTask = new CompletableFuture<RPCInvocationResult>();
+      TaskUtil.runVirtualAsync(() -> {
+        try {
+          var invocationContext = this.buildContext(target, argumentBuffer, null);
+          var handlingTask = this.postRPCRequestToHandler(target.className(), invocationContext);
+          this.waitForInvocationCompletion(handlingTask, invocationTask::complete);
+        } catch (Throwable throwable) {
+          // the other calls of the batch are not affected, the failure is reported in the result of this call
+          LOGGER.error("Unable to handle rpc call to {} of a batch", target.className(), throwable);
+          invocationTask.completeExceptionally(throwable);
+        } finally {
+          // the handler reads the arguments before invoking the target method
+          argumentBuffer.forceRelease();
+        }
+      });
+      invocationTasks[index] = invocationTask;
+    }
+
+    if (resultExpected) {
+      CompletableFuture.allOf(invocationTasks).whenComplete((_, _) -> {
+        var resultContent = DataBufFactory.defaultFactory()
+          .createEmpty()
+          .writeByte(RPCInvocationResult.STATUS_OK)
+          .writeVarInt(callCount);
+        for (var invocationTask : invocationTasks) {
+          if (invocationTask.isCompletedExceptionally()) {
+            // the call could not be handled at all, report a server error for it
+            resultContent.writeDataBuf(DataBuf.empty()
+              .writeByte(RPCInvocationResult.STATUS_SERVER_ERROR)
+              .writeString("unable to handle rpc call: " + invocationTask.exceptionNow()));
+          } else {
+            var invocationResult = invocationTask.getNow(null);
+            resultContent.writeDataBuf(this.serializeHandlingResult(invocationResult));
+          }
+        }
+        this.sendResponseData(channel, request, resultContent);
+      });
+    }
+  }
+
   /**
    * Waits for the given invocation task to finish, calling the callback if that is the case. The given callback
    * receives a null value if the given task is null, the task completes exceptionally or with a value of null.
@@ -122,7 +245,7 @@ private void waitForInvocationCompletion(
   /**
    * Executes the next RPC chain step of the current RPC chain.
    *
-   * @param chainDepth                the full depth of the RPC chain.
+   * @param targets                   the targets of all rpcs in the chain, in order.
    * @param currentDepth              the current depth the chain execution is at, starting at 1.
    * @param resultExpected            if the RPC invocation expects a result to be sent back.
    * @param content                   the data content of the RPC request.
@@ -132,7 +255,7 @@ private void waitForInvocationCompletion(
    * @throws NullPointerException if one of the required non-null arguments is null.
    */
   private void executeRPCChainStep(
-    int chainDepth,
+    @NonNull RPCTarget[] targets,
     int currentDepth,
     boolean resultExpected,
     @NonNull DataBuf content,
@@ -141,9 +264,10 @@ private void executeRPCChainStep(
     @Nullable Object previousMethodReturnValue
   ) {
     // execute the target method based on the provided input
-    var targetClassName = content.readString();
-    var invocationContext = this.buildContext(content, previousMethodReturnValue);
-    var invocationTask = this.postRPCRequestToHandler(targetClassName, invocationContext);
+    var chainDepth = targets.length;
+    var target = targets[currentDepth - 1];
+    var invocationContext = this.buildContext(target, content, previousMethodReturnValue);
+    var invocationTask = this.postRPCRequestToHandler(target.className(), invocationContext);
     this.waitForInvocationCompletion(invocationTask, invocationResult -> {
       // handle the invocation result:
       //   -> continue invoking in case the invocation was successful and returned a non-null result
@@ -154,7 +278,7 @@ private void executeRPCChainStep(
         // set the previous result in case the result is non-null and is not the final invocation
         case RPCInvocationResult.Success(var result, _, _) when result != null && stillWorkTodo -> {
           var nextChainDepth = currentDepth + 1;
-          this.executeRPCChainStep(chainDepth, nextChainDepth, resultExpected, content, request, channel, result);
+          this.executeRPCChainStep(targets, nextChainDepth, resultExpected, content, request, channel, result);
         }
         // remap a successful "null" invocation in the middle of the chain to an error
         case RPCInvocationResult.Success(var result, var handler, var invokedMethod)
@@ -248,27 +372,48 @@ private void sendResponseData(@NonNull NetworkChannel channel, @NonNull Packet r
     return handler == null ? null : handler.handle(context);
   }
 
+  /**
+   * Reads the given amount of rpc targets from the given buffer, using the target identifier table of the given channel
+   * to resolve interned targets. All targets are read, even if one of them cannot be resolved, to ensure that all
+   * target definitions in the buffer are registered.
+   *
+   * @param channel the channel from which the request came.
+   * @param content the content of the request to read the targets from.
+   * @param count   the amount of targets to read.
+   * @return the targets read from the buffer, null if one of the targets references an unknown target id.
+   * @throws NullPointerException if the given channel or content is null.
+   */
+  private @Nullable RPCTarget[] readTargets(@NonNull NetworkChannel channel, @NonNull DataBuf content, int count) {
+    var unknownTarget = false;
+    var targets = new RPCTarget[count];
+    var identifierTable = this.identifierTables.get(channel, _ -> new RPCTargetIdentifierTable());
+    for (var index = 0; index < count; index++) {
+      var target = identifierTable.readTarget(content);
+      unknownTarget |= target == null;
+      targets[index] = target;
+    }
+
+    return unknownTarget ? null : targets;
+  }
+
   /**
    * Builds a new context for a rpc method invocation based on the given information and remaining content in the
-   * buffer. The given buffer should still contain (in the given order):
-   * <ol>
-   *   <li>the target method name.
-   *   <li>the target method descriptor.
-   *   <li>the argument information for the invocation, if any.
-   * </ol>
+   * buffer. The given buffer should still contain the argument information for the invocation, if any.
    *
+   * @param target          the target method of the invocation.
    * @param content         the remaining buffer content, containing the data as described above.
    * @param workingInstance the instance on which the methods should be called, null to use the handler binding.
    * @return a generated invocation context based on the given information.
-   * @throws NullPointerException if the given content buffer is null.
+   * @throws NullPointerException if the given target or content buffer is null.
    */
-  private @NonNull RPCInvocationContext buildContext(@NonNull DataBuf content, @Nullable Object workingInstance) {
-    // read data from buffer, this must be in order it's written to the buffer
-    var methodName = content.readString();
-    var methodDescriptor = content.readString();
+  private @NonNull RPCInvocationContext buildContext(
+    @NonNull RPCTarget target,
+    @NonNull DataBuf content,
+    @Nullable Object workingInstance
+  ) {
     return RPCInvocationContext.builder()
-      .methodName(methodName)
-      .methodDescriptor(methodDescriptor)
+      .methodName(target.methodName())
+      .methodDescriptor(target.methodDescriptor())
       .argumentInformation(content) // might be unsafe, but we cannot slice the argument data due to the unknown size
       .workingInstance(workingInstance)
       .build();
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.listener;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.rpc.defaults.rpc.RPCTargetIdentifierCache;
+import java.util.Arrays;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The receiver side of the rpc target interning, holding the targets that were defined by the remote side of a single
+ * network channel. Lookups are a plain array access, the array is copied when a new target gets defined (which only
+ * happens once per target and connection).
+ *
+ * @see RPCTargetIdentifierCache
+ * @since 4.0
+ */
+final class RPCTargetIdentifierTable {
+
+  private static final RPCTarget[] NO_TARGETS = new RPCTarget[0];
+
+  private volatile RPCTarget[] targets = NO_TARGETS;
+
+  /**
+   * Reads the next rpc target from the given buffer, registering the target in this table if the buffer contains a
+   * definition of a target id.
+   *
+   * @param buffer the buffer to read the target from.
+   * @return the target that was read, null if the buffer referenced an unknown or invalid target id.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  @Nullable RPCTarget readTarget(@NonNull DataBuf buffer) {
+    var header = buffer.readVarInt();
+    if (header == RPCTargetIdentifierCache.HEADER_NOT_INTERNED) {
+      return new RPCTarget(buffer.readString(), buffer.readString(), buffer.readString());
+    }
+
+    var targetId = header >>> 1;
+    if (targetId > RPCTargetIdentifierCache.MAX_TARGET_ID) {
+      return null;
+    }
+
+    if ((header & 1) != 0) {
+      // definition of the target id
+      var target = new RPCTarget(buffer.readString(), buffer.readString(), buffer.readString());
+      this.registerTarget(targetId, target);
+      return target;
+    } else {
+      // reference to a previously defined target
+      var knownTargets = this.targets;
+      return targetId < knownTargets.length ? knownTargets[targetId] : null;
+    }
+  }
+
+  /**
+   * Registers the given target for the given target id.
+   *
+   * @param targetId the id of the target to register.
+   * @param target   the target to register.
+   * @throws NullPointerException if the given target is null.
+   */
+  private synchronized void registerTarget(int targetId, @NonNull RPCTarget target) {
+    var knownTargets = this.targets;
+    var newTargets = Arrays.copyOf(knownTargets, Math.max(knownTargets.length, targetId + 1));
+    newTargets[targetId] = target;
+    this.targets = newTargets;
+  }
+
+  /**
+   * The target of a rpc, identified by the class name, method name and method descriptor.
+   *
+   * @param className        the name of the class in which the target method is located.
+   * @param methodName       the name of the target method.
+   * @param methodDescriptor the descriptor of the target method.
+   * @since 4.0
+   */
+  record RPCTarget(
+    @NonNull String className,
+    @NonNull String methodName,
+    @NonNull String methodDescriptor
+  ) {
+
+  }
+}
@@ -29,6 +29,11 @@
  */
 public class RPCRequestPacket extends BasePacket {
 
+  /**
+   * The value written instead of the chain length to indicate that the request contains a batch of independent calls.
+   */
+  public static final int BATCH_MARKER = Integer.MIN_VALUE;
+
   /**
    * Constructs a new rpc request packet.
    *
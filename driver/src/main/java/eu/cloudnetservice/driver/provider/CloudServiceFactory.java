@@ -17,8 +17,12 @@
 package eu.cloudnetservice.driver.provider;
 
 import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.driver.network.rpc.annotation.RPCIgnore;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import lombok.NonNull;
 
@@ -73,6 +77,23 @@ public interface CloudServiceFactory {
   @NonNull
   ServiceCreateResult createCloudService(@NonNull ServiceConfiguration serviceConfiguration);
 
+  /**
+   * Creates and prepares a new cloud service for each of the given configurations. In contrast to calling
+   * {@link #createCloudService(ServiceConfiguration)} for each configuration, the nodes for all services are selected
+   * in one pass, taking the services which were already planned for the batch into account. The creation requests are
+   * sent to the selected nodes in parallel afterwards.
+   * <p>
+   * The returned list contains the creation result of each configuration, in the same order as the given
+   * configurations are returned by the iterator of the given collection. The results follow the same rules as the
+   * results of {@link #createCloudService(ServiceConfiguration)}.
+   *
+   * @param serviceConfigurations the configurations to base the newly created services on.
+   * @return the results of the service creations, in the iteration order of the given configurations.
+   * @throws NullPointerException if the given collection is null.
+   */
+  @NonNull
+  List<ServiceCreateResult> createCloudServices(@NonNull Collection<ServiceConfiguration> serviceConfigurations);
+
   /**
    * Creates and prepares a new cloud service based on the given configuration. This method can be called with the same
    * configuration multiple times and will always (if the service was created successfully) in a different result.
@@ -99,4 +120,57 @@ public interface CloudServiceFactory {
   ) {
     return TaskUtil.supplyAsync(() -> this.createCloudService(configuration));
   }
+
+  /**
+   * Creates and prepares a new cloud service for each of the given configurations. In contrast to calling
+   * {@link #createCloudService(ServiceConfiguration)} for each configuration, the nodes for all services are selected
+   * in one pass, taking the services which were already planned for the batch into account. The creation requests are
+   * sent to the selected nodes in parallel afterwards.
+   * <p>
+   * The returned task is completed with the creation result of each configuration, in the same order as the given
+   * configurations are returned by the iterator of the given collection. The results follow the same rules as the
+   * results of {@link #createCloudService(ServiceConfiguration)}.
+   *
+   * @param configurations the configurations to base the newly created services on.
+   * @return a task completed with the results of the service creations, in the iteration order of the configurations.
+   * @throws NullPointerException if the given collection is null.
+   */
+  default @NonNull CompletableFuture<List<ServiceCreateResult>> createCloudServicesAsync(
+    @NonNull Collection<ServiceConfiguration> configurations
+  ) {
+    return TaskUtil.supplyAsync(() -> this.createCloudServices(configurations));
+  }
+
+  /**
+   * Creates and prepares a new cloud service for each of the given configurations, in the same way as
+   * {@link #createCloudServices(Collection)}. In contrast to that method, the returned list contains a separate task for
+   * each configuration which is completed as soon as the creation of the associated service finished, without waiting
+   * for the other services of the batch.
+   * <p>
+   * The returned list contains the task of each configuration, in the same order as the given configurations are
+   * returned by the iterator of the given collection. The results follow the same rules as the results of
+   * {@link #createCloudService(ServiceConfiguration)}.
+   * <p>
+   * Note that the default implementation of this method completes all tasks at the same time, once all services of the
+   * batch were created. Implementations which are able to track each creation separately (for example the node which
+   * plans the creations) override this method to complete each task individually.
+   *
+   * @param configurations the configurations to base the newly created services on.
+   * @return a task for each service creation, in the iteration order of the configurations.
+   * @throws NullPointerException if the given collection is null.
+   */
+  @RPCIgnore
+  default @NonNull List<CompletableFuture<ServiceCreateResult>> createCloudServicesSeparatelyAsync(
+    @NonNull Collection<ServiceConfiguration> configurations
+  ) {
+    var configurationCount = configurations.size();
+    var resultsFuture = this.createCloudServicesAsync(configurations);
+
+    List<CompletableFuture<ServiceCreateResult>> results = new ArrayList<>(configurationCount);
+    for (var index = 0; index < configurationCount; index++) {
+      var resultIndex = index;
+      results.add(resultsFuture.thenApply(createResults -> createResults.get(resultIndex)));
+    }
+    return results;
+  }
 }
@@ -157,6 +157,10 @@ default void stop() {
 
   /**
    * Sets the service lifecycle to started and executes the appropriate actions to change to the started state.
+   * <p>
+   * Note that the service is prepared and started asynchronously. This method returns before the process of the
+   * service is running, the service stays in the prepared lifecycle until then. The start might also be delayed if the
+   * node has not enough resources available to start the service.
    */
   default void start() {
     this.updateLifecycle(ServiceLifeCycle.RUNNING);
@@ -441,8 +445,11 @@ default void removeAndExecuteDeployments() {
 
   /**
    * Sets the service lifecycle to started and executes the appropriate actions to change to the started state.
+   * <p>
+   * Note that the service is prepared and started asynchronously. The returned task completes once the start was
+   * requested, which is before the process of the service is running.
    *
-   * @return a task completed when the service lifecycle changed to running.
+   * @return a task completed when the start of the service was requested.
    */
   default @NonNull CompletableFuture<Void> startAsync() {
     return this.updateLifecycleAsync(ServiceLifeCycle.RUNNING);
@@ -20,10 +20,13 @@
 import eu.cloudnetservice.common.Named;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.property.DefaultedDocPropertyHolder;
+import eu.cloudnetservice.driver.document.property.DocProperty;
 import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.provider.CloudServiceProvider;
 import eu.cloudnetservice.driver.provider.SpecificCloudServiceProvider;
+import io.leangen.geantyref.TypeFactory;
+import java.util.Map;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.ToString;
@@ -41,6 +44,20 @@
 public class ServiceInfoSnapshot
   implements Named, DefaultedDocPropertyHolder, Cloneable, Comparable<ServiceInfoSnapshot> {
 
+  /**
+   * A property which is set while the node is preparing a prepared service for its start. The service stays in the
+   * prepared lifecycle until the preparation is done and the process of the service was started.
+   */
+  public static final DocProperty<Boolean> PREPARING = DocProperty.property("preparing", Boolean.class)
+    .withDefault(false);
+  /**
+   * A property holding the time in milliseconds each stage of the last preparation of the service took, mapped by the
+   * name of the stage.
+   */
+  public static final DocProperty<Map<String, Long>> PREPARATION_STAGE_TIMINGS = DocProperty.genericProperty(
+    "preparationStageTimings",
+    TypeFactory.parameterizedClass(Map.class, String.class, Long.class));
+
   protected final long creationTime;
 
   protected final HostAndPort address;
@@ -18,6 +18,11 @@
 
 import com.google.common.collect.Iterables;
 import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Order;
@@ -89,6 +94,54 @@ void testUnregisterListenerByClassLoader() {
     Assertions.assertEquals(0, eventManager.listeners.size());
   }
 
+  @Test
+  @Order(40)
+  void testSupertypeListenerReceivesEvent() {
+    var listener = new SupertypeListener();
+    var eventManager = new DefaultEventManager();
+    eventManager.registerListener(listener);
+
+    eventManager.callEvent(new TestEvent(123));
+    eventManager.callEvent("other", new TestEvent(123));
+    Assertions.assertEquals(1, listener.calls);
+
+    // the computed dispatch table must be invalidated when unregistering
+    eventManager.unregisterListener(listener);
+    eventManager.callEvent(new TestEvent(123));
+    Assertions.assertEquals(1, listener.calls);
+  }
+
+  @Test
+  @Order(50)
+  void testListenerExceptionIsWrapped() {
+    var eventManager = new DefaultEventManager();
+    eventManager.registerListener(new ThrowingListener());
+
+    var exception = Assertions.assertThrows(
+      EventListenerException.class,
+      () -> eventManager.callEvent(new TestEvent(123)));
+    Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+  }
+
+  @Test
+  @Order(60)
+  void testAsyncListenerReceivesEventsInOrder() throws InterruptedException {
+    var listener = new AsyncListener();
+    var eventManager = new DefaultEventManager();
+    eventManager.registerListener(listener);
+
+    for (var i = 0; i < 100; i++) {
+      eventManager.callEvent(new TestEvent(i));
+    }
+
+    Assertions.assertTrue(listener.latch.await(10, TimeUnit.SECONDS));
+    Assertions.assertEquals(IntStream.range(0, 100).boxed().toList(), listener.receivedNumbers);
+
+    var statistics = Iterables.getOnlyElement(eventManager.registeredListeners()).statistics();
+    Assertions.assertEquals(100, statistics.invocations());
+    Assertions.assertEquals(0, statistics.droppedEvents());
+  }
+
   private DefaultEventManager newEventManagerWithListener() {
     var eventManager = new DefaultEventManager();
 
@@ -132,6 +185,36 @@ public boolean equals(Object obj) {
     }
   }
 
+  private static final class SupertypeListener {
+
+    private int calls;
+
+    @EventListener
+    public void handleEvent(Event event) {
+      this.calls++;
+    }
+  }
+
+  private static final class ThrowingListener {
+
+    @EventListener
+    private void handleEvent(TestEvent event) {
+      throw new IllegalStateException("failure");
+    }
+  }
+
+  private static final class AsyncListener {
+
+    private final CountDownLatch latch = new CountDownLatch(100);
+    private final List<Integer> receivedNumbers = new CopyOnWriteArrayList<>();
+
+    @EventListener(async = true, queueCapacity = 16)
+    public void handleEvent(TestEvent event) {
+      this.receivedNumbers.add(event.number);
+      this.latch.countDown();
+    }
+  }
+
   private static final class TestEvent extends Event {
 
     private int number;
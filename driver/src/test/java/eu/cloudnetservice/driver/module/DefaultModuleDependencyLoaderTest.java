@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.module;
+
+import eu.cloudnetservice.ext.updater.util.ChecksumUtil;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DefaultModuleDependencyLoaderTest {
+
+  @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+  private Path tempDir;
+
+  // collects the background verifications, they are only executed when the test runs them
+  private final List<Runnable> verificationTasks = new ArrayList<>();
+
+  private DefaultModuleDependencyLoader newLoader() {
+    return new DefaultModuleDependencyLoader(this.tempDir, 1, this.verificationTasks::add);
+  }
+
+  @Test
+  void testChecksumStampIsRecordedAndTrusted() throws Exception {
+    var dependencyFile = this.tempDir.resolve("eu").resolve("cloudnet").resolve("test-1.0.jar");
+    Files.createDirectories(dependencyFile.getParent());
+    Files.writeString(dependencyFile, "original content", StandardCharsets.UTF_8);
+    var checksum = ChecksumUtil.fileShaSum(dependencyFile);
+
+    var loader = this.newLoader();
+    Assertions.assertTrue(loader.verifyChecksum(dependencyFile, checksum));
+    Assertions.assertTrue(this.verificationTasks.isEmpty());
+
+    var stampFile = this.tempDir.resolve(DefaultModuleDependencyLoader.CHECKSUM_STAMP_FILE_NAME);
+    var stampLines = Files.readAllLines(stampFile, StandardCharsets.UTF_8);
+    Assertions.assertEquals(1, stampLines.size());
+    Assertions.assertTrue(stampLines.getFirst().startsWith("eu/cloudnet/test-1.0.jar\t"));
+    Assertions.assertTrue(stampLines.getFirst().endsWith("\t" + checksum));
+
+    // same size and modification time, the recorded checksum is trusted by a new loader
+    var lastModified = Files.getLastModifiedTime(dependencyFile);
+    Files.writeString(dependencyFile, "modified content", StandardCharsets.UTF_8);
+    Files.setLastModifiedTime(dependencyFile, lastModified);
+    Assertions.assertTrue(this.newLoader().verifyChecksum(dependencyFile, checksum));
+
+    // the trusted file is re-hashed in the background, which detects the changed content and drops the stamp
+    Assertions.assertEquals(1, this.verificationTasks.size());
+    this.verificationTasks.removeFirst().run();
+    Assertions.assertTrue(Files.readAllLines(stampFile, StandardCharsets.UTF_8).isEmpty());
+  }
+
+  @Test
+  void testChangedFileIsRehashed() throws Exception {
+    var dependencyFile = this.tempDir.resolve("test-1.0.jar");
+    Files.writeString(dependencyFile, "original content", StandardCharsets.UTF_8);
+    var checksum = ChecksumUtil.fileShaSum(dependencyFile);
+
+    var loader = this.newLoader();
+    Assertions.assertTrue(loader.verifyChecksum(dependencyFile, checksum));
+
+    // the file changed, the stamp no longer matches and the file must be hashed again
+    Files.writeString(dependencyFile, "changed content!", StandardCharsets.UTF_8);
+    Files.setLastModifiedTime(dependencyFile, FileTime.fromMillis(0));
+    Assertions.assertFalse(loader.verifyChecksum(dependencyFile, checksum));
+    Assertions.assertTrue(this.verificationTasks.isEmpty());
+    Assertions.assertTrue(Files.readAllLines(
+      this.tempDir.resolve(DefaultModuleDependencyLoader.CHECKSUM_STAMP_FILE_NAME),
+      StandardCharsets.UTF_8).isEmpty());
+  }
+
+  @Test
+  void testInvalidDownloadParallelism() {
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> new DefaultModuleDependencyLoader(this.tempDir, 0));
+  }
+}
@@ -19,7 +19,7 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.protocol.defaults.DefaultQueryPacketManager;
-import java.util.UUID;
+import java.time.Duration;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
@@ -38,8 +38,8 @@ void testSendQueryPacket() {
     Assertions.assertNotNull(responseTask);
     Assertions.assertEquals(Future.State.RUNNING, responseTask.state());
 
-    var assignedId = queryRequest.uniqueId();
-    Assertions.assertNotNull(assignedId);
+    var assignedId = queryRequest.queryId();
+    Assertions.assertNotEquals(Packet.NO_QUERY_ID, assignedId);
     Assertions.assertTrue(manager.hasWaitingHandler(assignedId));
     Assertions.assertEquals(1, manager.waitingHandlerCount());
 
@@ -53,15 +53,15 @@ void testSendQueryPacket() {
 
   @Test
   void testSendQueryPacketWithFixedId() {
-    var id = UUID.randomUUID();
+    var id = 1337L;
     var queryRequest = new BasePacket(-1, DataBuf.empty());
-    queryRequest.uniqueId(id);
+    queryRequest.queryId(id);
 
     var manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class));
     var firstResponseTask = manager.sendQueryPacket(queryRequest);
     Assertions.assertNotNull(firstResponseTask);
     Assertions.assertEquals(Future.State.RUNNING, firstResponseTask.state());
-    Assertions.assertEquals(id, queryRequest.uniqueId());
+    Assertions.assertEquals(id, queryRequest.queryId());
 
     var secondResponseTask = manager.sendQueryPacket(queryRequest);
     Assertions.assertNotNull(secondResponseTask);
@@ -69,4 +69,34 @@ void testSendQueryPacketWithFixedId() {
     Assertions.assertThrows(CompletionException.class, firstResponseTask::join);
     Assertions.assertInstanceOf(TimeoutException.class, firstResponseTask.exceptionNow());
   }
+
+  @Test
+  void testQueryIdsAreMonotonic() {
+    var manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class));
+
+    var firstRequest = new BasePacket(-1, DataBuf.empty());
+    var secondRequest = new BasePacket(-1, DataBuf.empty());
+    manager.sendQueryPacket(firstRequest);
+    manager.sendQueryPacket(secondRequest);
+
+    Assertions.assertTrue(firstRequest.queryId() < secondRequest.queryId());
+    Assertions.assertEquals(2, manager.waitingHandlerCount());
+  }
+
+  @Test
+  void testQueryTimeout() {
+    var queryRequest = new BasePacket(-1, DataBuf.empty());
+    var manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class));
+
+    var responseTask = manager.sendQueryPacket(queryRequest, Duration.ofMillis(50));
+    var continuationThread = responseTask.handle((_, _) -> Thread.currentThread().getName());
+    var exception = Assertions.assertThrows(CompletionException.class, responseTask::join);
+    Assertions.assertInstanceOf(TimeoutException.class, exception.getCause());
+
+    // the continuations must not be executed on the timer thread which is shared between all managers
+    Assertions.assertNotEquals("CloudNet Query Timeout Timer", continuationThread.join());
+
+    Assertions.assertFalse(manager.hasWaitingHandler(queryRequest.queryId()));
+    Assertions.assertEquals(0, manager.waitingHandlerCount());
+  }
 }
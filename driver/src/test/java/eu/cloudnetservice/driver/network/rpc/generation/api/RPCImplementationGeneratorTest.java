@@ -51,7 +51,7 @@ void testFullGeneration() {
         return TaskUtil.finishedFuture(new BasePacket(-1, rpcResponse));
       })
       .when(mockedChannel)
-      .sendQueryAsync(Mockito.any(Packet.class));
+      .sendQueryAsync(Mockito.any(Packet.class), Mockito.any());
 
     var rpcFactory = new DefaultRPCFactory(DefaultObjectMapper.DEFAULT_MAPPER, DataBufFactory.defaultFactory());
     var databaseImplementationFactory = rpcFactory.newRPCBasedImplementationBuilder(Database.class)
@@ -63,7 +63,7 @@ void testFullGeneration() {
     Assertions.assertTrue(wrapperDatabase.contains("world"));
     Assertions.assertTrue(wrapperDatabase.containsAsync("world").join());
 
-    Mockito.verify(mockedChannel, Mockito.times(2)).sendQueryAsync(Mockito.any(Packet.class));
+    Mockito.verify(mockedChannel, Mockito.times(2)).sendQueryAsync(Mockito.any(Packet.class), Mockito.any());
   }
 
   @Test
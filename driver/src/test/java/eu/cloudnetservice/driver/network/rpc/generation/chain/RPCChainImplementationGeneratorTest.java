@@ -45,7 +45,7 @@ public void testChainedImplementationGeneration() {
         return TaskUtil.finishedFuture(new BasePacket(-1, rpcResponse));
       })
       .when(mockedChannel)
-      .sendQueryAsync(Mockito.any(Packet.class));
+      .sendQueryAsync(Mockito.any(Packet.class), Mockito.any());
 
     var rpcFactory = new DefaultRPCFactory(DefaultObjectMapper.DEFAULT_MAPPER, DataBufFactory.defaultFactory());
     var databaseImplementationFactory = rpcFactory.newRPCBasedImplementationBuilder(RootDatabase.class)
@@ -64,7 +64,7 @@ public void testChainedImplementationGeneration() {
     var subSubDatabase = subDatabase.subSubDatabase();
     Assertions.assertEquals("<hidden in the depths>", subSubDatabase.getName());
 
-    Mockito.verify(mockedChannel, Mockito.times(3)).sendQueryAsync(Mockito.any(Packet.class));
+    Mockito.verify(mockedChannel, Mockito.times(3)).sendQueryAsync(Mockito.any(Packet.class), Mockito.any());
   }
 
   // ============ Testing Class Definitions
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.handler;
+
+import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.rpc.RPCSender;
+import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCFactory;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.exception.RPCExecutionException;
+import eu.cloudnetservice.driver.network.rpc.handler.RPCNetworkHandlingTest.RPCHandlingTest;
+import eu.cloudnetservice.driver.network.rpc.handler.RPCNetworkHandlingTest.RPCHandlingTestImpl;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCPacketListener;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
+import java.lang.constant.ConstantDescs;
+import java.lang.constant.MethodTypeDesc;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class DefaultRPCBatchTest {
+
+  private static final MethodTypeDesc HELLO_WORLD_DESC = MethodTypeDesc.of(
+    ConstantDescs.CD_String,
+    ConstantDescs.CD_long);
+  private static final MethodTypeDesc ROUND_DESC = MethodTypeDesc.of(ConstantDescs.CD_long, ConstantDescs.CD_double);
+  private static final MethodTypeDesc SUM_DESC = MethodTypeDesc.of(
+    ConstantDescs.CD_long,
+    ConstantDescs.CD_long,
+    ConstantDescs.CD_int);
+
+  private final AtomicLong queryIdCounter = new AtomicLong();
+  private final AtomicInteger sentQueries = new AtomicInteger();
+  private final LinkedBlockingQueue<Packet> sentRequests = new LinkedBlockingQueue<>();
+
+  private NetworkChannel channel;
+  private RPCSender sender;
+
+  @BeforeEach
+  void setupChannel() {
+    var rpcFactory = new DefaultRPCFactory(DefaultObjectMapper.DEFAULT_MAPPER, DataBufFactory.defaultFactory());
+    var rpcHandlerRegistry = new DefaultRPCHandlerRegistry();
+    var rpcNetworkHandler = new RPCPacketListener(rpcHandlerRegistry);
+    rpcHandlerRegistry.registerHandler(rpcFactory.newRPCHandlerBuilder(RPCHandlingTest.class)
+      .targetInstance(new RPCHandlingTestImpl())
+      .build());
+
+    // queries are handled directly by the packet listener, the response is passed back to the query future
+    this.channel = Mockito.mock(NetworkChannel.class);
+    var lastQuery = new AtomicReference<Packet>();
+    var responseQueue = new LinkedBlockingQueue<Packet>(1);
+    Mockito
+      .doAnswer(invocation -> {
+        Packet request = invocation.getArgument(0);
+        request.queryId(this.queryIdCounter.incrementAndGet());
+        this.sentQueries.incrementAndGet();
+        lastQuery.set(request);
+        rpcNetworkHandler.handle(this.channel, request);
+        return TaskUtil.supplyAsync(responseQueue::take);
+      })
+      .when(this.channel)
+      .sendQueryAsync(Mockito.any(Packet.class), Mockito.any());
+    Mockito
+      .doAnswer(invocation -> {
+        Packet packet = invocation.getArgument(0);
+        if (lastQuery.getAndSet(null) != null) {
+          responseQueue.offer(packet);
+        } else {
+          this.sentRequests.offer(packet);
+        }
+        return null;
+      })
+      .when(this.channel)
+      .sendPacket(Mockito.any(Packet.class));
+
+    this.sender = rpcFactory.newRPCSenderBuilder(RPCHandlingTest.class).targetChannel(this.channel).build();
+  }
+
+  @Test
+  void testBatchResultsAreCompletedInOrder() {
+    var batch = this.sender.invokeMethod("helloWorld", HELLO_WORLD_DESC, 5L)
+      .batch(this.sender.invokeMethod("sum", SUM_DESC, Long.MAX_VALUE, 1))
+      .add(this.sender.invokeMethod("round", ROUND_DESC, 12.6D));
+    Assertions.assertEquals(3, batch.calls().size());
+
+    var results = batch.fire();
+    Assertions.assertEquals(3, results.size());
+    Assertions.assertEquals(1, this.sentQueries.get());
+
+    // each call is completed independently, the failure of the second call doesn't affect the others
+    Assertions.assertEquals("Hello World, for the 5. time!", results.get(0).join());
+    var exception = Assertions.assertThrows(CompletionException.class, () -> results.get(1).join());
+    Assertions.assertInstanceOf(RPCExecutionException.class, exception.getCause());
+    Assertions.assertEquals("ArithmeticException: long overflow", exception.getCause().getMessage());
+    Assertions.assertEquals(13L, results.get(2).join());
+  }
+
+  @Test
+  void testAddDoesNotModifyBatch() {
+    var batch = this.sender.invokeMethod("round", ROUND_DESC, 1.2D)
+      .batch(this.sender.invokeMethod("round", ROUND_DESC, 2.2D));
+    var extendedBatch = batch.add(this.sender.invokeMethod("round", ROUND_DESC, 3.2D));
+
+    Assertions.assertNotSame(batch, extendedBatch);
+    Assertions.assertEquals(2, batch.calls().size());
+    Assertions.assertEquals(3, extendedBatch.calls().size());
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> batch.calls().clear());
+  }
+
+  @Test
+  void testDroppedResultsAreCompletedDirectly() throws Exception {
+    var batch = this.sender.invokeMethod("round", ROUND_DESC, 1.2D).dropResult()
+      .batch(this.sender.invokeMethod("round", ROUND_DESC, 2.2D).dropResult());
+
+    // no call expects a result, therefore the batch is sent as a request instead of a query
+    var results = batch.fire();
+    Assertions.assertEquals(0, this.sentQueries.get());
+    Assertions.assertNull(results.get(0).getNow(1L));
+    Assertions.assertNull(results.get(1).getNow(1L));
+
+    var request = this.sentRequests.poll(5, TimeUnit.SECONDS);
+    Assertions.assertNotNull(request);
+    Assertions.assertEquals(RPCRequestPacket.BATCH_MARKER, request.content().readInt());
+    Assertions.assertEquals(2, request.content().readVarInt());
+  }
+
+  @Test
+  void testFireAndForgetSendsSingleRequest() throws Exception {
+    this.sender.invokeMethod("round", ROUND_DESC, 1.2D)
+      .batch(this.sender.invokeMethod("helloWorld", HELLO_WORLD_DESC, 1L))
+      .fireAndForget();
+
+    Assertions.assertEquals(0, this.sentQueries.get());
+    var request = this.sentRequests.poll(5, TimeUnit.SECONDS);
+    Assertions.assertNotNull(request);
+    Assertions.assertEquals(RPCRequestPacket.BATCH_MARKER, request.content().readInt());
+    Assertions.assertEquals(2, request.content().readVarInt());
+    Assertions.assertNull(this.sentRequests.poll());
+  }
+}
@@ -29,8 +29,8 @@
 import java.lang.constant.ClassDesc;
 import java.lang.constant.ConstantDescs;
 import java.lang.constant.MethodTypeDesc;
-import java.util.UUID;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -38,6 +38,8 @@
 
 public class RPCNetworkHandlingTest {
 
+  private static final AtomicLong QUERY_ID_COUNTER = new AtomicLong();
+
   @Test
   void testRPCHandling() {
     var rpcFactory = new DefaultRPCFactory(DefaultObjectMapper.DEFAULT_MAPPER, DataBufFactory.defaultFactory());
@@ -53,21 +55,21 @@ void testRPCHandling() {
     Mockito
       .doAnswer(invocation -> {
         Packet rpcRequest = invocation.getArgument(0);
-        rpcRequest.uniqueId(UUID.randomUUID()); // usually QueryManager would take over this job
+        rpcRequest.queryId(QUERY_ID_COUNTER.incrementAndGet()); // usually QueryManager would take over this job
         Assertions.assertEquals(NetworkConstants.INTERNAL_RPC_COM_CHANNEL, rpcRequest.channel());
         lastRPCRequest.set(rpcRequest);
         rpcNetworkHandler.handle(mockedChannel, rpcRequest);
         return TaskUtil.supplyAsync(responseQueue::take);
       })
       .when(mockedChannel)
-      .sendQueryAsync(Mockito.any(Packet.class));
+      .sendQueryAsync(Mockito.any(Packet.class), Mockito.any());
     Mockito
       .doAnswer(invocation -> {
         var lastRequest = lastRPCRequest.getAndSet(null);
         if (lastRequest != null) {
           Packet rpcResponse = invocation.getArgument(0);
           Assertions.assertEquals(-1, rpcResponse.channel());
-          Assertions.assertEquals(lastRequest.uniqueId(), rpcResponse.uniqueId());
+          Assertions.assertEquals(lastRequest.queryId(), rpcResponse.queryId());
           responseQueue.offer(rpcResponse);
         }
         return null;
@@ -27,12 +27,13 @@
 import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandlerRegistry;
 import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
 import eu.cloudnetservice.driver.network.rpc.listener.RPCPacketListener;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
 import java.lang.constant.ConstantDescs;
 import java.lang.constant.MethodTypeDesc;
 import java.util.IntSummaryStatistics;
-import java.util.UUID;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -51,6 +52,7 @@ static Packet craftRPCRequest(
   ) {
     var buffer = DataBuf.empty()
       .writeInt(chainLength)
+      .writeVarInt(0) // target is not interned
       .writeString(className)
       .writeString(methodName)
       .writeString(methodDesc);
@@ -59,7 +61,7 @@ static Packet craftRPCRequest(
     }
 
     var packet = new BasePacket(NetworkConstants.INTERNAL_RPC_COM_CHANNEL, buffer);
-    packet.uniqueId(wantsResponse ? UUID.randomUUID() : null); // usually set by QueryManager
+    packet.queryId(wantsResponse ? 1 : Packet.NO_QUERY_ID); // usually set by QueryManager
     return packet;
   }
 
@@ -71,7 +73,7 @@ static Tuple2<NetworkChannel, BlockingQueue<Packet>> mockNetworkChannel() {
     Mockito
       .doAnswer(invocation -> {
         Packet response = invocation.getArgument(0);
-        Assertions.assertNotNull(response.uniqueId());
+        Assertions.assertNotEquals(Packet.NO_QUERY_ID, response.queryId());
         Assertions.assertEquals(-1, response.channel());
         responseQueue.offer(response);
         return null;
@@ -257,4 +259,155 @@ void testNothingIsSentBackIfNoResultIsExpected(String methodDescriptor) throws E
     var response = mockResult.second().poll();
     Assertions.assertNull(response);
   }
+
+  @Test
+  void testInternedTargetsAreResolved() throws Exception {
+    var handlerRegistry = new DefaultRPCHandlerRegistry();
+    var packetListener = new RPCPacketListener(handlerRegistry);
+
+    var factory = new DefaultRPCFactory(DefaultObjectMapper.DEFAULT_MAPPER, DataBufFactory.defaultFactory());
+    var handler = factory
+      .newRPCHandlerBuilder(IntSummaryStatistics.class)
+      .targetInstance(new IntSummaryStatistics())
+      .build();
+    handlerRegistry.registerHandler(handler);
+
+    var mockResult = mockNetworkChannel();
+    var desc = MethodTypeDesc.of(ConstantDescs.CD_long).descriptorString();
+
+    // define the target with id 1
+    var definition = DataBuf.empty()
+      .writeInt(1)
+      .writeVarInt((1 << 1) | 1)
+      .writeString(IntSummaryStatistics.class.getName())
+      .writeString("getCount")
+      .writeString(desc);
+    var definitionPacket = new BasePacket(NetworkConstants.INTERNAL_RPC_COM_CHANNEL, definition);
+    definitionPacket.queryId(1);
+    packetListener.handle(mockResult.first(), definitionPacket);
+
+    var definitionResponse = mockResult.second().poll();
+    Assertions.assertNotNull(definitionResponse);
+    Assertions.assertEquals(RPCInvocationResult.STATUS_OK, definitionResponse.content().readByte());
+
+    // reference the target using only the id
+    var reference = DataBuf.empty().writeInt(1).writeVarInt(1 << 1);
+    var referencePacket = new BasePacket(NetworkConstants.INTERNAL_RPC_COM_CHANNEL, reference);
+    referencePacket.queryId(2);
+    packetListener.handle(mockResult.first(), referencePacket);
+
+    var referenceResponse = mockResult.second().poll();
+    Assertions.assertNotNull(referenceResponse);
+    Assertions.assertEquals(RPCInvocationResult.STATUS_OK, referenceResponse.content().readByte());
+
+    // reference a target id that was never defined
+    var unknownReference = DataBuf.empty().writeInt(1).writeVarInt(2 << 1);
+    var unknownReferencePacket = new BasePacket(NetworkConstants.INTERNAL_RPC_COM_CHANNEL, unknownReference);
+    unknownReferencePacket.queryId(3);
+    packetListener.handle(mockResult.first(), unknownReferencePacket);
+
+    var unknownResponse = mockResult.second().poll();
+    Assertions.assertNotNull(unknownResponse);
+    Assertions.assertEquals(RPCInvocationResult.STATUS_BAD_REQUEST, unknownResponse.content().readByte());
+    Assertions.assertEquals("unknown rpc target id", unknownResponse.content().readString());
+  }
+
+  @Test
+  void testBatchCallsAreHandledIndependently() throws Exception {
+    var handlerRegistry = new DefaultRPCHandlerRegistry();
+    var packetListener = new RPCPacketListener(handlerRegistry);
+
+    var factory = new DefaultRPCFactory(DefaultObjectMapper.DEFAULT_MAPPER, DataBufFactory.defaultFactory());
+    var statistics = new IntSummaryStatistics();
+    statistics.accept(5);
+    statistics.accept(10);
+    var handler = factory
+      .newRPCHandlerBuilder(IntSummaryStatistics.class)
+      .targetInstance(statistics)
+      .build();
+    handlerRegistry.registerHandler(handler);
+
+    var longDesc = MethodTypeDesc.of(ConstantDescs.CD_long).descriptorString();
+    var intDesc = MethodTypeDesc.of(ConstantDescs.CD_int).descriptorString();
+    var batch = DataBuf.empty()
+      .writeInt(RPCRequestPacket.BATCH_MARKER)
+      .writeVarInt(3)
+      .writeVarInt(0)
+      .writeString(IntSummaryStatistics.class.getName())
+      .writeString("getCount")
+      .writeString(longDesc)
+      .writeVarInt(0)
+      .writeString("Test")
+      .writeString("test")
+      .writeString(longDesc)
+      .writeVarInt(0)
+      .writeString(IntSummaryStatistics.class.getName())
+      .writeString("getMax")
+      .writeString(intDesc)
+      .writeDataBuf(DataBuf.empty())
+      .writeDataBuf(DataBuf.empty())
+      .writeDataBuf(DataBuf.empty());
+    var batchPacket = new BasePacket(NetworkConstants.INTERNAL_RPC_COM_CHANNEL, batch);
+    batchPacket.queryId(1);
+
+    var mockResult = mockNetworkChannel();
+    packetListener.handle(mockResult.first(), batchPacket);
+
+    var response = mockResult.second().poll(5, TimeUnit.SECONDS);
+    Assertions.assertNotNull(response);
+
+    var content = response.content();
+    Assertions.assertEquals(RPCInvocationResult.STATUS_OK, content.readByte());
+    Assertions.assertEquals(3, content.readVarInt());
+
+    var firstResult = content.readDataBuf();
+    Assertions.assertEquals(RPCInvocationResult.STATUS_OK, firstResult.readByte());
+    Assertions.assertEquals(2L, (Long) firstResult.readObject(long.class));
+
+    var secondResult = content.readDataBuf();
+    Assertions.assertEquals(RPCInvocationResult.STATUS_BAD_REQUEST, secondResult.readByte());
+    Assertions.assertEquals("missing explicitly defined target handler to call", secondResult.readString());
+
+    var thirdResult = content.readDataBuf();
+    Assertions.assertEquals(RPCInvocationResult.STATUS_OK, thirdResult.readByte());
+    Assertions.assertEquals(10, (Integer) thirdResult.readObject(int.class));
+  }
+
+  @Test
+  void testFailingBatchCallIsReportedAsServerError() throws Exception {
+    var handlerRegistry = new DefaultRPCHandlerRegistry();
+    var packetListener = new RPCPacketListener(handlerRegistry);
+
+    // the handler throws instead of returning an invocation result
+    var failingHandler = Mockito.mock(RPCHandler.class);
+    Mockito.when(failingHandler.targetClass()).thenAnswer(_ -> IntSummaryStatistics.class);
+    Mockito.when(failingHandler.handle(Mockito.any())).thenThrow(new IllegalStateException("handler failure"));
+    handlerRegistry.registerHandler(failingHandler);
+
+    var longDesc = MethodTypeDesc.of(ConstantDescs.CD_long).descriptorString();
+    var batch = DataBuf.empty()
+      .writeInt(RPCRequestPacket.BATCH_MARKER)
+      .writeVarInt(1)
+      .writeVarInt(0)
+      .writeString(IntSummaryStatistics.class.getName())
+      .writeString("getCount")
+      .writeString(longDesc)
+      .writeDataBuf(DataBuf.empty());
+    var batchPacket = new BasePacket(NetworkConstants.INTERNAL_RPC_COM_CHANNEL, batch);
+    batchPacket.queryId(1);
+
+    var mockResult = mockNetworkChannel();
+    packetListener.handle(mockResult.first(), batchPacket);
+
+    var response = mockResult.second().poll(5, TimeUnit.SECONDS);
+    Assertions.assertNotNull(response);
+
+    var content = response.content();
+    Assertions.assertEquals(RPCInvocationResult.STATUS_OK, content.readByte());
+    Assertions.assertEquals(1, content.readVarInt());
+
+    var result = content.readDataBuf();
+    Assertions.assertEquals(RPCInvocationResult.STATUS_SERVER_ERROR, result.readByte());
+    Assertions.assertTrue(result.readString().contains("handler failure"));
+  }
 }
@@ -28,6 +28,7 @@
 import eu.cloudnetservice.driver.module.ModuleTask;
 import eu.cloudnetservice.driver.module.driver.DriverModule;
 import eu.cloudnetservice.modules.cloudflare.cloudflare.CloudFlareRecordManager;
+import eu.cloudnetservice.modules.cloudflare.cloudflare.CloudflareRecordController;
 import eu.cloudnetservice.modules.cloudflare.cloudflare.DnsRecordDetail;
 import eu.cloudnetservice.modules.cloudflare.config.CloudflareConfiguration;
 import eu.cloudnetservice.modules.cloudflare.config.CloudflareConfigurationEntry;
@@ -126,7 +127,8 @@ public void createNodeRecordsWhenNeeded(@NonNull CloudFlareRecordManager recordM
   }
 
   @ModuleTask(order = 125, lifecycle = ModuleLifeCycle.STARTED)
-  public void finishStartup(@NonNull EventManager eventManager) {
+  public void finishStartup(@NonNull EventManager eventManager, @NonNull CloudflareRecordController recordController) {
+    recordController.start();
     eventManager.registerListener(CloudflareServiceStateListener.class);
   }
 
@@ -213,7 +215,13 @@ public void handleReload(@NonNull CloudFlareRecordManager recordManager, @NonNul
   }
 
   @ModuleTask(order = 64, lifecycle = ModuleLifeCycle.STOPPED)
-  public void removeAllServiceRecords(@NonNull CloudFlareRecordManager recordManager) {
+  public void removeAllServiceRecords(
+    @NonNull CloudFlareRecordManager recordManager,
+    @NonNull CloudflareRecordController recordController
+  ) {
+    // stop the controller first to prevent it from re-creating records while we delete them
+    recordController.close();
+
     var deletionFutures = recordManager.trackedRecords().entries().stream()
       .filter(trackedRecordEntry -> {
         // check if the entry is a record for our node
@@ -30,7 +30,9 @@
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import kong.unirest.core.ContentType;
 import kong.unirest.core.HttpRequestWithBody;
 import kong.unirest.core.Unirest;
@@ -42,10 +44,14 @@
 @Singleton
 public class CloudFlareRecordManager {
 
-  protected static final String CLOUDFLARE_ENDPOINT = "https://api.cloudflare.com/client/v4/";
+  // the endpoint can be overridden to point the module to a local stub of the api
+  protected static final String CLOUDFLARE_ENDPOINT = System.getProperty(
+    "cloudnet.cloudflare.api-endpoint",
+    "https://api.cloudflare.com/client/v4/");
   protected static final String ZONE_RECORDS_ENDPOINT = CLOUDFLARE_ENDPOINT + "zones/%s/dns_records";
   protected static final String ZONE_RECORDS_MANAGEMENT_ENDPOINT = ZONE_RECORDS_ENDPOINT + "/%s";
 
+  protected static final long DEFAULT_RETRY_AFTER_MILLIS = TimeUnit.SECONDS.toMillis(5);
   protected static final Type LIST_DNS_RECORD_TYPE = TypeFactory.parameterizedClass(List.class, DnsRecord.class);
 
   protected static final Logger LOGGER = LoggerFactory.getLogger(CloudFlareRecordManager.class);
@@ -103,6 +109,7 @@ public class CloudFlareRecordManager {
       this.createdRecords.put(serviceUniqueId, recordDetail);
       return recordDetail;
     }).exceptionally(ex -> {
+      rethrowRateLimit(ex);
       LOGGER.error("Unable to create cloudflare dns record from {} for config {}", record, configuration, ex);
       return null;
     });
@@ -142,6 +149,7 @@ public class CloudFlareRecordManager {
       this.createdRecords.put(serviceUniqueId, recordDetail);
       return recordDetail;
     }).exceptionally(ex -> {
+      rethrowRateLimit(ex);
       LOGGER.error(
         "Unable to patch cloudflare dns record {} to {} for config {}",
         oldRecord.id(),
@@ -178,6 +186,7 @@ public class CloudFlareRecordManager {
       // record was deleted successfully
       return true;
     }).exceptionally(ex -> {
+      rethrowRateLimit(ex);
       LOGGER.debug("Unable to delete record {} (configuration: {})", id, configuration, ex);
       return false;
     });
@@ -212,7 +221,34 @@ public class CloudFlareRecordManager {
     @Nullable String body
   ) {
     var response = body == null ? request.asStringAsync() : request.body(body).asStringAsync();
-    return response.thenApply(res -> DocumentFactory.json().parse(res.getBody()));
+    return response.thenApply(res -> {
+      // the api responds with 429 when the rate limit was exceeded, the caller should retry later
+      if (res.getStatus() == 429) {
+        throw new CloudflareRateLimitException(parseRetryAfter(res.getHeaders().getFirst("Retry-After")));
+      }
+
+      return DocumentFactory.json().parse(res.getBody());
+    });
+  }
+
+  protected static long parseRetryAfter(@Nullable String retryAfter) {
+    if (retryAfter == null || retryAfter.isBlank()) {
+      return DEFAULT_RETRY_AFTER_MILLIS;
+    }
+
+    try {
+      return TimeUnit.SECONDS.toMillis(Math.max(1, Long.parseLong(retryAfter.trim())));
+    } catch (NumberFormatException exception) {
+      return DEFAULT_RETRY_AFTER_MILLIS;
+    }
+  }
+
+  protected static void rethrowRateLimit(@NonNull Throwable throwable) {
+    // rate limits should not be swallowed, the caller needs to back off instead of giving up
+    var cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    if (cause instanceof CloudflareRateLimitException rateLimitException) {
+      throw rateLimitException;
+    }
   }
 
   protected @NonNull Map<String, String> constructHeaders(@NonNull CloudflareConfigurationEntry entry) {
@@ -0,0 +1,420 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.cloudflare.cloudflare;
+
+import eu.cloudnetservice.common.language.I18n;
+import eu.cloudnetservice.modules.cloudflare.CloudNetCloudflareModule;
+import eu.cloudnetservice.modules.cloudflare.config.CloudflareConfigurationEntry;
+import eu.cloudnetservice.modules.cloudflare.dns.DnsRecord;
+import eu.cloudnetservice.modules.cloudflare.dns.DnsType;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@Singleton
+public final class CloudflareRecordController {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CloudflareRecordController.class);
+
+  // the owner of records that point to this node but are not tracked, for example left over after a crash
+  private static final UUID ORPHANED_RECORDS_ID = new UUID(0, 0);
+
+  private static final long TICK_MILLIS = 250;
+  private static final long INITIAL_BACKOFF_MILLIS = 1000;
+  private static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(2);
+  private static final long INITIAL_RECONCILE_DELAY_SECONDS = 60;
+
+  private static final int MAX_ATTEMPTS = Integer.getInteger("cloudnet.cloudflare.max-attempts", 5);
+  private static final long BATCH_DELAY_MILLIS = Long.getLong("cloudnet.cloudflare.batch-delay-millis", 1500);
+  private static final int REQUESTS_PER_SECOND = Math.max(
+    1,
+    Integer.getInteger("cloudnet.cloudflare.requests-per-second", 4));
+  private static final long RECONCILE_INTERVAL_SECONDS = Long.getLong(
+    "cloudnet.cloudflare.reconcile-interval-seconds",
+    300);
+
+  private final CloudNetCloudflareModule module;
+  private final CloudFlareRecordManager recordManager;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(
+    Thread.ofPlatform().name("CloudNet Cloudflare Record Controller").daemon().factory());
+
+  // all following fields are only accessed from the controller thread
+  private final Map<UUID, RecordOwner> owners = new HashMap<>();
+  private final Set<UUID> pendingOwners = new LinkedHashSet<>();
+  private final Set<CloudflareConfigurationEntry> listingEntries = new HashSet<>();
+  private final Set<CloudflareConfigurationEntry> deferredListingEntries = new LinkedHashSet<>();
+
+  private double availableRequests = REQUESTS_PER_SECOND;
+  private long lastRefillNanos = System.nanoTime();
+  private long pausedUntilMillis;
+
+  @Inject
+  public CloudflareRecordController(
+    @NonNull CloudNetCloudflareModule module,
+    @NonNull CloudFlareRecordManager recordManager
+  ) {
+    this.module = module;
+    this.recordManager = recordManager;
+  }
+
+  public void start() {
+    this.executor.scheduleWithFixedDelay(this::processPendingOwners, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    if (RECONCILE_INTERVAL_SECONDS > 0) {
+      this.executor.scheduleWithFixedDelay(
+        this::reconcile,
+        Math.min(INITIAL_RECONCILE_DELAY_SECONDS, RECONCILE_INTERVAL_SECONDS),
+        RECONCILE_INTERVAL_SECONDS,
+        TimeUnit.SECONDS);
+    }
+  }
+
+  public void close() {
+    this.executor.shutdownNow();
+  }
+
+  public void publishRecords(
+    @NonNull UUID ownerId,
+    @NonNull String ownerName,
+    @NonNull Collection<DesiredRecord> records
+  ) {
+    var desiredRecords = List.copyOf(records);
+    this.executor.execute(() -> {
+      var owner = this.owners.computeIfAbsent(ownerId, _ -> new RecordOwner(ownerName));
+      owner.desiredRecords = desiredRecords;
+      // delay the sync, a service that stops right away will not cause any requests
+      this.scheduleSync(ownerId, owner, System.currentTimeMillis() + BATCH_DELAY_MILLIS);
+    });
+  }
+
+  public void releaseRecords(@NonNull UUID ownerId) {
+    this.executor.execute(() -> {
+      var owner = this.owners.get(ownerId);
+      if (owner != null) {
+        owner.desiredRecords = List.of();
+        this.scheduleSync(ownerId, owner, System.currentTimeMillis() + BATCH_DELAY_MILLIS);
+      }
+    });
+  }
+
+  private void scheduleSync(@NonNull UUID ownerId, @NonNull RecordOwner owner, long notBefore) {
+    if (this.pendingOwners.add(ownerId)) {
+      owner.syncNotBefore = notBefore;
+    } else {
+      owner.syncNotBefore = Math.max(owner.syncNotBefore, notBefore);
+    }
+  }
+
+  private void processPendingOwners() {
+    var now = System.currentTimeMillis();
+    if (now < this.pausedUntilMillis) {
+      return;
+    }
+
+    this.refillRequests();
+    var iterator = this.pendingOwners.iterator();
+    while (iterator.hasNext() && this.availableRequests >= 1) {
+      var ownerId = iterator.next();
+      var owner = this.owners.get(ownerId);
+      if (owner == null) {
+        iterator.remove();
+        continue;
+      }
+
+      // wait for the requests of the last sync to complete before computing the next diff
+      if (owner.inFlightRequests == 0 && owner.syncNotBefore <= now && this.syncOwner(ownerId, owner)) {
+        iterator.remove();
+      }
+    }
+
+    // the listings of the reconciliation use the requests which are not needed by the owners
+    this.listDeferredEntries();
+  }
+
+  private boolean syncOwner(@NonNull UUID ownerId, @NonNull RecordOwner owner) {
+    var trackedRecords = List.copyOf(this.recordManager.createdRecords(ownerId));
+    var deletions = trackedRecords.stream()
+      .filter(detail -> owner.desiredRecords.stream().noneMatch(desired -> desired.matches(detail)))
+      .toList();
+    var creations = owner.desiredRecords.stream()
+      .filter(desired -> trackedRecords.stream().noneMatch(desired::matches))
+      .toList();
+
+    // nothing to do, the owner is in the desired state
+    if (deletions.isEmpty() && creations.isEmpty()) {
+      owner.failedAttempts = 0;
+      if (owner.desiredRecords.isEmpty()) {
+        this.owners.remove(ownerId);
+      }
+      return true;
+    }
+
+    // issue as many requests as the rate limit allows, the owner stays pending if not all requests were sent
+    for (var detail : deletions) {
+      if (this.availableRequests < 1) {
+        return false;
+      }
+
+      this.availableRequests--;
+      owner.inFlightRequests++;
+      owner.lastRequestNanos = System.nanoTime();
+      this.recordManager.deleteRecord(detail).whenComplete((deleted, throwable) -> this.executor.execute(() -> {
+        var successful = Boolean.TRUE.equals(deleted);
+        if (successful) {
+          this.recordManager.trackedRecords().remove(ownerId, detail);
+          LOGGER.info(I18n.trans(
+            "module-cloudflare-delete-dns-record-for-service",
+            detail.configurationEntry().domainName(),
+            owner.name,
+            detail.id()));
+        }
+        this.handleRequestCompletion(ownerId, owner, successful, throwable);
+      }));
+    }
+
+    for (var desired : creations) {
+      if (this.availableRequests < 1) {
+        return false;
+      }
+
+      this.availableRequests--;
+      owner.inFlightRequests++;
+      owner.lastRequestNanos = System.nanoTime();
+      this.recordManager
+        .createRecord(ownerId, desired.configurationEntry(), desired.record())
+        .whenComplete((detail, throwable) -> this.executor.execute(() -> {
+          if (detail != null) {
+            LOGGER.info(I18n.trans(
+              "module-cloudflare-create-dns-record-for-service",
+              desired.configurationEntry().domainName(),
+              owner.name,
+              detail.id()));
+          }
+          this.handleRequestCompletion(ownerId, owner, detail != null, throwable);
+        }));
+    }
+
+    return true;
+  }
+
+  private void handleRequestCompletion(
+    @NonNull UUID ownerId,
+    @NonNull RecordOwner owner,
+    boolean successful,
+    @Nullable Throwable throwable
+  ) {
+    owner.inFlightRequests--;
+    var cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+    if (cause instanceof CloudflareRateLimitException rateLimitException) {
+      // pause all requests, rate limits do not count into the retry budget
+      owner.rateLimited = true;
+      this.pausedUntilMillis = Math.max(
+        this.pausedUntilMillis,
+        System.currentTimeMillis() + rateLimitException.retryAfterMillis());
+    } else if (!successful) {
+      owner.failed = true;
+    }
+
+    // wait for all requests of the sync to complete
+    if (owner.inFlightRequests > 0) {
+      return;
+    }
+
+    var now = System.currentTimeMillis();
+    if (owner.failed) {
+      owner.failedAttempts++;
+      if (owner.failedAttempts >= MAX_ATTEMPTS && owner.desiredRecords.isEmpty()) {
+        // give up to delete the records, left over records are cleaned up by the next reconciliation
+        LOGGER.warn("Giving up to delete the dns records of {} after {} attempts", owner.name, owner.failedAttempts);
+        this.pendingOwners.remove(ownerId);
+        this.owners.remove(ownerId);
+        this.recordManager.getAndRemoveRecords(ownerId);
+      } else {
+        if (owner.failedAttempts == MAX_ATTEMPTS) {
+          LOGGER.warn("Unable to sync the dns records of {} after {} attempts, retrying", owner.name, MAX_ATTEMPTS);
+        }
+
+        // the records are still desired, keep retrying with a backoff which is capped to the maximum
+        var backoffShift = Math.min(owner.failedAttempts - 1, 20);
+        var backoff = Math.min(MAX_BACKOFF_MILLIS, INITIAL_BACKOFF_MILLIS << backoffShift);
+        this.scheduleSync(ownerId, owner, now + backoff);
+      }
+    } else {
+      // verify the state of the owner during the next tick, this also removes owners without records
+      this.scheduleSync(ownerId, owner, owner.rateLimited ? this.pausedUntilMillis : now);
+    }
+
+    owner.failed = false;
+    owner.rateLimited = false;
+  }
+
+  private void refillRequests() {
+    var now = System.nanoTime();
+    var elapsedSeconds = (now - this.lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    var refilledRequests = this.availableRequests + elapsedSeconds * REQUESTS_PER_SECOND;
+    this.availableRequests = Math.min(REQUESTS_PER_SECOND, refilledRequests);
+    this.lastRefillNanos = now;
+  }
+
+  private void reconcile() {
+    if (System.currentTimeMillis() < this.pausedUntilMillis) {
+      return;
+    }
+
+    // the listings count towards the request limit, entries are listed once a request is available
+    for (var entry : this.module.configuration().entries()) {
+      if (entry.enabled() && !this.listingEntries.contains(entry)) {
+        this.deferredListingEntries.add(entry);
+      }
+    }
+
+    this.listDeferredEntries();
+  }
+
+  private void listDeferredEntries() {
+    if (this.deferredListingEntries.isEmpty()) {
+      return;
+    }
+
+    this.refillRequests();
+    var iterator = this.deferredListingEntries.iterator();
+    while (iterator.hasNext() && this.availableRequests >= 1) {
+      var entry = iterator.next();
+      iterator.remove();
+
+      if (this.listingEntries.add(entry)) {
+        this.availableRequests--;
+        var listingStartNanos = System.nanoTime();
+        this.recordManager.listRecords(entry).whenComplete((records, throwable) -> this.executor.execute(() -> {
+          this.listingEntries.remove(entry);
+          if (throwable == null) {
+            this.reconcileEntry(entry, records, listingStartNanos);
+          } else {
+            LOGGER.debug("Unable to list the dns records of {} for reconciliation", entry.domainName(), throwable);
+          }
+        }));
+      }
+    }
+  }
+
+  private void reconcileEntry(
+    @NonNull CloudflareConfigurationEntry entry,
+    @NonNull List<DnsRecord> records,
+    long listingStartNanos
+  ) {
+    // failed listings are reported as an empty list, which is not safe to reconcile against
+    if (records.isEmpty()) {
+      return;
+    }
+
+    // skip the reconciliation if requests are in flight, their result is not reflected in the listing
+    if (this.owners.values().stream().anyMatch(owner -> owner.inFlightRequests > 0)) {
+      return;
+    }
+
+    var now = System.currentTimeMillis();
+    var listedIds = records.stream().map(DnsRecord::id).collect(Collectors.toSet());
+
+    // re-create the records which were removed externally during the next sync
+    for (var ownerEntry : this.owners.entrySet()) {
+      // the listing might not reflect the records of owners that are synced right now or were synced since the
+      // listing was requested, their records are verified by the sync itself or by the next reconciliation
+      var ownerId = ownerEntry.getKey();
+      var owner = ownerEntry.getValue();
+      if (this.pendingOwners.contains(ownerId) || owner.lastRequestNanos - listingStartNanos >= 0) {
+        continue;
+      }
+
+      var missingRecords = this.recordManager.createdRecords(ownerId).stream()
+        .filter(detail -> CloudflareConfigurationEntry.mightEqual(detail.configurationEntry(), entry))
+        .filter(detail -> !listedIds.contains(detail.id()))
+        .toList();
+      if (!missingRecords.isEmpty()) {
+        LOGGER.debug("Found {} missing dns records of {}", missingRecords.size(), owner.name);
+        missingRecords.forEach(detail -> this.recordManager.trackedRecords().remove(ownerId, detail));
+        this.scheduleSync(ownerId, owner, now);
+      }
+    }
+
+    // srv records which point to this node but are not tracked are orphaned and get deleted
+    var trackedIds = this.recordManager.trackedRecords().values().stream()
+      .map(DnsRecordDetail::id)
+      .collect(Collectors.toSet());
+    var nodeTarget = String.format("%s.%s", entry.entryName(), entry.domainName());
+    List<DnsRecordDetail> orphanedRecords = new ArrayList<>();
+    for (var record : records) {
+      var data = record.data();
+      if (record.type().equals(DnsType.SRV.name())
+        && data != null
+        && nodeTarget.equalsIgnoreCase(data.getString("target"))
+        && !trackedIds.contains(record.id())) {
+        orphanedRecords.add(new DnsRecordDetail(record.id(), record, entry));
+      }
+    }
+
+    if (!orphanedRecords.isEmpty()) {
+      LOGGER.debug("Found {} orphaned dns records on domain {}", orphanedRecords.size(), entry.domainName());
+      this.recordManager.trackedRecords().putAll(ORPHANED_RECORDS_ID, orphanedRecords);
+      var owner = this.owners.computeIfAbsent(ORPHANED_RECORDS_ID, _ -> new RecordOwner("orphaned records"));
+      this.scheduleSync(ORPHANED_RECORDS_ID, owner, now);
+    }
+  }
+
+  public record DesiredRecord(@NonNull CloudflareConfigurationEntry configurationEntry, @NonNull DnsRecord record) {
+
+    private boolean matches(@NonNull DnsRecordDetail detail) {
+      var trackedRecord = detail.dnsRecord();
+      return CloudflareConfigurationEntry.mightEqual(this.configurationEntry, detail.configurationEntry())
+        && this.record.type().equals(trackedRecord.type())
+        && this.record.name().equalsIgnoreCase(trackedRecord.name())
+        && this.record.content().equals(trackedRecord.content());
+    }
+  }
+
+  private static final class RecordOwner {
+
+    private final String name;
+
+    private List<DesiredRecord> desiredRecords = List.of();
+    private long lastRequestNanos = System.nanoTime();
+    private long syncNotBefore;
+    private int failedAttempts;
+    private int inFlightRequests;
+    private boolean failed;
+    private boolean rateLimited;
+
+    private RecordOwner(@NonNull String name) {
+      this.name = name;
+    }
+  }
+}
@@ -16,11 +16,10 @@
 
 package eu.cloudnetservice.modules.cloudflare.listener;
 
-import eu.cloudnetservice.common.language.I18n;
 import eu.cloudnetservice.driver.event.EventListener;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.modules.cloudflare.CloudNetCloudflareModule;
-import eu.cloudnetservice.modules.cloudflare.cloudflare.CloudFlareRecordManager;
+import eu.cloudnetservice.modules.cloudflare.cloudflare.CloudflareRecordController;
 import eu.cloudnetservice.modules.cloudflare.config.CloudflareConfigurationEntry;
 import eu.cloudnetservice.modules.cloudflare.config.CloudflareGroupConfiguration;
 import eu.cloudnetservice.modules.cloudflare.dns.SrvRecord;
@@ -28,68 +27,48 @@
 import eu.cloudnetservice.node.service.CloudService;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BiConsumer;
 import lombok.NonNull;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 @Singleton
 public final class CloudflareServiceStateListener {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(CloudflareServiceStateListener.class);
-
   private final CloudNetCloudflareModule module;
-  private final CloudFlareRecordManager recordManager;
+  private final CloudflareRecordController recordController;
 
   @Inject
   public CloudflareServiceStateListener(
     @NonNull CloudNetCloudflareModule module,
-    @NonNull CloudFlareRecordManager recordManager
+    @NonNull CloudflareRecordController recordController
   ) {
     this.module = module;
-    this.recordManager = recordManager;
+    this.recordController = recordController;
   }
 
   @EventListener
   public void handlePostStart(@NonNull CloudServicePostLifecycleEvent event) {
     if (event.newLifeCycle() == ServiceLifeCycle.RUNNING) {
+      // collect the records of all matching configurations, the controller applies them in the background
+      List<CloudflareRecordController.DesiredRecord> records = new ArrayList<>();
       this.handleWithConfiguration(event.service(), (entry, configuration) -> {
-        // create the new record
         var record = SrvRecord.forConfiguration(entry, configuration, event.service().serviceConfiguration().port());
-        this.recordManager
-          .createRecord(event.service().serviceId().uniqueId(), entry, record)
-          .thenAccept(detail -> {
-            // print out the info about the record if it was created successfully
-            if (detail != null) {
-              LOGGER.info(I18n.trans(
-                "module-cloudflare-create-dns-record-for-service",
-                entry.domainName(),
-                event.service().serviceId().name(),
-                detail.id()));
-            }
-          });
+        records.add(new CloudflareRecordController.DesiredRecord(entry, record));
       });
+
+      if (!records.isEmpty()) {
+        var serviceId = event.service().serviceId();
+        this.recordController.publishRecords(serviceId.uniqueId(), serviceId.name(), records);
+      }
     }
   }
 
   @EventListener
   public void handlePostStop(@NonNull CloudServicePostLifecycleEvent event) {
     if (event.newLifeCycle() == ServiceLifeCycle.STOPPED || event.newLifeCycle() == ServiceLifeCycle.DELETED) {
-      this.handleWithConfiguration(event.service(), (entry, configuration) -> {
-        // delete all records of the service
-        for (var record : this.recordManager.getAndRemoveRecords(event.service().serviceId().uniqueId())) {
-          this.recordManager.deleteRecord(record).thenAccept(deleted -> {
-            // print a message if the record was deleted successfully
-            if (deleted) {
-              LOGGER.info(I18n.trans(
-                "module-cloudflare-delete-dns-record-for-service",
-                entry.domainName(),
-                event.service().serviceId().name(),
-                record.id()));
-            }
-          });
-        }
-      });
+      // removes all records of the service, or drops the records if they were not created yet
+      this.recordController.releaseRecords(event.service().serviceId().uniqueId());
     }
   }
 
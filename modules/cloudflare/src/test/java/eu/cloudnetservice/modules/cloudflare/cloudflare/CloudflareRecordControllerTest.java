@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.cloudflare.cloudflare;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.modules.cloudflare.CloudNetCloudflareModule;
+import eu.cloudnetservice.modules.cloudflare.config.CloudflareConfiguration;
+import eu.cloudnetservice.modules.cloudflare.config.CloudflareConfigurationEntry;
+import eu.cloudnetservice.modules.cloudflare.dns.DnsRecord;
+import eu.cloudnetservice.modules.cloudflare.dns.SrvRecord;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CloudflareRecordControllerTest {
+
+  private static final HttpServer STUB_SERVER;
+  private static final CloudflareConfigurationEntry ENTRY = new CloudflareConfigurationEntry(
+    true,
+    CloudflareConfigurationEntry.AuthenticationMethod.BEARER_TOKEN,
+    "node",
+    "127.0.0.1",
+    "cloud@example.com",
+    "token",
+    "zone",
+    "example.com",
+    List.of());
+  // an unrelated record in the zone, the listings of the zone are never empty
+  private static final String UNRELATED_RECORD = Document.newJsonDocument()
+    .append("id", "unrelated")
+    .append("type", "A")
+    .append("name", "example.com")
+    .append("content", "127.0.0.1")
+    .append("ttl", 1)
+    .append("proxied", false)
+    .serializeToString();
+
+  // the state of the stub api, reset before each test
+  private static final Map<String, String> RECORDS = new ConcurrentHashMap<>();
+  private static final AtomicInteger CREATE_REQUESTS = new AtomicInteger();
+  private static final AtomicInteger FAILING_CREATE_REQUESTS = new AtomicInteger();
+  private static volatile CountDownLatch listingArrival;
+  private static volatile CountDownLatch listingRelease;
+
+  static {
+    // the controller and record manager read their configuration once, point them to the stub before they're loaded
+    try {
+      STUB_SERVER = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+      STUB_SERVER.setExecutor(Executors.newCachedThreadPool());
+      STUB_SERVER.createContext("/", CloudflareRecordControllerTest::handleStubRequest);
+      STUB_SERVER.start();
+    } catch (IOException exception) {
+      throw new ExceptionInInitializerError(exception);
+    }
+
+    System.setProperty(
+      "cloudnet.cloudflare.api-endpoint",
+      String.format("http://127.0.0.1:%d/", STUB_SERVER.getAddress().getPort()));
+    System.setProperty("cloudnet.cloudflare.batch-delay-millis", "0");
+    System.setProperty("cloudnet.cloudflare.requests-per-second", "50");
+    System.setProperty("cloudnet.cloudflare.max-attempts", "1");
+    System.setProperty("cloudnet.cloudflare.reconcile-interval-seconds", "1");
+  }
+
+  // completed once the record manager registered the first successfully created record
+  private final CompletableFuture<DnsRecordDetail> createdRecord = new CompletableFuture<>();
+
+  private CloudFlareRecordManager recordManager;
+  private CloudflareRecordController controller;
+
+  @BeforeEach
+  void setupController() {
+    RECORDS.clear();
+    CREATE_REQUESTS.set(0);
+    FAILING_CREATE_REQUESTS.set(0);
+    listingArrival = null;
+    listingRelease = null;
+
+    var module = Mockito.mock(CloudNetCloudflareModule.class);
+    Mockito.when(module.configuration()).thenReturn(new CloudflareConfiguration(List.of(ENTRY)));
+    this.recordManager = new CloudFlareRecordManager() {
+      @Override
+      public CompletableFuture<DnsRecordDetail> createRecord(
+        UUID serviceUniqueId,
+        CloudflareConfigurationEntry configuration,
+        DnsRecord record
+      ) {
+        return super.createRecord(serviceUniqueId, configuration, record).whenComplete((recordDetail, _) -> {
+          if (recordDetail != null) {
+            CloudflareRecordControllerTest.this.createdRecord.complete(recordDetail);
+          }
+        });
+      }
+    };
+    this.controller = new CloudflareRecordController(module, this.recordManager);
+  }
+
+  @AfterEach
+  void closeController() {
+    this.controller.close();
+    var release = listingRelease;
+    if (release != null) {
+      release.countDown();
+    }
+  }
+
+  @AfterAll
+  static void stopStubServer() {
+    STUB_SERVER.stop(0);
+  }
+
+  @Test
+  void testCreationIsRetriedAfterMaxAttempts() throws Exception {
+    // the first two creations fail, the max attempts are set to one
+    FAILING_CREATE_REQUESTS.set(2);
+    this.controller.start();
+
+    var ownerId = UUID.randomUUID();
+    this.controller.publishRecords(ownerId, "Lobby-1", List.of(desiredRecord(25565)));
+
+    // the owner must stay scheduled until the record was created
+    this.createdRecord.get(10, TimeUnit.SECONDS);
+    Assertions.assertEquals(1, this.recordManager.createdRecords(ownerId).size());
+    Assertions.assertEquals(3, CREATE_REQUESTS.get());
+    Assertions.assertEquals(1, RECORDS.size());
+  }
+
+  @Test
+  void testStaleListingDoesNotRecreateRecords() throws Exception {
+    // hold back the response of the first listing until the record was created
+    listingArrival = new CountDownLatch(1);
+    listingRelease = new CountDownLatch(1);
+    this.controller.start();
+    Assertions.assertTrue(listingArrival.await(5, TimeUnit.SECONDS));
+
+    var ownerId = UUID.randomUUID();
+    this.controller.publishRecords(ownerId, "Lobby-1", List.of(desiredRecord(25566)));
+    this.createdRecord.get(10, TimeUnit.SECONDS);
+
+    // wait until the owner was verified, then respond with the listing which does not contain the new record
+    Thread.sleep(600);
+    listingRelease.countDown();
+
+    // the record must neither be re-created by the stale listing nor by the next (fresh) listing
+    Thread.sleep(1500);
+    Assertions.assertEquals(1, CREATE_REQUESTS.get());
+    Assertions.assertEquals(1, this.recordManager.createdRecords(ownerId).size());
+    Assertions.assertEquals(1, RECORDS.size());
+  }
+
+  private static CloudflareRecordController.DesiredRecord desiredRecord(int port) {
+    var record = new SrvRecord(
+      "_minecraft._tcp.example.com",
+      String.format("SRV 1 1 %d node.example.com", port),
+      "_minecraft",
+      "_tcp",
+      "example.com",
+      1,
+      1,
+      port,
+      "node.example.com");
+    return new CloudflareRecordController.DesiredRecord(ENTRY, record);
+  }
+
+  private static void handleStubRequest(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      var response = switch (exchange.getRequestMethod()) {
+        case "GET" -> {
+          // take the snapshot of the records when the listing arrives, the response might be sent later
+          var listedRecords = String.join(",", RECORDS.values());
+          var arrival = listingArrival;
+          var release = listingRelease;
+          if (arrival != null && release != null) {
+            listingArrival = null;
+            arrival.countDown();
+            release.await(10, TimeUnit.SECONDS);
+          }
+          yield String.format("{\"success\":true,\"result\":[%s,%s]}", UNRELATED_RECORD, listedRecords)
+            .replace(",]", "]");
+        }
+        case "POST" -> {
+          CREATE_REQUESTS.incrementAndGet();
+          if (FAILING_CREATE_REQUESTS.getAndUpdate(count -> Math.max(0, count - 1)) > 0) {
+            yield "{\"success\":false,\"result\":null}";
+          }
+
+          var id = UUID.randomUUID().toString();
+          var body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+          RECORDS.put(id, DocumentFactory.json().parse(body).append("id", id).serializeToString());
+          yield String.format("{\"success\":true,\"result\":{\"id\":\"%s\"}}", id);
+        }
+        case "DELETE" -> {
+          var path = exchange.getRequestURI().getPath();
+          var id = path.substring(path.lastIndexOf('/') + 1);
+          RECORDS.remove(id);
+          yield String.format("{\"success\":true,\"result\":{\"id\":\"%s\"}}", id);
+        }
+        default -> "{\"success\":false}";
+      };
+
+      var responseBytes = response.getBytes(StandardCharsets.UTF_8);
+      exchange.sendResponseHeaders(200, responseBytes.length);
+      exchange.getResponseBody().write(responseBytes);
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
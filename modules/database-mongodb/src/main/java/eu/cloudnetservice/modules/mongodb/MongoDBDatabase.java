@@ -17,11 +17,15 @@
 package eu.cloudnetservice.modules.mongodb;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.database.AbstractDatabase;
@@ -32,6 +36,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import org.bson.conversions.Bson;
 import org.jetbrains.annotations.Nullable;
@@ -43,6 +48,7 @@ public class MongoDBDatabase extends AbstractDatabase {
 
   protected static final IndexOptions UNIQUE_KEY_OPTIONS = new IndexOptions().unique(true);
   protected static final UpdateOptions INSERT_OR_REPLACE_OPTIONS = new UpdateOptions().upsert(true);
+  protected static final BulkWriteOptions UNORDERED_BULK_WRITE_OPTIONS = new BulkWriteOptions().ordered(false);
 
   protected final MongoCollection<org.bson.Document> collection;
 
@@ -73,6 +79,28 @@ protected boolean insertOrUpdate(String key, Document document) {
     return result.getUpsertedId() != null || result.getMatchedCount() > 0;
   }
 
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> entries) {
+    // bulk writes must contain at least one request
+    if (entries.isEmpty()) {
+      return true;
+    }
+
+    List<WriteModel<org.bson.Document>> writes = new ArrayList<>(entries.size());
+    for (var entry : entries.entrySet()) {
+      writes.add(new UpdateOneModel<>(
+        Filters.eq(KEY_NAME, entry.getKey()),
+        Updates.combine(
+          Updates.setOnInsert(new org.bson.Document(KEY_NAME, entry.getKey())),
+          Updates.set(VALUE_NAME, org.bson.Document.parse(this.serializeDocumentToJsonString(entry.getValue())))
+        ),
+        INSERT_OR_REPLACE_OPTIONS));
+    }
+
+    var result = this.collection.bulkWrite(writes, UNORDERED_BULK_WRITE_OPTIONS);
+    return result.getUpserts().size() + result.getMatchedCount() == entries.size();
+  }
+
   @Override
   public boolean contains(@NonNull String key) {
     return this.collection.find(Filters.eq(KEY_NAME, key)).first() != null;
@@ -83,6 +111,22 @@ public boolean delete(@NonNull String key) {
     return this.collection.deleteOne(Filters.eq(KEY_NAME, key)).getDeletedCount() > 0;
   }
 
+  @Override
+  public boolean deleteAll(@NonNull Collection<String> keys) {
+    // bulk writes must contain at least one request
+    if (keys.isEmpty()) {
+      return true;
+    }
+
+    List<WriteModel<org.bson.Document>> writes = new ArrayList<>(keys.size());
+    for (var key : keys) {
+      writes.add(new DeleteOneModel<>(Filters.eq(KEY_NAME, key)));
+    }
+
+    this.collection.bulkWrite(writes, UNORDERED_BULK_WRITE_OPTIONS);
+    return true;
+  }
+
   @Override
   public @Nullable Document get(@NonNull String key) {
     var document = this.collection.find(Filters.eq(KEY_NAME, key)).first();
@@ -174,6 +218,29 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer) {
     this.entries().forEach(consumer);
   }
 
+  @Override
+  public void iterateChunks(@NonNull Consumer<Map<String, Document>> consumer, int chunkSize) {
+    // use a single cursor for all chunks rather than skipping to the begin of each chunk
+    Map<String, Document> currentChunk = new HashMap<>();
+    try (var cursor = this.collection.find().batchSize(chunkSize).iterator()) {
+      while (cursor.hasNext()) {
+        var document = cursor.next();
+        var parsedDocument = this.parseDocumentValue(document);
+        if (parsedDocument != null) {
+          currentChunk.put(document.getString(KEY_NAME), parsedDocument);
+          if (currentChunk.size() >= chunkSize) {
+            consumer.accept(currentChunk);
+            currentChunk = new HashMap<>();
+          }
+        }
+      }
+    }
+
+    if (!currentChunk.isEmpty()) {
+      consumer.accept(currentChunk);
+    }
+  }
+
   @Override
   public void clear() {
     this.collection.deleteMany(new org.bson.Document());
@@ -64,6 +64,24 @@ public boolean insert(@NonNull String key, @NonNull Document document) {
       key, serializedDocument, serializedDocument) > 0;
   }
 
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> entries) {
+    List<Object[]> batchArguments = new ArrayList<>(entries.size());
+    for (var entry : entries.entrySet()) {
+      var serializedDocument = this.serializeDocumentToJsonString(entry.getValue());
+      batchArguments.add(new Object[]{entry.getKey(), serializedDocument, serializedDocument});
+    }
+
+    return this.databaseProvider.executeBatchUpdate(
+      String.format(
+        "INSERT INTO `%s` (%s, %s) VALUES (?, ?) ON DUPLICATE KEY UPDATE %s = ?;",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_VAL,
+        TABLE_COLUMN_VAL),
+      batchArguments);
+  }
+
   @Override
   public boolean contains(@NonNull String key) {
     return this.databaseProvider.executeQuery(
@@ -80,6 +98,18 @@ public boolean delete(@NonNull String key) {
       key) > 0;
   }
 
+  @Override
+  public boolean deleteAll(@NonNull Collection<String> keys) {
+    List<Object[]> batchArguments = new ArrayList<>(keys.size());
+    for (var key : keys) {
+      batchArguments.add(new Object[]{key});
+    }
+
+    return this.databaseProvider.executeBatchUpdate(
+      String.format("DELETE FROM %s WHERE `%s` = ?;", this.name, TABLE_COLUMN_KEY),
+      batchArguments);
+  }
+
   @Override
   public @Nullable Document get(@NonNull String key) {
     return this.databaseProvider.executeQuery(
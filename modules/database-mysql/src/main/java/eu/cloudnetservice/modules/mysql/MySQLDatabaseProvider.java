@@ -143,6 +143,34 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     }
   }
 
+  @Override
+  public boolean executeBatchUpdate(@NonNull String query, @NonNull Collection<Object[]> batchArguments) {
+    try (var con = this.connection()) {
+      // execute the whole batch in a single transaction
+      con.setAutoCommit(false);
+      try (var statement = con.prepareStatement(query)) {
+        for (var arguments : batchArguments) {
+          for (var i = 0; i < arguments.length; i++) {
+            statement.setString(i + 1, Objects.toString(arguments[i]));
+          }
+          statement.addBatch();
+        }
+
+        statement.executeBatch();
+        con.commit();
+        return true;
+      } catch (SQLException exception) {
+        con.rollback();
+        throw exception;
+      } finally {
+        con.setAutoCommit(true);
+      }
+    } catch (SQLException exception) {
+      LOGGER.error("Exception while executing database batch update", exception);
+      return false;
+    }
+  }
+
   @Override
   public <T> @UnknownNullability T executeQuery(
     @NonNull String query,
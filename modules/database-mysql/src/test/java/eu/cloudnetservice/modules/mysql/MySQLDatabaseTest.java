@@ -21,6 +21,7 @@
 import eu.cloudnetservice.modules.mysql.config.MySQLConfiguration;
 import eu.cloudnetservice.modules.mysql.config.MySQLConnectionEndpoint;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -178,4 +179,42 @@ void testChunkedDataRead() {
     Assertions.assertEquals(expectedReadCounts, readsCalled);
     Assertions.assertTrue(keys.isEmpty());
   }
+
+  @Test
+  void testBatchDatabaseOperations() {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    Map<String, Document> entries = new HashMap<>();
+    for (var i = 0; i < 250; i++) {
+      entries.put(UUID.randomUUID().toString(), Document.newJsonDocument().append("index", i));
+    }
+
+    Assertions.assertTrue(database.insertAll(entries));
+    Assertions.assertEquals(250, database.documentCount());
+
+    // override a part of the entries
+    Map<String, Document> overrides = new HashMap<>();
+    var keys = new ArrayList<>(entries.keySet());
+    for (var i = 0; i < 50; i++) {
+      overrides.put(keys.get(i), Document.newJsonDocument().append("index", -1));
+    }
+
+    Assertions.assertTrue(database.insertAll(overrides));
+    Assertions.assertEquals(250, database.documentCount());
+
+    var overriddenEntry = database.get(keys.getFirst());
+    Assertions.assertNotNull(overriddenEntry);
+    Assertions.assertEquals(-1, overriddenEntry.getInt("index"));
+
+    var chunks = new ArrayList<Map<String, Document>>();
+    database.iterateChunks(chunks::add, 100);
+    Assertions.assertEquals(3, chunks.size());
+    Assertions.assertEquals(250, chunks.stream().mapToInt(Map::size).sum());
+
+    Assertions.assertTrue(database.deleteAll(keys.subList(0, 200)));
+    Assertions.assertEquals(50, database.documentCount());
+    Assertions.assertFalse(database.contains(keys.getFirst()));
+    Assertions.assertTrue(database.contains(keys.getLast()));
+  }
 }
@@ -296,6 +296,18 @@ public void removeExposedPort(
     source.sendMessage(I18n.trans("module-docker-command-remove-collection-property", "exposedPort", port));
   }
 
+  @Command("docker timings")
+  public void displayTimings(@NonNull CommandSource source) {
+    for (var timing : this.module.lifecycleExecutor().timings()) {
+      source.sendMessage(I18n.trans(
+        "module-docker-command-timings-entry",
+        timing.phase(),
+        timing.calls(),
+        timing.average().toMillis(),
+        timing.max().toMillis()));
+    }
+  }
+
   private void updateTaskDockerConfig(
     @NonNull ServiceTask serviceTask,
     @NonNull BiFunction<TaskDockerConfig, TaskDockerConfig.Builder, TaskDockerConfig.Builder> modifier
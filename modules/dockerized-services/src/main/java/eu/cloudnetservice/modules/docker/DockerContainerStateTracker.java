@@ -0,0 +1,190 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class DockerContainerStateTracker implements Closeable {
+
+  protected static final Logger LOGGER = LoggerFactory.getLogger(DockerContainerStateTracker.class);
+
+  // all containers started by us are labeled with this, used to filter the events and container listings
+  protected static final Map<String, String> CLOUDNET_LABEL = Map.of("Service", "CloudNet");
+
+  protected final DockerClient dockerClient;
+  protected final Duration reconciliationInterval;
+  protected final Map<String, Boolean> containerStates = new ConcurrentHashMap<>();
+  protected final ScheduledExecutorService reconciliationExecutor = Executors.newSingleThreadScheduledExecutor(
+    Thread.ofPlatform().name("CloudNet Docker State Tracker").daemon().factory());
+
+  // the time (in unix seconds) of the last received event, used to replay missed events on reconnect
+  protected volatile long lastEventTime;
+  protected volatile ResultCallback<Event> eventCallback;
+
+  public DockerContainerStateTracker(@NonNull DockerClient dockerClient, @NonNull Duration reconciliationInterval) {
+    this.dockerClient = dockerClient;
+    this.reconciliationInterval = reconciliationInterval;
+  }
+
+  public void start() {
+    this.subscribe();
+    // check regularly if the events stream is still connected, reconcile & re-subscribe if the stream was dropped
+    var intervalMillis = this.reconciliationInterval.toMillis();
+    this.reconciliationExecutor.scheduleWithFixedDelay(() -> {
+      if (this.eventCallback == null) {
+        this.reconcile();
+        this.subscribe();
+      }
+    }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+  }
+
+  public boolean running(@Nullable String containerId) {
+    return containerId != null && this.containerStates.getOrDefault(containerId, false);
+  }
+
+  public void markRunning(@NonNull String containerId) {
+    this.containerStates.put(containerId, true);
+  }
+
+  public void markStopped(@NonNull String containerId) {
+    this.containerStates.replace(containerId, false);
+  }
+
+  public void untrack(@NonNull String containerId) {
+    this.containerStates.remove(containerId);
+  }
+
+  public boolean connected() {
+    return this.eventCallback != null;
+  }
+
+  public void reconcile() {
+    try {
+      // a single listing of all cloudnet containers instead of an inspect call per container
+      var runningContainers = new HashSet<String>();
+      var containers = this.dockerClient.listContainersCmd().withShowAll(true).withLabelFilter(CLOUDNET_LABEL).exec();
+      for (var container : containers) {
+        if ("running".equals(container.getState())) {
+          runningContainers.add(container.getId());
+        }
+      }
+
+      // only update the containers that are tracked, the others are not (or no longer) managed by this node
+      this.containerStates.replaceAll((containerId, _) -> runningContainers.contains(containerId));
+    } catch (Exception exception) {
+      LOGGER.debug("Unable to reconcile the docker container states", exception);
+    }
+  }
+
+  protected synchronized void subscribe() {
+    if (this.eventCallback != null) {
+      return;
+    }
+
+    try {
+      var eventsCmd = this.dockerClient.eventsCmd()
+        .withEventTypeFilter(EventType.CONTAINER)
+        .withEventFilter("start", "die", "oom", "stop")
+        .withLabelFilter(CLOUDNET_LABEL);
+      // replay the events that were missed while the stream was disconnected
+      if (this.lastEventTime > 0) {
+        eventsCmd.withSince(Long.toString(this.lastEventTime));
+      }
+
+      this.eventCallback = eventsCmd.exec(new ContainerEventCallback());
+    } catch (Exception exception) {
+      LOGGER.debug("Unable to subscribe to the docker events stream", exception);
+    }
+  }
+
+  protected synchronized void handleStreamClosed(@NonNull ResultCallback<Event> callback) {
+    // ignore close calls of callbacks that were already replaced
+    if (this.eventCallback == callback) {
+      this.eventCallback = null;
+    }
+  }
+
+  protected void handleEvent(@NonNull Event event) {
+    var containerId = event.getId();
+    if (containerId == null) {
+      return;
+    }
+
+    if (event.getTime() != null) {
+      this.lastEventTime = Math.max(this.lastEventTime, event.getTime());
+    }
+
+    var action = event.getAction() == null ? event.getStatus() : event.getAction();
+    if ("start".equals(action)) {
+      this.containerStates.replace(containerId, true);
+    } else if (action != null) {
+      // die, oom or stop
+      this.containerStates.replace(containerId, false);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.reconciliationExecutor.shutdownNow();
+
+    synchronized (this) {
+      var callback = this.eventCallback;
+      this.eventCallback = null;
+      if (callback != null) {
+        try {
+          callback.close();
+        } catch (Exception exception) {
+          LOGGER.debug("Unable to close the docker events stream", exception);
+        }
+      }
+    }
+  }
+
+  protected final class ContainerEventCallback extends ResultCallback.Adapter<Event> {
+
+    @Override
+    public void onNext(Event event) {
+      DockerContainerStateTracker.this.handleEvent(event);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      LOGGER.debug("Docker events stream failed, falling back to reconciliation", throwable);
+      DockerContainerStateTracker.this.handleStreamClosed(this);
+    }
+
+    @Override
+    public void onComplete() {
+      DockerContainerStateTracker.this.handleStreamClosed(this);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.PullImageCmd;
+import com.github.dockerjava.api.exception.NotFoundException;
+import eu.cloudnetservice.modules.docker.config.DockerImage;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+public class DockerImageCache {
+
+  protected final DockerClient dockerClient;
+  protected final DockerLifecycleExecutor lifecycleExecutor;
+  protected final Map<String, CompletableFuture<Void>> presentImages = new ConcurrentHashMap<>();
+
+  public DockerImageCache(@NonNull DockerClient dockerClient, @NonNull DockerLifecycleExecutor lifecycleExecutor) {
+    this.dockerClient = dockerClient;
+    this.lifecycleExecutor = lifecycleExecutor;
+  }
+
+  public void ensurePresent(@NonNull DockerImage image, @NonNull Supplier<PullImageCmd> pullCommandFactory) {
+    var imageName = image.imageName();
+    var presenceFuture = this.presentImages.get(imageName);
+    if (presenceFuture == null) {
+      var newPresenceFuture = new CompletableFuture<Void>();
+      presenceFuture = this.presentImages.putIfAbsent(imageName, newPresenceFuture);
+      if (presenceFuture == null) {
+        // we're responsible to check the image (and pull it if needed), all other callers wait for us
+        presenceFuture = newPresenceFuture;
+        try {
+          this.checkAndPull(imageName, pullCommandFactory);
+          newPresenceFuture.complete(null);
+        } catch (Exception exception) {
+          // remove the future to allow a retry with the next call
+          this.presentImages.remove(imageName, newPresenceFuture);
+          newPresenceFuture.completeExceptionally(exception);
+        }
+      }
+    }
+
+    try {
+      presenceFuture.join();
+    } catch (CompletionException exception) {
+      throw new IllegalStateException("Unable to pull image " + imageName, exception.getCause());
+    }
+  }
+
+  public @NonNull CompletableFuture<Void> prefetch(
+    @NonNull DockerImage image,
+    @NonNull Supplier<PullImageCmd> pullCommandFactory
+  ) {
+    return this.lifecycleExecutor.dispatch(() -> {
+      this.ensurePresent(image, pullCommandFactory);
+      return null;
+    });
+  }
+
+  public void invalidate(@NonNull DockerImage image) {
+    this.presentImages.remove(image.imageName());
+  }
+
+  protected void checkAndPull(
+    @NonNull String imageName,
+    @NonNull Supplier<PullImageCmd> pullCommandFactory
+  ) throws Exception {
+    try {
+      // check if the image is already available, remote pulls will always be slower than local imports
+      this.lifecycleExecutor.run(
+        DockerLifecycleExecutor.Phase.IMAGE_INSPECT,
+        () -> this.dockerClient.inspectImageCmd(imageName).exec());
+    } catch (NotFoundException exception) {
+      // the image does not exist, pull it
+      this.lifecycleExecutor.execute(
+        DockerLifecycleExecutor.Phase.IMAGE_PULL,
+        () -> pullCommandFactory.get().start().awaitCompletion());
+    }
+  }
+}
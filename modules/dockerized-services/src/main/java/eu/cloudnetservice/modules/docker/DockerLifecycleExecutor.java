@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+public class DockerLifecycleExecutor implements AutoCloseable {
+
+  // the maximum amount of calls that are sent to the docker daemon at the same time
+  protected static final int MAX_CONCURRENT_OPERATIONS = Integer.getInteger(
+    "cloudnet.docker.max-concurrent-operations",
+    8);
+  // stop calls block until the container exited (or the stop timeout passed), they get their own permits to not starve
+  // the create and start calls of other services while many services are stopped at once
+  protected static final int MAX_CONCURRENT_STOP_OPERATIONS = Integer.getInteger(
+    "cloudnet.docker.max-concurrent-stop-operations",
+    8);
+
+  protected final Semaphore operationPermits;
+  protected final Semaphore stopPermits;
+  protected final PhaseStatistics[] phaseStatistics;
+  protected final ExecutorService dispatchExecutor = Executors.newThreadPerTaskExecutor(
+    Thread.ofVirtual().name("docker-lifecycle-", 0).factory());
+
+  public DockerLifecycleExecutor() {
+    this(MAX_CONCURRENT_OPERATIONS, MAX_CONCURRENT_STOP_OPERATIONS);
+  }
+
+  public DockerLifecycleExecutor(int maxConcurrentOperations, int maxConcurrentStopOperations) {
+    this.operationPermits = new Semaphore(Math.max(1, maxConcurrentOperations), true);
+    this.stopPermits = new Semaphore(Math.max(1, maxConcurrentStopOperations), true);
+    this.phaseStatistics = new PhaseStatistics[Phase.values().length];
+    Arrays.setAll(this.phaseStatistics, _ -> new PhaseStatistics());
+  }
+
+  public <T> T execute(@NonNull Phase phase, @NonNull Callable<T> operation) throws Exception {
+    var permits = this.permits(phase);
+    permits.acquire();
+    try {
+      var startTime = System.nanoTime();
+      try {
+        return operation.call();
+      } finally {
+        this.phaseStatistics[phase.ordinal()].record(System.nanoTime() - startTime);
+      }
+    } finally {
+      permits.release();
+    }
+  }
+
+  public @NonNull <T> CompletableFuture<T> submit(@NonNull Phase phase, @NonNull Callable<T> operation) {
+    return this.dispatch(() -> this.execute(phase, operation));
+  }
+
+  public @NonNull <T> List<CompletableFuture<T>> submitAll(
+    @NonNull Phase phase,
+    @NonNull Collection<? extends Callable<T>> operations
+  ) {
+    // all operations are dispatched at once, the permits decide how many of them are sent to the daemon concurrently
+    return operations.stream().map(operation -> this.submit(phase, operation)).toList();
+  }
+
+  public @NonNull <T> CompletableFuture<T> dispatch(@NonNull Callable<T> task) {
+    var future = new CompletableFuture<T>();
+    this.dispatchExecutor.execute(() -> {
+      try {
+        future.complete(task.call());
+      } catch (Throwable throwable) {
+        future.completeExceptionally(throwable);
+      }
+    });
+    return future;
+  }
+
+  public void run(@NonNull Phase phase, @NonNull Runnable operation) {
+    this.call(phase, () -> {
+      operation.run();
+      return null;
+    });
+  }
+
+  public <T> T call(@NonNull Phase phase, @NonNull Supplier<T> operation) {
+    try {
+      return this.execute(phase, operation::get);
+    } catch (RuntimeException exception) {
+      throw exception;
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt(); // reset the interrupted state of the thread
+      throw new IllegalStateException("Interrupted while waiting to execute docker " + phase + " operation", exception);
+    } catch (Exception exception) {
+      // unreachable, suppliers can't throw checked exceptions
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.dispatchExecutor.shutdownNow();
+  }
+
+  protected @NonNull Semaphore permits(@NonNull Phase phase) {
+    return phase == Phase.STOP ? this.stopPermits : this.operationPermits;
+  }
+
+  public @NonNull List<PhaseTiming> timings() {
+    return Arrays.stream(Phase.values())
+      .map(phase -> this.phaseStatistics[phase.ordinal()].snapshot(phase))
+      .toList();
+  }
+
+  public enum Phase {
+
+    IMAGE_INSPECT,
+    IMAGE_PULL,
+    CREATE,
+    START,
+    ATTACH,
+    STOP,
+    REMOVE
+  }
+
+  public record PhaseTiming(@NonNull Phase phase, long calls, @NonNull Duration total, @NonNull Duration max) {
+
+    public @NonNull Duration average() {
+      return this.calls == 0 ? Duration.ZERO : this.total.dividedBy(this.calls);
+    }
+  }
+
+  protected static final class PhaseStatistics {
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    private void record(long nanos) {
+      this.calls.increment();
+      this.totalNanos.add(nanos);
+      this.maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private @NonNull PhaseTiming snapshot(@NonNull Phase phase) {
+      return new PhaseTiming(
+        phase,
+        this.calls.sum(),
+        Duration.ofNanos(this.totalNanos.sum()),
+        Duration.ofNanos(this.maxNanos.get()));
+    }
+  }
+}
@@ -37,6 +37,9 @@ public class DockerizedLocalCloudServiceFactory extends BaseLocalCloudServiceFac
   protected final EventManager eventManager;
   protected final DockerClient dockerClient;
   protected final DockerConfiguration dockerConfiguration;
+  protected final DockerContainerStateTracker stateTracker;
+  protected final DockerLifecycleExecutor lifecycleExecutor;
+  protected final DockerImageCache imageCache;
   protected final CloudServiceManager cloudServiceManager;
 
   @Inject
@@ -47,7 +50,9 @@ public DockerizedLocalCloudServiceFactory(
     @NonNull EventManager eventManager,
     @NonNull ServiceVersionProvider versionProvider,
     @NonNull DockerClient dockerClient,
-    @NonNull DockerConfiguration configuration
+    @NonNull DockerConfiguration configuration,
+    @NonNull DockerContainerStateTracker stateTracker,
+    @NonNull DockerLifecycleExecutor lifecycleExecutor
   ) {
     super(nodeConfig, versionProvider);
     this.mainThread = tickLoop;
@@ -55,6 +60,9 @@ public DockerizedLocalCloudServiceFactory(
     this.cloudServiceManager = cloudServiceManager;
     this.dockerClient = dockerClient;
     this.dockerConfiguration = configuration;
+    this.stateTracker = stateTracker;
+    this.lifecycleExecutor = lifecycleExecutor;
+    this.imageCache = new DockerImageCache(dockerClient, lifecycleExecutor);
   }
 
   @Override
@@ -76,7 +84,10 @@ public DockerizedLocalCloudServiceFactory(
       this.versionProvider,
       preparer,
       this.dockerClient,
-      this.dockerConfiguration);
+      this.dockerConfiguration,
+      this.stateTracker,
+      this.lifecycleExecutor,
+      this.imageCache);
   }
 
   @Override
@@ -16,6 +16,12 @@
 
 package eu.cloudnetservice.modules.docker;
 
+import static eu.cloudnetservice.modules.docker.DockerLifecycleExecutor.Phase.ATTACH;
+import static eu.cloudnetservice.modules.docker.DockerLifecycleExecutor.Phase.CREATE;
+import static eu.cloudnetservice.modules.docker.DockerLifecycleExecutor.Phase.REMOVE;
+import static eu.cloudnetservice.modules.docker.DockerLifecycleExecutor.Phase.START;
+import static eu.cloudnetservice.modules.docker.DockerLifecycleExecutor.Phase.STOP;
+
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.command.PullImageCmd;
@@ -43,6 +49,7 @@
 import eu.cloudnetservice.node.event.service.CloudServicePostProcessStartEvent;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
+import eu.cloudnetservice.node.service.defaults.ClassDataSharingCache;
 import eu.cloudnetservice.node.service.defaults.JVMService;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import java.io.IOException;
@@ -50,6 +57,7 @@
 import java.io.PipedOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
@@ -86,6 +94,9 @@ public class DockerizedService extends JVMService {
   protected final DockerClient dockerClient;
   protected final DockerConfiguration configuration;
   protected final DockerizedServiceLogCache logCache;
+  protected final DockerContainerStateTracker stateTracker;
+  protected final DockerLifecycleExecutor lifecycleExecutor;
+  protected final DockerImageCache imageCache;
 
   protected volatile String containerId;
 
@@ -102,12 +113,18 @@ protected DockerizedService(
     @NonNull ServiceVersionProvider versionProvider,
     @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer,
     @NonNull DockerClient dockerClient,
-    @NonNull DockerConfiguration dockerConfiguration
+    @NonNull DockerConfiguration dockerConfiguration,
+    @NonNull DockerContainerStateTracker stateTracker,
+    @NonNull DockerLifecycleExecutor lifecycleExecutor,
+    @NonNull DockerImageCache imageCache
   ) {
     super(tickLoop, nodeConfig, configuration, manager, eventManager, versionProvider, serviceConfigurationPreparer);
 
     this.dockerClient = dockerClient;
     this.configuration = dockerConfiguration;
+    this.stateTracker = stateTracker;
+    this.lifecycleExecutor = lifecycleExecutor;
+    this.imageCache = imageCache;
 
     super.logCache = this.logCache = new DockerizedServiceLogCache(nodeConfig, this);
     this.initLogHandler();
@@ -132,20 +149,30 @@ public void runCommand(@NonNull String command) {
 
   @Override
   public boolean alive() {
-    if (this.containerId != null) {
-      try {
-        // just check if the container is alive - we do not provide a health check because docker does just
-        // restart the container if the health check fails. This does only check if the container is still running.
-        // Ignore not found exceptions - the container might be gone due to concurrent calls.
-        var result = this.dockerClient.inspectContainerCmd(this.containerId).withSize(false).exec().getState();
-        return result.getRunning() != null && result.getRunning();
-      } catch (NotFoundException exception) {
-        LOGGER.debug("Unable to query status of container", exception);
-        return false;
-      }
-    }
-    // the container wasn't yet initialized
-    return false;
+    // just check if the container is alive - we do not provide a health check because docker does just
+    // restart the container if the health check fails. The state is kept up-to-date by the docker events
+    // stream (or a periodic reconciliation if the stream is not available), no need to ask the daemon here
+    return this.stateTracker.running(this.containerId);
+  }
+
+  @Override
+  protected @Nullable ClassDataSharingCache.ArchiveUsage prepareClassDataSharing(
+    @NonNull String javaCommand,
+    @NonNull String classPath,
+    @NonNull Path applicationFile,
+    @NonNull Collection<String> jvmOptions
+  ) {
+    // the archives are bound to the java runtime of the node, which is not the runtime inside the container
+    return null;
+  }
+
+  @Override
+  protected void fetchServiceResources() {
+    // check the image presence (and pull it if needed) while the templates are copied instead of doing it in the
+    // serial launch stage, failures are reported once the image is needed to create the container
+    var image = this.resolveImage();
+    this.imageCache.prefetch(image, () -> this.buildPullCommand(image));
+    super.fetchServiceResources();
   }
 
   @Override
@@ -159,9 +186,7 @@ protected void doStartProcess(
       var user = Objects.requireNonNullElse(this.configuration.user(), "");
 
       // get the task specific options
-      var image = Objects.requireNonNullElse(
-        this.readFromTaskConfig(TaskDockerConfig::javaImage),
-        this.configuration.javaImage());
+      var image = this.resolveImage();
       var taskExposedPorts = Objects.requireNonNullElse(
         this.readFromTaskConfig(TaskDockerConfig::exposedPorts),
         Set.<ExposedPort>of());
@@ -182,15 +207,9 @@ protected void doStartProcess(
       exposedPorts.add(ExposedPort.tcp(this.serviceConfiguration.port()));
       exposedPorts.add(ExposedPort.udp(this.serviceConfiguration.port()));
 
-      // only pull the image if we need to, remote pulls will always be slower than local imports
-      if (this.needsImagePull(image)) {
-        try {
-          // pull the requested image
-          this.buildPullCommand(image).start().awaitCompletion();
-        } catch (Exception exception) {
-          LOGGER.error("Unable to pull image {} from docker registry", image.imageName(), exception);
-          return;
-        }
+      // ensure that the image is present, this usually only waits for the check that was dispatched while fetching
+      if (!this.ensureImagePresent(image)) {
+        return;
       }
 
       // we do override the java command set by either the task config or the node configuration as the container has
@@ -198,7 +217,7 @@ protected void doStartProcess(
       arguments.set(0, "java");
 
       // create the container and store the container id
-      this.containerId = this.dockerClient.createContainerCmd(image.imageName())
+      var createCommand = this.dockerClient.createContainerCmd(image.imageName())
         .withEnv(env)
         .withUser(user)
         .withTty(false)
@@ -220,33 +239,49 @@ protected void doStartProcess(
           "Service", "CloudNet",
           "Name", this.serviceId().name(),
           "Uid", this.serviceId().uniqueId().toString(),
-          "Id", Integer.toString(this.serviceId().taskServiceId())))
-        .exec()
-        .getId();
+          "Id", Integer.toString(this.serviceId().taskServiceId())));
+      try {
+        this.containerId = this.lifecycleExecutor.call(CREATE, () -> createCommand.exec().getId());
+      } catch (NotFoundException exception) {
+        // the image was removed since we cached its presence, ensure it's present again and retry
+        this.imageCache.invalidate(image);
+        if (!this.ensureImagePresent(image)) {
+          return;
+        }
+        this.containerId = this.lifecycleExecutor.call(CREATE, () -> createCommand.exec().getId());
+      }
     }
 
     try {
+      // mark the container as running before starting it, the die event of a container that stops
+      // immediately must not be overridden by us after the start
+      this.stateTracker.markRunning(this.containerId);
       // start the container
-      this.dockerClient.startContainerCmd(this.containerId).exec();
+      this.lifecycleExecutor.run(START, () -> this.dockerClient.startContainerCmd(this.containerId).exec());
 
       // open the std streams
       this.stdOut = new PipedOutputStream();
       this.stdIn = new PipedInputStream(this.stdOut);
 
       // attach to the container
-      this.stdHolder = this.dockerClient.attachContainerCmd(this.containerId)
+      this.stdHolder = this.lifecycleExecutor.call(ATTACH, () -> this.dockerClient.attachContainerCmd(this.containerId)
         .withLogs(true)
         .withStdOut(true)
         .withStdErr(true)
         .withStdIn(this.stdIn)
         .withTimestamps(false)
         .withFollowStream(true)
-        .exec(new ServiceLogCacheAdapter());
+        .exec(new ServiceLogCacheAdapter()));
 
       this.eventManager.callEvent(new CloudServicePostProcessStartEvent(this));
     } catch (NotModifiedException | IOException exception) {
       // the container might be running already
       LOGGER.debug("Unable to start container", exception);
+    } catch (RuntimeException exception) {
+      // the container was either not started or is not usable without the attached streams, there
+      // might be no event from the daemon which resets the state, so ensure that it's not reported as alive
+      this.stateTracker.markStopped(this.containerId);
+      throw exception;
     }
   }
 
@@ -255,7 +290,9 @@ protected void stopProcess() {
     if (this.containerId != null) {
       try {
         // try to stop the container - we can safely ignore exceptions when the container is not running anymore
-        this.dockerClient.stopContainerCmd(this.containerId).withTimeout(10).exec();
+        this.lifecycleExecutor.run(
+          STOP,
+          () -> this.dockerClient.stopContainerCmd(this.containerId).withTimeout(10).exec());
       } catch (NotFoundException | NotModifiedException exception) {
         LOGGER.debug("Unable to stop service in docker container", exception);
       }
@@ -277,9 +314,13 @@ public void doDelete() {
     super.doDelete();
     // remove the container if the container exists
     if (this.containerId != null) {
+      // the container is gone after this call, no need to track its state anymore
+      this.stateTracker.untrack(this.containerId);
       try {
         // try to remove the container, ignore if the container is already gone
-        this.dockerClient.removeContainerCmd(this.containerId).withRemoveVolumes(true).withForce(true).exec();
+        this.lifecycleExecutor.run(
+          REMOVE,
+          () -> this.dockerClient.removeContainerCmd(this.containerId).withRemoveVolumes(true).withForce(true).exec());
         // remove the container id to prevent further unnecessary calls
         this.containerId = null;
       } catch (NotFoundException exception) {
@@ -321,14 +362,19 @@ public void doDelete() {
     return config == null ? null : reader.apply(config);
   }
 
-  protected boolean needsImagePull(@NonNull DockerImage image) {
+  protected @NonNull DockerImage resolveImage() {
+    return Objects.requireNonNullElse(
+      this.readFromTaskConfig(TaskDockerConfig::javaImage),
+      this.configuration.javaImage());
+  }
+
+  protected boolean ensureImagePresent(@NonNull DockerImage image) {
     try {
-      // check if the image is already available
-      this.dockerClient.inspectImageCmd(image.imageName()).exec();
-      return false;
-    } catch (NotFoundException exception) {
-      // the image does not exist
+      this.imageCache.ensurePresent(image, () -> this.buildPullCommand(image));
       return true;
+    } catch (Exception exception) {
+      LOGGER.error("Unable to pull image {} from docker registry", image.imageName(), exception);
+      return false;
     }
   }
 
@@ -40,7 +40,10 @@
 @Singleton
 public class DockerizedServicesModule extends DriverModule {
 
+  private final DockerLifecycleExecutor lifecycleExecutor = new DockerLifecycleExecutor();
+
   private DockerConfiguration configuration;
+  private DockerContainerStateTracker stateTracker;
 
   @ModuleTask
   public void loadConfiguration() {
@@ -85,10 +88,16 @@ public void registerServiceFactory(
       .build();
     var dockerClient = DockerClientImpl.getInstance(clientConfig, dockerHttpClient);
 
+    // track the container states using the docker events stream rather than polling each container
+    this.stateTracker = new DockerContainerStateTracker(dockerClient, Duration.ofSeconds(5));
+    this.stateTracker.start();
+
     // construct the factory instance & register it in the service manager
     var factory = moduleInjectionLayer.instance(DockerizedLocalCloudServiceFactory.class, builder -> {
       builder.override(Element.forType(DockerClient.class), dockerClient);
       builder.override(Element.forType(DockerConfiguration.class), this.configuration);
+      builder.override(Element.forType(DockerContainerStateTracker.class), this.stateTracker);
+      builder.override(Element.forType(DockerLifecycleExecutor.class), this.lifecycleExecutor);
     });
     serviceManager.addCloudServiceFactory(this.configuration.factoryName(), factory);
   }
@@ -101,12 +110,19 @@ public void registerComponents(@NonNull CommandProvider commandProvider) {
   @ModuleTask(lifecycle = ModuleLifeCycle.STOPPED)
   public void unregisterServiceFactory(@NonNull CloudServiceManager cloudServiceManager) {
     cloudServiceManager.removeCloudServiceFactory(this.configuration.factoryName());
+    if (this.stateTracker != null) {
+      this.stateTracker.close();
+    }
   }
 
   public @NonNull DockerConfiguration config() {
     return this.configuration;
   }
 
+  public @NonNull DockerLifecycleExecutor lifecycleExecutor() {
+    return this.lifecycleExecutor;
+  }
+
   public void config(@NonNull DockerConfiguration configuration) {
     this.configuration = configuration;
     this.writeConfig(Document.newJsonDocument().appendTree(configuration));
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.EventsCmd;
+import com.github.dockerjava.api.command.ListContainersCmd;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DockerContainerStateTrackerTest {
+
+  private final List<ResultCallback<Event>> eventSubscriptions = new CopyOnWriteArrayList<>();
+  private final List<Container> daemonContainers = new CopyOnWriteArrayList<>();
+  private final Semaphore subscriptionPermits = new Semaphore(0);
+
+  private DockerClient dockerClient;
+  private EventsCmd eventsCmd;
+  private DockerContainerStateTracker stateTracker;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setupFakeDaemon() {
+    // a fake daemon which records all event subscriptions and lists the configured containers
+    this.dockerClient = Mockito.mock(DockerClient.class);
+    this.eventsCmd = Mockito.mock(EventsCmd.class, Mockito.RETURNS_SELF);
+    Mockito.when(this.eventsCmd.exec(Mockito.any())).thenAnswer(invocation -> {
+      ResultCallback<Event> callback = invocation.getArgument(0);
+      this.eventSubscriptions.add(callback);
+      this.subscriptionPermits.release();
+      return callback;
+    });
+    Mockito.when(this.dockerClient.eventsCmd()).thenReturn(this.eventsCmd);
+
+    var listContainersCmd = Mockito.mock(ListContainersCmd.class, Mockito.RETURNS_SELF);
+    Mockito.when(listContainersCmd.exec()).thenAnswer(_ -> List.copyOf(this.daemonContainers));
+    Mockito.when(this.dockerClient.listContainersCmd()).thenReturn(listContainersCmd);
+
+    this.stateTracker = new DockerContainerStateTracker(this.dockerClient, Duration.ofMillis(10));
+  }
+
+  @AfterEach
+  void closeTracker() {
+    this.stateTracker.close();
+  }
+
+  @Test
+  void testEventsUpdateTrackedContainers() {
+    this.stateTracker.start();
+    Assertions.assertTrue(this.stateTracker.connected());
+    Assertions.assertEquals(1, this.eventSubscriptions.size());
+
+    this.stateTracker.markRunning("tracked");
+    Assertions.assertTrue(this.stateTracker.running("tracked"));
+
+    var subscription = this.eventSubscriptions.getFirst();
+    subscription.onNext(new Event("die", "tracked", "image", 10L));
+    Assertions.assertFalse(this.stateTracker.running("tracked"));
+    subscription.onNext(new Event("start", "tracked", "image", 11L));
+    Assertions.assertTrue(this.stateTracker.running("tracked"));
+    subscription.onNext(new Event("oom", "tracked", "image", 12L));
+    Assertions.assertFalse(this.stateTracker.running("tracked"));
+
+    // containers that are not started by this node are never tracked
+    subscription.onNext(new Event("start", "unknown", "image", 13L));
+    Assertions.assertFalse(this.stateTracker.running("unknown"));
+    Assertions.assertFalse(this.stateTracker.running(null));
+  }
+
+  @Test
+  void testUntrackedContainerIgnoresEvents() {
+    this.stateTracker.start();
+    this.stateTracker.markRunning("container");
+    this.stateTracker.untrack("container");
+
+    this.eventSubscriptions.getFirst().onNext(new Event("start", "container", "image", 1L));
+    Assertions.assertFalse(this.stateTracker.running("container"));
+  }
+
+  @Test
+  void testReconciliationAfterStreamLoss() throws InterruptedException {
+    this.stateTracker.start();
+    this.stateTracker.markRunning("died");
+    this.stateTracker.markRunning("alive");
+    this.eventSubscriptions.getFirst().onNext(new Event("start", "alive", "image", 42L));
+
+    // the daemon reports one of the containers as exited while the stream is disconnected
+    this.daemonContainers.add(this.container("died", "exited"));
+    this.daemonContainers.add(this.container("alive", "running"));
+    this.daemonContainers.add(this.container("foreign", "running"));
+    this.eventSubscriptions.getFirst().onError(new IllegalStateException("connection reset"));
+    Assertions.assertFalse(this.stateTracker.connected());
+
+    // the tracker reconciles the states and re-subscribes, replaying the events since the last received one
+    this.awaitSubscriptions(2);
+    Assertions.assertTrue(this.stateTracker.connected());
+    Mockito.verify(this.eventsCmd).withSince("42");
+    Assertions.assertEquals(2, this.eventSubscriptions.size());
+    Assertions.assertFalse(this.stateTracker.running("died"));
+    Assertions.assertTrue(this.stateTracker.running("alive"));
+    Assertions.assertFalse(this.stateTracker.running("foreign"));
+  }
+
+  @Test
+  void testStaleCallbackDoesNotDisconnect() throws InterruptedException {
+    this.stateTracker.start();
+    var staleCallback = this.eventSubscriptions.getFirst();
+    staleCallback.onComplete();
+
+    // wait for the re-subscription, the completion of the old callback must not drop the new subscription
+    this.awaitSubscriptions(2);
+    Assertions.assertTrue(this.stateTracker.connected());
+    Assertions.assertEquals(2, this.eventSubscriptions.size());
+    staleCallback.onComplete();
+    Assertions.assertTrue(this.stateTracker.connected());
+  }
+
+  @Test
+  void testFailedSubscriptionIsRetried() throws InterruptedException {
+    Mockito
+      .doThrow(new IllegalStateException("daemon unavailable"))
+      .doAnswer(invocation -> {
+        ResultCallback<Event> callback = invocation.getArgument(0);
+        this.eventSubscriptions.add(callback);
+        this.subscriptionPermits.release();
+        return callback;
+      })
+      .when(this.eventsCmd)
+      .exec(Mockito.any());
+
+    // the initial subscription fails, the tracker must retry it in the next reconciliation run
+    this.stateTracker.start();
+    this.awaitSubscriptions(1);
+    Assertions.assertTrue(this.stateTracker.connected());
+    Assertions.assertEquals(1, this.eventSubscriptions.size());
+  }
+
+  private void awaitSubscriptions(int count) throws InterruptedException {
+    Assertions.assertTrue(this.subscriptionPermits.tryAcquire(count, 5, TimeUnit.SECONDS));
+    // the callback is stored once the subscription returned, this waits until the subscribing thread released the lock
+    this.stateTracker.subscribe();
+  }
+
+  private Container container(String id, String state) {
+    var container = Mockito.mock(Container.class);
+    Mockito.when(container.getId()).thenReturn(id);
+    Mockito.when(container.getState()).thenReturn(state);
+    return container;
+  }
+}
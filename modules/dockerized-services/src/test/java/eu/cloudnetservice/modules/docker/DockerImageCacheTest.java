@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectImageCmd;
+import com.github.dockerjava.api.command.PullImageCmd;
+import com.github.dockerjava.api.command.PullImageResultCallback;
+import com.github.dockerjava.api.exception.NotFoundException;
+import eu.cloudnetservice.modules.docker.config.DockerImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DockerImageCacheTest {
+
+  private static final DockerImage IMAGE = DockerImage.builder().repository("azul/zulu-openjdk").tag("23").build();
+
+  private final AtomicInteger pullCalls = new AtomicInteger();
+  private final CountDownLatch pullStarted = new CountDownLatch(1);
+  private final CountDownLatch pullRelease = new CountDownLatch(1);
+
+  private DockerClient dockerClient;
+  private InspectImageCmd inspectImageCmd;
+  private DockerLifecycleExecutor lifecycleExecutor;
+  private DockerImageCache imageCache;
+
+  @BeforeEach
+  void setupFakeDaemon() {
+    // a fake daemon which does not know the image, pulls of the image are blocked until the test releases them
+    this.dockerClient = Mockito.mock(DockerClient.class);
+    this.inspectImageCmd = Mockito.mock(InspectImageCmd.class);
+    Mockito.when(this.inspectImageCmd.exec()).thenThrow(new NotFoundException("no such image"));
+    Mockito.when(this.dockerClient.inspectImageCmd(IMAGE.imageName())).thenReturn(this.inspectImageCmd);
+
+    this.lifecycleExecutor = new DockerLifecycleExecutor(4, 1);
+    this.imageCache = new DockerImageCache(this.dockerClient, this.lifecycleExecutor);
+  }
+
+  @AfterEach
+  void closeExecutor() {
+    this.lifecycleExecutor.close();
+  }
+
+  @Test
+  void testConcurrentCallsShareSinglePull() throws Exception {
+    List<CompletableFuture<Void>> callers = new ArrayList<>();
+    for (var i = 0; i < 8; i++) {
+      callers.add(CompletableFuture.runAsync(() -> this.imageCache.ensurePresent(IMAGE, this::blockingPullCommand)));
+    }
+
+    // wait until the pull is running, all other callers must wait for it rather than pulling on their own
+    Assertions.assertTrue(this.pullStarted.await(5, TimeUnit.SECONDS));
+    Thread.sleep(50);
+    Assertions.assertTrue(callers.stream().noneMatch(CompletableFuture::isDone));
+
+    this.pullRelease.countDown();
+    CompletableFuture.allOf(callers.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    Assertions.assertEquals(1, this.pullCalls.get());
+    Mockito.verify(this.inspectImageCmd, Mockito.times(1)).exec();
+
+    // the presence is cached now, no further calls to the daemon are made
+    this.imageCache.ensurePresent(IMAGE, this::blockingPullCommand);
+    Mockito.verify(this.inspectImageCmd, Mockito.times(1)).exec();
+    Assertions.assertEquals(1, this.pullCalls.get());
+  }
+
+  @Test
+  void testFailedPullIsRetried() {
+    var failingPull = Mockito.mock(PullImageCmd.class);
+    Mockito.when(failingPull.start()).thenThrow(new IllegalStateException("registry unavailable"));
+
+    var exception = Assertions.assertThrows(
+      IllegalStateException.class,
+      () -> this.imageCache.ensurePresent(IMAGE, () -> failingPull));
+    Assertions.assertEquals("registry unavailable", exception.getCause().getMessage());
+
+    // the failure is not cached, the next call checks the image again
+    this.pullRelease.countDown();
+    this.imageCache.ensurePresent(IMAGE, this::blockingPullCommand);
+    Mockito.verify(this.inspectImageCmd, Mockito.times(2)).exec();
+    Assertions.assertEquals(1, this.pullCalls.get());
+  }
+
+  @Test
+  void testPrefetchIsSharedWithLaterCalls() throws Exception {
+    var prefetch = this.imageCache.prefetch(IMAGE, this::blockingPullCommand);
+    Assertions.assertTrue(this.pullStarted.await(5, TimeUnit.SECONDS));
+
+    this.pullRelease.countDown();
+    prefetch.get(5, TimeUnit.SECONDS);
+    this.imageCache.ensurePresent(IMAGE, this::blockingPullCommand);
+    Assertions.assertEquals(1, this.pullCalls.get());
+
+    // an invalidated image is checked again
+    this.imageCache.invalidate(IMAGE);
+    this.imageCache.ensurePresent(IMAGE, this::blockingPullCommand);
+    Assertions.assertEquals(2, this.pullCalls.get());
+  }
+
+  private PullImageCmd blockingPullCommand() {
+    try {
+      var callback = Mockito.mock(PullImageResultCallback.class);
+      Mockito.when(callback.awaitCompletion()).thenAnswer(_ -> {
+        this.pullCalls.incrementAndGet();
+        this.pullStarted.countDown();
+        Assertions.assertTrue(this.pullRelease.await(5, TimeUnit.SECONDS));
+        return callback;
+      });
+
+      var pullCommand = Mockito.mock(PullImageCmd.class);
+      Mockito.when(pullCommand.start()).thenReturn(callback);
+      return pullCommand;
+    } catch (InterruptedException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.docker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DockerLifecycleExecutorTest {
+
+  @Test
+  void testPermitsLimitConcurrentOperations() throws Exception {
+    try (var executor = new DockerLifecycleExecutor(2, 1)) {
+      var activeOperations = new AtomicInteger();
+      var maxActiveOperations = new AtomicInteger();
+      var startedOperations = new CountDownLatch(2);
+      var releaseLatch = new CountDownLatch(1);
+
+      List<Callable<Integer>> operations = new ArrayList<>();
+      for (var i = 0; i < 6; i++) {
+        var result = i;
+        operations.add(() -> {
+          maxActiveOperations.accumulateAndGet(activeOperations.incrementAndGet(), Math::max);
+          startedOperations.countDown();
+          try {
+            Assertions.assertTrue(releaseLatch.await(5, TimeUnit.SECONDS));
+            return result;
+          } finally {
+            activeOperations.decrementAndGet();
+          }
+        });
+      }
+
+      // all operations are dispatched at once, but only two of them are allowed to run at the same time
+      var futures = executor.submitAll(DockerLifecycleExecutor.Phase.CREATE, operations);
+      Assertions.assertTrue(startedOperations.await(5, TimeUnit.SECONDS));
+      Thread.sleep(50);
+      Assertions.assertEquals(2, activeOperations.get());
+
+      releaseLatch.countDown();
+      var results = futures.stream().map(CompletableFuture::join).toList();
+      Assertions.assertEquals(List.of(0, 1, 2, 3, 4, 5), results);
+      Assertions.assertEquals(2, maxActiveOperations.get());
+
+      var createTiming = executor.timings().get(DockerLifecycleExecutor.Phase.CREATE.ordinal());
+      Assertions.assertEquals(DockerLifecycleExecutor.Phase.CREATE, createTiming.phase());
+      Assertions.assertEquals(6, createTiming.calls());
+    }
+  }
+
+  @Test
+  void testStopDoesNotStarveOtherOperations() throws Exception {
+    try (var executor = new DockerLifecycleExecutor(1, 1)) {
+      var stopStarted = new CountDownLatch(1);
+      var releaseStop = new CountDownLatch(1);
+      var stopFuture = executor.submit(DockerLifecycleExecutor.Phase.STOP, () -> {
+        stopStarted.countDown();
+        return releaseStop.await(5, TimeUnit.SECONDS);
+      });
+      Assertions.assertTrue(stopStarted.await(5, TimeUnit.SECONDS));
+
+      // the stop call is still running, a create call must not wait for it
+      var createFuture = executor.submit(DockerLifecycleExecutor.Phase.CREATE, () -> "container");
+      Assertions.assertEquals("container", createFuture.get(5, TimeUnit.SECONDS));
+      Assertions.assertFalse(stopFuture.isDone());
+
+      // but a second stop call has to wait
+      var secondStopFuture = executor.submit(DockerLifecycleExecutor.Phase.STOP, () -> true);
+      Thread.sleep(50);
+      Assertions.assertFalse(secondStopFuture.isDone());
+
+      releaseStop.countDown();
+      Assertions.assertTrue(stopFuture.get(5, TimeUnit.SECONDS));
+      Assertions.assertTrue(secondStopFuture.get(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  void testInterruptWhileWaitingForPermit() throws Exception {
+    try (var executor = new DockerLifecycleExecutor(1, 1)) {
+      var releaseLatch = new CountDownLatch(1);
+      var blockingFuture = executor.submit(
+        DockerLifecycleExecutor.Phase.START,
+        () -> releaseLatch.await(5, TimeUnit.SECONDS));
+
+      Thread.currentThread().interrupt();
+      var exception = Assertions.assertThrows(
+        IllegalStateException.class,
+        () -> executor.call(DockerLifecycleExecutor.Phase.START, () -> "never executed"));
+      Assertions.assertInstanceOf(InterruptedException.class, exception.getCause());
+      // the interrupted state must be kept for the caller (this also clears it for the next tests)
+      Assertions.assertTrue(Thread.interrupted());
+
+      releaseLatch.countDown();
+      Assertions.assertTrue(blockingFuture.get(5, TimeUnit.SECONDS));
+    }
+  }
+
+  @Test
+  void testSubmitCompletesExceptionally() {
+    try (var executor = new DockerLifecycleExecutor(1, 1)) {
+      var future = executor.submit(DockerLifecycleExecutor.Phase.REMOVE, () -> {
+        throw new IllegalArgumentException("no such container");
+      });
+
+      var exception = Assertions.assertThrows(Exception.class, future::join);
+      Assertions.assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+      // the permit is released even if the operation failed
+      Assertions.assertEquals("done", executor.call(DockerLifecycleExecutor.Phase.REMOVE, () -> "done"));
+    }
+  }
+}
@@ -24,6 +24,7 @@ public record NPCConfigurationEntry(
   double infoLineDistance,
   double knockbackDistance,
   double knockbackStrength,
+  int selectorRebuildInterval,
   @NonNull NPCPoolOptions npcPoolOptions,
   @NonNull LabyModEmoteConfiguration emoteConfiguration,
   @NonNull InventoryConfiguration inventoryConfiguration
@@ -39,6 +40,7 @@ public record NPCConfigurationEntry(
       .infoLineDistance(entry.infoLineDistance())
       .knockbackDistance(entry.knockbackDistance())
       .knockbackStrength(entry.knockbackStrength())
+      .selectorRebuildInterval(entry.selectorRebuildInterval())
       .npcPoolOptions(entry.npcPoolOptions())
       .emoteConfiguration(entry.emoteConfiguration())
       .inventoryConfiguration(entry.inventoryConfiguration());
@@ -53,6 +55,9 @@ public static class Builder {
     private double knockbackDistance = 0.7D;
     private double knockbackStrength = 0.8D;
 
+    // the minimum amount of ticks between two rebuilds of the inventory and info lines of a selector entity
+    private int selectorRebuildInterval = 20;
+
     private LabyModEmoteConfiguration emoteConfiguration = LabyModEmoteConfiguration.builder().build();
     private NPCPoolOptions npcPoolOptions = NPCPoolOptions.builder().build();
 
@@ -78,6 +83,11 @@ public static class Builder {
       return this;
     }
 
+    public @NonNull Builder selectorRebuildInterval(int selectorRebuildInterval) {
+      this.selectorRebuildInterval = selectorRebuildInterval;
+      return this;
+    }
+
     public @NonNull Builder npcPoolOptions(@NonNull NPCPoolOptions npcPoolOptions) {
       this.npcPoolOptions = npcPoolOptions;
       return this;
@@ -101,6 +111,7 @@ public static class Builder {
         this.infoLineDistance,
         this.knockbackDistance,
         this.knockbackStrength,
+        this.selectorRebuildInterval,
         this.npcPoolOptions,
         this.emoteConfiguration,
         this.inventoryConfiguration);
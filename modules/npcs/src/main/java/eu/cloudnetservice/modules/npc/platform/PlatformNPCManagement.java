@@ -35,6 +35,7 @@
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
@@ -57,6 +58,8 @@
 
   protected final Map<UUID, ServiceInfoSnapshot> trackedServices = new ConcurrentHashMap<>();
   protected final Map<WorldPosition, PlatformSelectorEntity<L, P, M, I, S>> trackedEntities = new ConcurrentHashMap<>();
+  // index of the tracked entities by their target group, used to only visit the entities affected by a service change
+  protected final Map<String, Set<PlatformSelectorEntity<L, P, M, I, S>>> entitiesByGroup = new ConcurrentHashMap<>();
 
   public PlatformNPCManagement(
     @NonNull EventManager eventManager,
@@ -142,7 +145,7 @@ public void handleInternalNPCCreate(@NonNull NPC npc) {
     if (this.currentServiceConfiguration.groups().contains(npc.location().group())) {
       super.handleInternalNPCCreate(npc);
       // remove the old selector npc
-      var entity = this.trackedEntities.remove(npc.location());
+      var entity = this.untrackEntity(npc.location());
       if (entity != null && entity.spawned()) {
         entity.remove();
       }
@@ -153,7 +156,7 @@ public void handleInternalNPCCreate(@NonNull NPC npc) {
         entity.spawn();
       }
       // start tracking the npc
-      this.trackedEntities.put(npc.location(), entity);
+      this.trackEntity(entity);
       // apply the tracked services
       for (var service : this.trackedServices.values()) {
         if (service.configuration().groups().contains(entity.npc().targetGroup())) {
@@ -167,7 +170,7 @@ public void handleInternalNPCCreate(@NonNull NPC npc) {
   public void handleInternalNPCRemove(@NonNull WorldPosition position) {
     super.handleInternalNPCRemove(position);
     // remove the platform npc if spawned
-    var entity = this.trackedEntities.remove(position);
+    var entity = this.untrackEntity(position);
     if (entity != null && entity.spawned()) {
       entity.remove();
     }
@@ -191,7 +194,7 @@ public void handleInternalNPCConfigUpdate(@NonNull NPCConfiguration configuratio
   public void initialize() {
     // start tracking all entities
     for (var value : this.npcs.values()) {
-      this.trackedEntities.put(value.location(), this.createSelectorEntity(value));
+      this.trackEntity(this.createSelectorEntity(value));
     }
     // initialize the services now
     this.cloudServiceProvider.servicesAsync().thenAccept(services -> {
@@ -227,9 +230,10 @@ public void removeSpawnedEntities() {
   }
 
   public void handleServiceUpdate(@NonNull ServiceInfoSnapshot service) {
-    for (var entity : this.trackedEntities.values()) {
-      if (service.configuration().groups().contains(entity.npc().targetGroup())) {
-        entity.trackService(service);
+    for (var group : service.configuration().groups()) {
+      var entities = this.entitiesByGroup.get(group);
+      if (entities != null) {
+        entities.forEach(entity -> entity.trackService(service));
       }
     }
     // mark the service as tracked
@@ -237,15 +241,33 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot service) {
   }
 
   public void handleServiceRemove(@NonNull ServiceInfoSnapshot service) {
-    for (var entity : this.trackedEntities.values()) {
-      if (service.configuration().groups().contains(entity.npc().targetGroup())) {
-        entity.stopTrackingService(service);
+    for (var group : service.configuration().groups()) {
+      var entities = this.entitiesByGroup.get(group);
+      if (entities != null) {
+        entities.forEach(entity -> entity.stopTrackingService(service));
       }
     }
     // stop tracking the service
     this.trackedServices.remove(service.serviceId().uniqueId());
   }
 
+  protected void trackEntity(@NonNull PlatformSelectorEntity<L, P, M, I, S> entity) {
+    this.trackedEntities.put(entity.npc().location(), entity);
+    this.entitiesByGroup.computeIfAbsent(entity.npc().targetGroup(), _ -> ConcurrentHashMap.newKeySet()).add(entity);
+  }
+
+  protected @Nullable PlatformSelectorEntity<L, P, M, I, S> untrackEntity(@NonNull WorldPosition position) {
+    var entity = this.trackedEntities.remove(position);
+    if (entity != null) {
+      var groupEntities = this.entitiesByGroup.get(entity.npc().targetGroup());
+      if (groupEntities != null) {
+        groupEntities.remove(entity);
+      }
+    }
+
+    return entity;
+  }
+
   public int randomEmoteId(@NonNull LabyModEmoteConfiguration configuration, int[] emoteIds) {
     if (emoteIds.length == 0) {
       // no ids - skip
@@ -29,13 +29,18 @@
 import eu.cloudnetservice.modules.npc.platform.PlatformSelectorEntity;
 import eu.cloudnetservice.modules.npc.platform.bukkit.BukkitPlatformNPCManagement;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.bukkit.ChatColor;
@@ -67,6 +72,9 @@
   protected static final int MAX_INVENTORY_ROW_ITEMS = 9;
   protected static final int MAX_INVENTORY_SIZE = MAX_INVENTORY_ROW_ITEMS * MAX_INVENTORY_ROWS;
 
+  protected static final int DEFAULT_REBUILD_INTERVAL = 20;
+  protected static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
   protected final NPC npc;
   protected final Plugin plugin;
   protected final Server server;
@@ -79,7 +87,23 @@
 
   protected final Set<Integer> infoLineEntityIds = new HashSet<>();
   protected final Set<InfoLineWrapper> infoLines = new HashSet<>();
+
+  // the tracked service items and the slots of them in the current inventory, only accessed from the main thread
   protected final Map<UUID, ServiceItemWrapper> serviceItems = new LinkedHashMap<>();
+  protected final Map<UUID, Integer> serviceItemSlots = new HashMap<>();
+
+  // running totals of the tracked services, used to build the info lines without iterating over all services
+  // only accessed from the main thread, recalculated on each full inventory rebuild
+  protected int onlinePlayers;
+  protected int maxPlayers;
+
+  // the pending changes which are applied on the next rebuild
+  protected final Set<UUID> dirtyServiceItems = ConcurrentHashMap.newKeySet();
+  protected final AtomicBoolean infoLinesDirty = new AtomicBoolean();
+  protected final AtomicBoolean inventoryRebuildRequired = new AtomicBoolean();
+  protected final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+  protected volatile long lastRebuildNanos;
 
   protected volatile Inventory inventory;
   protected volatile Location npcLocation;
@@ -156,12 +180,7 @@ public void spawn() {
 
   @Override
   public void remove() {
-    // remove instantly when on main thread, else delay by one tick because we need to be on the main thread
-    if (this.server.isPrimaryThread()) {
-      this.doRemove();
-    } else {
-      this.scheduler.runTask(this.plugin, this::doRemove);
-    }
+    this.runOnMainThread(this::doRemove);
   }
 
   protected void doRemove() {
@@ -182,20 +201,19 @@ protected void doRemove() {
 
   @Override
   public void update() {
-    // rebuild all items - we can do that async
-    this.serviceItems.values().forEach(wrapper -> this.trackService(wrapper.service()));
-    // rebuild everything else sync
-    this.scheduler.runTask(this.plugin, () -> {
-      this.rebuildInventory(this.npcManagement.inventoryConfiguration());
-      this.rebuildInfoLines();
+    this.runOnMainThread(() -> {
+      // rebuild all items, the tracked items can only be accessed from the main thread
+      List.copyOf(this.serviceItems.values()).forEach(wrapper -> this.trackService(wrapper.service()));
+      // the configuration might have changed, fully rebuild the inventory on the next rebuild
+      this.inventoryRebuildRequired.set(true);
+      this.infoLinesDirty.set(true);
+      this.scheduleRebuild();
     });
   }
 
   @Override
   public void trackService(@NonNull ServiceInfoSnapshot service) {
-    // get the current item
-    var wrapper = this.serviceItems.get(service.serviceId().uniqueId());
-    // build the item for the service
+    // build the item for the service, that can be done async
     var configuration = this.npcManagement.inventoryConfiguration();
     var layouts = configuration.getHolder(service.configuration().groups().toArray(new String[0]));
     // get the service state
@@ -207,7 +225,7 @@ public void trackService(@NonNull ServiceInfoSnapshot service) {
         if (this.npc.showFullServices()) {
           layout = layouts.fullLayout();
         } else {
-          this.unregisterItem(wrapper, service, configuration);
+          this.runOnMainThread(() -> this.unregisterItem(service));
           return;
         }
       }
@@ -216,7 +234,7 @@ public void trackService(@NonNull ServiceInfoSnapshot service) {
         if (BridgeServiceHelper.inGameService(service) && this.npc.showIngameServices()) {
           layout = layouts.ingameLayout();
         } else {
-          this.unregisterItem(wrapper, service, configuration);
+          this.runOnMainThread(() -> this.unregisterItem(service));
           return;
         }
       }
@@ -224,35 +242,20 @@ public void trackService(@NonNull ServiceInfoSnapshot service) {
         return;
       }
     }
-    // build the item stack from the layout
+    // build the item stack from the layout, the tracked item is replaced on the main thread
     var item = this.buildItemStack(layout, service);
-    if (item != null) {
-      if (wrapper == null) {
-        // store a new wrapper
-        this.serviceItems.put(service.serviceId().uniqueId(), new ServiceItemWrapper(item, service));
-      } else {
-        // update the item wrapper
-        wrapper.itemStack(item);
-        wrapper.service(service);
-      }
-      // push the service update
-      this.rebuildInfoLines();
-      this.rebuildInventory(configuration);
-    } else if (wrapper != null) {
-      // unable to build a new item - remove the current one
-      this.serviceItems.remove(service.serviceId().uniqueId());
-    }
+    this.runOnMainThread(() -> this.registerItem(service, item));
   }
 
   @Override
   public void stopTrackingService(@NonNull ServiceInfoSnapshot service) {
-    this.scheduler.runTask(this.plugin, () -> {
+    this.runOnMainThread(() -> {
       // get the old item wrapper
       var wrapper = this.serviceItems.remove(service.serviceId().uniqueId());
       if (wrapper != null) {
-        // the service got tracked before - rebuild the inventory and info lines
-        this.rebuildInfoLines();
-        this.rebuildInventory(this.npcManagement.inventoryConfiguration());
+        // the service got tracked before - update the inventory and info lines
+        this.updatePlayerCounts(wrapper.service(), null);
+        this.markServiceItemDirty(service.serviceId().uniqueId());
       }
     });
   }
@@ -415,19 +418,102 @@ protected void handleClickAction(@NonNull Player player, @NonNull NPC.ClickActio
     return null;
   }
 
-  protected void unregisterItem(
-    @Nullable ServiceItemWrapper wrapper,
-    @NonNull ServiceInfoSnapshot service,
-    @NonNull InventoryConfiguration configuration
-  ) {
+  protected void registerItem(@NonNull ServiceInfoSnapshot service, @Nullable ItemStack item) {
+    var wrapper = this.serviceItems.get(service.serviceId().uniqueId());
+    if (item != null) {
+      if (wrapper == null) {
+        // store a new wrapper
+        this.serviceItems.put(service.serviceId().uniqueId(), new ServiceItemWrapper(item, service));
+        this.updatePlayerCounts(null, service);
+      } else {
+        // update the item wrapper
+        this.updatePlayerCounts(wrapper.service(), service);
+        wrapper.itemStack(item);
+        wrapper.service(service);
+      }
+      // push the service update
+      this.markServiceItemDirty(service.serviceId().uniqueId());
+    } else if (wrapper != null) {
+      // unable to build a new item - remove the current one
+      this.serviceItems.remove(service.serviceId().uniqueId());
+      this.updatePlayerCounts(wrapper.service(), null);
+      this.markServiceItemDirty(service.serviceId().uniqueId());
+    }
+  }
+
+  protected void unregisterItem(@NonNull ServiceInfoSnapshot service) {
+    var wrapper = this.serviceItems.get(service.serviceId().uniqueId());
     if (wrapper != null) {
       // reset the ItemStack in the wrapper as we currently don't have an item to display
       wrapper.itemStack(null);
       // update the service and rebuild the inventory & infoline
+      this.updatePlayerCounts(wrapper.service(), service);
       wrapper.service(service);
+      this.markServiceItemDirty(service.serviceId().uniqueId());
+    }
+  }
+
+  protected void updatePlayerCounts(
+    @Nullable ServiceInfoSnapshot oldService,
+    @Nullable ServiceInfoSnapshot newService
+  ) {
+    var onlineDelta = 0;
+    var maxDelta = 0;
+    if (oldService != null) {
+      onlineDelta -= oldService.readProperty(BridgeDocProperties.ONLINE_COUNT);
+      maxDelta -= oldService.readProperty(BridgeDocProperties.MAX_PLAYERS);
+    }
+    if (newService != null) {
+      onlineDelta += newService.readProperty(BridgeDocProperties.ONLINE_COUNT);
+      maxDelta += newService.readProperty(BridgeDocProperties.MAX_PLAYERS);
+    }
+
+    this.onlinePlayers += onlineDelta;
+    this.maxPlayers += maxDelta;
+  }
+
+  protected void runOnMainThread(@NonNull Runnable task) {
+    // run instantly when on main thread, else delay by one tick because we need to be on the main thread
+    if (this.server.isPrimaryThread()) {
+      task.run();
+    } else {
+      this.scheduler.runTask(this.plugin, task);
+    }
+  }
 
+  protected void markServiceItemDirty(@NonNull UUID serviceId) {
+    this.dirtyServiceItems.add(serviceId);
+    this.infoLinesDirty.set(true);
+    this.scheduleRebuild();
+  }
+
+  protected void scheduleRebuild() {
+    // only schedule one rebuild at a time, all changes until the rebuild are applied at once
+    if (this.rebuildScheduled.compareAndSet(false, true)) {
+      var entry = this.npcManagement.applicableNPCConfigurationEntry();
+      var rebuildInterval = entry == null ? DEFAULT_REBUILD_INTERVAL : entry.selectorRebuildInterval();
+
+      // delay the rebuild until the interval since the last rebuild elapsed
+      var remainingNanos = this.lastRebuildNanos + rebuildInterval * NANOS_PER_TICK - System.nanoTime();
+      var delayTicks = Math.max(0, (remainingNanos + NANOS_PER_TICK - 1) / NANOS_PER_TICK);
+      this.scheduler.runTaskLater(this.plugin, this::executeRebuild, delayTicks);
+    }
+  }
+
+  protected void executeRebuild() {
+    // reset the scheduled state first, changes during the rebuild will schedule another one
+    this.rebuildScheduled.set(false);
+    this.lastRebuildNanos = System.nanoTime();
+
+    if (this.infoLinesDirty.getAndSet(false)) {
       this.rebuildInfoLines();
+    }
+
+    var configuration = this.npcManagement.inventoryConfiguration();
+    if (this.inventoryRebuildRequired.getAndSet(false)) {
       this.rebuildInventory(configuration);
+    } else if (!this.dirtyServiceItems.isEmpty()) {
+      this.updateInventorySlots(configuration);
     }
   }
 
@@ -435,6 +521,62 @@ protected void rebuildInfoLines() {
     this.infoLines.forEach(InfoLineWrapper::rebuildInfoLine);
   }
 
+  protected void updateInventorySlots(@NonNull InventoryConfiguration configuration) {
+    var inventory = this.inventory;
+    if (inventory == null || inventory.getSize() != this.calculateInventorySize(configuration)) {
+      // the inventory must be recreated, no need for incremental updates
+      this.rebuildInventory(configuration);
+      return;
+    }
+
+    var slotsFreed = false;
+    for (var iterator = this.dirtyServiceItems.iterator(); iterator.hasNext(); ) {
+      var serviceId = iterator.next();
+      iterator.remove();
+
+      var wrapper = this.serviceItems.get(serviceId);
+      var slot = this.serviceItemSlots.get(serviceId);
+      var item = wrapper == null ? null : wrapper.itemStack();
+      if (item == null) {
+        // the service is no longer displayed, free the slot
+        if (slot != null) {
+          inventory.setItem(slot, null);
+          this.serviceItemSlots.remove(serviceId);
+          slotsFreed = true;
+        }
+      } else if (slot != null) {
+        // replace the item in the slot of the service
+        inventory.setItem(slot, item);
+      } else {
+        this.placeServiceItem(inventory, serviceId, item);
+      }
+    }
+
+    // services that didn't fit into the inventory before might fit now
+    if (slotsFreed) {
+      for (var entry : this.serviceItems.entrySet()) {
+        var item = entry.getValue().itemStack();
+        if (item != null && !this.serviceItemSlots.containsKey(entry.getKey())) {
+          if (!this.placeServiceItem(inventory, entry.getKey(), item)) {
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  protected boolean placeServiceItem(@NonNull Inventory inventory, @NonNull UUID serviceId, @NonNull ItemStack item) {
+    var slot = inventory.firstEmpty();
+    if (slot == -1) {
+      // the inventory is full
+      return false;
+    }
+
+    inventory.setItem(slot, item);
+    this.serviceItemSlots.put(serviceId, slot);
+    return true;
+  }
+
   protected void rebuildInventory(@NonNull InventoryConfiguration configuration) {
     // calculate the inventory size
     var inventorySize = this.calculateInventorySize(configuration);
@@ -448,6 +590,8 @@ protected void rebuildInventory(@NonNull InventoryConfiguration configuration) {
     }
     // remove all current contents
     inventory.clear();
+    this.serviceItemSlots.clear();
+    this.dirtyServiceItems.clear();
     // add the fixed items
     for (var entry : configuration.fixedItems().entrySet()) {
       // check if the item would exceed the inventory size
@@ -459,13 +603,27 @@ protected void rebuildInventory(@NonNull InventoryConfiguration configuration) {
         }
       }
     }
-    // add the service items
-    for (var wrapper : this.serviceItems.values()) {
-      if (wrapper.canConnectTo() && !inventory.addItem(wrapper.itemStack()).isEmpty()) {
-        // the inventory is full
-        break;
+    // add the service items and recalculate the player counts to get rid of any drift in the running totals
+    var onlinePlayers = 0;
+    var maxPlayers = 0;
+    var inventoryFull = false;
+    for (var entry : this.serviceItems.entrySet()) {
+      var service = entry.getValue().service();
+      onlinePlayers += service.readProperty(BridgeDocProperties.ONLINE_COUNT);
+      maxPlayers += service.readProperty(BridgeDocProperties.MAX_PLAYERS);
+
+      var item = entry.getValue().itemStack();
+      if (item != null && !inventoryFull) {
+        inventoryFull = !this.placeServiceItem(inventory, entry.getKey(), item);
       }
     }
+
+    if (this.onlinePlayers != onlinePlayers || this.maxPlayers != maxPlayers) {
+      this.onlinePlayers = onlinePlayers;
+      this.maxPlayers = maxPlayers;
+      this.infoLinesDirty.set(true);
+      this.scheduleRebuild();
+    }
   }
 
   protected int calculateInventorySize(@NonNull InventoryConfiguration configuration) {
@@ -538,18 +696,10 @@ public InfoLineWrapper(@NonNull String basedInfoLine, @NonNull ArmorStand armorS
 
     private void rebuildInfoLine() {
       var npc = BukkitPlatformSelectorEntity.this.npc;
-      // update based on the tracked services
-      var tracked = BukkitPlatformSelectorEntity.this.serviceItems.values();
-      // general info
-      var onlinePlayers = Integer.toString(tracked.stream()
-        .map(ServiceItemWrapper::service)
-        .mapToInt(snapshot -> snapshot.readProperty(BridgeDocProperties.ONLINE_COUNT))
-        .sum());
-      var maxPlayers = Integer.toString(tracked.stream()
-        .map(ServiceItemWrapper::service)
-        .mapToInt(snapshot -> snapshot.readProperty(BridgeDocProperties.MAX_PLAYERS))
-        .sum());
-      var onlineServers = Integer.toString(tracked.size());
+      // general info, based on the running totals of the tracked services
+      var onlinePlayers = Integer.toString(BukkitPlatformSelectorEntity.this.onlinePlayers);
+      var maxPlayers = Integer.toString(BukkitPlatformSelectorEntity.this.maxPlayers);
+      var onlineServers = Integer.toString(BukkitPlatformSelectorEntity.this.serviceItems.size());
       // rebuild the info line
       var newInfoLine = this.basedInfoLine
         .replace("%group%", npc.targetGroup()).replace("%g%", npc.targetGroup())
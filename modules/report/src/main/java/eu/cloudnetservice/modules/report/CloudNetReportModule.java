@@ -31,6 +31,8 @@
 import eu.cloudnetservice.modules.report.config.PasteServer;
 import eu.cloudnetservice.modules.report.config.ReportConfiguration;
 import eu.cloudnetservice.modules.report.emitter.EmitterRegistry;
+import eu.cloudnetservice.modules.report.emitter.defaults.BootTimingDataEmitter;
+import eu.cloudnetservice.modules.report.emitter.defaults.EventListenerDataEmitter;
 import eu.cloudnetservice.modules.report.emitter.defaults.GroupConfigDataEmitter;
 import eu.cloudnetservice.modules.report.emitter.defaults.HeapDumpDataEmitter;
 import eu.cloudnetservice.modules.report.emitter.defaults.LocalModuleDataEmitter;
@@ -66,6 +68,8 @@ public void registerDefaultEmitters(@NonNull @Service EmitterRegistry emitterReg
       .registerEmitter(ThreadInfoDataEmitter.class)
       .registerEmitter(HeapDumpDataEmitter.class)
       .registerEmitter(LocalNodeConfigDataEmitter.class)
+      .registerEmitter(BootTimingDataEmitter.class)
+      .registerEmitter(EventListenerDataEmitter.class)
       // specific class emitters
       .registerSpecificEmitter(NodeServer.class, NodeServerDataEmitter.class)
       .registerSpecificEmitter(ModuleWrapper.class, LocalModuleDataEmitter.class)
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.report.emitter.defaults;
+
+import eu.cloudnetservice.modules.report.emitter.ReportDataEmitter;
+import eu.cloudnetservice.modules.report.emitter.ReportDataWriter;
+import eu.cloudnetservice.node.boot.BootPlanner;
+import jakarta.inject.Singleton;
+import lombok.NonNull;
+
+@Singleton
+public record BootTimingDataEmitter(@NonNull BootPlanner bootPlanner) implements ReportDataEmitter {
+
+  @Override
+  public @NonNull ReportDataWriter emitData(@NonNull ReportDataWriter writer) {
+    writer = writer.beginSection("Node Boot Steps");
+    for (var timing : this.bootPlanner.stepTimings()) {
+      // modules-load: started after 120ms, took 830ms (CloudNet Boot Step 2)
+      writer
+        .appendString(timing.name())
+        .appendString(": started after ")
+        .appendLong(timing.startOffset().toMillis())
+        .appendString("ms, took ")
+        .appendLong(timing.duration().toMillis())
+        .appendString("ms (")
+        .appendString(timing.threadName())
+        .appendString(")")
+        .appendNewline();
+    }
+
+    return writer.endSection();
+  }
+}
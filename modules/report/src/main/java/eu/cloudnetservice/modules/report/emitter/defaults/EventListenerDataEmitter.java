@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.report.emitter.defaults;
+
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.RegisteredEventListener;
+import eu.cloudnetservice.modules.report.emitter.ReportDataEmitter;
+import eu.cloudnetservice.modules.report.emitter.ReportDataWriter;
+import jakarta.inject.Singleton;
+import java.util.Comparator;
+import lombok.NonNull;
+
+@Singleton
+public record EventListenerDataEmitter(@NonNull EventManager eventManager) implements ReportDataEmitter {
+
+  @Override
+  public @NonNull ReportDataWriter emitData(@NonNull ReportDataWriter writer) {
+    // print the listeners that took the most time first, they are the most interesting ones
+    var listeners = this.eventManager.registeredListeners().stream()
+      .sorted(Comparator.comparing((RegisteredEventListener listener) -> listener.statistics().totalTime()).reversed())
+      .toList();
+
+    writer = writer.beginSection("Event Listeners (" + listeners.size() + ")");
+    for (var listener : listeners) {
+      // ServiceListener (CloudServiceUpdateEvent, async): 1200 calls, 840ms total, 3ms max, 0 pending, 0 dropped
+      var statistics = listener.statistics();
+      writer
+        .appendString(listener.instance().getClass().getName())
+        .appendString(" (")
+        .appendString(listener.eventClass().getSimpleName())
+        .appendString(listener.eventListener().async() ? ", async): " : "): ")
+        .appendLong(statistics.invocations())
+        .appendString(" calls, ")
+        .appendLong(statistics.totalTime().toMillis())
+        .appendString("ms total, ")
+        .appendLong(statistics.maxTime().toMillis())
+        .appendString("ms max, ")
+        .appendInt(statistics.pendingEvents())
+        .appendString(" pending, ")
+        .appendLong(statistics.droppedEvents())
+        .appendString(" dropped")
+        .appendNewline();
+    }
+
+    return writer.endSection();
+  }
+}
@@ -36,11 +36,15 @@
 import eu.cloudnetservice.modules.signs.util.PriorityUtil;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.NavigableSet;
 import java.util.Queue;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
@@ -67,6 +71,15 @@
 
   protected static final Logger LOGGER = LoggerFactory.getLogger(PlatformSignManagement.class);
 
+  // signs which are bound to a template are preferred as they are a more specific match for a service
+  protected static final Comparator<PlatformSign<?, ?>> FREE_SIGN_ORDER = Comparator
+    .<PlatformSign<?, ?>, Boolean>comparing(sign -> sign.base().templatePath() == null)
+    .thenComparing(sign -> sign.base().location().world())
+    .thenComparingDouble(sign -> sign.base().location().x())
+    .thenComparingDouble(sign -> sign.base().location().y())
+    .thenComparingDouble(sign -> sign.base().location().z())
+    .thenComparing(sign -> sign.base().location().group());
+
   protected final Executor mainThreadExecutor;
   protected final WrapperConfiguration wrapperConfig;
   protected final CloudServiceProvider serviceProvider;
@@ -76,6 +89,11 @@
   protected final Map<WorldPosition, PlatformSign<P, C>> platformSigns = new ConcurrentHashMap<>();
   protected final Queue<ServiceInfoSnapshot> waitingAssignments = new ConcurrentLinkedQueue<>();
 
+  // indexes of the platform signs, only modified while holding the updating lock
+  protected final Map<UUID, PlatformSign<P, C>> signsByTarget = new ConcurrentHashMap<>();
+  protected final Map<String, Set<PlatformSign<P, C>>> signsByGroup = new ConcurrentHashMap<>();
+  protected final Map<String, NavigableSet<PlatformSign<P, C>>> freeSignsByGroup = new HashMap<>();
+
   protected int currentTick;
 
   protected PlatformSignManagement(
@@ -160,7 +178,7 @@ public void signsConfiguration(@NonNull SignsConfiguration signsConfiguration) {
   public void handleInternalSignCreate(@NonNull Sign sign) {
     if (this.wrapperConfig.serviceConfiguration().groups().contains(sign.location().group())) {
       var newSign = this.createPlatformSign(sign);
-      var oldSign = this.platformSigns.remove(sign.location());
+      var oldSign = this.unregisterPlatformSign(sign.location());
 
       // set the old target in the new sign if needed
       if (oldSign != null) {
@@ -168,7 +186,7 @@ public void handleInternalSignCreate(@NonNull Sign sign) {
       }
 
       // register the sign
-      this.platformSigns.put(sign.location(), newSign);
+      this.registerPlatformSign(newSign);
       super.handleInternalSignCreate(sign);
     }
   }
@@ -176,7 +194,7 @@ public void handleInternalSignCreate(@NonNull Sign sign) {
   @Override
   public void handleInternalSignRemove(@NonNull WorldPosition position) {
     if (this.wrapperConfig.serviceConfiguration().groups().contains(position.group())) {
-      var sign = this.platformSigns.remove(position);
+      var sign = this.unregisterPlatformSign(position);
       if (sign != null && sign.currentTarget() != null) {
         this.waitingAssignments.add(sign.currentTarget());
       }
@@ -230,7 +248,7 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
         }
       }
 
-      handlingSign.currentTarget(snapshot);
+      this.assignTarget(handlingSign, snapshot);
     }
   }
 
@@ -238,7 +256,7 @@ public void handleServiceRemove(@NonNull ServiceInfoSnapshot snapshot) {
     if (this.shouldAssign(snapshot)) {
       var handlingSign = this.signOf(snapshot);
       if (handlingSign != null) {
-        handlingSign.currentTarget(null);
+        this.assignTarget(handlingSign, null);
       } else {
         this.waitingAssignments.removeIf(s -> s.serviceId().uniqueId().equals(snapshot.serviceId().uniqueId()));
       }
@@ -253,7 +271,7 @@ public void initialize(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>>
     if (this.signsConfiguration != null) {
       // initialize the platform signs
       for (var value : this.signs.values()) {
-        this.platformSigns.put(value.location(), this.createPlatformSign(value));
+        this.registerPlatformSign(this.createPlatformSign(value));
       }
 
       // start the needed tasks
@@ -305,7 +323,7 @@ protected void tryAssign(@NonNull ServiceInfoSnapshot snapshot) {
       }
     }
     // assign the service to the sign
-    sign.currentTarget(snapshot);
+    this.assignTarget(sign, snapshot);
   }
 
   protected boolean checkTemplatePath(@NonNull ServiceInfoSnapshot snapshot, @NonNull Sign sign) {
@@ -369,7 +387,7 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
             this.waitingAssignments.remove(waitingAssignment);
             // assign the service to the sign, the layout of it will be updated within the next second
             // we could directly update the layout but there is no need to do that
-            freeSign.currentTarget(waitingAssignment);
+            this.assignTarget(freeSign, waitingAssignment);
           }
         }
       }
@@ -388,35 +406,44 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
     // ensure that we only assign the snapshot to a sign that has no target yet
     this.updatingLock.lock();
     try {
+      // a sign without a target is always the best choice, only visit the free signs of the service groups
+      for (var group : snapshot.configuration().groups()) {
+        var freeSigns = this.freeSignsByGroup.get(group);
+        if (freeSigns != null) {
+          for (var platformSign : freeSigns) {
+            if (this.canHandle(platformSign, snapshot)) {
+              return platformSign;
+            }
+          }
+        }
+      }
+
+      // no free sign, check if there is a sign which displays a service with a lower priority
       PlatformSign<P, C> bestChoice = null;
-      for (var platformSign : this.platformSigns.values()) {
-        if (!platformSign.needsUpdates() || !platformSign.exists()) {
+      for (var group : snapshot.configuration().groups()) {
+        var groupSigns = this.signsByGroup.get(group);
+        if (groupSigns == null) {
           continue;
         }
 
-        var sign = platformSign.base();
-        if (snapshot.configuration().groups().contains(sign.targetGroup())
-          && (sign.templatePath() == null || this.checkTemplatePath(snapshot, sign))) {
-          // the service could be assigned to the sign
-          if (platformSign.currentTarget() == null) {
-            // the sign has no target yet, best choice
+        for (var platformSign : groupSigns) {
+          if (platformSign.currentTarget() == null || !this.canHandle(platformSign, snapshot)) {
+            continue;
+          }
+
+          // get the priority of the sign depending on the current sign choice (if any)
+          var signPriority = platformSign.priority(entry);
+          var priority = bestChoice == null ? servicePriority : bestChoice.priority(entry);
+          // check if the service/sign we found has a higher priority than the sign
+          if (priority > signPriority) {
+            // yes it has, use the sign with the lower priority
             bestChoice = platformSign;
-            break;
-          } else {
-            // get the priority of the sign depending on the current sign choice (if any)
-            var signPriority = platformSign.priority(entry);
-            var priority = bestChoice == null ? servicePriority : bestChoice.priority(entry);
-            // check if the service/sign we found has a higher priority than the sign
-            if (priority > signPriority) {
-              // yes it has, use the sign with the lower priority
+          } else if (priority == signPriority && bestChoice != null) {
+            // no it has the same priority as the best choice
+            // check if we get a better template path match than the current selected sign
+            if (bestChoice.base().templatePath() == null && platformSign.base().templatePath() != null) {
+              // yes the sign has a better template path match than the previous choice
               bestChoice = platformSign;
-            } else if (priority == signPriority && bestChoice != null) {
-              // no it has the same priority as the best choice
-              // check if we get a better template path match than the current selected sign
-              if (bestChoice.base().templatePath() == null && sign.templatePath() != null) {
-                // yes the sign has a better template path match than the previous choice
-                bestChoice = platformSign;
-              }
             }
           }
         }
@@ -425,7 +452,7 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
       if (bestChoice != null && bestChoice.currentTarget() != null) {
         // enqueue and reset the current target of the sign
         this.waitingAssignments.add(bestChoice.currentTarget());
-        bestChoice.currentTarget(null);
+        this.assignTarget(bestChoice, null);
       }
 
       return bestChoice;
@@ -434,14 +461,83 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
     }
   }
 
-  protected @Nullable PlatformSign<P, C> signOf(@NonNull ServiceInfoSnapshot snapshot) {
-    for (var value : this.platformSigns.values()) {
-      var target = value.currentTarget();
-      if (target != null && target.name().equals(snapshot.name())) {
-        return value;
+  protected boolean canHandle(@NonNull PlatformSign<P, C> platformSign, @NonNull ServiceInfoSnapshot snapshot) {
+    if (!platformSign.needsUpdates() || !platformSign.exists()) {
+      return false;
+    }
+
+    var sign = platformSign.base();
+    return sign.templatePath() == null || this.checkTemplatePath(snapshot, sign);
+  }
+
+  protected void assignTarget(@NonNull PlatformSign<P, C> platformSign, @Nullable ServiceInfoSnapshot snapshot) {
+    this.updatingLock.lock();
+    try {
+      // remove the old target from the index
+      var oldTarget = platformSign.currentTarget();
+      if (oldTarget != null) {
+        this.signsByTarget.remove(oldTarget.serviceId().uniqueId(), platformSign);
       }
+
+      platformSign.currentTarget(snapshot);
+      var freeSigns = this.freeSignsByGroup.computeIfAbsent(
+        platformSign.base().targetGroup(),
+        _ -> new TreeSet<>(FREE_SIGN_ORDER));
+      if (snapshot == null) {
+        freeSigns.add(platformSign);
+      } else {
+        freeSigns.remove(platformSign);
+        this.signsByTarget.put(snapshot.serviceId().uniqueId(), platformSign);
+      }
+    } finally {
+      this.updatingLock.unlock();
     }
-    return null;
+  }
+
+  protected void registerPlatformSign(@NonNull PlatformSign<P, C> platformSign) {
+    this.updatingLock.lock();
+    try {
+      this.platformSigns.put(platformSign.base().location(), platformSign);
+      this.signsByGroup
+        .computeIfAbsent(platformSign.base().targetGroup(), _ -> ConcurrentHashMap.newKeySet())
+        .add(platformSign);
+      // registers the sign in the target or free sign index
+      this.assignTarget(platformSign, platformSign.currentTarget());
+    } finally {
+      this.updatingLock.unlock();
+    }
+  }
+
+  protected @Nullable PlatformSign<P, C> unregisterPlatformSign(@NonNull WorldPosition position) {
+    this.updatingLock.lock();
+    try {
+      var platformSign = this.platformSigns.remove(position);
+      if (platformSign != null) {
+        var group = platformSign.base().targetGroup();
+        var groupSigns = this.signsByGroup.get(group);
+        if (groupSigns != null) {
+          groupSigns.remove(platformSign);
+        }
+
+        var freeSigns = this.freeSignsByGroup.get(group);
+        if (freeSigns != null) {
+          freeSigns.remove(platformSign);
+        }
+
+        var target = platformSign.currentTarget();
+        if (target != null) {
+          this.signsByTarget.remove(target.serviceId().uniqueId(), platformSign);
+        }
+      }
+
+      return platformSign;
+    } finally {
+      this.updatingLock.unlock();
+    }
+  }
+
+  protected @Nullable PlatformSign<P, C> signOf(@NonNull ServiceInfoSnapshot snapshot) {
+    return this.signsByTarget.get(snapshot.serviceId().uniqueId());
   }
 
   public @Nullable PlatformSign<P, C> platformSignAt(@Nullable WorldPosition position) {
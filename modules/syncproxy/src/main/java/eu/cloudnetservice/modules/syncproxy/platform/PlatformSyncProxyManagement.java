@@ -37,13 +37,15 @@
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -51,7 +53,8 @@
 
   private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss");
 
-  protected final Map<UUID, Integer> proxyOnlineCountCache = new HashMap<>();
+  protected final AtomicInteger onlinePlayerCount = new AtomicInteger();
+  protected final Map<UUID, Integer> proxyOnlineCountCache = new ConcurrentHashMap<>();
 
   protected final RPCSender rpcSender;
   protected final RPCFactory rpcFactory;
@@ -67,6 +70,11 @@
   protected SyncProxyTabListConfiguration currentTabListConfiguration;
   protected ScheduledFuture<?> currentUpdateTask;
 
+  // only accessed from the tab list update task
+  private SyncProxyTabListTemplate headerTemplate;
+  private SyncProxyTabListTemplate footerTemplate;
+  private Map<P, RenderedTabList> lastRenderedTabLists = new IdentityHashMap<>();
+
   protected PlatformSyncProxyManagement(
     @NonNull RPCFactory rpcFactory,
     @NonNull EventManager eventManager,
@@ -165,7 +173,7 @@ public void applyWhitelist() {
   }
 
   public int onlinePlayerCount() {
-    return this.proxyOnlineCountCache.values().stream().mapToInt(value -> value).sum();
+    return this.onlinePlayerCount.get();
   }
 
   protected int maxPlayerCount() {
@@ -178,14 +186,18 @@ protected int maxPlayerCount() {
 
   public void cacheServiceInfoSnapshot(@NonNull ServiceInfoSnapshot snapshot) {
     if (ServiceEnvironmentType.minecraftProxy(snapshot.serviceId().environment()) && this.checkServiceGroup(snapshot)) {
-      this.proxyOnlineCountCache.put(
-        snapshot.serviceId().uniqueId(),
-        snapshot.readProperty(BridgeDocProperties.ONLINE_COUNT));
+      // apply the difference to the previous count of the proxy to keep the total up-to-date
+      int onlineCount = snapshot.readProperty(BridgeDocProperties.ONLINE_COUNT);
+      var previousCount = this.proxyOnlineCountCache.put(snapshot.serviceId().uniqueId(), onlineCount);
+      this.onlinePlayerCount.addAndGet(previousCount == null ? onlineCount : onlineCount - previousCount);
     }
   }
 
   public void removeCachedServiceInfoSnapshot(@NonNull ServiceInfoSnapshot snapshot) {
-    this.proxyOnlineCountCache.remove(snapshot.serviceId().uniqueId());
+    var previousCount = this.proxyOnlineCountCache.remove(snapshot.serviceId().uniqueId());
+    if (previousCount != null) {
+      this.onlinePlayerCount.addAndGet(-previousCount);
+    }
   }
 
   public @Nullable String serviceUpdateMessage(
@@ -216,31 +228,47 @@ protected void scheduleTabListUpdate() {
   }
 
   protected void updateTabList(@NonNull SyncProxyTabList tabList) {
+    // replace all placeholders which are the same for every player once per frame
     var onlinePlayers = this.onlinePlayerCount();
     var maxPlayers = this.maxPlayerCount();
-    for (var onlinePlayer : this.onlinePlayers()) {
-      this.updateTabList(onlinePlayer, tabList, onlinePlayers, maxPlayers);
+    var time = TIME_FORMATTER.format(LocalTime.now());
+    var header = this.replaceTabListItem(tabList.header(), time, onlinePlayers, maxPlayers);
+    var footer = this.replaceTabListItem(tabList.footer(), time, onlinePlayers, maxPlayers);
+
+    // the templates are only re-compiled when the shared part of the frame changed
+    this.headerTemplate = SyncProxyTabListTemplate.compile(header, this.headerTemplate);
+    this.footerTemplate = SyncProxyTabListTemplate.compile(footer, this.footerTemplate);
+
+    // the rendered tab lists are keyed by the player instance, a reconnecting player always gets a new one. Players
+    // that are no longer online are dropped by only carrying over the entries of the current players
+    var players = this.onlinePlayers();
+    var previousTabLists = this.lastRenderedTabLists;
+    Map<P, RenderedTabList> renderedTabLists = new IdentityHashMap<>(players.size());
+    for (var onlinePlayer : players) {
+      var rendered = this.updateTabList(onlinePlayer, previousTabLists.get(onlinePlayer));
+      if (rendered != null) {
+        renderedTabLists.put(onlinePlayer, rendered);
+      }
     }
+
+    this.lastRenderedTabLists = renderedTabLists;
   }
 
-  protected void updateTabList(
-    @NonNull P player,
-    @NonNull SyncProxyTabList tabList,
-    int onlinePlayers,
-    int maxPlayers
-  ) {
-    var header = this.replaceTabListItem(
-      tabList.header(),
-      player,
-      onlinePlayers,
-      maxPlayers);
-    var footer = this.replaceTabListItem(
-      tabList.footer(),
-      player,
-      onlinePlayers,
-      maxPlayers);
-
-    this.playerTabList(player, header, footer);
+  private @Nullable RenderedTabList updateTabList(@NonNull P player, @Nullable RenderedTabList previous) {
+    var header = this.headerTemplate.render(placeholder -> this.playerPlaceholder(player, placeholder));
+    var footer = this.footerTemplate.render(placeholder -> this.playerPlaceholder(player, placeholder));
+
+    // only send the tab list to the player if it changed since the last update
+    var rendered = new RenderedTabList(header, footer);
+    if (rendered.equals(previous)) {
+      return previous;
+    }
+
+    return this.playerTabList(player, header, footer) ? rendered : null;
+  }
+
+  protected @Nullable String playerPlaceholder(@NonNull P player, @NonNull String placeholder) {
+    return placeholder.equals("player_name") ? this.playerName(player) : null;
   }
 
   protected boolean checkServiceGroup(@NonNull ServiceInfoSnapshot snapshot) {
@@ -271,7 +299,7 @@ public boolean checkPlayerMaintenance(@NonNull P player) {
 
   public abstract @NonNull UUID playerUniqueId(@NonNull P player);
 
-  public abstract void playerTabList(@NonNull P player, @Nullable String header, @Nullable String footer);
+  public abstract boolean playerTabList(@NonNull P player, @Nullable String header, @Nullable String footer);
 
   public abstract void disconnectPlayer(@NonNull P player, @NonNull String message);
 
@@ -281,14 +309,17 @@ public boolean checkPlayerMaintenance(@NonNull P player) {
 
   private @NonNull String replaceTabListItem(
     @NonNull String input,
-    @NonNull P player,
+    @NonNull String time,
     int onlinePlayers,
     int maxPlayers
   ) {
-    input = input.replace("%time%", TIME_FORMATTER.format(LocalTime.now()))
+    input = input.replace("%time%", time)
       .replace("%syncproxy_online_players%", String.valueOf(onlinePlayers))
-      .replace("%syncproxy_max_players%", String.valueOf(maxPlayers))
-      .replace("%player_name%", this.playerName(player));
+      .replace("%syncproxy_max_players%", String.valueOf(maxPlayers));
     return BridgeServiceHelper.fillCommonPlaceholders(input, null, this.serviceInfoHolder.serviceInfo());
   }
+
+  private record RenderedTabList(@NonNull String header, @NonNull String footer) {
+
+  }
 }
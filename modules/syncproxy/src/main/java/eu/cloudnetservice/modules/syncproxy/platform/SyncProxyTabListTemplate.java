@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.syncproxy.platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+final class SyncProxyTabListTemplate {
+
+  private static final Set<String> PLAYER_PLACEHOLDERS = Set.of("player_name", "ping", "server");
+
+  private final String source;
+  private final List<Segment> segments;
+  private final boolean playerIndependent;
+
+  private SyncProxyTabListTemplate(@NonNull String source, @NonNull List<Segment> segments) {
+    this.source = source;
+    this.segments = segments;
+    this.playerIndependent = segments.stream().noneMatch(Segment::placeholder);
+  }
+
+  static @NonNull SyncProxyTabListTemplate compile(@NonNull String input, @Nullable SyncProxyTabListTemplate previous) {
+    // the shared placeholders are already replaced, so the input only changes when the frame or a shared value changes
+    if (previous != null && previous.source.equals(input)) {
+      return previous;
+    }
+
+    List<Segment> segments = new ArrayList<>();
+    var literalStart = 0;
+    var index = input.indexOf('%');
+    while (index != -1) {
+      var end = input.indexOf('%', index + 1);
+      if (end == -1) {
+        break;
+      }
+
+      var placeholder = input.substring(index + 1, end);
+      if (PLAYER_PLACEHOLDERS.contains(placeholder)) {
+        if (literalStart < index) {
+          segments.add(new Segment(input.substring(literalStart, index), false));
+        }
+
+        segments.add(new Segment(placeholder, true));
+        literalStart = end + 1;
+        index = input.indexOf('%', literalStart);
+      } else {
+        // not a player placeholder, the closing percent might be the start of the next placeholder
+        index = end;
+      }
+    }
+
+    if (literalStart < input.length()) {
+      segments.add(new Segment(input.substring(literalStart), false));
+    }
+
+    return new SyncProxyTabListTemplate(input, List.copyOf(segments));
+  }
+
+  @NonNull String render(@NonNull Function<String, String> placeholderResolver) {
+    if (this.playerIndependent) {
+      return this.source;
+    }
+
+    var builder = new StringBuilder(this.source.length() + 16);
+    for (var segment : this.segments) {
+      if (segment.placeholder()) {
+        // keep unresolvable placeholders as-is, like a plain string replace would
+        var value = placeholderResolver.apply(segment.value());
+        builder.append(value == null ? '%' + segment.value() + '%' : value);
+      } else {
+        builder.append(segment.value());
+      }
+    }
+
+    return builder.toString();
+  }
+
+  private record Segment(@NonNull String value, boolean placeholder) {
+
+  }
+}
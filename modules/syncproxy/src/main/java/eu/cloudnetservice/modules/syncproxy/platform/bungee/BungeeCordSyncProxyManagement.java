@@ -89,10 +89,11 @@ public void registerService(@NonNull ServiceRegistry registry) {
   }
 
   @Override
-  public void playerTabList(@NonNull ProxiedPlayer player, @Nullable String header, @Nullable String footer) {
+  public boolean playerTabList(@NonNull ProxiedPlayer player, @Nullable String header, @Nullable String footer) {
     player.setTabHeader(
-      header != null ? ComponentFormats.ADVENTURE_TO_BUNGEE.convert(this.replaceTabPlaceholder(header, player)) : null,
-      footer != null ? ComponentFormats.ADVENTURE_TO_BUNGEE.convert(this.replaceTabPlaceholder(footer, player)) : null);
+      header != null ? ComponentFormats.ADVENTURE_TO_BUNGEE.convert(header) : null,
+      footer != null ? ComponentFormats.ADVENTURE_TO_BUNGEE.convert(footer) : null);
+    return true;
   }
 
   @Override
@@ -112,9 +113,12 @@ public boolean checkPlayerPermission(@NonNull ProxiedPlayer player, @NonNull Str
     return player.hasPermission(permission);
   }
 
-  private @NonNull String replaceTabPlaceholder(@NonNull String input, @NonNull ProxiedPlayer player) {
-    return input
-      .replace("%ping%", String.valueOf(player.getPing()))
-      .replace("%server%", player.getServer() == null ? "UNAVAILABLE" : player.getServer().getInfo().getName());
+  @Override
+  protected @Nullable String playerPlaceholder(@NonNull ProxiedPlayer player, @NonNull String placeholder) {
+    return switch (placeholder) {
+      case "ping" -> String.valueOf(player.getPing());
+      case "server" -> player.getServer() == null ? "UNAVAILABLE" : player.getServer().getInfo().getName();
+      default -> super.playerPlaceholder(player, placeholder);
+    };
   }
 }
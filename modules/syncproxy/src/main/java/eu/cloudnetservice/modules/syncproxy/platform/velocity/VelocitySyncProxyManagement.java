@@ -87,19 +87,20 @@ public void registerService(@NonNull ServiceRegistry registry) {
   }
 
   @Override
-  public void playerTabList(@NonNull Player player, @Nullable String header, @Nullable String footer) {
+  public boolean playerTabList(@NonNull Player player, @Nullable String header, @Nullable String footer) {
     if (player.getProtocolState() != ProtocolState.PLAY) {
       // prevent tab list updates if player is in an invalid state. Issue #1467
-      return;
+      return false;
     }
 
     if (header == null || footer == null) {
       player.getTabList().clearHeaderAndFooter();
     } else {
       player.sendPlayerListHeaderAndFooter(
-        ComponentFormats.BUNGEE_TO_ADVENTURE.convert(this.replaceTabPlaceholder(header, player)),
-        ComponentFormats.BUNGEE_TO_ADVENTURE.convert(this.replaceTabPlaceholder(footer, player)));
+        ComponentFormats.BUNGEE_TO_ADVENTURE.convert(header),
+        ComponentFormats.BUNGEE_TO_ADVENTURE.convert(footer));
     }
+    return true;
   }
 
   @Override
@@ -119,13 +120,14 @@ public boolean checkPlayerPermission(@NonNull Player player, @NonNull String per
     return player.hasPermission(permission);
   }
 
-  private @NonNull String replaceTabPlaceholder(@NonNull String input, @NonNull Player player) {
-    var server = player.getCurrentServer()
-      .map(serverConnection -> serverConnection.getServerInfo().getName())
-      .orElse("UNAVAILABLE");
-
-    return input
-      .replace("%ping%", String.valueOf(player.getPing()))
-      .replace("%server%", server);
+  @Override
+  protected @Nullable String playerPlaceholder(@NonNull Player player, @NonNull String placeholder) {
+    return switch (placeholder) {
+      case "ping" -> String.valueOf(player.getPing());
+      case "server" -> player.getCurrentServer()
+        .map(serverConnection -> serverConnection.getServerInfo().getName())
+        .orElse("UNAVAILABLE");
+      default -> super.playerPlaceholder(player, placeholder);
+    };
   }
 }
@@ -89,8 +89,9 @@ public void registerService(@NonNull ServiceRegistry registry) {
   }
 
   @Override
-  public void playerTabList(@NonNull ProxiedPlayer player, @Nullable String header, @Nullable String footer) {
-    // there is no support for header and footer
+  public boolean playerTabList(@NonNull ProxiedPlayer player, @Nullable String header, @Nullable String footer) {
+    // there is no support for header and footer, report the tab list as applied to skip unchanged frames
+    return true;
   }
 
   @Override
@@ -37,6 +37,7 @@
 import eu.cloudnetservice.driver.registry.ServiceRegistry;
 import eu.cloudnetservice.driver.registry.injection.Service;
 import eu.cloudnetservice.driver.template.TemplateStorage;
+import eu.cloudnetservice.node.boot.BootPlanner;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.NodeServerState;
 import eu.cloudnetservice.node.cluster.task.LocalNodeUpdateTask;
@@ -72,6 +73,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -85,344 +87,424 @@ public final class Node {
 
   @Inject
   @Order(0)
-  private void initializeLogging(@NonNull @Named("root") Logger rootLogger) {
-    // override the system output streams, this isn't strictly required, but some modules might use them which
-    // could look out of place in the normal logging context
-    System.setErr(LogOutputStream.forWarn(rootLogger).toPrintStream());
-    System.setOut(LogOutputStream.forInfo(rootLogger).toPrintStream());
+  private void initializeLogging(
+    @NonNull BootPlanner bootPlanner,
+    @NonNull @Named("root") Logger rootLogger
+  ) throws Exception {
+    bootPlanner.runStep("logging", () -> {
+      // override the system output streams, this isn't strictly required, but some modules might use them which
+      // could look out of place in the normal logging context
+      System.setErr(LogOutputStream.forWarn(rootLogger).toPrintStream());
+      System.setOut(LogOutputStream.forInfo(rootLogger).toPrintStream());
+    });
   }
 
   @Inject
   @Order(0)
-  private void initLanguage(@NonNull Configuration configuration) {
-    I18n.loadFromLangPath(Node.class);
-    I18n.language(configuration.language());
+  private void initLanguage(@NonNull BootPlanner bootPlanner, @NonNull Configuration configuration) throws Exception {
+    bootPlanner.runStep("language", () -> {
+      I18n.loadFromLangPath(Node.class);
+      I18n.language(configuration.language());
+    });
   }
 
   @Inject
   @Order(50)
-  private void greetUser(@NonNull Console console) {
-    HeaderReader.readAndPrintHeader(console);
+  private void greetUser(@NonNull BootPlanner bootPlanner, @NonNull Console console) throws Exception {
+    bootPlanner.runStep("header", () -> HeaderReader.readAndPrintHeader(console));
   }
 
   @Inject
   @Order(100)
-  private void registerDummyRPCHandlers(@NonNull RPCFactory rpcFactory, @NonNull RPCHandlerRegistry handlerRegistry) {
-    var dbHandler = rpcFactory.newRPCHandlerBuilder(Database.class).build();
-    handlerRegistry.registerHandler(dbHandler);
+  private void registerDummyRPCHandlers(
+    @NonNull BootPlanner bootPlanner,
+    @NonNull RPCFactory rpcFactory,
+    @NonNull RPCHandlerRegistry handlerRegistry
+  ) throws Exception {
+    bootPlanner.runStep("rpc-handlers", () -> {
+      var dbHandler = rpcFactory.newRPCHandlerBuilder(Database.class).build();
+      handlerRegistry.registerHandler(dbHandler);
 
-    var templateStorageHandler = rpcFactory.newRPCHandlerBuilder(TemplateStorage.class).build();
-    handlerRegistry.registerHandler(templateStorageHandler);
+      var templateStorageHandler = rpcFactory.newRPCHandlerBuilder(TemplateStorage.class).build();
+      handlerRegistry.registerHandler(templateStorageHandler);
+    });
   }
 
   @Inject
   @Order(150)
-  private void loadServiceVersions(@NonNull ServiceVersionProvider serviceVersionProvider) {
-    // load the service versions
-    serviceVersionProvider.loadDefaultVersionTypes();
-    LOGGER.info(I18n.trans("start-version-provider", serviceVersionProvider.serviceVersionTypes().size()));
+  private void loadServiceVersions(
+    @NonNull BootPlanner bootPlanner,
+    @NonNull ServiceVersionProvider serviceVersionProvider
+  ) {
+    // load the service versions, this usually requires a download and can be done while loading the modules
+    bootPlanner.submitStep("service-versions", () -> {
+      serviceVersionProvider.loadDefaultVersionTypes();
+      LOGGER.info(I18n.trans("start-version-provider", serviceVersionProvider.serviceVersionTypes().size()));
+    });
   }
 
   @Inject
   @Order(200)
   private void setupModuleProvider(
+    @NonNull BootPlanner bootPlanner,
     @NonNull ModuleProvider moduleProvider,
     @NonNull NodeModuleProviderHandler providerHandler,
     @NonNull @Named("launcherDir") Path launcherDirectory
-  ) {
-    moduleProvider.moduleProviderHandler(providerHandler);
-    moduleProvider.moduleDependencyLoader(new DefaultModuleDependencyLoader(launcherDirectory.resolve("libs")));
+  ) throws Exception {
+    bootPlanner.runStep("module-provider", () -> {
+      moduleProvider.moduleProviderHandler(providerHandler);
+      moduleProvider.moduleDependencyLoader(new DefaultModuleDependencyLoader(launcherDirectory.resolve("libs")));
+    });
   }
 
   @Inject
   @Order(250)
-  private void registerDefaultServices(@NonNull ServiceRegistry serviceRegistry, @NonNull Configuration configuration) {
-    // local template storage
-    var localStoragePath = Path.of(System.getProperty("cloudnet.storage.local", "local/templates"));
-    serviceRegistry.registerProvider(TemplateStorage.class, "local", new LocalTemplateStorage(localStoragePath));
-
-    // xodus database
-    var runsInCluster = !configuration.clusterConfig().nodes().isEmpty();
-    var dbDirectory = new File(System.getProperty("cloudnet.database.xodus.path", "local/database/xodus"));
-    serviceRegistry.registerProvider(
-      NodeDatabaseProvider.class,
-      "xodus",
-      new XodusDatabaseProvider(dbDirectory, runsInCluster));
+  private void registerDefaultServices(
+    @NonNull BootPlanner bootPlanner,
+    @NonNull ServiceRegistry serviceRegistry,
+    @NonNull Configuration configuration
+  ) throws Exception {
+    bootPlanner.runStep("default-services", () -> {
+      // local template storage
+      var localStoragePath = Path.of(System.getProperty("cloudnet.storage.local", "local/templates"));
+      serviceRegistry.registerProvider(TemplateStorage.class, "local", new LocalTemplateStorage(localStoragePath));
+
+      // xodus database
+      var runsInCluster = !configuration.clusterConfig().nodes().isEmpty();
+      var dbDirectory = new File(System.getProperty("cloudnet.database.xodus.path", "local/database/xodus"));
+      serviceRegistry.registerProvider(
+        NodeDatabaseProvider.class,
+        "xodus",
+        new XodusDatabaseProvider(dbDirectory, runsInCluster));
+    });
   }
 
   @Inject
   @Order(300)
   private void convertDatabase(
+    @NonNull BootPlanner bootPlanner,
     @NonNull Configuration configuration,
     @NonNull @Service(name = "xodus") NodeDatabaseProvider xodusProvider
-  ) throws Exception { // TODO: remove in 4.1
-    var configuredDatabase = configuration.properties().getString("database_provider", "xodus");
-    // check if we need to migrate the old h2 database into a new xodus database
-    if (configuredDatabase.equals("h2")) {
-      // initialize the provider for the local h2 files
-      var h2Provider = new H2DatabaseProvider(System.getProperty("cloudnet.database.h2.path", "local/database/h2"));
-      h2Provider.init();
-      // initialize the provider for our new xodus database
-      xodusProvider.init();
-      // run the migration on all tables in the h2 database
-      for (var databaseName : h2Provider.databaseNames()) {
-        var h2Database = h2Provider.database(databaseName);
-        // create the new xodus storage
-        var xodusDatabase = xodusProvider.database(databaseName);
-        // insert the data of the h2 database into the xodus database
-        // in chunks of 100 documents to prevent oom
-        h2Database.iterate(xodusDatabase::insert, 100);
-      }
+  ) { // TODO: remove in 4.1
+    // the conversion is independent of the module loading, run it concurrently
+    bootPlanner.submitStep("database-conversion", () -> {
+      var configuredDatabase = configuration.properties().getString("database_provider", "xodus");
+      // check if we need to migrate the old h2 database into a new xodus database
+      if (configuredDatabase.equals("h2")) {
+        // initialize the provider for the local h2 files
+        var h2Provider = new H2DatabaseProvider(System.getProperty("cloudnet.database.h2.path", "local/database/h2"));
+        h2Provider.init();
+        // initialize the provider for our new xodus database
+        xodusProvider.init();
+        // run the migration on all tables in the h2 database
+        for (var databaseName : h2Provider.databaseNames()) {
+          var h2Database = h2Provider.database(databaseName);
+          // create the new xodus storage
+          var xodusDatabase = xodusProvider.database(databaseName);
+          // insert the data of the h2 database into the xodus database
+          // in chunks of 100 documents to prevent oom
+          h2Database.iterateChunks(xodusDatabase::insertAll, 100);
+        }
 
-      // close the database provider as they are not needed anymore
-      h2Provider.close();
-      xodusProvider.close();
+        // close the database provider as they are not needed anymore
+        h2Provider.close();
+        xodusProvider.close();
 
-      // save the updated configuration
-      configuration.properties(configuration.properties().mutableCopy().append("database_provider", "xodus"));
-      configuration.save();
-    }
+        // save the updated configuration
+        configuration.properties(configuration.properties().mutableCopy().append("database_provider", "xodus"));
+        configuration.save();
+      }
+    }, "default-services");
   }
 
   @Inject
   @Order(350)
   private void updateAndLoadModules(
+    @NonNull BootPlanner bootPlanner,
     @NonNull ModulesHolder modulesHolder,
     @NonNull ModuleProvider moduleProvider,
     @NonNull ModuleUpdater moduleUpdater,
     @NonNull ModuleUpdaterRegistry updaterRegistry
-  ) throws Exception {
-    // apply all module updates if we're not running in dev mode
-    if (!DEV_MODE) {
-      LOGGER.info(I18n.trans("start-module-updater"));
-      updaterRegistry.registerUpdater(moduleUpdater);
-      updaterRegistry.runUpdater(modulesHolder, !AUTO_UPDATE);
-    }
-
-    // load the modules before proceeding for example to allow the database provider init
-    moduleProvider.loadAll();
+  ) {
+    bootPlanner.submitStep("modules-load", () -> {
+      // apply all module updates if we're not running in dev mode
+      if (!DEV_MODE) {
+        LOGGER.info(I18n.trans("start-module-updater"));
+        updaterRegistry.registerUpdater(moduleUpdater);
+        updaterRegistry.runUpdater(modulesHolder, !AUTO_UPDATE);
+      }
+
+      // load the modules before proceeding for example to allow the database provider init
+      moduleProvider.loadAll();
+    }, "module-provider");
   }
 
   @Inject
   @Order(400)
   private void initializeDatabaseProvider(
+    @NonNull BootPlanner bootPlanner,
     @NonNull Configuration configuration,
     @NonNull ServiceRegistry serviceRegistry,
     @NonNull InjectionLayer<?> bootLayer,
     @NonNull RPCFactory rpcFactory,
     @NonNull RPCHandlerRegistry rpcHandlerRegistry
   ) throws Exception {
-    // initialize the default database provider
-    var configuredProvider = configuration.properties().getString("database_provider", "xodus");
-    var provider = serviceRegistry.provider(NodeDatabaseProvider.class, configuredProvider);
-
-    // check if the provider is present & can be initialized
-    if (provider == null || !provider.init()) {
-      provider = serviceRegistry.provider(NodeDatabaseProvider.class, "xodus");
+    // the database provider might be provided by a module and the conversion must be done before the init
+    bootPlanner.awaitSteps("database-conversion", "modules-load");
+    bootPlanner.runStep("database", () -> {
+      // initialize the default database provider
+      var configuredProvider = configuration.properties().getString("database_provider", "xodus");
+      var provider = serviceRegistry.provider(NodeDatabaseProvider.class, configuredProvider);
+
+      // check if the provider is present & can be initialized
       if (provider == null || !provider.init()) {
-        // unable to start without a database
-        throw new IllegalStateException("No database provider selected for startup - Unable to proceed");
+        provider = serviceRegistry.provider(NodeDatabaseProvider.class, "xodus");
+        if (provider == null || !provider.init()) {
+          // unable to start without a database
+          throw new IllegalStateException("No database provider selected for startup - Unable to proceed");
+        }
       }
-    }
 
-    // bind the provider for dependency injection
-    var binding = BindingBuilder.create()
-      .bindAll(DatabaseProvider.class, NodeDatabaseProvider.class)
-      .toInstance(provider);
-    bootLayer.install(binding);
+      // bind the provider for dependency injection
+      var binding = BindingBuilder.create()
+        .bindAll(DatabaseProvider.class, NodeDatabaseProvider.class)
+        .toInstance(provider);
+      bootLayer.install(binding);
 
-    // register the rpc handler for the database provider
-    var dbProviderHandler = rpcFactory.newRPCHandlerBuilder(DatabaseProvider.class).targetInstance(provider).build();
-    rpcHandlerRegistry.registerHandler(dbProviderHandler);
+      // register the rpc handler for the database provider
+      var dbProviderHandler = rpcFactory.newRPCHandlerBuilder(DatabaseProvider.class).targetInstance(provider).build();
+      rpcHandlerRegistry.registerHandler(dbProviderHandler);
 
-    // notify the user about the selected database
-    LOGGER.info(I18n.trans("start-connect-database", provider.name()));
+      // notify the user about the selected database
+      LOGGER.info(I18n.trans("start-connect-database", provider.name()));
+    });
   }
 
   @Inject
   @Order(450)
   private void executeSetupIfRequired(
+    @NonNull BootPlanner bootPlanner,
     @NonNull DefaultInstallation installation,
     // we have to inject the task provider here so that it registers the default task setup when initialized
     @NonNull ServiceTaskProvider taskProvider
-  ) {
-    // execute the setup if needed
-    installation.executeFirstStartSetup();
+  ) throws Exception {
+    // the setup might need the service versions to be loaded
+    bootPlanner.awaitSteps("service-versions");
+    bootPlanner.runStep("setup", () -> {
+      // execute the setup if needed
+      installation.executeFirstStartSetup();
+    });
   }
 
   @Inject
   @Order(500)
   private void registerConfiguredNodeServers(
+    @NonNull BootPlanner bootPlanner,
     @NonNull Configuration configuration,
     @NonNull NodeServerProvider nodeProvider
-  ) {
-    nodeProvider.registerNodes(configuration.clusterConfig());
-    nodeProvider.localNode().updateLocalSnapshot();
-    nodeProvider.localNode().state(NodeServerState.READY);
-    nodeProvider.selectHeadNode();
+  ) throws Exception {
+    bootPlanner.runStep("cluster-nodes", () -> {
+      nodeProvider.registerNodes(configuration.clusterConfig());
+      nodeProvider.localNode().updateLocalSnapshot();
+      nodeProvider.localNode().state(NodeServerState.READY);
+      nodeProvider.selectHeadNode();
+    });
   }
 
   @Inject
   @Order(550)
   private void bindNetworkListeners(
+    @NonNull BootPlanner bootPlanner,
     @NonNull Configuration configuration,
     @NonNull NetworkServer networkServer
-  ) throws InterruptedException {
-    // print out some network information, more for debug reasons in normal cases
-    LOGGER.info(I18n.trans("network-selected-transport", NettyUtil.selectedNettyTransport().displayName()));
-
-    // network server init
-    var connectionCounter = new AtomicInteger();
-    for (var listener : configuration.identity().listeners()) {
-      networkServer.addListener(listener).handle(($, exception) -> {
-        // check if the bind failed
-        if (exception != null) {
-          LOGGER.info(I18n.trans("network-listener-bound-exceptionally", listener, exception.getMessage()));
-        } else {
-          connectionCounter.incrementAndGet();
-          LOGGER.info(I18n.trans("network-listener-bound", listener));
-        }
+  ) {
+    bootPlanner.submitStep("network-listeners", () -> {
+      // print out some network information, more for debug reasons in normal cases
+      LOGGER.info(I18n.trans("network-selected-transport", NettyUtil.selectedNettyTransport().displayName()));
+
+      // network server init
+      var connectionCounter = new AtomicInteger();
+      for (var listener : configuration.identity().listeners()) {
+        networkServer.addListener(listener).handle(($, exception) -> {
+          // check if the bind failed
+          if (exception != null) {
+            LOGGER.info(I18n.trans("network-listener-bound-exceptionally", listener, exception.getMessage()));
+          } else {
+            connectionCounter.incrementAndGet();
+            LOGGER.info(I18n.trans("network-listener-bound", listener));
+          }
+
+          // prevent the exception from being thrown
+          return null;
+        }).join();
+      }
 
-        // prevent the exception from being thrown
-        return null;
-      }).join();
-    }
-
-    // we can hard stop here if no network listener was bound - the wrappers will not be able to connect to the node
-    if (connectionCounter.get() == 0) {
-      LOGGER.error(I18n.trans("startup-failed-no-network-listener-bound"));
-      // wait a bit, then stop
-      Thread.sleep(5000);
-      System.exit(1);
-    }
+      // we can hard stop here if no network listener was bound - the wrappers will not be able to connect to the node
+      if (connectionCounter.get() == 0) {
+        LOGGER.error(I18n.trans("startup-failed-no-network-listener-bound"));
+        // wait a bit, then stop
+        Thread.sleep(5000);
+        System.exit(1);
+      }
+    }, "rpc-handlers");
   }
 
   @Inject
   @Order(600)
-  private void establishNodeConnections(@NonNull NodeServerProvider nodeServerProvider) {
-    // network client init
-    var nodeConnections = new Phaser(1);
-    Collection<BooleanSupplier> waitingNodeAvailableSuppliers = new LinkedList<>();
-    for (var node : nodeServerProvider.nodeServers()) {
-      // skip all node servers which are already available (normally only the local node)
-      if (node.available()) {
-        continue;
-      }
-
-      // register the connection attempt
-      nodeConnections.register();
-
-      // try to connect to the node
-      LOGGER.info(I18n.trans("start-node-connection-try", node.info().uniqueId()));
-      node.connect().whenComplete(($, exception) -> {
-        if (exception != null) {
-          // the connection couldn't be established
-          LOGGER.warn(I18n.trans("start-node-connection-failure", node.info().uniqueId(), exception.getMessage()));
-        } else {
-          // wait for the node connection to become available
-          waitingNodeAvailableSuppliers.add(node::available);
+  private void establishNodeConnections(
+    @NonNull BootPlanner bootPlanner,
+    @NonNull NodeServerProvider nodeServerProvider
+  ) {
+    bootPlanner.submitStep("node-connections", () -> {
+      // network client init
+      var nodeConnections = new Phaser(1);
+      Collection<BooleanSupplier> waitingNodeAvailableSuppliers = new LinkedList<>();
+      for (var node : nodeServerProvider.nodeServers()) {
+        // skip all node servers which are already available (normally only the local node)
+        if (node.available()) {
+          continue;
         }
 
-        // count down by one arrival
-        nodeConnections.arriveAndDeregister();
-      });
-    }
-
-    // wait for all connections to establish (or fail during connect)
-    nodeConnections.arriveAndAwaitAdvance();
-
-    // now we can wait for all nodes to become available (if needed)
-    if (!waitingNodeAvailableSuppliers.isEmpty()) {
-      // notify the user that we're waiting
-      LOGGER.info(I18n.trans("start-node-connection-waiting", waitingNodeAvailableSuppliers.size()));
-
-      var waitStartInstant = Instant.now();
-      while (!waitingNodeAvailableSuppliers.isEmpty()) {
-        // remove all boolean suppliers that were notified that the node is available
-        waitingNodeAvailableSuppliers.removeIf(BooleanSupplier::getAsBoolean);
-
-        // time-out this loop if we waited for more than 7 seconds
-        var waitDuration = Duration.between(waitStartInstant, Instant.now());
-        if (waitDuration.getSeconds() >= 7) {
-          break;
-        }
+        // register the connection attempt
+        nodeConnections.register();
+
+        // try to connect to the node
+        LOGGER.info(I18n.trans("start-node-connection-try", node.info().uniqueId()));
+        node.connect().whenComplete(($, exception) -> {
+          if (exception != null) {
+            // the connection couldn't be established
+            LOGGER.warn(I18n.trans("start-node-connection-failure", node.info().uniqueId(), exception.getMessage()));
+          } else {
+            // wait for the node connection to become available
+            waitingNodeAvailableSuppliers.add(node::available);
+          }
+
+          // count down by one arrival
+          nodeConnections.arriveAndDeregister();
+        });
+      }
 
-        try {
-          // wait for a tiny bit before checking again
-          //noinspection BusyWait
-          Thread.sleep(50L);
-        } catch (InterruptedException exception) {
-          Thread.currentThread().interrupt(); // reset the interrupted state of the thread
-          throw new IllegalThreadStateException();
+      // wait for all connections to establish (or fail during connect)
+      nodeConnections.arriveAndAwaitAdvance();
+
+      // now we can wait for all nodes to become available (if needed)
+      if (!waitingNodeAvailableSuppliers.isEmpty()) {
+        // notify the user that we're waiting
+        LOGGER.info(I18n.trans("start-node-connection-waiting", waitingNodeAvailableSuppliers.size()));
+
+        var waitStartInstant = Instant.now();
+        while (!waitingNodeAvailableSuppliers.isEmpty()) {
+          // remove all boolean suppliers that were notified that the node is available
+          waitingNodeAvailableSuppliers.removeIf(BooleanSupplier::getAsBoolean);
+
+          // time-out this loop if we waited for more than 7 seconds
+          var waitDuration = Duration.between(waitStartInstant, Instant.now());
+          if (waitDuration.getSeconds() >= 7) {
+            break;
+          }
+
+          try {
+            // wait for a tiny bit before checking again
+            //noinspection BusyWait
+            Thread.sleep(50L);
+          } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt(); // reset the interrupted state of the thread
+            throw new IllegalThreadStateException();
+          }
         }
       }
-    }
+    }, "cluster-nodes");
   }
 
   @Inject
   @Order(650)
-  private void registerDefaultCommands(@NonNull CommandProvider commandProvider, @NonNull Console console) {
-    // register the default commands
-    LOGGER.info(I18n.trans("start-commands"));
-    commandProvider.registerDefaultCommands();
-    commandProvider.registerConsoleHandler(console);
+  private void registerDefaultCommands(
+    @NonNull BootPlanner bootPlanner,
+    @NonNull CommandProvider commandProvider,
+    @NonNull Console console
+  ) {
+    bootPlanner.submitStep("commands", () -> {
+      // register the default commands
+      LOGGER.info(I18n.trans("start-commands"));
+      commandProvider.registerDefaultCommands();
+      commandProvider.registerConsoleHandler(console);
+    }, "setup");
   }
 
   @Inject
   @Order(700)
-  private void startModules(@NonNull ModuleProvider moduleProvider) {
-    moduleProvider.startAll();
+  private void startModules(@NonNull BootPlanner bootPlanner, @NonNull ModuleProvider moduleProvider) throws Exception {
+    // modules might rely on the network, the cluster and the commands being ready when they get started
+    bootPlanner.awaitSteps("network-listeners", "node-connections", "commands");
+    bootPlanner.runStep("modules-start", moduleProvider::startAll);
   }
 
   @Inject
   @Order(750)
-  private void requestClusterDataIfNeeded(@NonNull NodeServerProvider nodeServerProvider) {
-    // we are now connected to all nodes - request the full cluster data set if the head node is not the current one
-    if (!nodeServerProvider.localNode().head()) {
-      LOGGER.info(I18n.trans("start-requesting-data"));
-      ChannelMessage.builder()
-        .message("request_initial_cluster_data")
-        .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-        .targetNode(nodeServerProvider.headNode().info().uniqueId())
-        .build()
-        .send();
-    }
+  private void requestClusterDataIfNeeded(
+    @NonNull BootPlanner bootPlanner,
+    @NonNull NodeServerProvider nodeServerProvider
+  ) throws Exception {
+    bootPlanner.runStep("cluster-data-request", () -> {
+      // we are now connected to all nodes - request the full cluster data set if the head node is not the current one
+      if (!nodeServerProvider.localNode().head()) {
+        LOGGER.info(I18n.trans("start-requesting-data"));
+        ChannelMessage.builder()
+          .message("request_initial_cluster_data")
+          .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+          .targetNode(nodeServerProvider.headNode().info().uniqueId())
+          .build()
+          .send();
+      }
+    });
   }
 
   @Inject
   @Order(800)
   private void scheduleNodeUpdateTasks(
+    @NonNull BootPlanner bootPlanner,
     @NonNull LocalNodeUpdateTask localNodeUpdateTask,
     @NonNull NodeDisconnectTrackerTask disconnectTrackerTask
-  ) {
-    // create a scheduled executor that we use to schedule the task, ensure that we shut it down when
-    // the process terminates to ensure that no threads are preventing the shutdown process to complete
-    var updateTaskExecutor = Executors.newSingleThreadScheduledExecutor();
-    Runtime.getRuntime().addShutdownHook(new Thread(updateTaskExecutor::shutdownNow));
-
-    // schedule both update tasks
-    updateTaskExecutor.scheduleAtFixedRate(localNodeUpdateTask, 1, 1, TimeUnit.SECONDS);
-    updateTaskExecutor.scheduleAtFixedRate(disconnectTrackerTask, 5, 5, TimeUnit.SECONDS);
+  ) throws Exception {
+    bootPlanner.runStep("update-tasks", () -> {
+      // create a scheduled executor that we use to schedule the task, ensure that we shut it down when
+      // the process terminates to ensure that no threads are preventing the shutdown process to complete
+      var updateTaskExecutor = Executors.newSingleThreadScheduledExecutor();
+      Runtime.getRuntime().addShutdownHook(new Thread(updateTaskExecutor::shutdownNow));
+
+      // schedule both update tasks
+      updateTaskExecutor.scheduleAtFixedRate(localNodeUpdateTask, 1, 1, TimeUnit.SECONDS);
+      updateTaskExecutor.scheduleAtFixedRate(disconnectTrackerTask, 5, 5, TimeUnit.SECONDS);
+    });
   }
 
   @Inject
   @Order(10_000)
-  private void installShutdownHook(@NonNull Provider<ShutdownHandler> shutdownHandlerProvider) {
-    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-      // get the shutdown handler instance & execute the shutdown process
-      var shutdownHandler = shutdownHandlerProvider.get();
-      shutdownHandler.shutdown();
-    }, ShutdownHandler.SHUTDOWN_THREAD_NAME));
+  private void installShutdownHook(
+    @NonNull BootPlanner bootPlanner,
+    @NonNull Provider<ShutdownHandler> shutdownHandlerProvider
+  ) throws Exception {
+    bootPlanner.runStep("shutdown-hook", () -> {
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        // get the shutdown handler instance & execute the shutdown process
+        var shutdownHandler = shutdownHandlerProvider.get();
+        shutdownHandler.shutdown();
+      }, ShutdownHandler.SHUTDOWN_THREAD_NAME));
+    });
   }
 
   @Inject
   @Order(Integer.MAX_VALUE)
   private void finishStartup(
     @NonNull TickLoop tickLoop,
+    @NonNull BootPlanner bootPlanner,
     @NonNull EventManager eventManager,
     @NonNull FileDeployCallbackListener callbackListener,
     @NonNull @Named("startInstant") Instant startInstant
-  ) {
+  ) throws Exception {
+    // ensure that all boot steps that were running in the background are done
+    bootPlanner.awaitAllSteps();
+
     // register listeners & post node startup finish
     eventManager.registerListener(callbackListener);
     eventManager.callEvent(new CloudNetNodePostInitializationEvent());
@@ -430,6 +512,9 @@ private void finishStartup(
 
     // notify that we are done & start the main tick loop
     LOGGER.info(I18n.trans("start-done", Duration.between(startInstant, Instant.now()).toMillis()));
+    LOGGER.info(I18n.trans("start-boot-steps", bootPlanner.stepTimings().stream()
+      .map(timing -> timing.name() + " " + timing.duration().toMillis() + "ms")
+      .collect(Collectors.joining(", "))));
     tickLoop.start();
   }
 }
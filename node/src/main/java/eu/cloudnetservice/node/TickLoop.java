@@ -19,6 +19,7 @@
 import eu.cloudnetservice.common.concurrent.ListenableTask;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.NodeServerState;
@@ -206,10 +207,12 @@ public void start() {
   private void startService() {
     for (var task : this.taskProvider.serviceTasks()) {
       if (!task.maintenance()) {
-        // get the count of running services
+        // get the count of running services, services which are currently preparing to start count as running
         var runningServiceCount = this.serviceManager.servicesByTask(task.name())
           .stream()
-          .filter(taskService -> taskService.lifeCycle() == ServiceLifeCycle.RUNNING)
+          .filter(taskService -> taskService.lifeCycle() == ServiceLifeCycle.RUNNING
+            || (taskService.lifeCycle() == ServiceLifeCycle.PREPARED
+            && taskService.readProperty(ServiceInfoSnapshot.PREPARING)))
           .count();
         // check if we need to start a service
         if (task.minServiceCount() > runningServiceCount) {
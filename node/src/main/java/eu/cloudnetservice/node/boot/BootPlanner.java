@@ -0,0 +1,246 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.boot;
+
+import io.vavr.CheckedRunnable;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.NonNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Plans and executes the steps of the node boot process. Steps can either be executed directly on the calling thread,
+ * or submitted to run asynchronously as soon as all steps they depend on completed. This allows steps which are
+ * independent of each other (for example loading the service versions and loading the modules) to run concurrently.
+ * <p>
+ * The execution time of each step is recorded and can be retrieved using {@link #stepTimings()}.
+ *
+ * @since 4.0
+ */
+@Singleton
+public final class BootPlanner {
+
+  private final long startNanos = System.nanoTime();
+  private final ExecutorService stepExecutor = Executors.newCachedThreadPool(
+    Thread.ofPlatform().name("CloudNet Boot Step ", 1).daemon().factory());
+
+  private final Queue<BootStepTiming> stepTimings = new ConcurrentLinkedQueue<>();
+  private final Map<String, CompletableFuture<Void>> steps = new ConcurrentHashMap<>();
+
+  /**
+   * Executes the given boot step directly on the calling thread.
+   *
+   * @param name the unique name of the step.
+   * @param step the step to execute.
+   * @throws NullPointerException     if the given name or step is null.
+   * @throws IllegalArgumentException if a step with the given name was already planned.
+   * @throws Exception                if the execution of the given step fails.
+   */
+  public void runStep(@NonNull String name, @NonNull CheckedRunnable step) throws Exception {
+    var stepFuture = this.registerStep(name);
+    try {
+      this.executeTimed(name, step);
+      stepFuture.complete(null);
+    } catch (Throwable throwable) {
+      stepFuture.completeExceptionally(throwable);
+      throw rethrow(throwable);
+    }
+  }
+
+  /**
+   * Submits the given boot step for asynchronous execution. The step is executed as soon as all given dependency steps
+   * completed successfully. If one of the dependencies fails, the step is not executed and completes with the failure
+   * of the dependency instead.
+   *
+   * @param name         the unique name of the step.
+   * @param step         the step to execute.
+   * @param dependencies the names of the steps that must be completed before the given step can be executed.
+   * @throws NullPointerException     if the given name, step or dependencies are null.
+   * @throws IllegalArgumentException if a step with the given name was already planned or a dependency is unknown.
+   */
+  public void submitStep(@NonNull String name, @NonNull CheckedRunnable step, @NonNull String... dependencies) {
+    var dependencyFutures = this.resolveSteps(dependencies);
+    var stepFuture = this.registerStep(name);
+    CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> {
+      try {
+        this.executeTimed(name, step);
+      } catch (Throwable throwable) {
+        throw new CompletionException(throwable);
+      }
+    }, this.stepExecutor).whenComplete((_, exception) -> {
+      if (exception == null) {
+        stepFuture.complete(null);
+      } else {
+        stepFuture.completeExceptionally(exception instanceof CompletionException ? exception.getCause() : exception);
+      }
+    });
+  }
+
+  /**
+   * Waits for the given steps to complete.
+   *
+   * @param names the names of the steps to wait for.
+   * @throws NullPointerException     if the given names array is null.
+   * @throws IllegalArgumentException if one of the given steps is unknown.
+   * @throws Exception                if one of the given steps failed.
+   */
+  public void awaitSteps(@NonNull String... names) throws Exception {
+    this.await(this.resolveSteps(names));
+  }
+
+  /**
+   * Waits for all steps that were planned until now to complete.
+   *
+   * @throws Exception if one of the steps failed.
+   */
+  public void awaitAllSteps() throws Exception {
+    this.await(this.steps.values().toArray(CompletableFuture[]::new));
+  }
+
+  /**
+   * Get the timings of all boot steps that were executed until now, sorted by the time they were started at.
+   *
+   * @return the timings of all executed boot steps.
+   */
+  public @NonNull @UnmodifiableView Collection<BootStepTiming> stepTimings() {
+    List<BootStepTiming> timings = new ArrayList<>(this.stepTimings);
+    timings.sort(Comparator.comparing(BootStepTiming::startOffset));
+    return Collections.unmodifiableList(timings);
+  }
+
+  /**
+   * Registers a new step with the given name.
+   *
+   * @param name the name of the step to register.
+   * @return the future that gets completed when the step completes.
+   * @throws NullPointerException     if the given name is null.
+   * @throws IllegalArgumentException if a step with the given name was already registered.
+   */
+  private @NonNull CompletableFuture<Void> registerStep(@NonNull String name) {
+    var stepFuture = new CompletableFuture<Void>();
+    if (this.steps.putIfAbsent(name, stepFuture) != null) {
+      throw new IllegalArgumentException("Boot step " + name + " was already planned");
+    }
+
+    return stepFuture;
+  }
+
+  /**
+   * Resolves the completion futures of the steps with the given names.
+   *
+   * @param names the names of the steps to resolve.
+   * @return the completion futures of the given steps.
+   * @throws NullPointerException     if the given names array is null.
+   * @throws IllegalArgumentException if one of the given steps is unknown.
+   */
+  private @NonNull CompletableFuture<?>[] resolveSteps(@NonNull String... names) {
+    var futures = new CompletableFuture<?>[names.length];
+    for (var index = 0; index < names.length; index++) {
+      var stepFuture = this.steps.get(names[index]);
+      if (stepFuture == null) {
+        throw new IllegalArgumentException("Boot step " + names[index] + " is unknown");
+      }
+
+      futures[index] = stepFuture;
+    }
+
+    return futures;
+  }
+
+  /**
+   * Executes the given step and records the time it took to execute it.
+   *
+   * @param name the name of the step to execute.
+   * @param step the step to execute.
+   * @throws Throwable if the given step threw an exception.
+   */
+  private void executeTimed(@NonNull String name, @NonNull CheckedRunnable step) throws Throwable {
+    var stepStart = System.nanoTime();
+    try {
+      step.run();
+    } finally {
+      var stepEnd = System.nanoTime();
+      this.stepTimings.add(new BootStepTiming(
+        name,
+        Thread.currentThread().getName(),
+        Duration.ofNanos(stepStart - this.startNanos),
+        Duration.ofNanos(stepEnd - stepStart)));
+    }
+  }
+
+  /**
+   * Waits for all given futures to complete, rethrowing the first failure of them.
+   *
+   * @param futures the futures to wait for.
+   * @throws Exception if one of the futures completed exceptionally.
+   */
+  private void await(@NonNull CompletableFuture<?>[] futures) throws Exception {
+    for (var future : futures) {
+      try {
+        future.get();
+      } catch (ExecutionException exception) {
+        throw rethrow(exception.getCause());
+      }
+    }
+  }
+
+  /**
+   * Rethrows the given throwable if it is an error, returns it if it is an exception or wraps it otherwise.
+   *
+   * @param throwable the throwable to rethrow.
+   * @return the given throwable as an exception.
+   */
+  private static @NonNull Exception rethrow(@NonNull Throwable throwable) {
+    return switch (throwable) {
+      case Error error -> throw error;
+      case Exception exception -> exception;
+      default -> new IllegalStateException(throwable);
+    };
+  }
+
+  /**
+   * The timing of a single executed boot step.
+   *
+   * @param name        the name of the step.
+   * @param threadName  the name of the thread that executed the step.
+   * @param startOffset the time between the creation of the planner and the start of the step.
+   * @param duration    the time it took to execute the step.
+   * @since 4.0
+   */
+  public record BootStepTiming(
+    @NonNull String name,
+    @NonNull String threadName,
+    @NonNull Duration startOffset,
+    @NonNull Duration duration
+  ) {
+
+  }
+}
@@ -17,7 +17,6 @@
 package eu.cloudnetservice.node.cluster.defaults;
 
 import dev.derklaro.aerogel.auto.Provides;
-import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.cluster.NetworkCluster;
 import eu.cloudnetservice.driver.cluster.NetworkClusterNode;
 import eu.cloudnetservice.driver.event.EventManager;
@@ -26,7 +25,6 @@
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketSender;
 import eu.cloudnetservice.driver.network.chunk.TransferStatus;
-import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.rpc.factory.RPCFactory;
 import eu.cloudnetservice.driver.network.rpc.factory.RPCImplementationBuilder;
@@ -35,7 +33,6 @@
 import eu.cloudnetservice.node.cluster.LocalNodeServer;
 import eu.cloudnetservice.node.cluster.NodeServer;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
-import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
 import eu.cloudnetservice.node.network.listener.message.NodeChannelMessageListener;
 import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
@@ -54,8 +51,6 @@
 @Provides(NodeServerProvider.class)
 public class DefaultNodeServerProvider implements NodeServerProvider {
 
-  private final DataSyncRegistry dataSyncRegistry;
-
   private final LocalNodeServer localNode;
   private final Collection<NodeServer> nodeServers;
   private final RPCImplementationBuilder.InstanceAllocator<CloudServiceFactory> cloudServiceFactoryAllocator;
@@ -65,10 +60,8 @@ public class DefaultNodeServerProvider implements NodeServerProvider {
   @Inject
   public DefaultNodeServerProvider(
     @NonNull LocalNodeServer localNode,
-    @NonNull DataSyncRegistry dataSyncRegistry,
     @NonNull RPCFactory rpcFactory
   ) {
-    this.dataSyncRegistry = dataSyncRegistry;
     this.localNode = localNode;
     this.nodeServers = new HashSet<>();
     this.cloudServiceFactoryAllocator = rpcFactory.newRPCBasedImplementationBuilder(CloudServiceFactory.class)
@@ -126,13 +119,12 @@ private void finishConstruction(@NonNull EventManager eventManager) {
 
   @Override
   public void syncDataIntoCluster() {
-    ChannelMessage.builder()
-      .targetNodes()
-      .message("sync_cluster_data")
-      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-      .buffer(this.dataSyncRegistry.prepareClusterData(true))
-      .build()
-      .send();
+    // each node only receives the data that differs from its local data
+    for (var nodeServer : this.nodeServers) {
+      if (nodeServer instanceof RemoteNodeServer remoteNodeServer && remoteNodeServer.available()) {
+        remoteNodeServer.syncClusterData(true);
+      }
+    }
   }
 
   @Override
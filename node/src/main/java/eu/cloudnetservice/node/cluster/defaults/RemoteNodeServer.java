@@ -65,6 +65,7 @@ public class RemoteNodeServer implements NodeServer {
   private volatile NodeInfoSnapshot currentSnapshot;
   private volatile NodeInfoSnapshot lastSnapshot;
   private volatile Instant lastNodeInfoUpdate = Instant.now();
+  private volatile long snapshotVersion = -1;
 
   @Inject
   public RemoteNodeServer(
@@ -141,13 +142,35 @@ public void drain(boolean doDrain) {
 
   @Override
   public void syncClusterData(boolean force) {
+    // send a digest of the local data first, the other node responds with the entries that differ from its data
     ChannelMessage.builder()
-      .message("sync_cluster_data")
+      .message("sync_cluster_data_digest")
       .targetNode(this.info.uniqueId())
       .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-      .buffer(this.dataSyncRegistry.prepareClusterData(force))
+      .buffer(this.dataSyncRegistry.prepareClusterDigest(_ -> true))
       .build()
-      .send();
+      .sendSingleQueryAsync()
+      .exceptionally(_ -> null)
+      .thenAccept(response -> {
+        // the digest query failed, the node is most likely unreachable and would not receive the data either
+        if (response == null) {
+          return;
+        }
+
+        var clusterData = this.dataSyncRegistry.prepareDigestedClusterData(force, response.content());
+        if (clusterData == null) {
+          // the node has the same data already
+          return;
+        }
+
+        ChannelMessage.builder()
+          .message("sync_cluster_data")
+          .targetNode(this.info.uniqueId())
+          .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+          .buffer(clusterData)
+          .build()
+          .send();
+      });
   }
 
   @Override
@@ -198,6 +221,8 @@ public void channel(@Nullable NetworkChannel channel) {
 
   @Override
   public void updateNodeInfoSnapshot(@Nullable NodeInfoSnapshot snapshot) {
+    // the version of the snapshot is unknown unless explicitly given
+    this.snapshotVersion = -1;
     if (snapshot == null) {
       // reset the snapshot, for example a disconnect
       this.lastSnapshot = null;
@@ -216,6 +241,15 @@ public void updateNodeInfoSnapshot(@Nullable NodeInfoSnapshot snapshot) {
     this.lastNodeInfoUpdate = Instant.now();
   }
 
+  public void updateNodeInfoSnapshot(@NonNull NodeInfoSnapshot snapshot, long snapshotVersion) {
+    this.updateNodeInfoSnapshot(snapshot);
+    this.snapshotVersion = snapshotVersion;
+  }
+
+  public long snapshotVersion() {
+    return this.snapshotVersion;
+  }
+
   @Override
   public @NonNull Instant lastNodeInfoUpdate() {
     return this.lastNodeInfoUpdate;
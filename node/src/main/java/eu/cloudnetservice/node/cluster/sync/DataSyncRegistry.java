@@ -19,6 +19,7 @@
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import java.util.function.Predicate;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
 public interface DataSyncRegistry {
@@ -37,5 +38,11 @@ public interface DataSyncRegistry {
 
   @NonNull DataBuf.Mutable prepareClusterData(boolean force, @NonNull Predicate<DataSyncHandler<?>> handlerFilter);
 
+  @Nullable DataBuf.Mutable prepareDigestedClusterData(boolean force, @NonNull DataBuf digestResponse);
+
+  @NonNull DataBuf.Mutable prepareClusterDigest(@NonNull Predicate<DataSyncHandler<?>> handlerFilter);
+
+  @NonNull DataBuf.Mutable handleClusterDigest(@NonNull DataBuf digest);
+
   @UnknownNullability DataBuf handle(@NonNull DataBuf input, boolean force);
 }
@@ -16,6 +16,8 @@
 
 package eu.cloudnetservice.node.cluster.sync;
 
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import com.google.common.primitives.Ints;
 import dev.derklaro.aerogel.auto.Provides;
 import eu.cloudnetservice.common.concurrent.TaskUtil;
@@ -28,9 +30,13 @@
 import jakarta.inject.Singleton;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -41,6 +47,7 @@
 public class DefaultDataSyncRegistry implements DataSyncRegistry {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DefaultDataSyncRegistry.class);
+  private static final HashFunction ENTRY_HASH_FUNCTION = Hashing.murmur3_128();
 
   private final Console console;
   private final Map<String, DataSyncHandler<?>> handlers = new ConcurrentHashMap<>();
@@ -117,6 +124,73 @@ public boolean hasHandler(@NonNull String handlerKey) {
     return result;
   }
 
+  @Override
+  public @Nullable DataBuf.Mutable prepareDigestedClusterData(boolean force, @NonNull DataBuf digestResponse) {
+    // read the names of the requested entries, grouped by the key of their handler
+    var requestedEntryCount = digestResponse.readVarInt();
+    if (requestedEntryCount == 0) {
+      // the data of the other node is the same, nothing to send
+      return null;
+    }
+
+    Map<String, Set<String>> requestedNames = new HashMap<>();
+    for (var i = 0; i < requestedEntryCount; i++) {
+      var key = digestResponse.readString();
+      requestedNames.computeIfAbsent(key, _ -> new HashSet<>()).add(digestResponse.readString());
+    }
+
+    // only serialize the requested entries
+    var result = DataBuf.empty().writeBoolean(force);
+    requestedNames.forEach((key, names) -> {
+      var handler = this.handlers.get(key);
+      if (handler != null) {
+        for (var obj : handler.data()) {
+          if (names.contains(handler.name(obj))) {
+            this.serializeData(obj, handler, result);
+          }
+        }
+      }
+    });
+    return result;
+  }
+
+  @Override
+  public @NonNull DataBuf.Mutable prepareClusterDigest(@NonNull Predicate<DataSyncHandler<?>> handlerFilter) {
+    // a digest entry consists of the handler key, the name of the entry and the hash of the serialized entry
+    var result = DataBuf.empty();
+    this.computeDigest(handlerFilter).forEach((entryKey, hash) -> result
+      .writeString(entryKey.handlerKey())
+      .writeString(entryKey.name())
+      .writeLong(hash));
+    return result;
+  }
+
+  @Override
+  public @NonNull DataBuf.Mutable handleClusterDigest(@NonNull DataBuf digest) {
+    // read the digest of the remote node
+    Map<DigestKey, Long> remoteDigest = new HashMap<>();
+    while (digest.readableBytes() > 0) {
+      remoteDigest.put(new DigestKey(digest.readString(), digest.readString()), digest.readLong());
+    }
+
+    // request all entries which are unknown or differ from the local entry, ignoring entries without a local handler
+    var handlerKeys = remoteDigest.keySet().stream().map(DigestKey::handlerKey).collect(Collectors.toSet());
+    var localDigest = this.computeDigest(handler -> handlerKeys.contains(handler.key()));
+
+    var requestedEntries = remoteDigest.entrySet().stream()
+      .filter(entry -> this.handlers.containsKey(entry.getKey().handlerKey()))
+      .filter(entry -> !entry.getValue().equals(localDigest.get(entry.getKey())))
+      .map(Map.Entry::getKey)
+      .toList();
+
+    // the amount of requested entries is always written, even if no entry is requested
+    var result = DataBuf.empty().writeVarInt(requestedEntries.size());
+    for (var entryKey : requestedEntries) {
+      result.writeString(entryKey.handlerKey()).writeString(entryKey.name());
+    }
+    return result;
+  }
+
   @Override
   public @Nullable DataBuf handle(@NonNull DataBuf input, boolean force) {
     // holds the result of the handle - null by default indicates no result
@@ -208,6 +282,25 @@ protected void serializeData(
     target.writeDataBuf(buf);
   }
 
+  protected @NonNull Map<DigestKey, Long> computeDigest(@NonNull Predicate<DataSyncHandler<?>> handlerFilter) {
+    Map<DigestKey, Long> digest = new HashMap<>();
+    for (var handler : this.handlers.values()) {
+      if (handlerFilter.test(handler)) {
+        for (var obj : handler.data()) {
+          // serialize the entry to hash the same representation that would be sent to the other node
+          try (var buf = DataBuf.empty()) {
+            handler.serialize(buf, obj);
+            var hash = ENTRY_HASH_FUNCTION.hashBytes(buf.toByteArray()).asLong();
+
+            // entries with the same name are combined, they are always transferred together
+            digest.merge(new DigestKey(handler.key(), handler.name(obj)), hash, Long::sum);
+          }
+        }
+      }
+    }
+    return digest;
+  }
+
   protected int waitForCorrectMergeInput(@NonNull Console console) {
     try {
       // disable all handlers of the console to prevent skips
@@ -235,4 +328,8 @@ protected int readMergeInput(@NonNull Console console) {
       }
     }
   }
+
+  protected record DigestKey(@NonNull String handlerKey, @NonNull String name) {
+
+  }
 }
@@ -17,25 +17,52 @@
 package eu.cloudnetservice.node.cluster.task;
 
 import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.cluster.NodeInfoSnapshot;
+import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.node.TickLoop;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.NodeServerState;
+import eu.cloudnetservice.node.cluster.util.NodeHeartbeatFrame;
+import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 @Singleton
-public record LocalNodeUpdateTask(
-  @NonNull NodeServerProvider provider,
-  @NonNull Provider<TickLoop> mainThreadProvider
-) implements Runnable {
+public final class LocalNodeUpdateTask implements Runnable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalNodeUpdateTask.class);
 
+  // only refreshes the information which is not part of a heartbeat, the heartbeats keep the node connected
+  private static final long FULL_SNAPSHOT_INTERVAL_MS = Long.getLong(
+    "cloudnet.cluster.full-snapshot-interval-millis",
+    60_000);
+
+  private final NodeServerProvider provider;
+  private final Provider<TickLoop> mainThreadProvider;
+
+  // the nodes which received the full snapshot in the current version, all other nodes only receive heartbeats
+  private final Set<String> fullSnapshotReceivers = ConcurrentHashMap.newKeySet();
+
+  // only accessed by the update thread
+  private long snapshotVersion;
+  private long lastFullSnapshotRefresh;
+  private NodeInfoSnapshot lastVersionedSnapshot;
+  private Document lastVersionedProperties;
+
+  @Inject
+  public LocalNodeUpdateTask(@NonNull NodeServerProvider provider, @NonNull Provider<TickLoop> mainThreadProvider) {
+    this.provider = provider;
+    this.mainThreadProvider = mainThreadProvider;
+  }
+
   @Override
   public void run() {
     try {
@@ -45,6 +72,9 @@ public void run() {
       if (localNode.state() == NodeServerState.READY) {
         // update the local snapshot
         localNode.updateLocalSnapshot();
+        var snapshot = localNode.nodeInfoSnapshot();
+        this.updateSnapshotVersion(snapshot);
+
         // collect all nodes which are the target of the update
         // we include all remote nodes which are available and not the local node
         // we do this to explicitly trigger the disconnect handling on the other node if needed
@@ -56,21 +86,79 @@ public void run() {
           .filter(server -> server.state() == NodeServerState.READY)
           .map(server -> server.info().uniqueId())
           .toList();
-        if (!targetNodes.isEmpty()) {
-          var message = ChannelMessage.builder()
-            .sendSync(true) // ensure that we don't schedule too many updates while other are still waiting
-            .message("update_node_info_snapshot")
-            .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-            .buffer(DataBuf.empty().writeObject(localNode.nodeInfoSnapshot()))
-            .prioritized(this.mainThreadProvider.get().currentTick() % 10 == 0);
-          // add all targets
-          targetNodes.forEach(message::targetNode);
-          // send the update to all active nodes
-          message.build().send();
+        // nodes that were unavailable in the meantime need the full snapshot again
+        this.fullSnapshotReceivers.retainAll(targetNodes);
+
+        var fullSnapshotTargets = targetNodes.stream()
+          .filter(target -> !this.fullSnapshotReceivers.contains(target))
+          .toList();
+        var heartbeatTargets = targetNodes.stream()
+          .filter(this.fullSnapshotReceivers::contains)
+          .toList();
+
+        // send the full snapshot to all nodes which don't know about the current version yet
+        if (!fullSnapshotTargets.isEmpty()) {
+          this.sendUpdate(
+            "update_node_info_snapshot",
+            DataBuf.empty().writeObject(snapshot).writeLong(this.snapshotVersion),
+            fullSnapshotTargets);
+          this.fullSnapshotReceivers.addAll(fullSnapshotTargets);
+        }
+
+        // all other nodes only need the changing load information
+        if (!heartbeatTargets.isEmpty()) {
+          var frame = NodeHeartbeatFrame.of(snapshot, this.snapshotVersion);
+          this.sendUpdate("node_heartbeat", frame.write(DataBuf.empty()), heartbeatTargets);
         }
       }
     } catch (Exception exception) {
       LOGGER.error("Exception updating local node info to the cluster", exception);
     }
   }
+
+  public void requestFullSnapshot(@NonNull String nodeUniqueId) {
+    this.fullSnapshotReceivers.remove(nodeUniqueId);
+  }
+
+  private void updateSnapshotVersion(@NonNull NodeInfoSnapshot snapshot) {
+    var currentTime = System.currentTimeMillis();
+    if (this.staticInformationChanged(snapshot)) {
+      // the snapshot changed in a way that can not be represented by a heartbeat, increase the version
+      this.snapshotVersion++;
+      this.lastVersionedSnapshot = snapshot;
+      this.lastVersionedProperties = snapshot.propertyHolder().immutableCopy();
+    } else if (currentTime - this.lastFullSnapshotRefresh < FULL_SNAPSHOT_INTERVAL_MS) {
+      // no need to re-send the full snapshot yet
+      return;
+    }
+
+    // the full snapshot is re-sent periodically as well, for example to refresh the thread information
+    this.lastFullSnapshotRefresh = currentTime;
+    this.fullSnapshotReceivers.clear();
+  }
+
+  private boolean staticInformationChanged(@NonNull NodeInfoSnapshot snapshot) {
+    var last = this.lastVersionedSnapshot;
+    return last == null
+      || last.startupMillis() != snapshot.startupMillis()
+      || last.maxMemory() != snapshot.maxMemory()
+      || last.maxProcessorUsageToStartServices() != snapshot.maxProcessorUsageToStartServices()
+      || !last.node().equals(snapshot.node())
+      || !last.version().equals(snapshot.version())
+      || !last.modules().equals(snapshot.modules())
+      || !this.lastVersionedProperties.equals(snapshot.propertyHolder());
+  }
+
+  private void sendUpdate(@NonNull String message, @NonNull DataBuf content, @NonNull Collection<String> targets) {
+    var channelMessage = ChannelMessage.builder()
+      .sendSync(true) // ensure that we don't schedule too many updates while other are still waiting
+      .message(message)
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .buffer(content)
+      .prioritized(this.mainThreadProvider.get().currentTick() % 10 == 0);
+    // add all targets
+    targets.forEach(channelMessage::targetNode);
+    // send the update to all target nodes
+    channelMessage.build().send();
+  }
 }
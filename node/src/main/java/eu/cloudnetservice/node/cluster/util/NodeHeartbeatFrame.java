@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.cluster.util;
+
+import eu.cloudnetservice.driver.cluster.NodeInfoSnapshot;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import lombok.NonNull;
+
+public record NodeHeartbeatFrame(
+  @NonNull String nodeUniqueId,
+  long snapshotVersion,
+  long creationTime,
+  int usedMemory,
+  int reservedMemory,
+  int currentServicesCount,
+  boolean drain,
+  double cpuUsage,
+  double systemCpuUsage,
+  long heapUsageMemory,
+  long noHeapUsageMemory,
+  long unloadedClassCount,
+  long totalLoadedClassCount,
+  int currentLoadedClassCount
+) {
+
+  public static @NonNull NodeHeartbeatFrame of(@NonNull NodeInfoSnapshot snapshot, long snapshotVersion) {
+    var processSnapshot = snapshot.processSnapshot();
+    return new NodeHeartbeatFrame(
+      snapshot.node().uniqueId(),
+      snapshotVersion,
+      snapshot.creationTime(),
+      snapshot.usedMemory(),
+      snapshot.reservedMemory(),
+      snapshot.currentServicesCount(),
+      snapshot.draining(),
+      processSnapshot.cpuUsage(),
+      processSnapshot.systemCpuUsage(),
+      processSnapshot.heapUsageMemory(),
+      processSnapshot.noHeapUsageMemory(),
+      processSnapshot.unloadedClassCount(),
+      processSnapshot.totalLoadedClassCount(),
+      processSnapshot.currentLoadedClassCount());
+  }
+
+  public static @NonNull NodeHeartbeatFrame read(@NonNull DataBuf buf) {
+    return new NodeHeartbeatFrame(
+      buf.readString(),
+      buf.readLong(),
+      buf.readLong(),
+      buf.readInt(),
+      buf.readInt(),
+      buf.readInt(),
+      buf.readBoolean(),
+      buf.readDouble(),
+      buf.readDouble(),
+      buf.readLong(),
+      buf.readLong(),
+      buf.readLong(),
+      buf.readLong(),
+      buf.readInt());
+  }
+
+  public @NonNull DataBuf.Mutable write(@NonNull DataBuf.Mutable buf) {
+    return buf
+      .writeString(this.nodeUniqueId)
+      .writeLong(this.snapshotVersion)
+      .writeLong(this.creationTime)
+      .writeInt(this.usedMemory)
+      .writeInt(this.reservedMemory)
+      .writeInt(this.currentServicesCount)
+      .writeBoolean(this.drain)
+      .writeDouble(this.cpuUsage)
+      .writeDouble(this.systemCpuUsage)
+      .writeLong(this.heapUsageMemory)
+      .writeLong(this.noHeapUsageMemory)
+      .writeLong(this.unloadedClassCount)
+      .writeLong(this.totalLoadedClassCount)
+      .writeInt(this.currentLoadedClassCount);
+  }
+
+  public @NonNull NodeInfoSnapshot applyTo(@NonNull NodeInfoSnapshot baseSnapshot) {
+    // the thread snapshots are not part of the heartbeat, they get refreshed with the next full snapshot
+    var baseProcessSnapshot = baseSnapshot.processSnapshot();
+    var processSnapshot = new ProcessSnapshot(
+      baseProcessSnapshot.pid(),
+      this.cpuUsage,
+      this.systemCpuUsage,
+      baseProcessSnapshot.maxHeapMemory(),
+      this.heapUsageMemory,
+      this.noHeapUsageMemory,
+      this.unloadedClassCount,
+      this.totalLoadedClassCount,
+      this.currentLoadedClassCount,
+      baseProcessSnapshot.threads());
+
+    return new NodeInfoSnapshot(
+      this.creationTime,
+      baseSnapshot.startupMillis(),
+      baseSnapshot.maxMemory(),
+      this.usedMemory,
+      this.reservedMemory,
+      this.currentServicesCount,
+      this.drain,
+      baseSnapshot.node(),
+      baseSnapshot.version(),
+      processSnapshot,
+      baseSnapshot.maxProcessorUsageToStartServices(),
+      baseSnapshot.modules(),
+      baseSnapshot.propertyHolder());
+  }
+}
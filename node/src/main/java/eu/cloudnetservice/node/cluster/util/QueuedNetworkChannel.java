@@ -22,10 +22,12 @@
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
+import java.time.Duration;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class QueuedNetworkChannel implements NetworkChannel {
 
@@ -77,6 +79,11 @@ public boolean clientProvidedChannel() {
     return this.wrappedChannel.sendQueryAsync(packet);
   }
 
+  @Override
+  public @NonNull CompletableFuture<Packet> sendQueryAsync(@NonNull Packet packet, @Nullable Duration timeout) {
+    return this.wrappedChannel.sendQueryAsync(packet, timeout);
+  }
+
   @Override
   public boolean writeable() {
     return true;
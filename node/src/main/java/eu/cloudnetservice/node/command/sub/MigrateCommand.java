@@ -103,7 +103,7 @@ public void migrateDatabase(
         var sourceDatabase = sourceDatabaseProvider.database(databaseName);
         var targetDatabase = targetDatabaseProvider.database(databaseName);
 
-        sourceDatabase.iterate(targetDatabase::insert, chunkSize);
+        sourceDatabase.iterateChunks(targetDatabase::insertAll, chunkSize);
       }
     } catch (Exception exception) {
       LOGGER.error(I18n.trans("command-migrate-database-connection-failed"), exception);
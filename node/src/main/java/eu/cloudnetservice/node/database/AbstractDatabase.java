@@ -19,7 +19,9 @@
 import eu.cloudnetservice.driver.database.Database;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.StandardSerialisationStyle;
+import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import lombok.NonNull;
 
 public abstract class AbstractDatabase implements LocalDatabase, Database {
@@ -39,13 +41,18 @@ protected AbstractDatabase(@NonNull String name, @NonNull NodeDatabaseProvider d
 
   @Override
   public void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSize) {
+    this.iterateChunks(chunk -> chunk.forEach(consumer), chunkSize);
+  }
+
+  @Override
+  public void iterateChunks(@NonNull Consumer<Map<String, Document>> consumer, int chunkSize) {
     var documentCount = this.documentCount();
     if (documentCount != 0) {
       long currentIndex = 0;
       while (currentIndex < documentCount) {
         var result = this.readChunk(currentIndex, chunkSize);
         if (result != null) {
-          result.forEach(consumer);
+          consumer.accept(result);
           currentIndex += chunkSize;
           continue;
         }
@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.document.Document;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -41,5 +42,15 @@ public interface LocalDatabase extends Database {
    */
   void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSize);
 
+  /**
+   * Iterates over all entries in the database in chunks of the given size, passing each chunk to the given consumer
+   * at once. This is useful when the entries should be written into another database using
+   * {@link #insertAll(Map)}.
+   *
+   * @param consumer  the consumer to pass the chunks into
+   * @param chunkSize the maximum size of each chunk
+   */
+  void iterateChunks(@NonNull Consumer<Map<String, Document>> consumer, int chunkSize);
+
   @Nullable Map<String, Document> readChunk(long beginIndex, int chunkSize);
 }
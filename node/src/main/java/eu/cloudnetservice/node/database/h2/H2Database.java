@@ -73,6 +73,23 @@ public boolean insertOrUpdate(String key, Document document) {
     return this.contains(key) ? this.update0(key, document) : this.insert0(key, document);
   }
 
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> entries) {
+    List<Object[]> batchArguments = new ArrayList<>(entries.size());
+    for (var entry : entries.entrySet()) {
+      batchArguments.add(new Object[]{entry.getKey(), this.serializeDocumentToJsonString(entry.getValue())});
+    }
+
+    return this.databaseProvider.executeBatchUpdate(
+      String.format(
+        "MERGE INTO `%s` (%s, %s) KEY (%s) VALUES (?, ?);",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_VAL,
+        TABLE_COLUMN_KEY),
+      batchArguments);
+  }
+
   @Override
   public boolean contains(@NonNull String key) {
     return this.databaseProvider.executeQuery(
@@ -87,6 +104,18 @@ public boolean delete(@NonNull String key) {
     return this.delete0(key);
   }
 
+  @Override
+  public boolean deleteAll(@NonNull Collection<String> keys) {
+    List<Object[]> batchArguments = new ArrayList<>(keys.size());
+    for (var key : keys) {
+      batchArguments.add(new Object[]{key});
+    }
+
+    return this.databaseProvider.executeBatchUpdate(
+      String.format("DELETE FROM `%s` WHERE %s = ?", this.name, TABLE_COLUMN_KEY),
+      batchArguments);
+  }
+
   public boolean delete0(String key) {
     return this.databaseProvider.executeUpdate(
       String.format("DELETE FROM `%s` WHERE %s = ?", this.name, TABLE_COLUMN_KEY),
@@ -115,6 +115,24 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     }
   }
 
+  @Override
+  public boolean executeBatchUpdate(@NonNull String query, @NonNull Collection<Object[]> batchArguments) {
+    try (var preparedStatement = this.connection().prepareStatement(query)) {
+      for (var arguments : batchArguments) {
+        for (var i = 0; i < arguments.length; i++) {
+          preparedStatement.setString(i + 1, arguments[i].toString());
+        }
+        preparedStatement.addBatch();
+      }
+
+      preparedStatement.executeBatch();
+      return true;
+    } catch (SQLException exception) {
+      LOGGER.error("Exception while executing database batch update", exception);
+      return false;
+    }
+  }
+
   @Override
   public @UnknownNullability <T> T executeQuery(
     @NonNull String query,
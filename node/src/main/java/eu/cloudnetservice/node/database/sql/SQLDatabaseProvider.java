@@ -22,6 +22,7 @@
 import io.vavr.CheckedFunction1;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.util.Collection;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -55,6 +56,8 @@ public boolean containsDatabase(@NonNull String name) {
 
   public abstract int executeUpdate(@NonNull String query, @NonNull Object... objects);
 
+  public abstract boolean executeBatchUpdate(@NonNull String query, @NonNull Collection<Object[]> batchArguments);
+
   public abstract <T> @UnknownNullability T executeQuery(
     @NonNull String query,
     @NonNull CheckedFunction1<ResultSet, T> callback,
@@ -29,7 +29,9 @@
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import jetbrains.exodus.ArrayByteIterable;
+import jetbrains.exodus.ByteIterable;
 import jetbrains.exodus.bindings.StringBinding;
 import jetbrains.exodus.env.Environment;
 import jetbrains.exodus.env.Store;
@@ -57,6 +59,25 @@ public boolean insert(@NonNull String key, @NonNull Document document) {
         new ArrayByteIterable(this.serializeDocumentToJsonString(document).getBytes(StandardCharsets.UTF_8))));
   }
 
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> entries) {
+    // serialize the documents before opening the transaction to keep the exclusive transaction as short as possible
+    List<Map.Entry<ByteIterable, ByteIterable>> serializedEntries = new ArrayList<>(entries.size());
+    for (var entry : entries.entrySet()) {
+      var serializedKey = StringBinding.stringToEntry(entry.getKey());
+      var serializedDocument = this.serializeDocumentToJsonString(entry.getValue()).getBytes(StandardCharsets.UTF_8);
+      serializedEntries.add(Map.entry(serializedKey, new ArrayByteIterable(serializedDocument)));
+    }
+
+    this.environment.executeInExclusiveTransaction(txn -> {
+      var store = this.store();
+      for (var entry : serializedEntries) {
+        store.put(txn, entry.getKey(), entry.getValue());
+      }
+    });
+    return true;
+  }
+
   @Override
   public boolean contains(@NonNull String key) {
     return this.environment.computeInReadonlyTransaction(
@@ -68,6 +89,17 @@ public boolean delete(@NonNull String key) {
     return this.environment.computeInTransaction(txn -> this.store().delete(txn, StringBinding.stringToEntry(key)));
   }
 
+  @Override
+  public boolean deleteAll(@NonNull Collection<String> keys) {
+    this.environment.executeInTransaction(txn -> {
+      var store = this.store();
+      for (var key : keys) {
+        store.delete(txn, StringBinding.stringToEntry(key));
+      }
+    });
+    return true;
+  }
+
   @Override
   public @Nullable Document get(@NonNull String key) {
     return this.environment.computeInReadonlyTransaction(txn -> {
@@ -121,6 +153,29 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer) {
     this.acceptWithCursor(consumer);
   }
 
+  @Override
+  public void iterateChunks(@NonNull Consumer<Map<String, Document>> consumer, int chunkSize) {
+    // use a single cursor for all chunks rather than skipping to the begin of each chunk
+    Map<String, Document> currentChunk = new HashMap<>();
+    this.environment.executeInReadonlyTransaction(txn -> {
+      try (var cursor = this.store().openCursor(txn)) {
+        while (cursor.getNext()) {
+          currentChunk.put(
+            StringBinding.entryToString(cursor.getKey()),
+            DocumentFactory.json().parse(cursor.getValue().getBytesUnsafe()));
+          if (currentChunk.size() >= chunkSize) {
+            consumer.accept(new HashMap<>(currentChunk));
+            currentChunk.clear();
+          }
+        }
+      }
+    });
+
+    if (!currentChunk.isEmpty()) {
+      consumer.accept(currentChunk);
+    }
+  }
+
   @Override
   public void clear() {
     this.environment.executeInExclusiveTransaction(txn -> {
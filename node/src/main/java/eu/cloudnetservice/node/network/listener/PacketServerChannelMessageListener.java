@@ -71,7 +71,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
       message.content().acquire().startTransaction();
       // call the receive event
       var responseTask = this.eventManager
-        .callEvent(new ChannelMessageReceiveEvent(message, channel, packet.uniqueId() != null))
+        .callEvent(new ChannelMessageReceiveEvent(message, channel, packet.queryId() != Packet.NO_QUERY_ID))
         .queryResponse();
       // reset the index
       message.content().redoTransaction();
@@ -95,7 +95,7 @@ private void resumeHandling(
     boolean comesFromWrapper
   ) {
     // do not redirect the channel message to the cluster to prevent infinite loops
-    if (packet.uniqueId() != null) {
+    if (packet.queryId() != Packet.NO_QUERY_ID) {
       this.messenger.sendChannelMessageQueryAsync(message, comesFromWrapper)
         .orTimeout(20, TimeUnit.SECONDS)
         .handle((result, exception) -> {
@@ -26,11 +26,15 @@
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.cluster.defaults.RemoteNodeServer;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import eu.cloudnetservice.node.cluster.task.LocalNodeUpdateTask;
+import eu.cloudnetservice.node.cluster.util.NodeHeartbeatFrame;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.event.cluster.NetworkClusterNodeInfoUpdateEvent;
 import eu.cloudnetservice.node.provider.NodeClusterNodeProvider;
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import lombok.NonNull;
 import org.slf4j.Logger;
@@ -46,6 +50,7 @@ public final class NodeChannelMessageListener {
   private final DataSyncRegistry dataSyncRegistry;
   private final NodeClusterNodeProvider nodeInfoProvider;
   private final NodeServerProvider nodeServerProvider;
+  private final Provider<LocalNodeUpdateTask> localNodeUpdateTaskProvider;
 
   @Inject
   public NodeChannelMessageListener(
@@ -53,13 +58,15 @@ public NodeChannelMessageListener(
     @NonNull Configuration configuration,
     @NonNull DataSyncRegistry dataSyncRegistry,
     @NonNull NodeClusterNodeProvider nodeInfoProvider,
-    @NonNull NodeServerProvider nodeServerProvider
+    @NonNull NodeServerProvider nodeServerProvider,
+    @NonNull Provider<LocalNodeUpdateTask> localNodeUpdateTaskProvider
   ) {
     this.eventManager = eventManager;
     this.configuration = configuration;
     this.dataSyncRegistry = dataSyncRegistry;
     this.nodeInfoProvider = nodeInfoProvider;
     this.nodeServerProvider = nodeServerProvider;
+    this.localNodeUpdateTaskProvider = localNodeUpdateTaskProvider;
   }
 
   @EventListener
@@ -70,13 +77,39 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
         case "update_node_info_snapshot" -> {
           var snapshot = event.content().readObject(NodeInfoSnapshot.class);
           // get the associated node server
-          var server = this.nodeServerProvider.node(snapshot.node().uniqueId());
-          if (server != null) {
-            server.updateNodeInfoSnapshot(snapshot);
+          if (this.nodeServerProvider.node(snapshot.node().uniqueId()) instanceof RemoteNodeServer server) {
+            // the version of the snapshot is required to apply the following heartbeats of the node
+            server.updateNodeInfoSnapshot(snapshot, event.content().readLong());
             this.eventManager.callEvent(new NetworkClusterNodeInfoUpdateEvent(event.networkChannel(), snapshot));
           }
         }
 
+        // applies the load information of a node to the last full snapshot of it
+        case "node_heartbeat" -> {
+          var frame = NodeHeartbeatFrame.read(event.content());
+          if (this.nodeServerProvider.node(frame.nodeUniqueId()) instanceof RemoteNodeServer server) {
+            var baseSnapshot = server.nodeInfoSnapshot();
+            if (baseSnapshot == null || server.snapshotVersion() != frame.snapshotVersion()) {
+              // the static information of the node changed or is unknown, request the full snapshot
+              ChannelMessage.builder()
+                .message("request_node_info_snapshot")
+                .target(event.sender().toTarget())
+                .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+                .buffer(DataBuf.empty().writeString(this.configuration.identity().uniqueId()))
+                .build()
+                .send();
+            } else {
+              var snapshot = frame.applyTo(baseSnapshot);
+              server.updateNodeInfoSnapshot(snapshot, frame.snapshotVersion());
+              this.eventManager.callEvent(new NetworkClusterNodeInfoUpdateEvent(event.networkChannel(), snapshot));
+            }
+          }
+        }
+
+        // re-sends the full local snapshot to the requesting node with the next update
+        case "request_node_info_snapshot" -> this.localNodeUpdateTaskProvider.get()
+          .requestFullSnapshot(event.content().readString());
+
         // handles the sync requests of cluster data
         case "sync_cluster_data" -> {
           // handle the sync and send back the data to override on the caller
@@ -96,6 +129,10 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
         // handles the response to a cluster data sync
         case "sync_cluster_data_response" -> this.dataSyncRegistry.handle(event.content(), true);
 
+        // handles the digest of the cluster data of another node, responds with the entries that differ locally
+        case "sync_cluster_data_digest" -> event.binaryResponse(
+          this.dataSyncRegistry.handleClusterDigest(event.content()));
+
         // handle adding a new cluster node on other nodes
         case "register_known_node" -> {
           // register the node
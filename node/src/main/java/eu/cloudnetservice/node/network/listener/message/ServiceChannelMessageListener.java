@@ -33,8 +33,11 @@
 import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
 import eu.cloudnetservice.driver.service.ServiceLifeCycle;
 import eu.cloudnetservice.node.service.CloudServiceManager;
+import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.lang.reflect.Type;
+import java.util.List;
 import lombok.NonNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,6 +46,9 @@
 public final class ServiceChannelMessageListener {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ServiceChannelMessageListener.class);
+  private static final Type SERVICE_CONFIGURATIONS_TYPE = TypeFactory.parameterizedClass(
+    List.class,
+    ServiceConfiguration.class);
 
   private final EventManager eventManager;
   private final CloudServiceManager serviceManager;
@@ -72,6 +78,15 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
               .build()));
         }
 
+        // request to start multiple services at once
+        case "node_to_head_start_services" -> {
+          List<ServiceConfiguration> configurations = event.content().readObject(SERVICE_CONFIGURATIONS_TYPE);
+          event.queryResponse(this.cloudServiceFactory.createCloudServicesAsync(configurations)
+            .thenApply(results -> ChannelMessage.buildResponseFor(event.channelMessage())
+              .buffer(DataBuf.empty().writeObject(results))
+              .build()));
+        }
+
         // feedback from a node that a service which should have been moved to accepted
         // is no longer registered as unaccepted and not yet moved to registered, which
         // means that the cache ttl on the target node exceeded
@@ -142,6 +157,21 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
           this.eventManager.callEvent(eventChannel, new CloudServiceLogEntryEvent(snapshot, line, type));
         }
 
+        // call the event for a batch of new lines in the log of the service
+        case "screen_new_lines" -> {
+          var snapshot = event.content().readObject(ServiceInfoSnapshot.class);
+          var eventChannel = event.content().readString();
+          var lineCount = event.content().readVarInt();
+          for (var i = 0; i < lineCount; i++) {
+            var line = event.content().readString();
+            var type = event.content().readBoolean()
+              ? CloudServiceLogEntryEvent.StreamType.STDERR
+              : CloudServiceLogEntryEvent.StreamType.STDOUT;
+
+            this.eventManager.callEvent(eventChannel, new CloudServiceLogEntryEvent(snapshot, line, type));
+          }
+        }
+
         // a deferred service start result is available, call the event
         case "deferred_service_event" -> {
           var creationId = event.content().readUniqueId();
@@ -17,7 +17,6 @@
 package eu.cloudnetservice.node.service.defaults;
 
 import com.google.common.base.Preconditions;
-import com.google.common.hash.Hashing;
 import com.google.common.net.InetAddresses;
 import eu.cloudnetservice.common.io.FileUtil;
 import eu.cloudnetservice.common.language.I18n;
@@ -60,25 +59,30 @@
 import eu.cloudnetservice.node.service.ServiceConsoleLogCache;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import java.net.Inet6Address;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiPredicate;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
-import kong.unirest.core.Unirest;
-import kong.unirest.core.UnirestException;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -89,9 +93,13 @@ public abstract class AbstractService implements CloudService {
   protected static final Logger LOGGER = LoggerFactory.getLogger(AbstractService.class);
 
   protected static final Path INCLUSION_TEMP_DIR = FileUtil.TEMP_DIR.resolve("inclusions");
+  protected static final RemoteInclusionCache INCLUSION_CACHE = new RemoteInclusionCache(INCLUSION_TEMP_DIR);
+  protected static final ServicePreparationPipeline PREPARATION_PIPELINE = new ServicePreparationPipeline();
   protected static final Path WRAPPER_CONFIG_PATH = Path.of(".wrapper", "wrapper.json");
   protected static final BiPredicate<String, Pattern> FILE_MATCHER_PREDICATE =
     (fileName, pattern) -> pattern.matcher(fileName).matches();
+  protected static final boolean INCREMENTAL_DEPLOYMENTS = Boolean.parseBoolean(
+    System.getProperty("cloudnet.service.incremental-deployments", "true"));
 
   protected final String connectionKey;
   protected final Path pluginDirectory;
@@ -116,8 +124,13 @@ public abstract class AbstractService implements CloudService {
   protected final Collection<ServiceRemoteInclusion> installedInclusions = ConcurrentHashMap.newKeySet();
   protected final Collection<ServiceDeployment> installedDeployments = ConcurrentHashMap.newKeySet();
 
+  protected final ServiceFileManifest fileManifest;
+
   protected ServiceConsoleLogCache logCache;
 
+  protected volatile boolean firstStartup;
+  protected volatile ServicePreparationPipeline.Preparation preparation;
+
   protected volatile NetworkChannel networkChannel;
   protected volatile long connectionTimestamp = -1;
 
@@ -145,6 +158,7 @@ protected AbstractService(
     this.serviceDirectory = resolveServicePath(configuration.serviceId(), manager, configuration.staticService());
     this.pluginDirectory = this.serviceDirectory
       .resolve(configuration.serviceId().environment().readProperty(ServiceEnvironmentType.PLUGIN_DIR));
+    this.fileManifest = new ServiceFileManifest(this.serviceDirectory);
 
     this.currentServiceInfo = new ServiceInfoSnapshot(
       System.currentTimeMillis(),
@@ -228,6 +242,7 @@ public void deleteFiles() {
     this.doDelete();
     // delete the folder of the service, even if it's a static service
     FileUtil.delete(this.serviceDirectory);
+    this.fileManifest.clear();
     // push the new lifecycle
     this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.DELETED);
   }
@@ -249,6 +264,7 @@ protected void updateLifecycle(@NonNull ServiceLifeCycle lifeCycle, boolean swit
       switch (lifeCycle) {
         case DELETED -> {
           if (this.preLifecycleChange(ServiceLifeCycle.DELETED)) {
+            this.cancelPreparation();
             this.doDelete();
             // update the current service info
             this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.DELETED);
@@ -258,19 +274,17 @@ protected void updateLifecycle(@NonNull ServiceLifeCycle lifeCycle, boolean swit
 
         case RUNNING -> {
           if (this.preLifecycleChange(ServiceLifeCycle.RUNNING)) {
-            // check if we can start the process now
-            if (this.lifeCycle() == ServiceLifeCycle.PREPARED && this.canStartNow()) {
-              this.prepareService();
-              this.startProcess();
-              // update the current service info
-              this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.RUNNING);
-              LOGGER.info(I18n.trans("cloudnet-service-post-start-message", this.serviceReplacement()));
+            // check if we can start the process now, the preparation and start happen in the preparation pipeline
+            if (this.lifeCycle() == ServiceLifeCycle.PREPARED && this.preparation == null && this.canStartNow()) {
+              this.startPreparation();
             }
           }
         }
 
         case STOPPED -> {
           if (this.preLifecycleChange(ServiceLifeCycle.STOPPED)) {
+            // stop the preparation of the service if it's not yet started
+            this.cancelPreparation();
             // check if we should delete the service when stopping
             if (switchToDeletedOnStop) {
               this.doDelete();
@@ -345,8 +359,10 @@ public void includeWaitingServiceTemplates(boolean force) {
         // check if we should load the template
         var storage = template.storage();
         if (!this.eventManager.callEvent(new CloudServiceTemplateLoadEvent(this, storage, template)).cancelled()) {
-          // the event is not cancelled - copy the template
+          // the event is not cancelled - copy the template and remember which files were pulled from it
+          var stateBeforePull = this.fileManifest.directoryState(_ -> true);
           storage.pull(template, this.serviceDirectory);
+          this.fileManifest.recordPull(template, stateBeforePull);
           // we've pulled the template
           this.installedTemplates.add(template);
         }
@@ -355,6 +371,8 @@ public void includeWaitingServiceTemplates(boolean force) {
 
   @Override
   public void includeWaitingServiceInclusions() {
+    // start the download of all inclusions in parallel
+    List<PendingInclusion> pendingInclusions = new ArrayList<>();
     ServiceRemoteInclusion inclusion;
     while ((inclusion = this.waitingRemoteInclusions.poll()) != null) {
       // check if we should load the inclusion
@@ -366,32 +384,33 @@ public void includeWaitingServiceInclusions() {
         var target = this.serviceDirectory.resolve(inclusion.destination());
         FileUtil.ensureChild(this.serviceDirectory, target);
 
-        try {
-          if (inclusion.cacheStrategy().equals(ServiceRemoteInclusion.KEEP_UNTIL_RESTART_STRATEGY)) {
-            // get a target path based on the download url
-            var encodedUrl = Hashing.murmur3_128().hashString(inclusion.url(), StandardCharsets.UTF_8).toString();
-            var destination = INCLUSION_TEMP_DIR.resolve(encodedUrl);
-            // download the file to the temp path if it does not exist
-            if (Files.notExists(destination)) {
-              this.downloadInclusionFile(inclusion, destination);
-            }
-
-            // copy the file from the temp path to the desired output path
-            FileUtil.copy(destination, target);
-          } else {
-            // download the file directly to the target path if caching is disabled
-            this.downloadInclusionFile(inclusion, target);
-          }
+        var headers = inclusion.readPropertyOrDefault(ServiceRemoteInclusion.HEADERS, Map.<String, String>of());
+        var cached = inclusion.cacheStrategy().equals(ServiceRemoteInclusion.KEEP_UNTIL_RESTART_STRATEGY);
+        var download = cached
+          ? INCLUSION_CACHE.cachedFile(inclusion.url(), headers)
+          : INCLUSION_CACHE.download(inclusion.url(), headers);
+        pendingInclusions.add(new PendingInclusion(inclusion, target, download, cached));
+      }
+    }
 
-          // we've installed the inclusion successfully
-          this.installedInclusions.add(inclusion);
-        } catch (UnirestException exception) {
-          LOGGER.warn(
-            "Unable to download inclusion from {} to {}",
-            inclusion.url(),
-            target,
-            exception.getCause());
+    // install the inclusions in the order they were added, later inclusions override previous ones
+    for (var pendingInclusion : pendingInclusions) {
+      try {
+        var file = pendingInclusion.download().join();
+        FileUtil.copy(file, pendingInclusion.target());
+        if (!pendingInclusion.cached()) {
+          // the file was downloaded only for this service
+          FileUtil.delete(file);
         }
+
+        // we've installed the inclusion successfully
+        this.installedInclusions.add(pendingInclusion.inclusion());
+      } catch (CompletionException exception) {
+        LOGGER.warn(
+          "Unable to download inclusion from {} to {}",
+          pendingInclusion.inclusion().url(),
+          pendingInclusion.target(),
+          exception.getCause());
       }
     }
   }
@@ -568,26 +587,71 @@ protected void executeDeployment(@NonNull ServiceDeployment deployment) {
     // check if we should execute the deployment
     var storage = deployment.template().storage();
     if (!this.eventManager.callEvent(new CloudServiceDeploymentEvent(this, storage, deployment)).cancelled()) {
+      // compile the exclusions and inclusions once for the whole deployment
+      var excludes = compileFileMatcher(deployment.excludes(), false);
+      var includes = compileFileMatcher(deployment.includes(), true);
+      Predicate<String> fileFilter = fileName -> !excludes.test(fileName) && includes.test(fileName);
+
+      // the files which are still in the same state as they were when the template received them can be skipped
+      var template = deployment.template();
+      var currentFiles = this.fileManifest.directoryState(fileFilter);
+      var knownFiles = INCREMENTAL_DEPLOYMENTS && storage.contains(template)
+        ? this.fileManifest.templateFiles(template)
+        : Map.<String, ServiceFileManifest.FileState>of();
+      var unchangedFiles = currentFiles.entrySet().stream()
+        .filter(entry -> entry.getValue().equals(knownFiles.get(entry.getKey())))
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+
       // execute the deployment
-      storage.deployDirectory(deployment.template(), this.serviceDirectory, path -> {
+      var deployed = storage.deployDirectory(template, this.serviceDirectory, path -> {
         // normalize the name of the path
         var fileName = this.relativizePath(path);
-
-        // check if we have any exclusions and the path matches one of them -> exclude the file
-        var excludes = deployment.excludes();
-        if (!excludes.isEmpty() && excludes.stream().anyMatch(input -> FILE_MATCHER_PREDICATE.test(fileName, input))) {
-          return false;
-        }
-
-        // check if the includes are empty or the file is included explicitly -> include the file
-        var includes = deployment.includes();
-        return includes.isEmpty() || includes.stream().anyMatch(input -> FILE_MATCHER_PREDICATE.test(fileName, input));
+        return fileFilter.test(fileName) && !unchangedFiles.contains(fileName);
       });
+      if (deployed) {
+        // remove the files from the template which were pulled from it but were deleted in the service since then
+        var deletedFiles = knownFiles.keySet().stream()
+          .filter(fileName -> !currentFiles.containsKey(fileName))
+          .filter(fileName -> ServiceFileManifest.matches(fileFilter, fileName))
+          .toList();
+        deletedFiles.forEach(fileName -> storage.deleteFile(template, fileName));
+        this.fileManifest.recordDeployment(template, currentFiles, deletedFiles);
+      }
+
       // we've executed the deployment
       this.installedDeployments.add(deployment);
     }
   }
 
+  protected static @NonNull Predicate<String> compileFileMatcher(
+    @NonNull Collection<Pattern> patterns,
+    boolean matchIfEmpty
+  ) {
+    if (patterns.isEmpty()) {
+      return _ -> matchIfEmpty;
+    }
+
+    if (patterns.size() == 1) {
+      var pattern = patterns.iterator().next();
+      return fileName -> FILE_MATCHER_PREDICATE.test(fileName, pattern);
+    }
+
+    // patterns can only be combined into one if they use the same flags and don't use groups (back references
+    // to a group would point to the wrong group in the combined pattern)
+    var flags = patterns.iterator().next().flags();
+    var combinable = (flags & (Pattern.LITERAL | Pattern.CANON_EQ)) == 0 && patterns.stream()
+      .allMatch(pattern -> pattern.flags() == flags && pattern.matcher("").groupCount() == 0);
+    if (!combinable) {
+      return fileName -> patterns.stream().anyMatch(pattern -> FILE_MATCHER_PREDICATE.test(fileName, pattern));
+    }
+
+    var combinedPattern = Pattern.compile(patterns.stream()
+      .map(pattern -> "(?:" + pattern.pattern() + ')')
+      .collect(Collectors.joining("|")), flags);
+    return fileName -> FILE_MATCHER_PREDICATE.test(fileName, combinedPattern);
+  }
+
   protected @NonNull String relativizePath(@NonNull Path input) {
     // ensures that we get a file name which is equivalent on all operating systems
     var fileName = this.serviceDirectory.relativize(input).toString().replace('\\', '/');
@@ -657,10 +721,13 @@ protected void pushServiceInfoSnapshotUpdate(
   }
 
   protected boolean canStartNow() {
+    return this.canStartNow(this.cloudServiceManager.currentUsedHeapMemory());
+  }
+
+  protected boolean canStartNow(int usedHeapMemory) {
     // check jvm heap size
-    if (this.cloudServiceManager.currentUsedHeapMemory()
-      + this.serviceConfiguration().processConfig().maxHeapMemorySize()
-      > this.configuration.maxMemory()) {
+    var maxHeapMemory = this.serviceConfiguration().processConfig().maxHeapMemorySize();
+    if (usedHeapMemory + maxHeapMemory > this.configuration.maxMemory()) {
       // schedule a retry
       if (this.configuration.runBlockedServiceStartTryLaterAutomatic()) {
         this.mainThread.runTask(this::start);
@@ -686,15 +753,75 @@ protected boolean canStartNow() {
   }
 
   protected void prepareService() {
+    this.resolveServiceResources();
+    this.fetchServiceResources();
+    this.materializeService(Map.of());
+  }
+
+  protected void startPreparation() {
+    // mark the service as preparing to prevent that other services are started in the meantime
+    var properties = this.currentServiceInfo.propertyHolder().mutableCopy()
+      .writeProperty(ServiceInfoSnapshot.PREPARING, true);
+    this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.PREPARED, properties, false);
+    this.publishServiceInfoSnapshot();
+
+    var preparation = PREPARATION_PIPELINE.submit(this::executePreparationStage);
+    this.preparation = preparation;
+    preparation.result().whenComplete((_, throwable) -> this.finishPreparation(preparation, throwable));
+  }
+
+  protected void cancelPreparation() {
+    var preparation = this.preparation;
+    if (preparation != null) {
+      preparation.cancel();
+    }
+  }
+
+  protected void finishPreparation(
+    @NonNull ServicePreparationPipeline.Preparation preparation,
+    @Nullable Throwable throwable
+  ) {
+    try {
+      this.lifecycleLock.lock();
+      if (this.preparation == preparation) {
+        this.preparation = null;
+      }
+
+      if (throwable != null && !(throwable instanceof CancellationException)) {
+        LOGGER.error("Exception while preparing service {}", this.serviceId().name(), throwable);
+      }
+
+      // remove the preparing marker if the service was not started
+      if (this.lifeCycle() == ServiceLifeCycle.PREPARED
+        && this.currentServiceInfo.readProperty(ServiceInfoSnapshot.PREPARING)) {
+        var properties = this.currentServiceInfo.propertyHolder().mutableCopy()
+          .writeProperty(ServiceInfoSnapshot.PREPARING, false);
+        this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.PREPARED, properties, false);
+        this.publishServiceInfoSnapshot();
+      }
+    } finally {
+      this.lifecycleLock.unlock();
+    }
+  }
+
+  protected void executePreparationStage(
+    @NonNull ServicePreparationPipeline.Stage stage,
+    @NonNull Map<ServicePreparationPipeline.Stage, Duration> completedStages
+  ) {
+    switch (stage) {
+      case RESOLVE -> this.resolveServiceResources();
+      case FETCH -> this.fetchServiceResources();
+      case MATERIALIZE -> this.materializeService(completedStages);
+      case LAUNCH -> this.launchService(completedStages);
+    }
+  }
+
+  protected void resolveServiceResources() {
     // initialize the service directory
-    var firstStartup = Files.notExists(this.serviceDirectory);
+    this.firstStartup = Files.notExists(this.serviceDirectory);
     FileUtil.createDirectory(this.serviceDirectory);
     FileUtil.createDirectory(this.pluginDirectory);
 
-    // load the ssl configuration if enabled
-    var sslConfiguration = this.configuration.serverSSLConfig();
-    var wrapperSslConfigDocument = this.prepareSslConfiguration(sslConfiguration);
-
     // add all components
     this.waitingTemplates.addAll(this.serviceConfiguration.templates());
     this.waitingDeployments.addAll(this.serviceConfiguration.deployments());
@@ -702,19 +829,43 @@ protected void prepareService() {
 
     // initial service details are now ready, let the modules know that we're starting to prepare
     this.eventManager.callEvent(new CloudServicePrePrepareEvent(this));
+  }
 
+  protected void fetchServiceResources() {
     // load the inclusions
     this.includeWaitingServiceInclusions();
     // check if we should load the templates of the service
-    this.includeWaitingServiceTemplates(firstStartup);
+    this.includeWaitingServiceTemplates(this.firstStartup);
+  }
+
+  protected void materializeService(@NonNull Map<ServicePreparationPipeline.Stage, Duration> completedStages) {
+    // load the ssl configuration if enabled
+    var sslConfiguration = this.configuration.serverSSLConfig();
+    var wrapperSslConfigDocument = this.prepareSslConfiguration(sslConfiguration);
+
     // update the service configuration
     this.serviceConfigurationPreparer.configure(this);
+
+    // the timings of the stages that were executed until now are passed to the wrapper
+    var serviceInfo = this.currentServiceInfo;
+    var properties = serviceInfo.propertyHolder().mutableCopy()
+      .writeProperty(ServiceInfoSnapshot.PREPARING, false)
+      .writeProperty(ServiceInfoSnapshot.PREPARATION_STAGE_TIMINGS, stageTimingsInMillis(completedStages));
+    var wrapperServiceInfo = new ServiceInfoSnapshot(
+      serviceInfo.creationTime(),
+      serviceInfo.address(),
+      serviceInfo.processSnapshot(),
+      serviceInfo.configuration(),
+      serviceInfo.connectedTime(),
+      serviceInfo.lifeCycle(),
+      properties);
+
     // write the configuration file for the service
     var listener = this.selectConnectListener(this.configuration.identity().listeners());
     Document.newJsonDocument()
       .append("targetListener", listener)
       .append("connectionKey", this.connectionKey())
-      .append("serviceInfoSnapshot", this.currentServiceInfo)
+      .append("serviceInfoSnapshot", wrapperServiceInfo)
       .append("serviceConfiguration", this.serviceConfiguration())
       .append("sslConfiguration", wrapperSslConfigDocument)
       .writeTo(this.serviceDirectory.resolve(WRAPPER_CONFIG_PATH));
@@ -722,6 +873,55 @@ protected void prepareService() {
     this.eventManager.callEvent(new CloudServicePostPrepareEvent(this));
   }
 
+  protected void launchService(@NonNull Map<ServicePreparationPipeline.Stage, Duration> completedStages) {
+    try {
+      this.lifecycleLock.lock();
+      // the service might have been stopped while it was prepared
+      var preparation = this.preparation;
+      if (preparation == null || preparation.cancelled() || this.lifeCycle() != ServiceLifeCycle.PREPARED) {
+        return;
+      }
+
+      // check again if the service can be started, other services might have been started during the preparation.
+      // services are launched one at a time, so two services can't pass this check concurrently. the heap of this
+      // service is already counted in as it is preparing
+      var otherUsedHeapMemory = this.cloudServiceManager.currentUsedHeapMemory()
+        - this.serviceConfiguration().processConfig().maxHeapMemorySize();
+      if (!this.canStartNow(otherUsedHeapMemory)) {
+        // reset the preparation now, a scheduled retry of the start must not see this preparation as running
+        this.preparation = null;
+        var properties = this.currentServiceInfo.propertyHolder().mutableCopy()
+          .writeProperty(ServiceInfoSnapshot.PREPARING, false);
+        this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.PREPARED, properties, false);
+        this.publishServiceInfoSnapshot();
+        return;
+      }
+
+      var launchStart = System.nanoTime();
+      this.startProcess();
+
+      Map<ServicePreparationPipeline.Stage, Duration> stageTimings = new EnumMap<>(completedStages);
+      stageTimings.put(ServicePreparationPipeline.Stage.LAUNCH, Duration.ofNanos(System.nanoTime() - launchStart));
+
+      // update the current service info
+      var properties = this.currentServiceInfo.propertyHolder().mutableCopy()
+        .writeProperty(ServiceInfoSnapshot.PREPARING, false)
+        .writeProperty(ServiceInfoSnapshot.PREPARATION_STAGE_TIMINGS, stageTimingsInMillis(stageTimings));
+      this.pushServiceInfoSnapshotUpdate(ServiceLifeCycle.RUNNING, properties, true);
+      LOGGER.info(I18n.trans("cloudnet-service-post-start-message", this.serviceReplacement()));
+    } finally {
+      this.lifecycleLock.unlock();
+    }
+  }
+
+  protected static @NonNull Map<String, Long> stageTimingsInMillis(
+    @NonNull Map<ServicePreparationPipeline.Stage, Duration> stageTimings
+  ) {
+    Map<String, Long> timings = new LinkedHashMap<>();
+    stageTimings.forEach((stage, duration) -> timings.put(StringUtil.toLower(stage.name()), duration.toMillis()));
+    return timings;
+  }
+
   protected @NonNull HostAndPort selectConnectListener(@NonNull List<HostAndPort> listeners) {
     // select a listener for the service to connect to, randomly
     var listener = listeners.get(ThreadLocalRandom.current().nextInt(listeners.size()));
@@ -761,19 +961,6 @@ protected void prepareService() {
       .append("trustCertificatePath", relativeFilePath.toString());
   }
 
-  protected void downloadInclusionFile(@NonNull ServiceRemoteInclusion inclusion, @NonNull Path destination) {
-    // prepare the connection from which we load the inclusion
-    var request = Unirest.get(inclusion.url());
-    // put the given http headers
-    var headers = inclusion.readPropertyOrDefault(ServiceRemoteInclusion.HEADERS, Map.of());
-    for (var entry : headers.entrySet()) {
-      request.header(entry.getKey(), entry.getValue());
-    }
-
-    FileUtil.createDirectory(destination.getParent());
-    request.asFile(destination.toString(), StandardCopyOption.REPLACE_EXISTING);
-  }
-
   protected @NonNull Object[] serviceReplacement() {
     return new Object[]{
       this.serviceId().uniqueId(),
@@ -785,4 +972,13 @@ protected void downloadInclusionFile(@NonNull ServiceRemoteInclusion inclusion,
   protected abstract void startProcess();
 
   protected abstract void stopProcess();
+
+  protected record PendingInclusion(
+    @NonNull ServiceRemoteInclusion inclusion,
+    @NonNull Path target,
+    @NonNull CompletableFuture<Path> download,
+    boolean cached
+  ) {
+
+  }
 }
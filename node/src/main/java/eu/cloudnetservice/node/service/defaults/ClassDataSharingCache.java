@@ -0,0 +1,267 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import com.google.common.primitives.Ints;
+import eu.cloudnetservice.common.io.FileUtil;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class ClassDataSharingCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClassDataSharingCache.class);
+
+  private static final boolean ENABLED = Boolean.parseBoolean(
+    System.getProperty("cloudnet.service.cds.enabled", "true"));
+  private static final Duration JAVA_VERSION_CACHE_DURATION = Duration.ofMillis(
+    Long.getLong("cloudnet.service.cds.java-version-cache-millis", 300_000));
+
+  // dynamic archives (-XX:ArchiveClassesAtExit) are supported since java 13
+  private static final int MIN_FEATURE_VERSION = 13;
+  private static final Pattern JAVA_VERSION_PATTERN = Pattern.compile("version \"(\\d+)");
+  private static final Set<String> CONFLICTING_OPTIONS = Set.of(
+    "-Xshare",
+    "SharedArchiveFile",
+    "ArchiveClassesAtExit",
+    "AutoCreateSharedArchive",
+    "SharedClassListFile");
+
+  private final Path cacheDirectory;
+  private final Set<String> runningTrainings = ConcurrentHashMap.newKeySet();
+
+  // the java runtime behind a java command might be replaced at any time, therefore the version is re-resolved
+  // from time to time. the value is the full version output of the runtime, empty if the runtime doesn't support cds
+  private final Cache<String, Optional<String>> javaVersions = Caffeine.newBuilder()
+    .expireAfterWrite(JAVA_VERSION_CACHE_DURATION)
+    .build();
+  // the application files are copied into each service directory without keeping their modification time, so the
+  // copies are identified by their name and size. the hash is re-computed from time to time to notice replaced files
+  private final Cache<FileIdentity, String> applicationFileHashes = Caffeine.newBuilder()
+    .maximumSize(256)
+    .expireAfterWrite(JAVA_VERSION_CACHE_DURATION)
+    .build();
+
+  public ClassDataSharingCache(@NonNull Path cacheDirectory) {
+    this.cacheDirectory = cacheDirectory;
+  }
+
+  public @Nullable ArchiveUsage archiveUsage(
+    @NonNull String javaCommand,
+    @NonNull String classPath,
+    @NonNull Path applicationFile,
+    @NonNull Collection<String> configuredJvmOptions
+  ) {
+    if (!ENABLED || this.conflictsWithConfiguredOptions(configuredJvmOptions)) {
+      return null;
+    }
+
+    var javaVersion = this.javaVersions.get(javaCommand, this::resolveJavaVersion).orElse(null);
+    if (javaVersion == null) {
+      return null;
+    }
+
+    try {
+      // the slot identifies the service setup, the state identifies the exact files and runtime that were used to
+      // create the archive. an archive with an outdated state is replaced once a new archive was created for the slot
+      var slot = Hashing.murmur3_128().newHasher()
+        .putString(javaCommand, StandardCharsets.UTF_8)
+        .putString(classPath, StandardCharsets.UTF_8)
+        .putString(applicationFile.getFileName().toString(), StandardCharsets.UTF_8)
+        .hash()
+        .toString();
+      var state = Hashing.murmur3_128().newHasher().putString(javaVersion, StandardCharsets.UTF_8);
+      this.putClassPathState(state, classPath);
+      state.putString(this.applicationFileHash(applicationFile), StandardCharsets.UTF_8);
+
+      var archiveName = slot + '-' + state.hash();
+      var archiveFile = this.cacheDirectory.resolve(archiveName + ".jsa").toAbsolutePath();
+      if (Files.exists(archiveFile)) {
+        return new ArchiveUsage(slot, archiveName, archiveFile, false);
+      }
+
+      // there is no archive yet, the first service which gets started becomes the training run and dumps all classes
+      // it loaded into an archive when it exits. all other services are started without an archive in the meantime
+      if (this.runningTrainings.add(archiveName)) {
+        FileUtil.createDirectory(this.cacheDirectory);
+        var trainingFile = this.cacheDirectory.resolve(archiveName + '.' + UUID.randomUUID() + ".tmp").toAbsolutePath();
+        return new ArchiveUsage(slot, archiveName, trainingFile, true);
+      }
+      return null;
+    } catch (UncheckedIOException exception) {
+      LOGGER.debug("Unable to compute the class data sharing archive for {}", applicationFile, exception);
+      return null;
+    }
+  }
+
+  public void processStarted(@NonNull ArchiveUsage usage, @Nullable Process process) {
+    if (!usage.training()) {
+      return;
+    }
+
+    if (process == null) {
+      // the process didn't start, let the next service do the training run
+      this.runningTrainings.remove(usage.archiveName());
+      return;
+    }
+
+    // the archive is written by the jvm during a regular exit, move it to the final location afterwards
+    process.onExit().whenComplete((_, _) -> {
+      try {
+        if (Files.exists(usage.archiveFile()) && Files.size(usage.archiveFile()) > 0) {
+          var archiveFile = this.cacheDirectory.resolve(usage.archiveName() + ".jsa");
+          this.moveAtomically(usage.archiveFile(), archiveFile);
+          this.removeOutdatedArchives(usage.slot(), archiveFile);
+          LOGGER.debug("Created class data sharing archive {}", archiveFile);
+        }
+      } catch (IOException | UncheckedIOException exception) {
+        LOGGER.debug("Unable to store class data sharing archive {}", usage.archiveName(), exception);
+      } finally {
+        FileUtil.delete(usage.archiveFile());
+        this.runningTrainings.remove(usage.archiveName());
+      }
+    });
+  }
+
+  private boolean conflictsWithConfiguredOptions(@NonNull Collection<String> configuredJvmOptions) {
+    // never override an archive configuration made by the user
+    for (var option : configuredJvmOptions) {
+      for (var conflictingOption : CONFLICTING_OPTIONS) {
+        if (option.contains(conflictingOption)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private @NonNull Optional<String> resolveJavaVersion(@NonNull String javaCommand) {
+    try {
+      var process = new ProcessBuilder(javaCommand, "-version").redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+      try (var stream = process.getErrorStream()) {
+        var versionOutput = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        var matcher = JAVA_VERSION_PATTERN.matcher(versionOutput);
+        if (matcher.find()) {
+          var featureVersion = Ints.tryParse(matcher.group(1));
+          if (featureVersion != null && featureVersion >= MIN_FEATURE_VERSION) {
+            // the full output contains the exact build of the runtime, archives are only valid for the same build
+            return Optional.of(versionOutput);
+          }
+        }
+      } finally {
+        process.destroyForcibly();
+      }
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to resolve the java version of {}", javaCommand, exception);
+    }
+    return Optional.empty();
+  }
+
+  private void putClassPathState(@NonNull Hasher hasher, @NonNull String classPath) {
+    // the jvm refuses to use an archive if the size or modification time of a class path entry changed
+    for (var entry : classPath.split(File.pathSeparator)) {
+      if (!entry.isEmpty()) {
+        var path = Path.of(entry);
+        try {
+          hasher
+            .putString(entry, StandardCharsets.UTF_8)
+            .putLong(Files.size(path))
+            .putLong(Files.getLastModifiedTime(path).toMillis());
+        } catch (IOException exception) {
+          throw new UncheckedIOException(exception);
+        }
+      }
+    }
+  }
+
+  private @NonNull String applicationFileHash(@NonNull Path applicationFile) {
+    try {
+      var identity = new FileIdentity(applicationFile.getFileName().toString(), Files.size(applicationFile));
+      return this.applicationFileHashes.get(identity, _ -> {
+        try {
+          return MoreFiles.asByteSource(applicationFile).hash(Hashing.murmur3_128()).toString();
+        } catch (IOException exception) {
+          throw new UncheckedIOException(exception);
+        }
+      });
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private void removeOutdatedArchives(@NonNull String slot, @NonNull Path currentArchive) throws IOException {
+    try (var stream = Files.newDirectoryStream(this.cacheDirectory, slot + "-*.jsa")) {
+      for (var archive : stream) {
+        if (!archive.equals(currentArchive)) {
+          FileUtil.delete(archive);
+        }
+      }
+    }
+  }
+
+  private void moveAtomically(@NonNull Path source, @NonNull Path target) {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException exception) {
+      FileUtil.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  public record ArchiveUsage(
+    @NonNull String slot,
+    @NonNull String archiveName,
+    @NonNull Path archiveFile,
+    boolean training
+  ) {
+
+    public @NonNull List<String> jvmOptions() {
+      // a training run dumps the loaded classes on exit, all other runs map the archive. if the archive can't be used
+      // by the jvm for some reason (for example a runtime update), the jvm silently starts without it
+      return this.training
+        ? List.of("-XX:ArchiveClassesAtExit=" + this.archiveFile)
+        : List.of("-XX:SharedArchiveFile=" + this.archiveFile, "-Xshare:auto");
+    }
+  }
+
+  private record FileIdentity(@NonNull String fileName, long size) {
+
+  }
+}
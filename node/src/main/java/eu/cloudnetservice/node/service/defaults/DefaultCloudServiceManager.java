@@ -58,7 +58,9 @@
 import eu.cloudnetservice.node.service.defaults.factory.JVMLocalCloudServiceFactory;
 import eu.cloudnetservice.node.service.defaults.provider.EmptySpecificCloudServiceProvider;
 import eu.cloudnetservice.node.service.defaults.provider.RemoteNodeCloudServiceProvider;
+import eu.cloudnetservice.node.service.placement.ServicePlacementEngine;
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 import java.lang.constant.ClassDesc;
 import java.lang.constant.MethodTypeDesc;
@@ -102,6 +104,7 @@ public class DefaultCloudServiceManager implements CloudServiceManager {
   protected final Collection<String> defaultJvmOptions;
   protected final NodeServerProvider nodeServerProvider;
   protected final CloudServiceFactory cloudServiceFactory;
+  protected final Provider<ServicePlacementEngine> placementEngineProvider;
   protected final RPCImplementationBuilder.InstanceAllocator<? extends SpecificCloudServiceProvider> specificProviderAllocator;
 
   protected final Map<UUID, SpecificCloudServiceProvider> knownServices = new ConcurrentHashMap<>();
@@ -121,10 +124,12 @@ public DefaultCloudServiceManager(
     @NonNull RPCHandlerRegistry handlerRegistry,
     @NonNull NodeServerProvider nodeServerProvider,
     @NonNull CloudServiceFactory cloudServiceFactory,
+    @NonNull Provider<ServicePlacementEngine> placementEngineProvider,
     @NonNull @jakarta.inject.Named("consoleArgs") List<String> args
   ) {
     this.nodeServerProvider = nodeServerProvider;
     this.cloudServiceFactory = cloudServiceFactory;
+    this.placementEngineProvider = placementEngineProvider;
     this.defaultJvmOptions = Arrays.asList(args.remove(0).split(";;"));
 
     // init rpc
@@ -167,16 +172,13 @@ public DefaultCloudServiceManager(
         })
         .currentGetter(group -> this.serviceProviderByName(group.name()).serviceInfo())
         .build());
-    // schedule the updating of the local service log cache
+    // schedule the detection of dead local services, the log caches are updated by the services themselves
     mainThread.scheduleTask(() -> {
       for (var service : this.localCloudServices()) {
         // we only need to look at running services
         if (service.lifeCycle() == ServiceLifeCycle.RUNNING) {
           // detect dead services and stop them
-          if (service.alive()) {
-            service.serviceConsoleLogCache().update();
-            LOGGER.trace("Updated service log cache of {}", service.serviceId().name());
-          } else {
+          if (!service.alive()) {
             eventManager.callEvent(new CloudServicePreForceStopEvent(service));
             service.stop();
             LOGGER.trace("Stopped dead service {}", service.serviceId().name());
@@ -394,9 +396,11 @@ public void deleteAllCloudServices() {
 
   @Override
   public int currentUsedHeapMemory() {
+    // services which are preparing their start will use their heap soon, count them in as well
     return this.localCloudServices().stream()
       .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(snapshot -> snapshot.lifeCycle() == ServiceLifeCycle.RUNNING)
+      .filter(snapshot -> snapshot.lifeCycle() == ServiceLifeCycle.RUNNING
+        || (snapshot.lifeCycle() == ServiceLifeCycle.PREPARED && snapshot.readProperty(ServiceInfoSnapshot.PREPARING)))
       .mapToInt(snapshot -> snapshot.configuration().processConfig().maxHeapMemorySize())
       .sum();
   }
@@ -411,48 +415,7 @@ public int currentReservedMemory() {
 
   @Override
   public @Nullable NodeServer selectNodeForService(@NonNull ServiceConfiguration configuration) {
-    // check if the node is already specified
-    if (configuration.serviceId().nodeUniqueId() != null) {
-      // check for a cluster node server
-      var server = this.nodeServerProvider.node(configuration.serviceId().nodeUniqueId());
-      if (server != null) {
-        // the requested node is a cluster node, check if that node is still accepting services
-        return !server.available() || server.nodeInfoSnapshot().draining() ? null : server;
-      }
-      // no node server with the given name which can start services found
-      return null;
-    }
-
-    // find the best node server
-    return this.nodeServerProvider.nodeServers().stream()
-      .filter(NodeServer::available)
-      .filter(nodeServer -> !nodeServer.nodeInfoSnapshot().draining())
-      .filter(server -> {
-        var allowedNodes = configuration.serviceId().allowedNodes();
-        return allowedNodes.isEmpty() || allowedNodes.contains(server.info().uniqueId());
-      })
-      .min((left, right) -> {
-        // calculate the reserved memory amount based on the cached service information on this node
-        // this is the better way to do this, as newly created services on other nodes will get cached instantly, rather
-        // than us needing to wait for the updated node info to be sent by the associated node. In normal scenarios
-        // that is not a big problem, however when many start requests are coming in, that can lead to one node picking
-        // up a lot of services until (only a few ms later) the updated snapshot is present.
-        var leftReservedMemory = this.calculateReservedMemoryPercentage(left);
-        var rightReservedMemory = this.calculateReservedMemoryPercentage(right);
-
-        // we elevate the used heap memory percentage over the cpu usage, as it's varying much more
-        var chain = ComparisonChain.start().compare(leftReservedMemory, rightReservedMemory);
-        // only include the cpu usage if both nodes can provide a value
-        if (left.nodeInfoSnapshot().processSnapshot().systemCpuUsage() >= 0
-          && right.nodeInfoSnapshot().processSnapshot().systemCpuUsage() >= 0) {
-          // add the system usage to the chain
-          chain = chain.compare(
-            left.nodeInfoSnapshot().processSnapshot().systemCpuUsage(),
-            right.nodeInfoSnapshot().processSnapshot().systemCpuUsage());
-        }
-        // use the result of the comparison
-        return chain.result();
-      }).orElse(null);
+    return this.placementEngineProvider.get().selectNode(configuration);
   }
 
   @Override
@@ -567,6 +530,7 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable
     var prepared = this.servicesByTask(task.name())
       .stream()
       .filter(taskService -> taskService.lifeCycle() == ServiceLifeCycle.PREPARED)
+      .filter(taskService -> !taskService.readProperty(ServiceInfoSnapshot.PREPARING))
       .map(service -> {
         // get the node server associated with the node, if the server is null it has not enough memory to start a service
         var nodeServer = nodes.get(service.serviceId().nodeUniqueId());
@@ -600,14 +564,4 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable
         : createResult.serviceInfo().provider();
     }
   }
-
-  protected int calculateReservedMemoryPercentage(@NonNull NodeServer server) {
-    // get the reserved memory on the given node based on the services which are running on it and sum it up
-    var reservedMemory = this.services().stream()
-      .filter(info -> info.serviceId().nodeUniqueId().equals(server.name()))
-      .mapToInt(info -> info.configuration().processConfig().maxHeapMemorySize())
-      .sum();
-    // convert to a percentage
-    return (reservedMemory * 100) / server.nodeInfoSnapshot().maxMemory();
-  }
 }
@@ -22,12 +22,7 @@
 import eu.cloudnetservice.common.language.I18n;
 import eu.cloudnetservice.common.tuple.Tuple2;
 import eu.cloudnetservice.common.util.StringUtil;
-import eu.cloudnetservice.driver.channel.ChannelMessage;
-import eu.cloudnetservice.driver.channel.ChannelMessageSender;
 import eu.cloudnetservice.driver.event.EventManager;
-import eu.cloudnetservice.driver.event.events.service.CloudServiceLogEntryEvent;
-import eu.cloudnetservice.driver.network.buffer.DataBuf;
-import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceEnvironment;
 import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
@@ -38,6 +33,7 @@
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
 import eu.cloudnetservice.node.service.defaults.log.ProcessServiceLogCache;
+import eu.cloudnetservice.node.service.defaults.log.ServiceLogForwarder;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import io.vavr.CheckedFunction1;
 import java.io.File;
@@ -74,6 +70,10 @@ public class JVMService extends AbstractService {
 
   protected static final Path LIB_PATH = Path.of("launcher", "libs");
   protected static final Path WRAPPER_TEMP_FILE = FileUtil.TEMP_DIR.resolve("caches").resolve("wrapper.jar");
+  protected static final Path PRELOAD_INDEX_DIRECTORY = Path.of(
+    System.getProperty("cloudnet.service.preload.directory", "local/preload"));
+  protected static final ClassDataSharingCache CLASS_DATA_SHARING_CACHE = new ClassDataSharingCache(
+    Path.of(System.getProperty("cloudnet.service.cds.directory", "local/cds")));
 
   protected volatile Process process;
 
@@ -126,12 +126,19 @@ protected void startProcess() {
 
     // add the java command to start the service
     var overriddenJavaCommand = this.serviceConfiguration().javaCommand();
-    arguments.add(overriddenJavaCommand == null ? this.configuration.javaCommand() : overriddenJavaCommand);
+    var javaCommand = overriddenJavaCommand == null ? this.configuration.javaCommand() : overriddenJavaCommand;
+    arguments.add(javaCommand);
 
     // add the jvm flags of the service configuration
     arguments.addAll(this.cloudServiceManager().defaultJvmOptions());
     arguments.addAll(this.serviceConfiguration().processConfig().jvmOptions());
 
+    // use (or create) the class data sharing archive of the service setup to speed up the class loading
+    var archiveUsage = this.prepareClassDataSharing(javaCommand, classPath, applicationInformation.first(), arguments);
+    if (archiveUsage != null) {
+      arguments.addAll(archiveUsage.jvmOptions());
+    }
+
     // set the maximum heap memory setting. Xms matching Xmx because if not there is unused memory
     arguments.add("-Xmx" + this.serviceConfiguration().processConfig().maxHeapMemorySize() + "M");
     arguments.add("-Xms" + this.serviceConfiguration().processConfig().maxHeapMemorySize() + "M");
@@ -148,6 +155,11 @@ protected void startProcess() {
     arguments.add("-Dservice.bind.host=" + this.serviceConfiguration().hostAddress());
     arguments.add("-Dservice.bind.port=" + this.serviceConfiguration().port());
 
+    // the wrapper records the classes used by the application and preloads them on the next start
+    if (applicationInformation.second().preloadJarContent()) {
+      arguments.add("-Dcloudnet.wrapper.preload.directory=" + PRELOAD_INDEX_DIRECTORY.toAbsolutePath());
+    }
+
     // add the class path and the main class of the wrapper
     arguments.add("-cp");
     arguments.add(classPath);
@@ -165,6 +177,9 @@ protected void startProcess() {
 
     // try to start the process like that
     this.doStartProcess(arguments, wrapperInformation.first(), applicationInformation.first());
+    if (archiveUsage != null) {
+      CLASS_DATA_SHARING_CACHE.processStarted(archiveUsage, this.process);
+    }
   }
 
   @Override
@@ -228,8 +243,9 @@ protected void doStartProcess(
         builder.environment().put(StringUtil.toUpper(entry.getKey()), entry.getValue());
       }
 
-      // start the process and fire the post start event
+      // start the process and the readers of the process output, then fire the post start event
       this.process = builder.start();
+      this.logCache.update();
       this.eventManager.callEvent(new CloudServicePostProcessStartEvent(this));
     } catch (IOException exception) {
       LOGGER.error(
@@ -240,31 +256,21 @@ protected void doStartProcess(
     }
   }
 
+  protected @Nullable ClassDataSharingCache.ArchiveUsage prepareClassDataSharing(
+    @NonNull String javaCommand,
+    @NonNull String classPath,
+    @NonNull Path applicationFile,
+    @NonNull Collection<String> jvmOptions
+  ) {
+    return CLASS_DATA_SHARING_CACHE.archiveUsage(javaCommand, classPath, applicationFile, jvmOptions);
+  }
+
   protected void initLogHandler() {
-    super.logCache.addHandler(($, line, stderr) -> {
-      for (var logTarget : super.logTargets) {
-        if (logTarget.first().equals(ChannelMessageSender.self().toTarget())) {
-          // the current target is the node this service is running on, print it directly here
-          this.eventManager.callEvent(logTarget.second(), new CloudServiceLogEntryEvent(
-            this.currentServiceInfo,
-            line,
-            stderr ? CloudServiceLogEntryEvent.StreamType.STDERR : CloudServiceLogEntryEvent.StreamType.STDOUT));
-        } else {
-          // the listener is listening remotely, send the line to the network component
-          ChannelMessage.builder()
-            .target(logTarget.first())
-            .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-            .message("screen_new_line")
-            .buffer(DataBuf.empty()
-              .writeObject(this.currentServiceInfo)
-              .writeString(logTarget.second())
-              .writeString(line)
-              .writeBoolean(stderr))
-            .build()
-            .send();
-        }
-      }
-    });
+    // the lines are batched and rate limited before they are sent to remote log targets
+    super.logCache.addHandler(new ServiceLogForwarder(
+      this.eventManager,
+      () -> this.currentServiceInfo,
+      super.logTargets));
   }
 
   protected @Nullable Tuple2<Path, Attributes> prepareWrapperFile() {
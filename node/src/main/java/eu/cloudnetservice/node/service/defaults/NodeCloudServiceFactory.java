@@ -18,7 +18,6 @@
 
 import dev.derklaro.aerogel.PostConstruct;
 import dev.derklaro.aerogel.auto.Provides;
-import eu.cloudnetservice.common.concurrent.TaskUtil;
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
 import eu.cloudnetservice.driver.event.EventManager;
@@ -32,17 +31,28 @@
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceCreateResult;
 import eu.cloudnetservice.driver.service.ServiceCreateRetryConfiguration;
+import eu.cloudnetservice.driver.service.ServiceId;
 import eu.cloudnetservice.node.cluster.NodeServer;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.event.service.CloudServiceConfigurationPrePrepareEvent;
 import eu.cloudnetservice.node.event.service.CloudServiceNodeSelectEvent;
 import eu.cloudnetservice.node.network.listener.message.ServiceChannelMessageListener;
 import eu.cloudnetservice.node.service.CloudServiceManager;
+import eu.cloudnetservice.node.service.placement.PlacementReservation;
+import eu.cloudnetservice.node.service.placement.ServicePlacementEngine;
+import io.leangen.geantyref.TypeFactory;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -50,6 +60,7 @@
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,12 +70,18 @@ public class NodeCloudServiceFactory implements CloudServiceFactory {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(NodeCloudServiceFactory.class);
 
+  private static final Duration START_REQUEST_TIMEOUT = Duration.ofSeconds(20);
+  private static final Type RESULTS_TYPE = TypeFactory.parameterizedClass(List.class, ServiceCreateResult.class);
+
   private final EventManager eventManager;
   private final CloudServiceManager serviceManager;
   private final NodeServerProvider nodeServerProvider;
+  private final ServicePlacementEngine placementEngine;
   private final GroupConfigurationProvider groupProvider;
 
   private final Lock serviceCreationLock = new ReentrantLock(true);
+  private final Lock localServiceCreationLock = new ReentrantLock(true);
+  private final Map<UUID, ServiceId> claimedServiceIds = new ConcurrentHashMap<>();
   private final ScheduledExecutorService createRetryExecutor = Executors.newSingleThreadScheduledExecutor();
 
   @Inject
@@ -74,11 +91,13 @@ public NodeCloudServiceFactory(
     @NonNull RPCHandlerRegistry handlerRegistry,
     @NonNull CloudServiceManager serviceManager,
     @NonNull NodeServerProvider nodeServerProvider,
+    @NonNull ServicePlacementEngine placementEngine,
     @NonNull GroupConfigurationProvider groupProvider
   ) {
     this.eventManager = eventManager;
     this.serviceManager = serviceManager;
     this.nodeServerProvider = nodeServerProvider;
+    this.placementEngine = placementEngine;
     this.groupProvider = groupProvider;
 
     var rpcHandler = rpcFactory.newRPCHandlerBuilder(CloudServiceFactory.class).targetInstance(this).build();
@@ -94,56 +113,183 @@ private void registerServiceChannelListener() {
   public @NonNull ServiceCreateResult createCloudService(@NonNull ServiceConfiguration maybeServiceConfiguration) {
     // check if this node can start services
     if (this.nodeServerProvider.localNode().head()) {
-      // ensure that we're only creating one service
-      this.serviceCreationLock.lock();
+      // the ids of the service are claimed and the resources are reserved by the placement engine until the creation
+      // finished, which allows us to wait for the response of the target node without holding any lock
+      var plannedCreation = this.planServiceCreation(maybeServiceConfiguration);
+      return this.executeServiceCreation(plannedCreation).join();
+    } else {
+      // send a request to the head node to start a service on the best node server
+      return this.sendNodeServerStartRequest(
+        "node_to_head_start_service",
+        this.nodeServerProvider.headNode().info().uniqueId(),
+        maybeServiceConfiguration).join();
+    }
+  }
+
+  @Override
+  public @NonNull List<ServiceCreateResult> createCloudServices(
+    @NonNull Collection<ServiceConfiguration> serviceConfigurations
+  ) {
+    return this.createCloudServicesSeparatelyAsync(serviceConfigurations)
+      .stream()
+      .map(CompletableFuture::join)
+      .toList();
+  }
+
+  @Override
+  public @NonNull List<CompletableFuture<ServiceCreateResult>> createCloudServicesSeparatelyAsync(
+    @NonNull Collection<ServiceConfiguration> serviceConfigurations
+  ) {
+    if (serviceConfigurations.isEmpty()) {
+      return List.of();
+    }
+
+    // check if this node can start services
+    if (!this.nodeServerProvider.localNode().head()) {
+      // send all configurations to the head node in one request, the head node plans the creation of them
+      // the remote creations are executed in parallel, but the services for the head node are created sequentially
+      var configurations = List.copyOf(serviceConfigurations);
+      var requestTimeout = START_REQUEST_TIMEOUT.plusSeconds(configurations.size());
+      var resultsFuture = ChannelMessage.builder()
+        .target(ChannelMessageTarget.Type.NODE, this.nodeServerProvider.headNode().info().uniqueId())
+        .message("node_to_head_start_services")
+        .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+        .buffer(DataBuf.empty().writeObject(configurations))
+        .build()
+        .sendSingleQueryAsync()
+        .completeOnTimeout(null, requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+        .handle((response, _) -> {
+          List<ServiceCreateResult> createResults = response == null
+            ? null
+            : response.content().readObject(RESULTS_TYPE);
+          return createResults == null || createResults.size() != configurations.size() ? null : createResults;
+        });
+
+      List<CompletableFuture<ServiceCreateResult>> results = new ArrayList<>(configurations.size());
+      for (var index = 0; index < configurations.size(); index++) {
+        var resultIndex = index;
+        results.add(resultsFuture.thenApply(createResults -> createResults == null
+          ? ServiceCreateResult.FAILED
+          : createResults.get(resultIndex)));
+      }
+      return results;
+    }
+
+    // plan the creation of all services in one pass, each planned service is reserved on the selected node which is
+    // considered when selecting the node for the next service. This prevents that all services end up on the same node
+    List<PlannedCreation> plannedCreations = new ArrayList<>(serviceConfigurations.size());
+    for (var serviceConfiguration : serviceConfigurations) {
       try {
-        // copy the configuration into a builder to prevent setting values on multiple objects which are then shared
-        // over services which will eventually break the system
-        var configurationBuilder = ServiceConfiguration.builder(maybeServiceConfiguration);
-        this.eventManager.callEvent(new CloudServiceConfigurationPrePrepareEvent(
-          this.serviceManager,
-          maybeServiceConfiguration,
-          configurationBuilder));
-
-        // prepare the service configuration
-        this.replaceServiceId(maybeServiceConfiguration, configurationBuilder);
-        this.replaceServiceUniqueId(maybeServiceConfiguration, configurationBuilder);
-        this.includeGroupComponents(maybeServiceConfiguration, configurationBuilder);
-
-        // disable retries on the new configuration, we only schedule them based on the original one
-        configurationBuilder.retryConfiguration(ServiceCreateRetryConfiguration.NO_RETRY);
-
-        // finish the replaced configuration & get the logic node server to start the service on
-        var serviceConfiguration = configurationBuilder.build();
-        var nodeSelectEvent = this.eventManager.callEvent(new CloudServiceNodeSelectEvent(
-          this.serviceManager,
-          serviceConfiguration));
-        // check if we are allowed to start the service - return null otherwise
-        if (nodeSelectEvent.cancelled()) {
-          return this.scheduleCreateRetryIfEnabled(
-            maybeServiceConfiguration.retryConfiguration(),
-            serviceConfiguration);
-        }
+        plannedCreations.add(this.planServiceCreation(serviceConfiguration));
+      } catch (Exception exception) {
+        LOGGER.error("Unable to plan the creation of service {}", serviceConfiguration.serviceId().name(), exception);
+        plannedCreations.add(null);
+      }
+    }
+
+    // dispatch the creations, the requests to the remote nodes are sent without waiting for each response
+    List<CompletableFuture<ServiceCreateResult>> results = new ArrayList<>(plannedCreations.size());
+    for (var plannedCreation : plannedCreations) {
+      if (plannedCreation == null) {
+        results.add(CompletableFuture.completedFuture(ServiceCreateResult.FAILED));
+        continue;
+      }
+
+      try {
+        results.add(this.executeServiceCreation(plannedCreation));
+      } catch (Exception exception) {
+        LOGGER.error(
+          "Unable to create service {}",
+          plannedCreation.configuration().serviceId().name(),
+          exception);
+        results.add(CompletableFuture.completedFuture(ServiceCreateResult.FAILED));
+      }
+    }
+
+    return results;
+  }
 
+  protected @NonNull PlannedCreation planServiceCreation(@NonNull ServiceConfiguration maybeServiceConfiguration) {
+    // copy the configuration into a builder to prevent setting values on multiple objects which are then shared
+    // over services which will eventually break the system
+    var configurationBuilder = ServiceConfiguration.builder(maybeServiceConfiguration);
+    this.eventManager.callEvent(new CloudServiceConfigurationPrePrepareEvent(
+      this.serviceManager,
+      maybeServiceConfiguration,
+      configurationBuilder));
+
+    // prepare the service configuration
+    this.includeGroupComponents(maybeServiceConfiguration, configurationBuilder);
+
+    // disable retries on the new configuration, we only schedule them based on the original one
+    configurationBuilder.retryConfiguration(ServiceCreateRetryConfiguration.NO_RETRY);
+
+    // only the selection of the service ids must be exclusive. The ids stay claimed until the creation finished,
+    // which prevents that other creations select them while the node of this service is selected and contacted
+    ServiceConfiguration serviceConfiguration;
+    this.serviceCreationLock.lock();
+    try {
+      this.replaceServiceId(maybeServiceConfiguration, configurationBuilder);
+      this.replaceServiceUniqueId(maybeServiceConfiguration, configurationBuilder);
+
+      // finish the replaced configuration & claim the selected ids
+      serviceConfiguration = configurationBuilder.build();
+      this.claimedServiceIds.put(serviceConfiguration.serviceId().uniqueId(), serviceConfiguration.serviceId());
+    } finally {
+      this.serviceCreationLock.unlock();
+    }
+
+    try {
+      // get the logic node server to start the service on
+      var nodeSelectEvent = this.eventManager.callEvent(new CloudServiceNodeSelectEvent(
+        this.serviceManager,
+        serviceConfiguration));
+
+      // check if we are allowed to start the service, no node is reserved if not
+      PlacementReservation reservation = null;
+      if (!nodeSelectEvent.cancelled()) {
         var nodeServer = nodeSelectEvent.nodeServer();
         if (nodeServer == null) {
-          // no node was set by the event, try to select a node or return if no node can pick up the service
-          nodeServer = this.serviceManager.selectNodeForService(serviceConfiguration);
-          if (nodeServer == null) {
-            return this.scheduleCreateRetryIfEnabled(
-              maybeServiceConfiguration.retryConfiguration(),
-              serviceConfiguration);
-          }
+          // no node was set by the event, try to select and reserve a node
+          reservation = this.placementEngine.reserve(serviceConfiguration);
+        } else {
+          reservation = this.placementEngine.reserve(serviceConfiguration, nodeServer);
         }
+      }
 
-        // if there is a node server send a request to start a service
-        if (nodeServer.channel() != null) {
-          // send a request to start on the selected cluster node
-          var createResult = this.sendNodeServerStartRequest(
-            "head_node_to_node_start_service",
-            nodeServer.info().uniqueId(),
-            serviceConfiguration);
+      return new PlannedCreation(maybeServiceConfiguration, serviceConfiguration, reservation);
+    } catch (RuntimeException exception) {
+      // the service will not be created, free the claimed ids
+      this.claimedServiceIds.remove(serviceConfiguration.serviceId().uniqueId());
+      throw exception;
+    }
+  }
 
+  protected @NonNull CompletableFuture<ServiceCreateResult> executeServiceCreation(
+    @NonNull PlannedCreation plannedCreation
+  ) {
+    // retry if no node can pick up the service
+    var reservation = plannedCreation.reservation();
+    var serviceConfiguration = plannedCreation.configuration();
+    var retryConfiguration = plannedCreation.source().retryConfiguration();
+    if (reservation == null) {
+      this.claimedServiceIds.remove(serviceConfiguration.serviceId().uniqueId());
+      return CompletableFuture.completedFuture(
+        this.scheduleCreateRetryIfEnabled(retryConfiguration, serviceConfiguration));
+    }
+
+    var nodeServer = reservation.nodeServer();
+    var serviceUniqueId = reservation.serviceUniqueId();
+
+    // if there is a node server send a request to start a service
+    if (nodeServer.channel() != null) {
+      // send a request to start on the selected cluster node, the service is unknown to the service manager until
+      // the node responded. The claimed ids and the reservation are kept until then
+      return this.sendNodeServerStartRequest(
+          "head_node_to_node_start_service",
+          nodeServer.info().uniqueId(),
+          serviceConfiguration)
+        .thenApply(createResult -> {
           // process the service creation result and return it if the creation was successful
           createResult = this.processServiceStartResponse(createResult, nodeServer);
           if (createResult.state() == ServiceCreateResult.State.CREATED) {
@@ -151,26 +297,27 @@ private void registerServiceChannelListener() {
           }
 
           // service creation failed - retry
-          return this.scheduleCreateRetryIfEnabled(
-            maybeServiceConfiguration.retryConfiguration(),
-            serviceConfiguration);
-        } else {
-          // start on the current node & publish the service snapshot to all components
-          var createdService = this.serviceManager.createLocalCloudService(serviceConfiguration);
-          createdService.handleServiceRegister();
+          return this.scheduleCreateRetryIfEnabled(retryConfiguration, serviceConfiguration);
+        })
+        .whenComplete((_, _) -> {
+          this.claimedServiceIds.remove(serviceUniqueId);
+          this.placementEngine.release(serviceUniqueId);
+        });
+    } else {
+      // ensure that we're only creating one local service at a time
+      this.localServiceCreationLock.lock();
+      try {
+        // start on the current node & publish the service snapshot to all components
+        var createdService = this.serviceManager.createLocalCloudService(serviceConfiguration);
+        createdService.handleServiceRegister();
 
-          // construct the create result
-          return ServiceCreateResult.created(createdService.serviceInfo());
-        }
+        // construct the create result
+        return CompletableFuture.completedFuture(ServiceCreateResult.created(createdService.serviceInfo()));
       } finally {
-        this.serviceCreationLock.unlock();
+        this.localServiceCreationLock.unlock();
+        this.claimedServiceIds.remove(serviceUniqueId);
+        this.placementEngine.release(serviceUniqueId);
       }
-    } else {
-      // send a request to the head node to start a service on the best node server
-      return this.sendNodeServerStartRequest(
-        "node_to_head_start_service",
-        this.nodeServerProvider.headNode().info().uniqueId(),
-        maybeServiceConfiguration);
     }
   }
 
@@ -212,25 +359,26 @@ private void registerServiceChannelListener() {
     }
   }
 
-  protected @NonNull ServiceCreateResult sendNodeServerStartRequest(
+  protected @NonNull CompletableFuture<ServiceCreateResult> sendNodeServerStartRequest(
     @NonNull String message,
     @NonNull String targetNode,
     @NonNull ServiceConfiguration configuration
   ) {
     // send a request to the node to start a service
-    var future = ChannelMessage.builder()
+    return ChannelMessage.builder()
       .target(ChannelMessageTarget.Type.NODE, targetNode)
       .message(message)
       .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
       .buffer(DataBuf.empty().writeObject(configuration))
       .build()
-      .sendSingleQueryAsync();
-    var result = TaskUtil.getOrDefault(future, Duration.ofSeconds(20), null);
-
-    // read the result service info from the buffer, if the there was no response then we need to fail (only the head
-    // node should queue start requests)
-    var createResult = result == null ? null : result.content().readObject(ServiceCreateResult.class);
-    return Objects.requireNonNullElse(createResult, ServiceCreateResult.FAILED);
+      .sendSingleQueryAsync()
+      .completeOnTimeout(null, START_REQUEST_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+      .handle((result, _) -> {
+        // read the result service info from the buffer, if the there was no response then we need to fail (only the
+        // head node should queue start requests)
+        var createResult = result == null ? null : result.content().readObject(ServiceCreateResult.class);
+        return Objects.requireNonNullElse(createResult, ServiceCreateResult.FAILED);
+      });
   }
 
   protected @NonNull ServiceCreateResult scheduleCreateRetryIfEnabled(
@@ -291,18 +439,27 @@ protected void includeGroupComponents(
     }
   }
 
-  protected void replaceServiceId(@NonNull ServiceConfiguration input, @NonNull ServiceConfiguration.Builder output) {
+  protected void replaceServiceId(
+    @NonNull ServiceConfiguration input,
+    @NonNull ServiceConfiguration.Builder output
+  ) {
     // check if the service id
     var serviceId = input.serviceId().taskServiceId();
     // check if the service id is invalid
     if (serviceId <= 0) {
       serviceId = 1;
     }
-    // check if it is already taken
-    var takenIds = this.serviceManager.servicesByTask(input.serviceId().taskName())
+    // check if it is already taken, either by an existing service or by a service that is being created
+    var taskName = input.serviceId().taskName();
+    var takenIds = this.serviceManager.servicesByTask(taskName)
       .stream()
       .map(service -> service.serviceId().taskServiceId())
       .collect(Collectors.toSet());
+    for (var claimedServiceId : this.claimedServiceIds.values()) {
+      if (claimedServiceId.taskName().equals(taskName)) {
+        takenIds.add(claimedServiceId.taskServiceId());
+      }
+    }
     while (takenIds.contains(serviceId)) {
       serviceId++;
     }
@@ -316,10 +473,18 @@ protected void replaceServiceUniqueId(
   ) {
     var uniqueId = input.serviceId().uniqueId();
     // check if the unique id is already taken
-    while (this.serviceManager.service(uniqueId) != null) {
+    while (this.serviceManager.service(uniqueId) != null || this.claimedServiceIds.containsKey(uniqueId)) {
       uniqueId = UUID.randomUUID();
     }
     // set the new unique id
     output.uniqueId(uniqueId);
   }
+
+  protected record PlannedCreation(
+    @NonNull ServiceConfiguration source,
+    @NonNull ServiceConfiguration configuration,
+    @Nullable PlacementReservation reservation
+  ) {
+
+  }
 }
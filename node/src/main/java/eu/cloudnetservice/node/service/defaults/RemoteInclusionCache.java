@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import com.google.common.hash.Hashing;
+import eu.cloudnetservice.common.concurrent.TaskUtil;
+import eu.cloudnetservice.common.io.FileUtil;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import kong.unirest.core.HttpResponse;
+import kong.unirest.core.Unirest;
+import kong.unirest.core.UnirestException;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class RemoteInclusionCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RemoteInclusionCache.class);
+
+  private static final int HTTP_NOT_MODIFIED = 304;
+  private static final Duration DEFAULT_REVALIDATION_INTERVAL = Duration.ofMillis(
+    Long.getLong("cloudnet.inclusions.revalidation-interval-millis", 300_000));
+
+  private final Path cacheDirectory;
+  private final Duration revalidationInterval;
+
+  private final Map<String, CacheEntry> entries = new ConcurrentHashMap<>();
+  private final Map<String, CompletableFuture<Path>> runningDownloads = new ConcurrentHashMap<>();
+
+  public RemoteInclusionCache(@NonNull Path cacheDirectory) {
+    this(cacheDirectory, DEFAULT_REVALIDATION_INTERVAL);
+  }
+
+  public RemoteInclusionCache(@NonNull Path cacheDirectory, @NonNull Duration revalidationInterval) {
+    this.cacheDirectory = cacheDirectory;
+    this.revalidationInterval = revalidationInterval;
+  }
+
+  public @NonNull CompletableFuture<Path> cachedFile(@NonNull String url, @NonNull Map<String, String> headers) {
+    var cacheKey = Hashing.murmur3_128().hashString(url, StandardCharsets.UTF_8).toString();
+
+    // only one download per url is executed at a time, all other requests wait for the running download
+    var download = new CompletableFuture<Path>();
+    var runningDownload = this.runningDownloads.putIfAbsent(cacheKey, download);
+    if (runningDownload != null) {
+      return runningDownload;
+    }
+
+    TaskUtil.runVirtualAsync(() -> {
+      try {
+        download.complete(this.loadCachedFile(cacheKey, url, headers));
+      } catch (Throwable throwable) {
+        download.completeExceptionally(throwable);
+      } finally {
+        this.runningDownloads.remove(cacheKey, download);
+      }
+    });
+    return download;
+  }
+
+  public @NonNull CompletableFuture<Path> download(@NonNull String url, @NonNull Map<String, String> headers) {
+    return TaskUtil.supplyVirtualAsync(() -> {
+      var targetFile = this.tempFile(UUID.randomUUID().toString());
+      try {
+        var response = this.requestFile(url, headers, targetFile, null);
+        this.ensureSuccess(url, response);
+        return targetFile;
+      } catch (RuntimeException exception) {
+        FileUtil.delete(targetFile);
+        throw exception;
+      }
+    });
+  }
+
+  private @NonNull Path loadCachedFile(
+    @NonNull String cacheKey,
+    @NonNull String url,
+    @NonNull Map<String, String> headers
+  ) {
+    var entry = this.entries.get(cacheKey);
+    if (entry != null && Files.notExists(entry.file())) {
+      entry = null;
+    }
+
+    // use the cached file if it was validated recently or can't be validated at all
+    var currentTime = System.currentTimeMillis();
+    if (entry != null && (!entry.revalidatable() || !this.revalidationRequired(entry, currentTime))) {
+      return entry.file();
+    }
+
+    // download into a temporary file first, the cached file is replaced atomically once the download completed
+    var tempFile = this.tempFile(cacheKey + '.' + UUID.randomUUID());
+    try {
+      var response = this.requestFile(url, headers, tempFile, entry);
+      if (entry != null && response.getStatus() == HTTP_NOT_MODIFIED) {
+        this.entries.put(cacheKey, entry.revalidated(currentTime));
+        return entry.file();
+      }
+
+      this.ensureSuccess(url, response);
+      var cachedFile = this.cacheDirectory.resolve(cacheKey);
+      this.moveAtomically(tempFile, cachedFile);
+
+      var responseHeaders = response.getHeaders();
+      this.entries.put(cacheKey, new CacheEntry(
+        cachedFile,
+        emptyToNull(responseHeaders.getFirst("ETag")),
+        emptyToNull(responseHeaders.getFirst("Last-Modified")),
+        currentTime));
+      return cachedFile;
+    } catch (RuntimeException exception) {
+      if (entry == null) {
+        throw exception;
+      }
+
+      // the revalidation failed, continue to use the cached file
+      LOGGER.debug("Unable to revalidate cached inclusion {}, using the cached file", url, exception);
+      return entry.file();
+    } finally {
+      FileUtil.delete(tempFile);
+    }
+  }
+
+  private @NonNull HttpResponse<?> requestFile(
+    @NonNull String url,
+    @NonNull Map<String, String> headers,
+    @NonNull Path target,
+    @Nullable CacheEntry revalidatedEntry
+  ) {
+    var request = Unirest.get(url);
+    headers.forEach(request::header);
+
+    // send the validators of the cached file, the server responds with 304 if the file did not change
+    if (revalidatedEntry != null) {
+      if (revalidatedEntry.entityTag() != null) {
+        request.header("If-None-Match", revalidatedEntry.entityTag());
+      }
+      if (revalidatedEntry.lastModified() != null) {
+        request.header("If-Modified-Since", revalidatedEntry.lastModified());
+      }
+    }
+
+    return request.asFile(target.toString(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private void ensureSuccess(@NonNull String url, @NonNull HttpResponse<?> response) {
+    if (!response.isSuccess()) {
+      throw new UnirestException(String.format("Unexpected response status %d from %s", response.getStatus(), url));
+    }
+  }
+
+  private boolean revalidationRequired(@NonNull CacheEntry entry, long currentTime) {
+    return currentTime - entry.validatedAt() >= this.revalidationInterval.toMillis();
+  }
+
+  private @NonNull Path tempFile(@NonNull String name) {
+    FileUtil.createDirectory(this.cacheDirectory);
+    return this.cacheDirectory.resolve(name + ".tmp");
+  }
+
+  private void moveAtomically(@NonNull Path source, @NonNull Path target) {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException exception) {
+      FileUtil.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  private static @Nullable String emptyToNull(@Nullable String value) {
+    return value == null || value.isEmpty() ? null : value;
+  }
+
+  private record CacheEntry(
+    @NonNull Path file,
+    @Nullable String entityTag,
+    @Nullable String lastModified,
+    long validatedAt
+  ) {
+
+    public boolean revalidatable() {
+      return this.entityTag != null || this.lastModified != null;
+    }
+
+    public @NonNull CacheEntry revalidated(long validatedAt) {
+      return new CacheEntry(this.file, this.entityTag, this.lastModified, validatedAt);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.service.ServiceTemplate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import lombok.NonNull;
+
+public final class ServiceFileManifest {
+
+  private final Path rootDirectory;
+  // the files of each template which are still in the same state as when they were pulled from or deployed to it
+  private final Map<ServiceTemplate, Map<String, FileState>> templateFiles = new ConcurrentHashMap<>();
+
+  public ServiceFileManifest(@NonNull Path rootDirectory) {
+    this.rootDirectory = rootDirectory;
+  }
+
+  public @NonNull Map<String, FileState> directoryState(@NonNull Predicate<String> fileFilter) {
+    if (Files.notExists(this.rootDirectory)) {
+      return Map.of();
+    }
+
+    try {
+      Map<String, FileState> state = new HashMap<>();
+      Files.walkFileTree(this.rootDirectory, new SimpleFileVisitor<>() {
+        @Override
+        public @NonNull FileVisitResult preVisitDirectory(
+          @NonNull Path directory,
+          @NonNull BasicFileAttributes attributes
+        ) {
+          // skip the whole directory if it's filtered out, in the same way as the deployment does
+          if (directory.equals(ServiceFileManifest.this.rootDirectory)) {
+            return FileVisitResult.CONTINUE;
+          }
+          return fileFilter.test(ServiceFileManifest.this.fileName(directory) + '/')
+            ? FileVisitResult.CONTINUE
+            : FileVisitResult.SKIP_SUBTREE;
+        }
+
+        @Override
+        public @NonNull FileVisitResult visitFile(@NonNull Path file, @NonNull BasicFileAttributes attributes) {
+          if (attributes.isRegularFile()) {
+            var fileName = ServiceFileManifest.this.fileName(file);
+            if (fileFilter.test(fileName)) {
+              state.put(fileName, new FileState(attributes.size(), attributes.lastModifiedTime().toMillis()));
+            }
+          }
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public @NonNull FileVisitResult visitFileFailed(@NonNull Path file, @NonNull IOException exception) {
+          // the file was removed while walking the tree
+          return FileVisitResult.CONTINUE;
+        }
+      });
+      return state;
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  public void recordPull(@NonNull ServiceTemplate template, @NonNull Map<String, FileState> stateBeforePull) {
+    // all files that were added or changed by the pull now belong to the template
+    Map<String, FileState> pulledFiles = new HashMap<>();
+    this.directoryState(_ -> true).forEach((fileName, state) -> {
+      if (!state.equals(stateBeforePull.get(fileName))) {
+        pulledFiles.put(fileName, state);
+      }
+    });
+
+    // the overridden files are no longer in the state in which the other templates provided them
+    for (var files : this.templateFiles.values()) {
+      files.keySet().removeAll(pulledFiles.keySet());
+    }
+    this.templateFiles.computeIfAbsent(template, _ -> new ConcurrentHashMap<>()).putAll(pulledFiles);
+  }
+
+  public void recordDeployment(
+    @NonNull ServiceTemplate template,
+    @NonNull Map<String, FileState> deployedFiles,
+    @NonNull Iterable<String> deletedFiles
+  ) {
+    var files = this.templateFiles.computeIfAbsent(template, _ -> new ConcurrentHashMap<>());
+    files.putAll(deployedFiles);
+    for (var deletedFile : deletedFiles) {
+      files.remove(deletedFile);
+    }
+  }
+
+  public @NonNull Map<String, FileState> templateFiles(@NonNull ServiceTemplate template) {
+    return this.templateFiles.getOrDefault(template, Map.of());
+  }
+
+  public static boolean matches(@NonNull Predicate<String> fileFilter, @NonNull String fileName) {
+    // the file is only included if all parent directories are included as well
+    for (var index = fileName.indexOf('/'); index != -1; index = fileName.indexOf('/', index + 1)) {
+      if (!fileFilter.test(fileName.substring(0, index + 1))) {
+        return false;
+      }
+    }
+    return fileFilter.test(fileName);
+  }
+
+  public void clear() {
+    this.templateFiles.clear();
+  }
+
+  private @NonNull String fileName(@NonNull Path path) {
+    // ensures that we get a file name which is equivalent on all operating systems
+    return this.rootDirectory.relativize(path).toString().replace('\\', '/');
+  }
+
+  public record FileState(long size, long lastModified) {
+
+  }
+}
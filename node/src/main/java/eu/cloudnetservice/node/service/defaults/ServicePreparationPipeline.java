@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.common.util.StringUtil;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import lombok.NonNull;
+
+public final class ServicePreparationPipeline {
+
+  private static final int DEFAULT_THREADS = Integer.getInteger("cloudnet.service.preparation.threads", 8);
+
+  private final ExecutorService executor;
+  private final Map<Stage, Semaphore> stageLimits = new EnumMap<>(Stage.class);
+
+  public ServicePreparationPipeline() {
+    this(DEFAULT_THREADS);
+  }
+
+  public ServicePreparationPipeline(int threads) {
+    this.executor = Executors.newFixedThreadPool(
+      threads,
+      Thread.ofPlatform().name("CloudNet Service Preparation ", 0).daemon().factory());
+    for (var stage : Stage.values()) {
+      this.stageLimits.put(stage, new Semaphore(stage.concurrencyLimit, true));
+    }
+  }
+
+  public @NonNull Preparation submit(@NonNull StageExecutor stageExecutor) {
+    var preparation = new Preparation();
+    preparation.future = this.executor.submit(() -> this.execute(preparation, stageExecutor));
+    return preparation;
+  }
+
+  private void execute(@NonNull Preparation preparation, @NonNull StageExecutor stageExecutor) {
+    Map<Stage, Duration> stageTimings = new EnumMap<>(Stage.class);
+    try {
+      for (var stage : Stage.values()) {
+        // wait until the stage can be executed, some stages should only run for a limited amount of services at a time
+        var stageLimit = this.stageLimits.get(stage);
+        stageLimit.acquire();
+        try {
+          if (preparation.cancelled) {
+            throw new CancellationException();
+          }
+
+          var stageStart = System.nanoTime();
+          stageExecutor.execute(stage, Collections.unmodifiableMap(stageTimings));
+          stageTimings.put(stage, Duration.ofNanos(System.nanoTime() - stageStart));
+        } finally {
+          stageLimit.release();
+        }
+      }
+
+      preparation.result.complete(stageTimings);
+    } catch (InterruptedException exception) {
+      preparation.result.completeExceptionally(new CancellationException());
+    } catch (Throwable throwable) {
+      preparation.result.completeExceptionally(throwable);
+    }
+  }
+
+  public enum Stage {
+
+    RESOLVE(Integer.MAX_VALUE),
+    FETCH(4),
+    MATERIALIZE(4),
+    LAUNCH(1);
+
+    private final int concurrencyLimit;
+
+    Stage(int defaultConcurrencyLimit) {
+      var propertyName = "cloudnet.service.preparation." + StringUtil.toLower(this.name()) + "-concurrency";
+      this.concurrencyLimit = Math.max(1, Integer.getInteger(propertyName, defaultConcurrencyLimit));
+    }
+  }
+
+  @FunctionalInterface
+  public interface StageExecutor {
+
+    void execute(@NonNull Stage stage, @NonNull Map<Stage, Duration> completedStages) throws Exception;
+  }
+
+  public static final class Preparation {
+
+    private final CompletableFuture<Map<Stage, Duration>> result = new CompletableFuture<>();
+
+    private volatile boolean cancelled;
+    private volatile Future<?> future;
+
+    private Preparation() {
+    }
+
+    public @NonNull CompletableFuture<Map<Stage, Duration>> result() {
+      return this.result;
+    }
+
+    public boolean cancelled() {
+      return this.cancelled;
+    }
+
+    public void cancel() {
+      this.cancelled = true;
+      // interrupt the running stage, the preparation might also not have been started yet
+      var future = this.future;
+      if (future != null) {
+        future.cancel(true);
+      }
+      this.result.cancel(false);
+    }
+  }
+}
@@ -26,7 +26,8 @@
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import lombok.NonNull;
 import org.jetbrains.annotations.UnmodifiableView;
 import org.slf4j.Logger;
@@ -38,8 +39,10 @@ public abstract class AbstractServiceLogCache implements ServiceConsoleLogCache
 
   protected final CloudService service;
 
-  protected final Queue<String> cachedLogMessages = new ConcurrentLinkedQueue<>();
+  protected final ServiceLogRingBuffer cachedLogMessages;
   protected final Set<ServiceConsoleLineHandler> handlers = ConcurrentHashMap.newKeySet();
+  // ensures that the lines are added to the cache and passed to the handlers in the same order
+  protected final Lock lineLock = new ReentrantLock();
 
   protected volatile int logCacheSize;
   protected volatile boolean alwaysPrintErrorStreamToConsole;
@@ -47,6 +50,7 @@ public abstract class AbstractServiceLogCache implements ServiceConsoleLogCache
   public AbstractServiceLogCache(@NonNull Configuration configuration, @NonNull CloudService service) {
     this.service = service;
     this.logCacheSize = configuration.maxServiceConsoleLogCacheSize();
+    this.cachedLogMessages = new ServiceLogRingBuffer(this.logCacheSize);
     this.alwaysPrintErrorStreamToConsole = configuration.printErrorStreamLinesFromServices();
   }
 
@@ -69,6 +73,7 @@ public int logCacheSize() {
   public void logCacheSize(int cacheSize) {
     Preconditions.checkArgument(cacheSize >= 0, "Cache size must be higher or equal to 0");
     this.logCacheSize = cacheSize;
+    this.cachedLogMessages.capacity(cacheSize);
   }
 
   @Override
@@ -97,21 +102,22 @@ public void removeHandler(@NonNull ServiceConsoleLineHandler handler) {
   }
 
   protected void handleItem(@NonNull String entry, boolean comesFromErrorStream) {
-    // drain the cache
-    while (this.cachedLogMessages.size() > this.logCacheSize) {
-      this.cachedLogMessages.poll();
-    }
-    // print the line to the console if enabled
-    if (this.alwaysPrintErrorStreamToConsole && comesFromErrorStream) {
-      LOGGER.warn("[{}/WARN]: {}", this.service.serviceId().name(), entry);
-    }
-    // add the line
-    this.cachedLogMessages.add(entry);
-    // call all handlers
-    if (!this.handlers.isEmpty()) {
-      for (var handler : this.handlers) {
-        handler.handleLine(this, entry, comesFromErrorStream);
+    this.lineLock.lock();
+    try {
+      // print the line to the console if enabled
+      if (this.alwaysPrintErrorStreamToConsole && comesFromErrorStream) {
+        LOGGER.warn("[{}/WARN]: {}", this.service.serviceId().name(), entry);
+      }
+      // add the line, the ring buffer evicts the oldest line if needed
+      this.cachedLogMessages.add(entry);
+      // call all handlers
+      if (!this.handlers.isEmpty()) {
+        for (var handler : this.handlers) {
+          handler.handleLine(this, entry, comesFromErrorStream);
+        }
       }
+    } finally {
+      this.lineLock.unlock();
     }
   }
 }
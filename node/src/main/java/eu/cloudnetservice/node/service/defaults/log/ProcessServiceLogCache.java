@@ -19,8 +19,10 @@
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.ServiceConsoleLogCache;
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.function.Supplier;
 import lombok.NonNull;
@@ -29,8 +31,7 @@ public class ProcessServiceLogCache extends AbstractServiceLogCache {
 
   protected final Supplier<Process> processSupplier;
 
-  protected final byte[] buffer = new byte[2048];
-  protected final StringBuffer stringBuffer = new StringBuffer();
+  protected Process readingProcess;
 
   public ProcessServiceLogCache(
     @NonNull Supplier<Process> processSupplier,
@@ -42,44 +43,38 @@ public ProcessServiceLogCache(
   }
 
   @Override
-  public @NonNull ServiceConsoleLogCache update() {
-    // check if we can currently update
+  public synchronized @NonNull ServiceConsoleLogCache update() {
+    // start the readers for the current process if not yet done, the lines are handled as soon as they are written
     var process = this.processSupplier.get();
-    if (process != null) {
-      try {
-        this.readStream(process.getInputStream(), false);
-        this.readStream(process.getErrorStream(), true);
-      } catch (IOException exception) {
-        LOGGER.error("Exception updating content of console for service {}",
-          this.service.serviceId().name(),
-          exception);
-        // reset the string buffer
-        this.stringBuffer.setLength(0);
-      }
+    if (process != null && process != this.readingProcess) {
+      this.readingProcess = process;
+      this.startReader(process.getInputStream(), false);
+      this.startReader(process.getErrorStream(), true);
     }
     // for chaining
     return this;
   }
 
-  protected void readStream(@NonNull InputStream stream, boolean isErrorStream) throws IOException {
-    int len;
-    while (stream.available() > 0 && (len = stream.read(this.buffer, 0, this.buffer.length)) != -1) {
-      this.stringBuffer.append(new String(this.buffer, 0, len, StandardCharsets.UTF_8));
-    }
+  protected void startReader(@NonNull InputStream stream, boolean isErrorStream) {
+    var threadName = String.format(
+      "CloudNet Service Log Reader %s (%s)",
+      this.service.serviceId().name(),
+      isErrorStream ? "stderr" : "stdout");
+    Thread.ofVirtual().name(threadName).start(() -> this.readStream(stream, isErrorStream));
+  }
 
-    // check if we got a result we can work with
-    var content = this.stringBuffer.toString();
-    if (content.contains("\n") || content.contains("\r")) {
-      for (var input : content.split("\r")) {
-        for (var text : input.split("\n")) {
-          if (!text.trim().isEmpty()) {
-            this.handleItem(text, isErrorStream);
-          }
+  protected void readStream(@NonNull InputStream stream, boolean isErrorStream) {
+    // the reader handles \n, \r and \r\n as line separators. It blocks until a line is available and
+    // returns null once the process exited (or the stream was closed)
+    try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (!line.isBlank()) {
+          this.handleItem(line, isErrorStream);
         }
       }
+    } catch (IOException exception) {
+      LOGGER.debug("Exception reading the console of service {}", this.service.serviceId().name(), exception);
     }
-
-    // reset the string buffer
-    this.stringBuffer.setLength(0);
   }
 }
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults.log;
+
+import eu.cloudnetservice.common.concurrent.HashedWheelTimer;
+import eu.cloudnetservice.common.tuple.Tuple2;
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.channel.ChannelMessageSender;
+import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLogEntryEvent;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.node.service.ServiceConsoleLineHandler;
+import eu.cloudnetservice.node.service.ServiceConsoleLogCache;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import lombok.NonNull;
+
+public final class ServiceLogForwarder implements ServiceConsoleLineHandler {
+
+  private static final long FLUSH_INTERVAL_MILLIS = Long.getLong(
+    "cloudnet.service.log-forwarding.flush-interval-millis",
+    50);
+  private static final int MAX_BATCH_LINES = Integer.getInteger(
+    "cloudnet.service.log-forwarding.max-batch-lines",
+    256);
+  private static final long MAX_BYTES_PER_SECOND = Long.getLong(
+    "cloudnet.service.log-forwarding.max-bytes-per-second",
+    256 * 1024);
+
+  private static final HashedWheelTimer FLUSH_TIMER = new HashedWheelTimer(
+    "CloudNet Service Log Forwarder",
+    Duration.ofMillis(10),
+    512);
+  // the timer is shared by all services, the flushes are executed on a virtual thread to not block the timer thread
+  private static final Executor FLUSH_EXECUTOR = Executors.newThreadPerTaskExecutor(
+    Thread.ofVirtual().name("service-log-flush-", 0).factory());
+
+  private final EventManager eventManager;
+  private final Supplier<ServiceInfoSnapshot> serviceInfoSupplier;
+  private final Collection<Tuple2<ChannelMessageTarget, String>> logTargets;
+  private final Consumer<List<LogLine>> batchSender;
+
+  private final long flushIntervalMillis;
+  private final int maxBatchLines;
+  private final long maxBytesPerSecond;
+
+  // the lines are added from the virtual log reader threads, synchronized would pin them to their carrier
+  private final Lock batchLock = new ReentrantLock();
+  // held while a batch is taken and sent, ensures that the batches are sent in the order they were taken
+  private final Lock sendLock = new ReentrantLock();
+
+  private List<LogLine> pendingLines = new ArrayList<>();
+  private long droppedLines;
+  private boolean flushScheduled;
+
+  private double availableBytes;
+  private long lastRefillNanos = System.nanoTime();
+
+  public ServiceLogForwarder(
+    @NonNull EventManager eventManager,
+    @NonNull Supplier<ServiceInfoSnapshot> serviceInfoSupplier,
+    @NonNull Collection<Tuple2<ChannelMessageTarget, String>> logTargets
+  ) {
+    this(
+      eventManager,
+      serviceInfoSupplier,
+      logTargets,
+      lines -> sendLines(serviceInfoSupplier.get(), logTargets, lines),
+      FLUSH_INTERVAL_MILLIS,
+      MAX_BATCH_LINES,
+      MAX_BYTES_PER_SECOND);
+  }
+
+  ServiceLogForwarder(
+    @NonNull EventManager eventManager,
+    @NonNull Supplier<ServiceInfoSnapshot> serviceInfoSupplier,
+    @NonNull Collection<Tuple2<ChannelMessageTarget, String>> logTargets,
+    @NonNull Consumer<List<LogLine>> batchSender,
+    long flushIntervalMillis,
+    int maxBatchLines,
+    long maxBytesPerSecond
+  ) {
+    this.eventManager = eventManager;
+    this.serviceInfoSupplier = serviceInfoSupplier;
+    this.logTargets = logTargets;
+    this.batchSender = batchSender;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.maxBatchLines = maxBatchLines;
+    this.maxBytesPerSecond = maxBytesPerSecond;
+    this.availableBytes = maxBytesPerSecond;
+  }
+
+  @Override
+  public void handleLine(@NonNull ServiceConsoleLogCache source, @NonNull String line, boolean stderr) {
+    var remoteTargets = false;
+    var localTarget = ChannelMessageSender.self().toTarget();
+    for (var logTarget : this.logTargets) {
+      if (logTarget.first().equals(localTarget)) {
+        // the current target is the node this service is running on, print it directly here
+        this.eventManager.callEvent(logTarget.second(), new CloudServiceLogEntryEvent(
+          this.serviceInfoSupplier.get(),
+          line,
+          stderr ? CloudServiceLogEntryEvent.StreamType.STDERR : CloudServiceLogEntryEvent.StreamType.STDOUT));
+      } else {
+        remoteTargets = true;
+      }
+    }
+
+    // the remote targets receive the lines in batches
+    if (remoteTargets) {
+      this.enqueueLine(new LogLine(line, stderr));
+    }
+  }
+
+  void enqueueLine(@NonNull LogLine line) {
+    var sendBatch = false;
+    this.batchLock.lock();
+    try {
+      if (this.tryAcquireBytes(utf8Length(line.line()))) {
+        this.pendingLines.add(line);
+      } else {
+        this.droppedLines++;
+      }
+
+      if (this.pendingLines.size() >= this.maxBatchLines) {
+        // the batch is full, send it directly instead of waiting for the next flush
+        sendBatch = true;
+      } else if (!this.flushScheduled) {
+        this.flushScheduled = true;
+        FLUSH_TIMER.schedule(
+          () -> FLUSH_EXECUTOR.execute(this::flush),
+          this.flushIntervalMillis,
+          TimeUnit.MILLISECONDS);
+      }
+    } finally {
+      this.batchLock.unlock();
+    }
+
+    if (sendBatch) {
+      this.sendPendingLines();
+    }
+  }
+
+  private void flush() {
+    this.batchLock.lock();
+    try {
+      this.flushScheduled = false;
+    } finally {
+      this.batchLock.unlock();
+    }
+
+    this.sendPendingLines();
+  }
+
+  private void sendPendingLines() {
+    // taking and sending the lines must happen under the same lock, otherwise a batch which was taken later could
+    // overtake the previous batch. This also slows down the log reader if the lines cannot be sent fast enough
+    this.sendLock.lock();
+    try {
+      List<LogLine> lines;
+      this.batchLock.lock();
+      try {
+        lines = this.takePendingLines();
+      } finally {
+        this.batchLock.unlock();
+      }
+
+      if (!lines.isEmpty()) {
+        this.batchSender.accept(lines);
+      }
+    } finally {
+      this.sendLock.unlock();
+    }
+  }
+
+  private @NonNull List<LogLine> takePendingLines() {
+    var lines = this.pendingLines;
+    this.pendingLines = new ArrayList<>();
+
+    // let the subscribers know that lines were skipped
+    if (this.droppedLines > 0) {
+      lines.add(new LogLine(String.format(
+        "[CloudNet] %d lines were not forwarded as the service exceeded the log rate limit",
+        this.droppedLines), true));
+      this.droppedLines = 0;
+    }
+
+    return lines;
+  }
+
+  private boolean tryAcquireBytes(int bytes) {
+    if (this.maxBytesPerSecond <= 0) {
+      return true;
+    }
+
+    // refill the available bytes based on the time that passed since the last refill
+    var now = System.nanoTime();
+    var refilledBytes = (now - this.lastRefillNanos) * this.maxBytesPerSecond / 1_000_000_000D;
+    this.availableBytes = Math.min(this.maxBytesPerSecond, this.availableBytes + refilledBytes);
+    this.lastRefillNanos = now;
+
+    if (this.availableBytes < bytes) {
+      return false;
+    }
+
+    this.availableBytes -= bytes;
+    return true;
+  }
+
+  private static int utf8Length(@NonNull String line) {
+    // the lines are sent utf-8 encoded, count the encoded bytes without encoding the line
+    var bytes = 0;
+    for (var index = 0; index < line.length(); index++) {
+      var c = line.charAt(index);
+      if (c < 0x80) {
+        bytes += 1;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c)
+        && index + 1 < line.length()
+        && Character.isLowSurrogate(line.charAt(index + 1))) {
+        // a surrogate pair is encoded as one 4 byte code point
+        bytes += 4;
+        index++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+
+  private static void sendLines(
+    @NonNull ServiceInfoSnapshot serviceInfo,
+    @NonNull Collection<Tuple2<ChannelMessageTarget, String>> logTargets,
+    @NonNull List<LogLine> lines
+  ) {
+    // group the remote targets by their event channel, all targets of a channel receive the same message
+    var localTarget = ChannelMessageSender.self().toTarget();
+    Map<String, List<ChannelMessageTarget>> targetsByChannel = new HashMap<>();
+    for (var logTarget : logTargets) {
+      if (!logTarget.first().equals(localTarget)) {
+        targetsByChannel.computeIfAbsent(logTarget.second(), _ -> new ArrayList<>()).add(logTarget.first());
+      }
+    }
+
+    for (var entry : targetsByChannel.entrySet()) {
+      var buffer = DataBuf.empty()
+        .writeObject(serviceInfo)
+        .writeString(entry.getKey())
+        .writeVarInt(lines.size());
+      for (var line : lines) {
+        buffer.writeString(line.line()).writeBoolean(line.stderr());
+      }
+
+      var message = ChannelMessage.builder()
+        .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+        .message("screen_new_lines")
+        .buffer(buffer);
+      for (var target : entry.getValue()) {
+        message.target(target);
+      }
+      message.build().send();
+    }
+  }
+
+  record LogLine(@NonNull String line, boolean stderr) {
+
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults.log;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractQueue;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+public final class ServiceLogRingBuffer extends AbstractQueue<String> {
+
+  private String[] elements;
+  private int head;
+  private int size;
+
+  public ServiceLogRingBuffer(int capacity) {
+    Preconditions.checkArgument(capacity >= 0, "Capacity must be higher or equal to 0");
+    this.elements = new String[capacity];
+  }
+
+  public synchronized int capacity() {
+    return this.elements.length;
+  }
+
+  public synchronized void capacity(int capacity) {
+    Preconditions.checkArgument(capacity >= 0, "Capacity must be higher or equal to 0");
+    if (capacity != this.elements.length) {
+      // keep the newest elements which are still fitting into the new buffer
+      var retained = Math.min(this.size, capacity);
+      var newElements = new String[capacity];
+      for (var index = 0; index < retained; index++) {
+        newElements[index] = this.elements[this.index(this.size - retained + index)];
+      }
+
+      this.head = 0;
+      this.size = retained;
+      this.elements = newElements;
+    }
+  }
+
+  @Override
+  public synchronized boolean offer(@NonNull String element) {
+    var capacity = this.elements.length;
+    if (capacity == 0) {
+      return true;
+    }
+
+    if (this.size == capacity) {
+      // the buffer is full, override the oldest element
+      this.elements[this.head] = element;
+      this.head = (this.head + 1) % capacity;
+    } else {
+      this.elements[this.index(this.size)] = element;
+      this.size++;
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized @Nullable String poll() {
+    if (this.size == 0) {
+      return null;
+    }
+
+    var element = this.elements[this.head];
+    this.elements[this.head] = null;
+    this.head = (this.head + 1) % this.elements.length;
+    this.size--;
+    return element;
+  }
+
+  @Override
+  public synchronized @Nullable String peek() {
+    return this.size == 0 ? null : this.elements[this.head];
+  }
+
+  @Override
+  public synchronized int size() {
+    return this.size;
+  }
+
+  @Override
+  public synchronized void clear() {
+    Arrays.fill(this.elements, null);
+    this.head = 0;
+    this.size = 0;
+  }
+
+  @Override
+  public @NonNull Iterator<String> iterator() {
+    // iterate over a snapshot, the buffer is written concurrently by the log readers
+    return this.snapshot().iterator();
+  }
+
+  public synchronized @NonNull List<String> snapshot() {
+    var snapshot = new String[this.size];
+    for (var index = 0; index < this.size; index++) {
+      snapshot[index] = this.elements[this.index(index)];
+    }
+    return List.of(snapshot);
+  }
+
+  private int index(int offset) {
+    return (this.head + offset) % this.elements.length;
+  }
+}
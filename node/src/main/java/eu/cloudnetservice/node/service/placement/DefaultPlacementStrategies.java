@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.placement;
+
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import lombok.NonNull;
+
+public enum DefaultPlacementStrategies implements PlacementStrategy {
+
+  SPREAD {
+    @Override
+    public double score(@NonNull PlacementCandidate candidate, @NonNull ServiceConfiguration configuration) {
+      // prefer the node with the lowest reserved memory, the cpu usage (0 - 100) is only used to break ties
+      var cpuUsage = candidate.systemCpuUsage();
+      return candidate.reservedMemoryPercentage() + (cpuUsage >= 0 ? cpuUsage / 101D : 0D);
+    }
+  },
+  BIN_PACK {
+    @Override
+    public double score(@NonNull PlacementCandidate candidate, @NonNull ServiceConfiguration configuration) {
+      // prefer the fullest node which still has enough memory left for the service, nodes on which the service
+      // does not fit are only used if there is no other choice (in that case the emptiest of them is preferred)
+      var heapMemory = configuration.processConfig().maxHeapMemorySize();
+      var reservedPercentage = candidate.reservedMemoryPercentage();
+      return candidate.freeHeapMemory() >= heapMemory ? 100D - reservedPercentage : 200D + reservedPercentage;
+    }
+  }
+}
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.placement;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.derklaro.aerogel.auto.Provides;
+import eu.cloudnetservice.common.util.StringUtil;
+import eu.cloudnetservice.driver.document.property.DocProperty;
+import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.node.cluster.NodeServer;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+@Singleton
+@Provides(ServicePlacementEngine.class)
+public class DefaultServicePlacementEngine implements ServicePlacementEngine {
+
+  protected static final String DEFAULT_STRATEGY = System.getProperty(
+    "cloudnet.service.placement.default-strategy",
+    DefaultPlacementStrategies.SPREAD.name());
+  protected static final Duration RESERVATION_TIMEOUT = Duration.ofMillis(
+    Long.getLong("cloudnet.service.placement.reservation-timeout-millis", 60_000));
+
+  protected final NodeServerProvider nodeServerProvider;
+  protected final ServiceTaskProvider serviceTaskProvider;
+  protected final Provider<CloudServiceManager> serviceManagerProvider;
+
+  protected final Lock placementLock = new ReentrantLock();
+  protected final Map<String, PlacementStrategy> strategies = new ConcurrentHashMap<>();
+  // reservations which are not released in time (for example because the creation response got lost) expire
+  protected final Cache<UUID, PlacementReservation> reservations = Caffeine.newBuilder()
+    .expireAfterWrite(RESERVATION_TIMEOUT)
+    .build();
+
+  @Inject
+  public DefaultServicePlacementEngine(
+    @NonNull NodeServerProvider nodeServerProvider,
+    @NonNull ServiceTaskProvider serviceTaskProvider,
+    @NonNull Provider<CloudServiceManager> serviceManagerProvider
+  ) {
+    this.nodeServerProvider = nodeServerProvider;
+    this.serviceTaskProvider = serviceTaskProvider;
+    this.serviceManagerProvider = serviceManagerProvider;
+
+    for (var strategy : DefaultPlacementStrategies.values()) {
+      this.registerStrategy(strategy);
+    }
+  }
+
+  @Override
+  public @NonNull @UnmodifiableView Collection<PlacementStrategy> strategies() {
+    return Collections.unmodifiableCollection(this.strategies.values());
+  }
+
+  @Override
+  public @Nullable PlacementStrategy strategy(@NonNull String name) {
+    return this.strategies.get(StringUtil.toLower(name));
+  }
+
+  @Override
+  public void registerStrategy(@NonNull PlacementStrategy strategy) {
+    this.strategies.put(StringUtil.toLower(strategy.name()), strategy);
+  }
+
+  @Override
+  public void unregisterStrategy(@NonNull String name) {
+    this.strategies.remove(StringUtil.toLower(name));
+  }
+
+  @Override
+  public @NonNull @UnmodifiableView Collection<PlacementReservation> reservations() {
+    return Collections.unmodifiableCollection(this.reservations.asMap().values());
+  }
+
+  @Override
+  public @Nullable NodeServer selectNode(@NonNull ServiceConfiguration configuration) {
+    return this.selectNode(configuration, this.currentNodeLoads());
+  }
+
+  @Override
+  public @Nullable PlacementReservation reserve(@NonNull ServiceConfiguration configuration) {
+    // selecting and reserving must happen atomically, otherwise concurrent placements would pick the same node
+    this.placementLock.lock();
+    try {
+      var nodeServer = this.selectNode(configuration);
+      return nodeServer == null ? null : this.reserve(configuration, nodeServer);
+    } finally {
+      this.placementLock.unlock();
+    }
+  }
+
+  @Override
+  public @NonNull PlacementReservation reserve(
+    @NonNull ServiceConfiguration configuration,
+    @NonNull NodeServer nodeServer
+  ) {
+    var reservation = new PlacementReservation(configuration, nodeServer, System.currentTimeMillis());
+    this.reservations.put(reservation.serviceUniqueId(), reservation);
+    return reservation;
+  }
+
+  @Override
+  public void release(@NonNull UUID serviceUniqueId) {
+    this.reservations.invalidate(serviceUniqueId);
+  }
+
+  @Override
+  public @NonNull List<PlacementDecision> dryRun(@NonNull Collection<ServiceConfiguration> configurations) {
+    // simulate the placement of all services without reserving anything, each placed service counts towards the
+    // load of the selected node for the following services
+    var nodeLoads = this.currentNodeLoads();
+    List<PlacementDecision> decisions = new ArrayList<>(configurations.size());
+    for (var configuration : configurations) {
+      var nodeServer = this.selectNode(configuration, nodeLoads);
+      if (nodeServer != null) {
+        nodeLoads.computeIfAbsent(nodeServer.name(), _ -> new NodeLoad()).include(configuration);
+      }
+
+      decisions.add(new PlacementDecision(configuration, nodeServer == null ? null : nodeServer.name()));
+    }
+
+    return decisions;
+  }
+
+  protected @Nullable NodeServer selectNode(
+    @NonNull ServiceConfiguration configuration,
+    @NonNull Map<String, NodeLoad> nodeLoads
+  ) {
+    // check if the node is already specified
+    var requestedNode = configuration.serviceId().nodeUniqueId();
+    if (requestedNode != null) {
+      // the requested node must be a cluster node which is still accepting services
+      var server = this.nodeServerProvider.node(requestedNode);
+      return server == null || !server.available() || server.nodeInfoSnapshot().draining() ? null : server;
+    }
+
+    var strategy = this.placementStrategy(configuration);
+    var affinity = this.placementProperty(configuration, PlacementProperties.AFFINITY);
+    var antiAffinity = this.placementProperty(configuration, PlacementProperties.ANTI_AFFINITY);
+    var requiredLabels = this.placementProperty(configuration, PlacementProperties.REQUIRED_NODE_LABELS);
+
+    // the anti-affinity and affinity are more important than the score of the strategy
+    var comparator = Comparator
+      .comparingInt((PlacementCandidate candidate) -> candidate.matchingServices(antiAffinity))
+      .thenComparing(candidate -> candidate.matchingServices(affinity), Comparator.reverseOrder())
+      .thenComparingDouble(candidate -> strategy.score(candidate, configuration));
+    return this.nodeServerProvider.nodeServers().stream()
+      .filter(NodeServer::available)
+      .filter(nodeServer -> !nodeServer.nodeInfoSnapshot().draining())
+      .filter(server -> {
+        var allowedNodes = configuration.serviceId().allowedNodes();
+        return allowedNodes.isEmpty() || allowedNodes.contains(server.info().uniqueId());
+      })
+      .filter(server -> server.info().readProperty(PlacementProperties.NODE_LABELS).containsAll(requiredLabels))
+      .map(server -> nodeLoads.getOrDefault(server.name(), NodeLoad.EMPTY).toCandidate(server))
+      .min(comparator)
+      .map(PlacementCandidate::nodeServer)
+      .orElse(null);
+  }
+
+  protected @NonNull Map<String, NodeLoad> currentNodeLoads() {
+    // calculate the load based on the cached service information on this node rather than the node snapshot. Newly
+    // created services are known instantly, while the node snapshot only gets updated with the next heartbeat
+    Set<UUID> knownServices = new HashSet<>();
+    Map<String, NodeLoad> nodeLoads = new HashMap<>();
+    for (var service : this.serviceManagerProvider.get().services()) {
+      knownServices.add(service.serviceId().uniqueId());
+      var nodeUniqueId = service.serviceId().nodeUniqueId();
+      nodeLoads.computeIfAbsent(nodeUniqueId, _ -> new NodeLoad()).include(service.configuration());
+    }
+
+    // include the reservations of services which are not yet known to the service manager
+    for (var reservation : this.reservations.asMap().values()) {
+      if (!knownServices.contains(reservation.serviceUniqueId())) {
+        nodeLoads.computeIfAbsent(reservation.nodeServer().name(), _ -> new NodeLoad())
+          .include(reservation.configuration());
+      }
+    }
+
+    return nodeLoads;
+  }
+
+  protected @NonNull PlacementStrategy placementStrategy(@NonNull ServiceConfiguration configuration) {
+    var strategyName = this.placementProperty(configuration, PlacementProperties.STRATEGY);
+    var strategy = this.strategy(strategyName == null ? DEFAULT_STRATEGY : strategyName);
+    return strategy == null ? DefaultPlacementStrategies.SPREAD : strategy;
+  }
+
+  protected <T> T placementProperty(@NonNull ServiceConfiguration configuration, @NonNull DocProperty<T> property) {
+    // properties set on the service configuration take precedence over the properties of the task
+    if (configuration.propertyHolder().contains(property.key())) {
+      return configuration.readProperty(property);
+    }
+
+    var task = this.serviceTaskProvider.serviceTask(configuration.serviceId().taskName());
+    return task == null ? configuration.readProperty(property) : task.readProperty(property);
+  }
+
+  protected static final class NodeLoad {
+
+    private static final NodeLoad EMPTY = new NodeLoad();
+
+    private final Set<String> taskNames = new HashSet<>();
+    private final Set<String> groupNames = new HashSet<>();
+    private int reservedHeapMemory;
+
+    private void include(@NonNull ServiceConfiguration configuration) {
+      this.taskNames.add(configuration.serviceId().taskName());
+      this.groupNames.addAll(configuration.groups());
+      this.reservedHeapMemory += configuration.processConfig().maxHeapMemorySize();
+    }
+
+    private @NonNull PlacementCandidate toCandidate(@NonNull NodeServer nodeServer) {
+      return new PlacementCandidate(
+        nodeServer,
+        this.reservedHeapMemory,
+        Collections.unmodifiableSet(this.taskNames),
+        Collections.unmodifiableSet(this.groupNames));
+    }
+  }
+}
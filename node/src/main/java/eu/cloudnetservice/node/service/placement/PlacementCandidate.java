@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.placement;
+
+import eu.cloudnetservice.node.cluster.NodeServer;
+import java.util.Collection;
+import java.util.Set;
+import lombok.NonNull;
+
+public record PlacementCandidate(
+  @NonNull NodeServer nodeServer,
+  int reservedHeapMemory,
+  @NonNull Set<String> taskNames,
+  @NonNull Set<String> groupNames
+) {
+
+  public int maxHeapMemory() {
+    return this.nodeServer.nodeInfoSnapshot().maxMemory();
+  }
+
+  public int freeHeapMemory() {
+    return this.maxHeapMemory() - this.reservedHeapMemory;
+  }
+
+  public int reservedMemoryPercentage() {
+    var maxHeapMemory = this.maxHeapMemory();
+    return maxHeapMemory <= 0 ? 100 : (this.reservedHeapMemory * 100) / maxHeapMemory;
+  }
+
+  public double systemCpuUsage() {
+    return this.nodeServer.nodeInfoSnapshot().processSnapshot().systemCpuUsage();
+  }
+
+  public int matchingServices(@NonNull Collection<String> taskOrGroupNames) {
+    var matches = 0;
+    for (var name : taskOrGroupNames) {
+      if (this.taskNames.contains(name) || this.groupNames.contains(name)) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.placement;
+
+import eu.cloudnetservice.driver.document.property.DocProperty;
+import io.leangen.geantyref.TypeFactory;
+import java.util.Collection;
+import java.util.Set;
+
+public final class PlacementProperties {
+
+  // the name of the placement strategy to use, read from the service configuration or the associated task
+  public static final DocProperty<String> STRATEGY = DocProperty.property("placementStrategy", String.class);
+  // the labels which a node must have to be able to pick up the service
+  public static final DocProperty<Collection<String>> REQUIRED_NODE_LABELS = stringCollection("placementNodeLabels");
+  // tasks or groups with which the service should preferably share a node
+  public static final DocProperty<Collection<String>> AFFINITY = stringCollection("placementAffinity");
+  // tasks or groups with which the service should preferably not share a node
+  public static final DocProperty<Collection<String>> ANTI_AFFINITY = stringCollection("placementAntiAffinity");
+
+  // the labels of a node, read from the properties of the node in the cluster configuration
+  public static final DocProperty<Collection<String>> NODE_LABELS = stringCollection("labels");
+
+  private PlacementProperties() {
+    throw new UnsupportedOperationException();
+  }
+
+  private static DocProperty<Collection<String>> stringCollection(String key) {
+    return DocProperty.<Collection<String>>genericProperty(
+      key,
+      TypeFactory.parameterizedClass(Collection.class, String.class)).withDefault(Set.of());
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.placement;
+
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.node.cluster.NodeServer;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+public interface ServicePlacementEngine {
+
+  @NonNull
+  @UnmodifiableView Collection<PlacementStrategy> strategies();
+
+  @Nullable PlacementStrategy strategy(@NonNull String name);
+
+  void registerStrategy(@NonNull PlacementStrategy strategy);
+
+  void unregisterStrategy(@NonNull String name);
+
+  @NonNull
+  @UnmodifiableView Collection<PlacementReservation> reservations();
+
+  @Nullable NodeServer selectNode(@NonNull ServiceConfiguration configuration);
+
+  @Nullable PlacementReservation reserve(@NonNull ServiceConfiguration configuration);
+
+  @NonNull PlacementReservation reserve(@NonNull ServiceConfiguration configuration, @NonNull NodeServer nodeServer);
+
+  void release(@NonNull UUID serviceUniqueId);
+
+  @NonNull List<PlacementDecision> dryRun(@NonNull Collection<ServiceConfiguration> configurations);
+}
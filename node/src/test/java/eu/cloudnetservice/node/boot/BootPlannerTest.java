@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.boot;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BootPlannerTest {
+
+  @Test
+  void testStepsRunAfterTheirDependencies() throws Exception {
+    var planner = new BootPlanner();
+    List<String> executedSteps = new CopyOnWriteArrayList<>();
+
+    var firstStepRelease = new CountDownLatch(1);
+    planner.submitStep("first", () -> {
+      Assertions.assertTrue(firstStepRelease.await(5, TimeUnit.SECONDS));
+      executedSteps.add("first");
+    });
+    planner.runStep("inline", () -> executedSteps.add("inline"));
+    planner.submitStep("second", () -> executedSteps.add("second"), "first", "inline");
+    planner.submitStep("third", () -> executedSteps.add("third"), "second");
+
+    // the dependent steps must not run while the first step is still running
+    Thread.sleep(50);
+    Assertions.assertEquals(List.of("inline"), executedSteps);
+
+    firstStepRelease.countDown();
+    planner.awaitAllSteps();
+    Assertions.assertEquals(List.of("inline", "first", "second", "third"), executedSteps);
+  }
+
+  @Test
+  void testIndependentStepsRunConcurrently() throws Exception {
+    var planner = new BootPlanner();
+    var bothStepsStarted = new CountDownLatch(2);
+    planner.submitStep("first", () -> {
+      bothStepsStarted.countDown();
+      Assertions.assertTrue(bothStepsStarted.await(5, TimeUnit.SECONDS));
+    });
+    planner.submitStep("second", () -> {
+      bothStepsStarted.countDown();
+      Assertions.assertTrue(bothStepsStarted.await(5, TimeUnit.SECONDS));
+    });
+
+    planner.awaitAllSteps();
+    Assertions.assertEquals(2, planner.stepTimings().size());
+  }
+
+  @Test
+  void testDependencyFailureIsPropagated() {
+    var planner = new BootPlanner();
+    var dependentStepExecuted = new AtomicBoolean();
+    planner.submitStep("failing", () -> {
+      throw new IllegalStateException("step failed");
+    });
+    planner.submitStep("dependent", () -> dependentStepExecuted.set(true), "failing");
+
+    // the dependent step completes with the failure of its dependency without being executed
+    var exception = Assertions.assertThrows(IllegalStateException.class, () -> planner.awaitSteps("dependent"));
+    Assertions.assertEquals("step failed", exception.getMessage());
+    Assertions.assertFalse(dependentStepExecuted.get());
+    Assertions.assertThrows(IllegalStateException.class, planner::awaitAllSteps);
+  }
+
+  @Test
+  void testInlineStepFailureIsRethrown() {
+    var planner = new BootPlanner();
+    var exception = Assertions.assertThrows(IllegalStateException.class, () -> planner.runStep("failing", () -> {
+      throw new IllegalStateException("inline step failed");
+    }));
+    Assertions.assertEquals("inline step failed", exception.getMessage());
+    Assertions.assertThrows(IllegalStateException.class, () -> planner.awaitSteps("failing"));
+    Assertions.assertEquals(1, planner.stepTimings().size());
+  }
+
+  @Test
+  void testUnknownStepsAreRejected() {
+    var planner = new BootPlanner();
+    Assertions.assertThrows(IllegalArgumentException.class, () -> planner.submitStep("step", () -> {
+    }, "unknown"));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> planner.awaitSteps("unknown"));
+
+    // the rejected step must not be registered
+    Assertions.assertThrows(IllegalArgumentException.class, () -> planner.awaitSteps("step"));
+  }
+
+  @Test
+  void testDuplicateStepsAreRejected() throws Exception {
+    var planner = new BootPlanner();
+    planner.runStep("step", () -> {
+    });
+
+    Assertions.assertThrows(IllegalArgumentException.class, () -> planner.runStep("step", () -> {
+    }));
+    Assertions.assertThrows(IllegalArgumentException.class, () -> planner.submitStep("step", () -> {
+    }));
+  }
+
+  @Test
+  void testTimingsAreSortedByStartTime() throws Exception {
+    var planner = new BootPlanner();
+    planner.runStep("first", () -> Thread.sleep(5));
+    planner.submitStep("second", () -> Thread.sleep(5), "first");
+    planner.awaitAllSteps();
+    planner.runStep("third", () -> {
+    });
+
+    var timings = planner.stepTimings().stream().map(BootPlanner.BootStepTiming::name).toList();
+    Assertions.assertEquals(List.of("first", "second", "third"), timings);
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.cluster.sync;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.node.console.Console;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DefaultDataSyncRegistryTest {
+
+  @Test
+  void testDigestOnlyRequestsDifferingEntries() {
+    var local = new SyncNode(Map.of("a", "1", "b", "2", "c", "3"), "entries", "local-only");
+    var remote = new SyncNode(Map.of("a", "1", "b", "20", "d", "4"), "entries");
+
+    // the remote node requests the entries which are missing or differ, entries of unknown handlers are skipped
+    var digestResponse = remote.registry.handleClusterDigest(local.registry.prepareClusterDigest(_ -> true));
+    var clusterData = local.registry.prepareDigestedClusterData(true, digestResponse);
+    Assertions.assertNotNull(clusterData);
+
+    // applying the transferred entries brings the remote node to the state of the local node
+    remote.apply(clusterData);
+    Assertions.assertEquals(Set.of("b", "c"), remote.writtenEntries);
+    Assertions.assertEquals(Map.of("a", "1", "b", "2", "c", "3", "d", "4"), remote.data);
+  }
+
+  @Test
+  void testMatchingDigestTransfersNothing() {
+    var local = new SyncNode(Map.of("a", "1", "b", "2"), "entries");
+    var remote = new SyncNode(Map.of("a", "1", "b", "2"), "entries");
+
+    var digestResponse = remote.registry.handleClusterDigest(local.registry.prepareClusterDigest(_ -> true));
+    Assertions.assertNull(local.registry.prepareDigestedClusterData(true, digestResponse));
+  }
+
+  private static final class SyncNode {
+
+    private final Map<String, String> data;
+    private final Set<String> writtenEntries = new HashSet<>();
+    private final DataSyncRegistry registry = new DefaultDataSyncRegistry(Mockito.mock(Console.class));
+
+    private SyncNode(Map<String, String> data, String... handlerKeys) {
+      this.data = new HashMap<>(data);
+      for (var handlerKey : handlerKeys) {
+        this.registry.registerHandler(DataSyncHandler.<SyncEntry>builder()
+          .key(handlerKey)
+          .nameExtractor(SyncEntry::name)
+          .converter(new SyncEntryConverter())
+          .writer(this::write)
+          .currentGetter(this::current)
+          .dataCollector(this::entries)
+          .build());
+      }
+    }
+
+    private void apply(DataBuf clusterData) {
+      // the first boolean is the force state of the sync, read the same way as the channel message listener does
+      this.registry.handle(clusterData, clusterData.readBoolean());
+    }
+
+    private void write(SyncEntry entry) {
+      this.writtenEntries.add(entry.name());
+      this.data.put(entry.name(), entry.value());
+    }
+
+    private @Nullable SyncEntry current(SyncEntry entry) {
+      var value = this.data.get(entry.name());
+      return value == null ? null : new SyncEntry(entry.name(), value);
+    }
+
+    private Collection<SyncEntry> entries() {
+      return this.data.entrySet().stream().map(entry -> new SyncEntry(entry.getKey(), entry.getValue())).toList();
+    }
+  }
+
+  private record SyncEntry(@NonNull String name, @NonNull String value) {
+
+  }
+
+  private static final class SyncEntryConverter implements DataSyncHandler.DataConverter<SyncEntry> {
+
+    @Override
+    public void write(@NonNull DataBuf.Mutable target, @NonNull SyncEntry data) {
+      target.writeString(data.name()).writeString(data.value());
+    }
+
+    @Override
+    public @NonNull SyncEntry parse(@NonNull DataBuf input) {
+      return new SyncEntry(input.readString(), input.readString());
+    }
+  }
+}
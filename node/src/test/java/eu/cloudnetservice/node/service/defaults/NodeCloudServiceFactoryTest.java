@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.event.Event;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.network.rpc.factory.RPCFactory;
+import eu.cloudnetservice.driver.network.rpc.handler.RPCHandlerRegistry;
+import eu.cloudnetservice.driver.provider.GroupConfigurationProvider;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceCreateResult;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.node.cluster.NodeServer;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.service.CloudService;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import eu.cloudnetservice.node.service.placement.PlacementReservation;
+import eu.cloudnetservice.node.service.placement.ServicePlacementEngine;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class NodeCloudServiceFactoryTest {
+
+  private final List<String> actions = new CopyOnWriteArrayList<>();
+
+  private EventManager eventManager;
+  private CloudServiceManager serviceManager;
+  private ServicePlacementEngine placementEngine;
+  private NodeCloudServiceFactory serviceFactory;
+
+  @BeforeEach
+  void setUp() {
+    this.actions.clear();
+    this.eventManager = Mockito.mock(EventManager.class);
+    this.serviceManager = Mockito.mock(CloudServiceManager.class);
+    this.placementEngine = Mockito.mock(ServicePlacementEngine.class);
+
+    // events are passed through without any listener modifying them
+    Mockito.when(this.eventManager.callEvent(Mockito.any(Event.class)))
+      .thenAnswer(invocation -> invocation.getArgument(0));
+
+    // all services are placed on the local node, which is the head node
+    var localNode = Mockito.mock(NodeServer.class);
+    Mockito.when(localNode.head()).thenReturn(true);
+    var nodeServerProvider = Mockito.mock(NodeServerProvider.class);
+    Mockito.when(nodeServerProvider.localNode()).thenReturn(localNode);
+
+    Mockito.when(this.placementEngine.reserve(Mockito.any(ServiceConfiguration.class))).thenAnswer(invocation -> {
+      ServiceConfiguration configuration = invocation.getArgument(0);
+      this.actions.add("reserve " + configuration.serviceId().taskName());
+      return new PlacementReservation(configuration, localNode, System.nanoTime());
+    });
+    Mockito.when(this.serviceManager.createLocalCloudService(Mockito.any())).thenAnswer(invocation -> {
+      ServiceConfiguration configuration = invocation.getArgument(0);
+      this.actions.add("create " + configuration.serviceId().taskName());
+      return this.mockService(configuration);
+    });
+
+    this.serviceFactory = new NodeCloudServiceFactory(
+      Mockito.mock(RPCFactory.class, Mockito.RETURNS_DEEP_STUBS),
+      this.eventManager,
+      Mockito.mock(RPCHandlerRegistry.class),
+      this.serviceManager,
+      nodeServerProvider,
+      this.placementEngine,
+      Mockito.mock(GroupConfigurationProvider.class));
+  }
+
+  @Test
+  void testBatchIsPlannedBeforeCreation() {
+    var results = this.serviceFactory.createCloudServices(List.of(
+      configuration("Lobby"),
+      configuration("Proxy"),
+      configuration("Game")));
+
+    // all services must be placed before the first one is created, so that the placement of one service
+    // takes the reservations of the services before it into account
+    Assertions.assertEquals(3, results.size());
+    Assertions.assertEquals(
+      List.of("reserve Lobby", "reserve Proxy", "reserve Game", "create Lobby", "create Proxy", "create Game"),
+      this.actions);
+
+    // the reservations are released once the services were created
+    Mockito.verify(this.placementEngine, Mockito.times(3)).release(Mockito.any());
+  }
+
+  @Test
+  void testBatchClaimsDistinctIds() {
+    // the task already has a service with the id 1
+    var existingService = Mockito.mock(ServiceInfoSnapshot.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(existingService.serviceId().taskServiceId()).thenReturn(1);
+    Mockito.when(this.serviceManager.servicesByTask("Lobby")).thenReturn(List.of(existingService));
+
+    // all configurations request the same unique id & task id
+    var uniqueId = UUID.randomUUID();
+    List<ServiceConfiguration> configurations = new ArrayList<>();
+    for (var i = 0; i < 3; i++) {
+      configurations.add(ServiceConfiguration.builder(configuration("Lobby")).uniqueId(uniqueId).taskId(1).build());
+    }
+
+    var results = this.serviceFactory.createCloudServices(configurations);
+    Set<UUID> uniqueIds = new HashSet<>();
+    List<Integer> taskIds = new ArrayList<>();
+    for (var result : results) {
+      Assertions.assertEquals(ServiceCreateResult.State.CREATED, result.state());
+      uniqueIds.add(result.serviceInfo().serviceId().uniqueId());
+      taskIds.add(result.serviceInfo().serviceId().taskServiceId());
+    }
+
+    // the first service may keep the requested unique id, the others must get a new one
+    Assertions.assertEquals(3, uniqueIds.size());
+    Assertions.assertTrue(uniqueIds.contains(uniqueId));
+    Assertions.assertEquals(List.of(2, 3, 4), taskIds);
+  }
+
+  @Test
+  void testResultsFollowConfigurationOrder() {
+    // no node can pick up the proxy, the game service fails to be created
+    Mockito.doReturn(null).when(this.placementEngine).reserve(Mockito.<ServiceConfiguration>argThat(
+      configuration -> configuration != null && configuration.serviceId().taskName().equals("Proxy")));
+    Mockito.doThrow(new IllegalStateException("unable to copy templates"))
+      .when(this.serviceManager)
+      .createLocalCloudService(Mockito.argThat(
+        configuration -> configuration != null && configuration.serviceId().taskName().equals("Game")));
+
+    var futures = this.serviceFactory.createCloudServicesSeparatelyAsync(List.of(
+      configuration("Lobby"),
+      configuration("Proxy"),
+      configuration("Game"),
+      configuration("Bedwars")));
+    var results = futures.stream().map(CompletableFuture::join).toList();
+
+    Assertions.assertEquals(4, results.size());
+    Assertions.assertEquals(ServiceCreateResult.State.CREATED, results.get(0).state());
+    Assertions.assertEquals("Lobby", results.get(0).serviceInfo().serviceId().taskName());
+    Assertions.assertEquals(ServiceCreateResult.State.FAILED, results.get(1).state());
+    Assertions.assertEquals(ServiceCreateResult.State.FAILED, results.get(2).state());
+    Assertions.assertEquals(ServiceCreateResult.State.CREATED, results.get(3).state());
+    Assertions.assertEquals("Bedwars", results.get(3).serviceInfo().serviceId().taskName());
+  }
+
+  @Test
+  void testEmptyBatchCreatesNothing() {
+    Assertions.assertEquals(List.of(), this.serviceFactory.createCloudServices(List.of()));
+    Mockito.verifyNoInteractions(this.placementEngine, this.serviceManager);
+  }
+
+  private CloudService mockService(ServiceConfiguration configuration) {
+    var serviceInfo = Mockito.mock(ServiceInfoSnapshot.class);
+    Mockito.when(serviceInfo.serviceId()).thenReturn(configuration.serviceId());
+    Mockito.when(serviceInfo.configuration()).thenReturn(configuration);
+
+    var service = Mockito.mock(CloudService.class);
+    Mockito.when(service.serviceInfo()).thenReturn(serviceInfo);
+    return service;
+  }
+
+  private static ServiceConfiguration configuration(String taskName) {
+    return ServiceConfiguration.builder()
+      .taskName(taskName)
+      .environment(ServiceEnvironmentType.MINECRAFT_SERVER)
+      .maxHeapMemory(512)
+      .build();
+  }
+}
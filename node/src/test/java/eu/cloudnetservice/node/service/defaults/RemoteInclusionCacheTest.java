@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import com.sun.net.httpserver.HttpServer;
+import eu.cloudnetservice.common.io.FileUtil;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RemoteInclusionCacheTest {
+
+  private static final Path CACHE_PATH = Path.of("build", "tmp", "inclusion_cache");
+  private static final byte[] CONTENT = "Hello World".getBytes(StandardCharsets.UTF_8);
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger fullResponses = new AtomicInteger();
+  private final CountDownLatch releaseResponses = new CountDownLatch(1);
+
+  private HttpServer server;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    this.server.createContext("/file", exchange -> {
+      this.requests.incrementAndGet();
+      try {
+        this.releaseResponses.await();
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+
+      if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+        exchange.sendResponseHeaders(304, -1);
+      } else {
+        this.fullResponses.incrementAndGet();
+        exchange.getResponseHeaders().add("ETag", "\"v1\"");
+        exchange.sendResponseHeaders(200, CONTENT.length);
+        exchange.getResponseBody().write(CONTENT);
+      }
+      exchange.close();
+    });
+    this.server.createContext("/missing", exchange -> {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+    });
+    this.server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    this.server.stop(0);
+    FileUtil.delete(CACHE_PATH);
+  }
+
+  @Test
+  void testConcurrentRequestsShareDownload() throws IOException {
+    var cache = new RemoteInclusionCache(CACHE_PATH);
+
+    var first = cache.cachedFile(this.url("/file"), Map.of());
+    var second = cache.cachedFile(this.url("/file"), Map.of());
+    this.releaseResponses.countDown();
+
+    Assertions.assertEquals(first.join(), second.join());
+    Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(first.join()));
+    Assertions.assertEquals(1, this.requests.get());
+
+    // the file is cached now and should not be requested again
+    Assertions.assertEquals(first.join(), cache.cachedFile(this.url("/file"), Map.of()).join());
+    Assertions.assertEquals(1, this.requests.get());
+  }
+
+  @Test
+  void testRevalidation() throws IOException {
+    var cache = new RemoteInclusionCache(CACHE_PATH, Duration.ZERO);
+    this.releaseResponses.countDown();
+
+    var file = cache.cachedFile(this.url("/file"), Map.of()).join();
+    var revalidatedFile = cache.cachedFile(this.url("/file"), Map.of()).join();
+
+    Assertions.assertEquals(file, revalidatedFile);
+    Assertions.assertArrayEquals(CONTENT, Files.readAllBytes(revalidatedFile));
+    Assertions.assertEquals(2, this.requests.get());
+    Assertions.assertEquals(1, this.fullResponses.get());
+  }
+
+  @Test
+  void testFailedDownload() {
+    var cache = new RemoteInclusionCache(CACHE_PATH);
+    Assertions.assertThrows(CompletionException.class, () -> cache.download(this.url("/missing"), Map.of()).join());
+    Assertions.assertThrows(CompletionException.class, () -> cache.cachedFile(this.url("/missing"), Map.of()).join());
+  }
+
+  private String url(String path) {
+    return "http://127.0.0.1:" + this.server.getAddress().getPort() + path;
+  }
+}
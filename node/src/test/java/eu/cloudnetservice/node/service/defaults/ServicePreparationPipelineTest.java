@@ -0,0 +1,150 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ServicePreparationPipelineTest {
+
+  @Test
+  void testStagesRunInOrder() throws Exception {
+    var pipeline = new ServicePreparationPipeline(2);
+    List<ServicePreparationPipeline.Stage> executedStages = new CopyOnWriteArrayList<>();
+    List<Set<ServicePreparationPipeline.Stage>> completedStages = new CopyOnWriteArrayList<>();
+
+    var preparation = pipeline.submit((stage, completed) -> {
+      executedStages.add(stage);
+      completedStages.add(completed.isEmpty() ? Set.of() : EnumSet.copyOf(completed.keySet()));
+    });
+
+    // each stage gets the timings of the stages that were executed before it
+    var timings = preparation.result().get(5, TimeUnit.SECONDS);
+    Assertions.assertEquals(List.of(ServicePreparationPipeline.Stage.values()), executedStages);
+    Assertions.assertEquals(EnumSet.allOf(ServicePreparationPipeline.Stage.class), timings.keySet());
+    Assertions.assertEquals(Set.of(), completedStages.getFirst());
+    Assertions.assertEquals(
+      EnumSet.range(ServicePreparationPipeline.Stage.RESOLVE, ServicePreparationPipeline.Stage.MATERIALIZE),
+      completedStages.getLast());
+  }
+
+  @Test
+  void testLaunchesAreSerial() throws Exception {
+    var pipeline = new ServicePreparationPipeline(4);
+    var fetchBarrier = new CountDownLatch(4);
+    var activeLaunches = new AtomicInteger();
+    var maxActiveLaunches = new AtomicInteger();
+
+    List<CompletableFuture<?>> results = new CopyOnWriteArrayList<>();
+    for (var i = 0; i < 4; i++) {
+      var preparation = pipeline.submit((stage, _) -> {
+        switch (stage) {
+          case FETCH -> {
+            // all services must be able to fetch at the same time
+            fetchBarrier.countDown();
+            Assertions.assertTrue(fetchBarrier.await(5, TimeUnit.SECONDS));
+          }
+          case LAUNCH -> {
+            maxActiveLaunches.accumulateAndGet(activeLaunches.incrementAndGet(), Math::max);
+            Thread.sleep(25);
+            activeLaunches.decrementAndGet();
+          }
+          default -> {
+          }
+        }
+      });
+      results.add(preparation.result());
+    }
+
+    CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+    Assertions.assertEquals(1, maxActiveLaunches.get());
+  }
+
+  @Test
+  void testFailedStageStopsPreparation() {
+    var pipeline = new ServicePreparationPipeline(1);
+    var launched = new AtomicBoolean();
+
+    var preparation = pipeline.submit((stage, _) -> {
+      switch (stage) {
+        case FETCH -> throw new IllegalStateException("template storage unavailable");
+        case LAUNCH -> launched.set(true);
+        default -> {
+        }
+      }
+    });
+
+    var exception = Assertions.assertThrows(
+      ExecutionException.class,
+      () -> preparation.result().get(5, TimeUnit.SECONDS));
+    Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+    Assertions.assertFalse(launched.get());
+  }
+
+  @Test
+  void testCancelInterruptsPreparation() throws Exception {
+    var pipeline = new ServicePreparationPipeline(1);
+    var resolveStarted = new CountDownLatch(1);
+    var resolveInterrupted = new CountDownLatch(1);
+    var launched = new AtomicBoolean();
+
+    var preparation = pipeline.submit((stage, _) -> {
+      switch (stage) {
+        case RESOLVE -> {
+          resolveStarted.countDown();
+          try {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+          } catch (InterruptedException exception) {
+            resolveInterrupted.countDown();
+            throw exception;
+          }
+        }
+        case LAUNCH -> launched.set(true);
+        default -> {
+        }
+      }
+    });
+
+    Assertions.assertTrue(resolveStarted.await(5, TimeUnit.SECONDS));
+    preparation.cancel();
+    Assertions.assertTrue(preparation.cancelled());
+    Assertions.assertTrue(resolveInterrupted.await(5, TimeUnit.SECONDS));
+    Assertions.assertThrows(CancellationException.class, () -> preparation.result().join());
+
+    // a preparation that is waiting for a free thread must not run any stage after it was cancelled
+    var blocker = new CountDownLatch(1);
+    var blockingPreparation = pipeline.submit((_, _) -> Assertions.assertTrue(blocker.await(5, TimeUnit.SECONDS)));
+    var queuedPreparation = pipeline.submit((_, _) -> launched.set(true));
+    queuedPreparation.cancel();
+    blocker.countDown();
+
+    blockingPreparation.result().get(5, TimeUnit.SECONDS);
+    Assertions.assertThrows(CancellationException.class, () -> queuedPreparation.result().join());
+    Assertions.assertFalse(launched.get());
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults.log;
+
+import eu.cloudnetservice.driver.event.EventManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class ServiceLogForwarderTest {
+
+  private static ServiceLogForwarder forwarder(
+    Consumer<List<ServiceLogForwarder.LogLine>> batchSender,
+    long flushIntervalMillis,
+    int maxBatchLines,
+    long maxBytesPerSecond
+  ) {
+    return new ServiceLogForwarder(
+      Mockito.mock(EventManager.class),
+      () -> null,
+      List.of(),
+      batchSender,
+      flushIntervalMillis,
+      maxBatchLines,
+      maxBytesPerSecond);
+  }
+
+  @Test
+  void testLinesAreFlushedInOneBatch() throws Exception {
+    List<List<ServiceLogForwarder.LogLine>> batches = new CopyOnWriteArrayList<>();
+    var firstBatch = new CompletableFuture<List<ServiceLogForwarder.LogLine>>();
+    var forwarder = forwarder(batch -> {
+      batches.add(batch);
+      firstBatch.complete(batch);
+    }, 50, 256, 0);
+
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("line 1", false));
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("line 2", true));
+
+    firstBatch.get(5, TimeUnit.SECONDS);
+    Assertions.assertEquals(
+      List.of(List.of(
+        new ServiceLogForwarder.LogLine("line 1", false),
+        new ServiceLogForwarder.LogLine("line 2", true))),
+      batches);
+  }
+
+  @Test
+  void testFullBatchIsSentDirectly() {
+    List<List<ServiceLogForwarder.LogLine>> batches = new CopyOnWriteArrayList<>();
+    var forwarder = forwarder(batches::add, TimeUnit.MINUTES.toMillis(1), 2, 0);
+
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("line 1", false));
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("line 2", false));
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("line 3", false));
+
+    // the third line waits for the next flush
+    Assertions.assertEquals(1, batches.size());
+    Assertions.assertEquals(2, batches.getFirst().size());
+  }
+
+  @Test
+  void testBatchesAreSentInOrder() throws Exception {
+    List<String> sentLines = new CopyOnWriteArrayList<>();
+    var pendingLines = new CountDownLatch(500);
+    var forwarder = forwarder(batch -> {
+      try {
+        // slow down the sending to give the flush and the full batches a chance to overtake each other
+        Thread.sleep(1);
+      } catch (InterruptedException exception) {
+        Thread.currentThread().interrupt();
+      }
+      batch.forEach(line -> {
+        sentLines.add(line.line());
+        pendingLines.countDown();
+      });
+    }, 1, 3, 0);
+
+    List<String> lines = new ArrayList<>();
+    for (var i = 0; i < 500; i++) {
+      lines.add("line " + i);
+      forwarder.enqueueLine(new ServiceLogForwarder.LogLine("line " + i, false));
+    }
+
+    Assertions.assertTrue(pendingLines.await(5, TimeUnit.SECONDS));
+    Assertions.assertEquals(lines, sentLines);
+  }
+
+  @Test
+  void testRateLimitCountsEncodedBytes() throws Exception {
+    List<List<ServiceLogForwarder.LogLine>> batches = new CopyOnWriteArrayList<>();
+    var firstBatch = new CompletableFuture<List<ServiceLogForwarder.LogLine>>();
+    var forwarder = forwarder(batch -> {
+      batches.add(batch);
+      firstBatch.complete(batch);
+    }, 50, 256, 10);
+
+    // each umlaut is encoded using 2 bytes, the second line exceeds the limit of 10 bytes per second
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("ääää", false));
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("ää", false));
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("ä", false));
+
+    firstBatch.get(5, TimeUnit.SECONDS);
+    var batch = batches.getFirst();
+    Assertions.assertEquals(3, batch.size());
+    Assertions.assertEquals("ääää", batch.get(0).line());
+    Assertions.assertEquals("ä", batch.get(1).line());
+
+    // the dropped lines are reported at the end of the batch
+    var marker = batch.get(2);
+    Assertions.assertTrue(marker.stderr());
+    Assertions.assertEquals(
+      "[CloudNet] 1 lines were not forwarded as the service exceeded the log rate limit",
+      marker.line());
+  }
+
+  @Test
+  void testDroppedLinesAreReportedOnce() throws Exception {
+    List<List<ServiceLogForwarder.LogLine>> batches = new CopyOnWriteArrayList<>();
+    var firstBatch = new CompletableFuture<List<ServiceLogForwarder.LogLine>>();
+    var forwarder = forwarder(batch -> {
+      batches.add(batch);
+      firstBatch.complete(batch);
+    }, 50, 256, 1);
+
+    // the first line consumes the whole budget, the others are dropped
+    forwarder.enqueueLine(new ServiceLogForwarder.LogLine("a", false));
+    for (var i = 0; i < 5; i++) {
+      forwarder.enqueueLine(new ServiceLogForwarder.LogLine("dropped", false));
+    }
+
+    firstBatch.get(5, TimeUnit.SECONDS);
+    Assertions.assertEquals(
+      List.of(
+        new ServiceLogForwarder.LogLine("a", false),
+        new ServiceLogForwarder.LogLine(
+          "[CloudNet] 5 lines were not forwarded as the service exceeded the log rate limit",
+          true)),
+      batches.getFirst());
+
+    // nothing was dropped since the last batch, no further marker is sent
+    Thread.sleep(100);
+    Assertions.assertEquals(1, batches.size());
+  }
+}
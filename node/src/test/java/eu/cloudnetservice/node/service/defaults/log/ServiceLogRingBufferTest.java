@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults.log;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ServiceLogRingBufferTest {
+
+  @Test
+  void testOldestElementsAreEvicted() {
+    var buffer = new ServiceLogRingBuffer(3);
+    for (var i = 0; i < 5; i++) {
+      buffer.add("line " + i);
+    }
+
+    Assertions.assertEquals(3, buffer.size());
+    Assertions.assertEquals(List.of("line 2", "line 3", "line 4"), buffer.snapshot());
+    Assertions.assertEquals("line 2", buffer.poll());
+    Assertions.assertEquals("line 3", buffer.peek());
+    Assertions.assertEquals(2, buffer.size());
+  }
+
+  @Test
+  void testResizeKeepsNewestElements() {
+    var buffer = new ServiceLogRingBuffer(4);
+    for (var i = 0; i < 6; i++) {
+      buffer.add("line " + i);
+    }
+
+    buffer.capacity(2);
+    Assertions.assertEquals(List.of("line 4", "line 5"), buffer.snapshot());
+
+    buffer.capacity(3);
+    buffer.add("line 6");
+    buffer.add("line 7");
+    Assertions.assertEquals(List.of("line 5", "line 6", "line 7"), buffer.snapshot());
+  }
+
+  @Test
+  void testZeroCapacityDropsElements() {
+    var buffer = new ServiceLogRingBuffer(0);
+    Assertions.assertTrue(buffer.offer("line"));
+    Assertions.assertTrue(buffer.isEmpty());
+    Assertions.assertNull(buffer.poll());
+  }
+
+  @Test
+  void testIterationDoesNotSeeConcurrentModifications() {
+    var buffer = new ServiceLogRingBuffer(2);
+    buffer.add("line 0");
+    buffer.add("line 1");
+
+    var iterator = buffer.iterator();
+    buffer.add("line 2");
+    Assertions.assertEquals("line 0", iterator.next());
+    Assertions.assertEquals("line 1", iterator.next());
+    Assertions.assertFalse(iterator.hasNext());
+  }
+}
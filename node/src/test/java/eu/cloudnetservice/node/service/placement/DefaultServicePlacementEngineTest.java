@@ -0,0 +1,228 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.placement;
+
+import eu.cloudnetservice.driver.cluster.NetworkClusterNode;
+import eu.cloudnetservice.driver.cluster.NodeInfoSnapshot;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.node.cluster.NodeServer;
+import eu.cloudnetservice.node.cluster.NodeServerProvider;
+import eu.cloudnetservice.node.service.CloudServiceManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DefaultServicePlacementEngineTest {
+
+  private final List<NodeServer> nodeServers = new ArrayList<>();
+  private final List<ServiceInfoSnapshot> services = new ArrayList<>();
+
+  private DefaultServicePlacementEngine placementEngine;
+
+  @BeforeEach
+  void setUp() {
+    this.nodeServers.clear();
+    this.services.clear();
+
+    var nodeServerProvider = Mockito.mock(NodeServerProvider.class);
+    Mockito.when(nodeServerProvider.nodeServers()).thenReturn(this.nodeServers);
+    Mockito.when(nodeServerProvider.node(Mockito.anyString())).thenAnswer(invocation -> this.nodeServers.stream()
+      .filter(nodeServer -> nodeServer.name().equals(invocation.getArgument(0)))
+      .findFirst()
+      .orElse(null));
+
+    var serviceManager = Mockito.mock(CloudServiceManager.class);
+    Mockito.when(serviceManager.services()).thenReturn(this.services);
+
+    this.placementEngine = new DefaultServicePlacementEngine(
+      nodeServerProvider,
+      Mockito.mock(ServiceTaskProvider.class),
+      () -> serviceManager);
+  }
+
+  @Test
+  void testSpreadPrefersLeastReservedNode() {
+    this.registerNode("Node-1", 1024, Set.of());
+    this.registerNode("Node-2", 1024, Set.of());
+    this.registerService(configuration("Lobby", 512).node("Node-1").build());
+
+    Assertions.assertEquals("Node-2", this.reserveNode(configuration("Proxy", 256).build()));
+  }
+
+  @Test
+  void testSpreadTakesReservationsIntoAccount() {
+    this.registerNode("Node-1", 1024, Set.of());
+    this.registerNode("Node-2", 1024, Set.of());
+
+    List<String> selectedNodes = new ArrayList<>();
+    for (var i = 0; i < 4; i++) {
+      selectedNodes.add(this.reserveNode(configuration("Lobby", 256).build()));
+    }
+
+    // the services were not registered, only the reservations spread them across the nodes
+    Assertions.assertEquals(List.of("Node-1", "Node-2", "Node-1", "Node-2"), selectedNodes);
+    Assertions.assertEquals(4, this.placementEngine.reservations().size());
+  }
+
+  @Test
+  void testBinPackFillsNodeBeforeUsingNextNode() {
+    this.registerNode("Node-1", 1024, Set.of());
+    this.registerNode("Node-2", 1024, Set.of());
+
+    List<String> selectedNodes = new ArrayList<>();
+    for (var i = 0; i < 5; i++) {
+      var configuration = configuration("Lobby", 256)
+        .writeProperty(PlacementProperties.STRATEGY, DefaultPlacementStrategies.BIN_PACK.name())
+        .build();
+      selectedNodes.add(this.reserveNode(configuration));
+    }
+
+    // the fifth service does not fit on the first node anymore
+    Assertions.assertEquals(List.of("Node-1", "Node-1", "Node-1", "Node-1", "Node-2"), selectedNodes);
+  }
+
+  @Test
+  void testRequiredLabelsFilterNodes() {
+    this.registerNode("Node-1", 1024, Set.of());
+    this.registerNode("Node-2", 4096, Set.of("ssd"));
+    this.registerNode("Node-3", 1024, Set.of("ssd", "europe"));
+
+    var ssdConfiguration = configuration("Lobby", 256)
+      .writeProperty(PlacementProperties.REQUIRED_NODE_LABELS, Set.of("ssd", "europe"))
+      .build();
+    Assertions.assertEquals("Node-3", this.placementEngine.selectNode(ssdConfiguration).name());
+
+    var gpuConfiguration = configuration("Lobby", 256)
+      .writeProperty(PlacementProperties.REQUIRED_NODE_LABELS, Set.of("gpu"))
+      .build();
+    Assertions.assertNull(this.placementEngine.selectNode(gpuConfiguration));
+    Assertions.assertNull(this.placementEngine.reserve(gpuConfiguration));
+    Assertions.assertTrue(this.placementEngine.reservations().isEmpty());
+  }
+
+  @Test
+  void testAffinityIsPreferredOverStrategyScore() {
+    this.registerNode("Node-1", 1024, Set.of());
+    this.registerNode("Node-2", 1024, Set.of());
+    this.registerService(configuration("Lobby", 768).node("Node-2").build());
+
+    // the spread strategy would select the first node, but the affinity requests to share the node with the lobby
+    var affinityConfiguration = configuration("Proxy", 256)
+      .writeProperty(PlacementProperties.AFFINITY, Set.of("Lobby"))
+      .build();
+    Assertions.assertEquals("Node-2", this.placementEngine.selectNode(affinityConfiguration).name());
+
+    // the anti-affinity takes precedence over the affinity
+    var antiAffinityConfiguration = configuration("Proxy", 256)
+      .writeProperty(PlacementProperties.AFFINITY, Set.of("Lobby"))
+      .writeProperty(PlacementProperties.ANTI_AFFINITY, Set.of("Lobby"))
+      .build();
+    Assertions.assertEquals("Node-1", this.placementEngine.selectNode(antiAffinityConfiguration).name());
+  }
+
+  @Test
+  void testReleaseFreesReservedResources() {
+    this.registerNode("Node-1", 1024, Set.of());
+    this.registerNode("Node-2", 1024, Set.of());
+
+    var reservation = this.placementEngine.reserve(configuration("Lobby", 512).build());
+    Assertions.assertNotNull(reservation);
+    Assertions.assertEquals("Node-1", reservation.nodeServer().name());
+    Assertions.assertEquals(512, reservation.heapMemory());
+
+    // the reservation counts towards the load of the first node
+    Assertions.assertEquals("Node-2", this.placementEngine.selectNode(configuration("Lobby", 256).build()).name());
+
+    this.placementEngine.release(reservation.serviceUniqueId());
+    Assertions.assertTrue(this.placementEngine.reservations().isEmpty());
+    Assertions.assertEquals("Node-1", this.placementEngine.selectNode(configuration("Lobby", 256).build()).name());
+  }
+
+  @Test
+  void testRegisteredServiceIsNotCountedTwice() {
+    this.registerNode("Node-1", 1024, Set.of());
+    this.registerNode("Node-2", 1024, Set.of());
+
+    // the service was created, but the reservation was not released yet
+    var reservation = this.placementEngine.reserve(configuration("Lobby", 256).build());
+    Assertions.assertNotNull(reservation);
+    this.registerService(ServiceConfiguration.builder(reservation.configuration()).node("Node-1").build());
+
+    // a node with a load of 512 mb would lose against the second node with a load of 384 mb
+    this.registerService(configuration("Proxy", 384).node("Node-2").build());
+    Assertions.assertEquals("Node-1", this.placementEngine.selectNode(configuration("Lobby", 256).build()).name());
+  }
+
+  @Test
+  void testRequestedNodeMustBeAvailable() {
+    this.registerNode("Node-1", 1024, Set.of());
+    var drainingNode = this.registerNode("Node-2", 1024, Set.of());
+    Mockito.when(drainingNode.nodeInfoSnapshot().draining()).thenReturn(true);
+
+    Assertions.assertEquals(
+      "Node-1",
+      this.placementEngine.selectNode(configuration("Lobby", 256).node("Node-1").build()).name());
+    Assertions.assertNull(this.placementEngine.selectNode(configuration("Lobby", 256).node("Node-2").build()));
+    Assertions.assertNull(this.placementEngine.selectNode(configuration("Lobby", 256).node("Node-3").build()));
+  }
+
+  private String reserveNode(ServiceConfiguration configuration) {
+    var reservation = this.placementEngine.reserve(configuration);
+    Assertions.assertNotNull(reservation);
+    return reservation.nodeServer().name();
+  }
+
+  private NodeServer registerNode(String name, int maxMemory, Collection<String> labels) {
+    var nodeInfoSnapshot = Mockito.mock(NodeInfoSnapshot.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(nodeInfoSnapshot.maxMemory()).thenReturn(maxMemory);
+
+    var nodeServer = Mockito.mock(NodeServer.class);
+    Mockito.when(nodeServer.name()).thenReturn(name);
+    Mockito.when(nodeServer.available()).thenReturn(true);
+    Mockito.when(nodeServer.nodeInfoSnapshot()).thenReturn(nodeInfoSnapshot);
+    Mockito.when(nodeServer.info()).thenReturn(new NetworkClusterNode(
+      name,
+      List.of(),
+      Document.newJsonDocument().writeProperty(PlacementProperties.NODE_LABELS, labels)));
+
+    this.nodeServers.add(nodeServer);
+    return nodeServer;
+  }
+
+  private void registerService(ServiceConfiguration configuration) {
+    var serviceInfo = Mockito.mock(ServiceInfoSnapshot.class);
+    Mockito.when(serviceInfo.serviceId()).thenReturn(configuration.serviceId());
+    Mockito.when(serviceInfo.configuration()).thenReturn(configuration);
+    this.services.add(serviceInfo);
+  }
+
+  private static ServiceConfiguration.Builder configuration(String taskName, int maxHeapMemory) {
+    return ServiceConfiguration.builder()
+      .taskName(taskName)
+      .environment(ServiceEnvironmentType.MINECRAFT_SERVER)
+      .maxHeapMemory(maxHeapMemory);
+  }
+}
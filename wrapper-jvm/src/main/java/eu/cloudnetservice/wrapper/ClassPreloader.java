@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper;
+
+import java.io.IOException;
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.ProtectionDomain;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class ClassPreloader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ClassPreloader.class);
+
+  private static final String INDEX_DIRECTORY_PROPERTY = "cloudnet.wrapper.preload.directory";
+  private static final long RECORDING_DURATION_MILLIS = Long.getLong(
+    "cloudnet.wrapper.preload.recording-millis",
+    120_000);
+
+  private final Path appFile;
+  private final Path indexFile;
+
+  private ClassPreloader(@NonNull Path appFile, @NonNull Path indexFile) {
+    this.appFile = appFile.toAbsolutePath().normalize();
+    this.indexFile = indexFile;
+  }
+
+  public static @Nullable ClassPreloader forApplicationFile(@NonNull Path appFile) {
+    var indexDirectory = System.getProperty(INDEX_DIRECTORY_PROPERTY);
+    if (indexDirectory == null) {
+      return null;
+    }
+
+    try {
+      // the index is bound to the exact application file, a new version of the application gets a new index
+      var indexName = String.format("%s-%d.classes", appFile.getFileName(), Files.size(appFile));
+      return new ClassPreloader(appFile, Path.of(indexDirectory).resolve(indexName));
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to resolve the preload index of {}", appFile, exception);
+      return null;
+    }
+  }
+
+  public void preloadOrRecord(@NonNull ClassLoader loader, @NonNull Instrumentation instrumentation) {
+    if (Files.exists(this.indexFile)) {
+      this.preload(loader);
+    } else {
+      this.record(instrumentation);
+    }
+  }
+
+  private void preload(@NonNull ClassLoader loader) {
+    List<String> classNames;
+    try {
+      classNames = Files.readAllLines(this.indexFile, StandardCharsets.UTF_8);
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to read the preload index {}", this.indexFile, exception);
+      return;
+    }
+
+    // the classes are loaded by all available cores, the class loaders are capable of parallel class loading
+    Set<String> failedClassNames = ConcurrentHashMap.newKeySet();
+    var nextClassIndex = new AtomicInteger();
+    var threadCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), classNames.size()));
+    var threadFactory = Thread.ofPlatform().name("Class-Preloader-", 0).daemon().factory();
+    try (var executor = Executors.newFixedThreadPool(threadCount, threadFactory)) {
+      for (var i = 0; i < threadCount; i++) {
+        executor.execute(() -> {
+          int classIndex;
+          while ((classIndex = nextClassIndex.getAndIncrement()) < classNames.size()) {
+            var className = classNames.get(classIndex);
+            try {
+              Class.forName(className, false, loader);
+            } catch (ClassNotFoundException | LinkageError _) {
+              failedClassNames.add(className);
+            }
+          }
+        });
+      }
+    }
+
+    // remove the classes that failed to load from the index, there is no need to retry them on the next start
+    if (!failedClassNames.isEmpty()) {
+      LOGGER.debug("Unable to preload {} classes, removing them from the index", failedClassNames.size());
+      classNames.removeAll(failedClassNames);
+      this.writeIndex(classNames);
+    }
+  }
+
+  private void record(@NonNull Instrumentation instrumentation) {
+    // records all classes that are loaded from the application file, no class gets transformed. The classes are
+    // matched by their code source as they are defined by the system class loader once the file is on its search path
+    Set<String> loadedClassNames = ConcurrentHashMap.newKeySet();
+    ClassFileTransformer recorder = new ClassFileTransformer() {
+      @Override
+      public byte @Nullable [] transform(
+        @Nullable ClassLoader classLoader,
+        @Nullable String className,
+        @Nullable Class<?> classBeingRedefined,
+        @Nullable ProtectionDomain protectionDomain,
+        byte @NonNull [] classFileBuffer
+      ) {
+        if (className != null && classBeingRedefined == null && ClassPreloader.this.fromAppFile(protectionDomain)) {
+          loadedClassNames.add(className.replace('/', '.'));
+        }
+        return null;
+      }
+    };
+    instrumentation.addTransformer(recorder, false);
+
+    // the classes loaded during the startup of the application are the ones that benefit from the preloading
+    Thread.ofVirtual().name("Class-Load-Recorder").start(() -> {
+      try {
+        TimeUnit.MILLISECONDS.sleep(RECORDING_DURATION_MILLIS);
+      } catch (InterruptedException _) {
+        Thread.currentThread().interrupt();
+      } finally {
+        instrumentation.removeTransformer(recorder);
+        if (!loadedClassNames.isEmpty()) {
+          this.writeIndex(loadedClassNames.stream().sorted().toList());
+        }
+      }
+    });
+  }
+
+  private boolean fromAppFile(@Nullable ProtectionDomain protectionDomain) {
+    var codeSource = protectionDomain == null ? null : protectionDomain.getCodeSource();
+    var location = codeSource == null ? null : codeSource.getLocation();
+    if (location == null || !"file".equals(location.getProtocol())) {
+      return false;
+    }
+
+    try {
+      return this.appFile.equals(Path.of(location.toURI()).toAbsolutePath().normalize());
+    } catch (URISyntaxException | IllegalArgumentException _) {
+      return false;
+    }
+  }
+
+  private void writeIndex(@NonNull Collection<String> classNames) {
+    // write to a temporary file first, services of the same application might write the index at the same time
+    var tempFile = this.indexFile.resolveSibling(this.indexFile.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    try {
+      Files.createDirectories(this.indexFile.getParent());
+      Files.write(tempFile, classNames, StandardCharsets.UTF_8);
+      try {
+        Files.move(tempFile, this.indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException exception) {
+        Files.move(tempFile, this.indexFile, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException exception) {
+      LOGGER.debug("Unable to write the preload index {}", this.indexFile, exception);
+    } finally {
+      try {
+        Files.deleteIfExists(tempFile);
+      } catch (IOException _) {
+        // not much we can do, the file only wastes some disk space
+      }
+    }
+  }
+}
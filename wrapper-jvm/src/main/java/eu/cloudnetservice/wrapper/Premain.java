@@ -18,13 +18,8 @@
 
 import eu.cloudnetservice.wrapper.transform.ClassTransformerRegistry;
 import eu.cloudnetservice.wrapper.transform.DefaultClassTransformerRegistry;
-import java.io.IOException;
 import java.lang.instrument.Instrumentation;
 import java.lang.reflect.Method;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.jar.JarEntry;
-import java.util.jar.JarInputStream;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -38,27 +33,6 @@ public static void premain(@Nullable String agentArgs, @NonNull Instrumentation
     Premain.transformerRegistry = new DefaultClassTransformerRegistry(inst);
   }
 
-  public static void preloadClasses(@NonNull Path file, @NonNull ClassLoader loader) {
-    try (var stream = new JarInputStream(Files.newInputStream(file))) {
-      JarEntry entry;
-      while ((entry = stream.getNextJarEntry()) != null) {
-        // only resolve class files
-        if (!entry.isDirectory() && entry.getName().endsWith(".class")) {
-          // canonicalize the class name
-          var className = entry.getName().replace('/', '.').replace(".class", "");
-          // load the class
-          try {
-            Class.forName(className, false, loader);
-          } catch (ClassNotFoundException ignored) {
-            // ignore
-          }
-        }
-      }
-    } catch (IOException exception) {
-      throw new IllegalStateException("Unable to preload classes in app file", exception);
-    }
-  }
-
   public static void invokePremain(@NonNull String premainClass, @NonNull ClassLoader loader) throws Exception {
     if (!premainClass.equals("null")) {
       try {
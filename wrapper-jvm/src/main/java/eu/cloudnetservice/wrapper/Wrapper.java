@@ -184,20 +184,28 @@ private void startApplication(
     var appFile = Path.of(consoleArgs.remove(0));
     var preLoadAppJar = Boolean.parseBoolean(consoleArgs.remove(0));
 
-    // preload all jars in the application if requested
+    // preload the classes of the application if requested
     var loader = ClassLoader.getSystemClassLoader();
     if (preLoadAppJar) {
       // create a custom class loader for loading the application resources
       loader = new URLClassLoader(
         new URL[]{appFile.toUri().toURL()},
         ClassLoader.getSystemClassLoader());
-      // force our loader to load all classes in the jar
-      Premain.preloadClasses(appFile, loader);
     }
 
     // append the application file to the system class path
     Premain.instrumentation.appendToSystemClassLoaderSearch(new JarFile(appFile.toFile()));
 
+    if (preLoadAppJar) {
+      // load the classes that were used by a previous run of the application, or record them for the next run. This
+      // must happen after the file was appended to the system class path, the classes would otherwise be defined by
+      // the custom class loader while the classes that were not preloaded are defined by the system class loader
+      var classPreloader = ClassPreloader.forApplicationFile(appFile);
+      if (classPreloader != null) {
+        classPreloader.preloadOrRecord(loader, Premain.instrumentation);
+      }
+    }
+
     // invoke the premain method if given
     Premain.invokePremain(premainClass, loader);
 
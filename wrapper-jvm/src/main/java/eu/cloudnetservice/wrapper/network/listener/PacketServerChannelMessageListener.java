@@ -47,11 +47,11 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
 
     // get the query response if available
     var response = this.eventManager
-      .callEvent(new ChannelMessageReceiveEvent(message, channel, packet.uniqueId() != null))
+      .callEvent(new ChannelMessageReceiveEvent(message, channel, packet.queryId() != Packet.NO_QUERY_ID))
       .queryResponse();
 
     // check if we need to respond to the channel message
-    if (packet.uniqueId() != null) {
+    if (packet.queryId() != Packet.NO_QUERY_ID) {
       // wait for the future if a response was supplied
       if (response != null) {
         response.whenComplete((queryResponse, throwable) -> {
@@ -82,6 +82,21 @@ public void handleChannelMessage(
           eventManager.callEvent(eventChannel, new CloudServiceLogEntryEvent(snapshot, line, type));
         }
 
+        // call the event for a batch of new lines in the log of the service
+        case "screen_new_lines" -> {
+          var snapshot = event.content().readObject(ServiceInfoSnapshot.class);
+          var eventChannel = event.content().readString();
+          var lineCount = event.content().readVarInt();
+          for (var i = 0; i < lineCount; i++) {
+            var line = event.content().readString();
+            var type = event.content().readBoolean()
+              ? CloudServiceLogEntryEvent.StreamType.STDERR
+              : CloudServiceLogEntryEvent.StreamType.STDOUT;
+
+            eventManager.callEvent(eventChannel, new CloudServiceLogEntryEvent(snapshot, line, type));
+          }
+        }
+
         // a deferred service start result is available, call the event
         case "deferred_service_event" -> {
           var creationId = event.content().readUniqueId();
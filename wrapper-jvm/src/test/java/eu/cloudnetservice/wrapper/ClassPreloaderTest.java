@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019-2024 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.lang.instrument.Instrumentation;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class ClassPreloaderTest {
+
+  static {
+    // keep the recording short, the index is written once the recording finished
+    System.setProperty("cloudnet.wrapper.preload.recording-millis", "50");
+  }
+
+  @TempDir
+  Path tempDirectory;
+
+  private Path appFile;
+  private Path indexFile;
+
+  private static ProtectionDomain protectionDomain(Path file) throws Exception {
+    // the system class loader uses the file: form of the url, without the authority part
+    return new ProtectionDomain(new CodeSource(file.toFile().toURI().toURL(), (Certificate[]) null), null);
+  }
+
+  @BeforeEach
+  void setUp() throws Exception {
+    this.appFile = Files.write(this.tempDirectory.resolve("app.jar"), new byte[]{1, 2, 3});
+    this.indexFile = this.tempDirectory.resolve("preload").resolve("app.jar-3.classes");
+    System.setProperty("cloudnet.wrapper.preload.directory", this.tempDirectory.resolve("preload").toString());
+  }
+
+  @AfterEach
+  void tearDown() {
+    System.clearProperty("cloudnet.wrapper.preload.directory");
+  }
+
+  @Test
+  void testNoPreloaderWithoutIndexDirectory() {
+    System.clearProperty("cloudnet.wrapper.preload.directory");
+    Assertions.assertNull(ClassPreloader.forApplicationFile(this.appFile));
+  }
+
+  @Test
+  void testRecordingWritesIndexOfApplicationClasses() throws Exception {
+    var classPreloader = ClassPreloader.forApplicationFile(this.appFile);
+    Assertions.assertNotNull(classPreloader);
+
+    // the index is written by the recorder thread right after it removed the transformer
+    var recorderThread = new CompletableFuture<Thread>();
+    var instrumentation = Mockito.mock(Instrumentation.class);
+    Mockito.doAnswer(_ -> recorderThread.complete(Thread.currentThread()))
+      .when(instrumentation)
+      .removeTransformer(Mockito.any());
+    var transformerCaptor = ArgumentCaptor.forClass(ClassFileTransformer.class);
+    classPreloader.preloadOrRecord(ClassLoader.getSystemClassLoader(), instrumentation);
+    Mockito.verify(instrumentation).addTransformer(transformerCaptor.capture(), Mockito.eq(false));
+
+    // the application classes are defined by the system class loader once the file is on its search path, only the
+    // classes that were loaded from the application file must be recorded
+    var transformer = transformerCaptor.getValue();
+    var systemLoader = ClassLoader.getSystemClassLoader();
+    var libraryFile = Files.write(this.tempDirectory.resolve("library.jar"), new byte[]{1});
+    Assertions.assertNull(transformer.transform(
+      systemLoader, "com/example/Main", null, protectionDomain(this.appFile), new byte[0]));
+    transformer.transform(systemLoader, "com/example/Util", null, protectionDomain(this.appFile), new byte[0]);
+    transformer.transform(systemLoader, "org/library/Library", null, protectionDomain(libraryFile), new byte[0]);
+    transformer.transform(null, "java/lang/Unrelated", null, null, new byte[0]);
+
+    Assertions.assertTrue(recorderThread.get(5, TimeUnit.SECONDS).join(Duration.ofSeconds(5)));
+    Assertions.assertEquals(List.of("com.example.Main", "com.example.Util"), Files.readAllLines(this.indexFile));
+    Mockito.verify(instrumentation).removeTransformer(transformer);
+  }
+
+  @Test
+  void testPreloadRemovesUnknownClassesFromIndex() throws Exception {
+    Files.createDirectories(this.indexFile.getParent());
+    Files.write(this.indexFile, List.of("java.lang.String", "com.example.DoesNotExist"));
+
+    var classPreloader = ClassPreloader.forApplicationFile(this.appFile);
+    Assertions.assertNotNull(classPreloader);
+
+    var instrumentation = Mockito.mock(Instrumentation.class);
+    classPreloader.preloadOrRecord(ClassLoader.getSystemClassLoader(), instrumentation);
+
+    // an existing index is used for preloading, nothing gets recorded
+    Mockito.verifyNoInteractions(instrumentation);
+    Assertions.assertEquals(List.of("java.lang.String"), Files.readAllLines(this.indexFile));
+  }
+}